@@ -0,0 +1,83 @@
+package com.ufcg.psoft.pitsa.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// cliente http da simulacao; cada chamada entra no histograma do endpoint pelo template da rota, nao pela url concreta
+public class ApiPitsa {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String base;
+
+    private final MetricasCarga metricas;
+
+    public ApiPitsa(int porta, MetricasCarga metricas) {
+        this.base = "http://localhost:" + porta;
+        this.metricas = metricas;
+    }
+
+    public JsonNode get(String endpoint, String caminho) {
+        return enviar(endpoint, HttpRequest.newBuilder(uri(caminho)).GET());
+    }
+
+    public JsonNode post(String endpoint, String caminho, Object corpo) {
+        return enviar(endpoint, HttpRequest.newBuilder(uri(caminho)).POST(corpo(corpo)));
+    }
+
+    public JsonNode put(String endpoint, String caminho, Object corpo) {
+        return enviar(endpoint, HttpRequest.newBuilder(uri(caminho)).PUT(corpo(corpo)));
+    }
+
+    private JsonNode enviar(String endpoint, HttpRequest.Builder requisicao) {
+        requisicao.header("Content-Type", "application/json").timeout(Duration.ofSeconds(30));
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<byte[]> resposta = http.send(requisicao.build(), HttpResponse.BodyHandlers.ofByteArray());
+            boolean sucesso = resposta.statusCode() / 100 == 2;
+            metricas.registrarEndpoint(endpoint, System.nanoTime() - inicio, sucesso);
+            if (!sucesso) {
+                throw new FalhaRequisicao(endpoint + " respondeu " + resposta.statusCode() + ": " + new String(resposta.body()));
+            }
+            return resposta.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(resposta.body());
+        } catch (IOException e) {
+            metricas.registrarEndpoint(endpoint, System.nanoTime() - inicio, false);
+            throw new FalhaRequisicao(endpoint + " falhou: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FalhaRequisicao(endpoint + " interrompido");
+        }
+    }
+
+    private URI uri(String caminho) {
+        return URI.create(base + caminho);
+    }
+
+    private HttpRequest.BodyPublisher corpo(Object corpo) {
+        if (corpo == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corpo));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public static class FalhaRequisicao extends RuntimeException {
+        public FalhaRequisicao(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
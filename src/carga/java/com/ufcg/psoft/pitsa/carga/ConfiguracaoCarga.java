@@ -0,0 +1,55 @@
+package com.ufcg.psoft.pitsa.carga;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// parametros da simulacao, lidos das propriedades de sistema carga.* (./gradlew carga -Pcarga.taxa=40)
+public class ConfiguracaoCarga {
+
+    @JsonProperty("estabelecimentos")
+    final int estabelecimentos = inteiro("carga.estabelecimentos", 3);
+
+    @JsonProperty("saboresPorEstabelecimento")
+    final int saboresPorEstabelecimento = inteiro("carga.saboresPorEstabelecimento", 12);
+
+    @JsonProperty("entregadoresPorEstabelecimento")
+    final int entregadoresPorEstabelecimento = inteiro("carga.entregadoresPorEstabelecimento", 4);
+
+    @JsonProperty("clientes")
+    final int clientes = inteiro("carga.clientes", 50);
+
+    @JsonProperty("pedidos")
+    final int pedidos = inteiro("carga.pedidos", 500);
+
+    // chegada de novos pedidos por segundo, independente de quantos ainda estao em andamento
+    @JsonProperty("taxaChegadaPorSegundo")
+    final double taxaChegada = decimal("carga.taxa", 20.0);
+
+    // pedidos acompanhados ao mesmo tempo; os que chegam alem disso esperam na fila
+    @JsonProperty("concorrencia")
+    final int concorrencia = inteiro("carga.concorrencia", 16);
+
+    @JsonProperty("tempoEntregaMs")
+    final long tempoEntregaMs = inteiro("carga.tempoEntregaMs", 200);
+
+    @JsonProperty("intervaloDespachoMs")
+    final long intervaloDespachoMs = inteiro("carga.despacho.intervalo", 200);
+
+    @JsonProperty("esperaMaximaDespachoMs")
+    final long esperaMaximaDespachoMs = inteiro("carga.despacho.esperaMaxima", 60000);
+
+    @JsonProperty("semente")
+    final long semente = inteiro("carga.semente", 42);
+
+    @JsonProperty("relatorio")
+    final String relatorio = System.getProperty("carga.relatorio", "build/carga/relatorio.json");
+
+    private static int inteiro(String chave, int padrao) {
+        String valor = System.getProperty(chave);
+        return valor == null ? padrao : Integer.parseInt(valor.trim());
+    }
+
+    private static double decimal(String chave, double padrao) {
+        String valor = System.getProperty(chave);
+        return valor == null ? padrao : Double.parseDouble(valor.trim());
+    }
+}
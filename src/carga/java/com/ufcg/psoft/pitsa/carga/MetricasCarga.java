@@ -0,0 +1,135 @@
+package com.ufcg.psoft.pitsa.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// latencias em microssegundos por endpoint e por etapa do ciclo de vida do pedido
+public class MetricasCarga {
+
+    public enum Etapa {
+        CRIACAO,
+        PAGAMENTO,
+        PREPARO,
+        DESPACHO,
+        ENTREGA,
+        // da chegada prevista do pedido ate a entrega confirmada, incluindo a espera por um worker livre
+        PEDIDO_COMPLETO
+    }
+
+    private final Map<String, Registro> endpoints = new ConcurrentHashMap<>();
+
+    private final Map<Etapa, Registro> etapas = new EnumMap<>(Etapa.class);
+
+    private long inicioMedicao;
+
+    private long fimMedicao;
+
+    public MetricasCarga() {
+        for (Etapa etapa : Etapa.values()) {
+            etapas.put(etapa, new Registro());
+        }
+    }
+
+    public void registrarEndpoint(String endpoint, long nanos, boolean sucesso) {
+        endpoints.computeIfAbsent(endpoint, e -> new Registro()).registrar(nanos, sucesso);
+    }
+
+    public void registrarEtapa(Etapa etapa, long nanos, boolean sucesso) {
+        etapas.get(etapa).registrar(nanos, sucesso);
+    }
+
+    // o que veio antes (cadastros) entra nas latencias dos endpoints, mas nao na vazao das etapas
+    public void iniciarMedicao() {
+        inicioMedicao = System.nanoTime();
+    }
+
+    public void encerrarMedicao() {
+        fimMedicao = System.nanoTime();
+    }
+
+    public Map<String, Object> relatorio(ConfiguracaoCarga configuracao) {
+        double segundos = (fimMedicao - inicioMedicao) / 1e9;
+
+        Map<String, Object> porEndpoint = new TreeMap<>();
+        endpoints.forEach((endpoint, registro) -> porEndpoint.put(endpoint, registro.resumo(null)));
+
+        Map<String, Object> porEtapa = new LinkedHashMap<>();
+        etapas.forEach((etapa, registro) -> porEtapa.put(etapa.name(), registro.resumo(segundos)));
+
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("configuracao", configuracao);
+        relatorio.put("duracaoSegundos", segundos);
+        relatorio.put("etapas", porEtapa);
+        relatorio.put("endpoints", porEndpoint);
+        return relatorio;
+    }
+
+    public void escrever(ConfiguracaoCarga configuracao) throws IOException {
+        File arquivo = new File(configuracao.relatorio);
+        if (arquivo.getParentFile() != null) {
+            arquivo.getParentFile().mkdirs();
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(arquivo, relatorio(configuracao));
+    }
+
+    public void imprimir(ConfiguracaoCarga configuracao) {
+        System.out.printf("%-62s %8s %6s %9s %9s %9s%n", "endpoint / etapa", "total", "erros", "p50 ms", "p99 ms", "p999 ms");
+        etapas.forEach((etapa, registro) -> registro.imprimir(etapa.name()));
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> e.getValue().imprimir(e.getKey()));
+        System.out.println("relatorio: " + new File(configuracao.relatorio).getAbsolutePath());
+    }
+
+    private static class Registro {
+
+        private final Histogram latencias = new ConcurrentHistogram(3);
+
+        private final LongAdder erros = new LongAdder();
+
+        void registrar(long nanos, boolean sucesso) {
+            if (sucesso) {
+                latencias.recordValue(Math.max(1, nanos / 1000));
+            } else {
+                erros.increment();
+            }
+        }
+
+        Map<String, Object> resumo(Double segundos) {
+            Map<String, Object> resumo = new LinkedHashMap<>();
+            resumo.put("concluidos", latencias.getTotalCount());
+            resumo.put("erros", erros.sum());
+            if (segundos != null) {
+                resumo.put("porSegundo", segundos > 0 ? latencias.getTotalCount() / segundos : 0.0);
+            }
+            resumo.put("mediaMs", latencias.getMean() / 1000.0);
+            resumo.put("p50Ms", percentil(50));
+            resumo.put("p99Ms", percentil(99));
+            resumo.put("p999Ms", percentil(99.9));
+            resumo.put("maxMs", latencias.getMaxValue() / 1000.0);
+            return resumo;
+        }
+
+        void imprimir(String nome) {
+            System.out.printf("%-62s %8d %6d %9.2f %9.2f %9.2f%n",
+                    nome, latencias.getTotalCount(), erros.sum(), percentil(50), percentil(99), percentil(99.9));
+        }
+
+        private double percentil(double percentil) {
+            return latencias.getValueAtPercentile(percentil) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.ufcg.psoft.pitsa.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ufcg.psoft.pitsa.PitsApplication;
+import com.ufcg.psoft.pitsa.carga.MetricasCarga.Etapa;
+import com.ufcg.psoft.pitsa.dto.cliente.ClienteRequestDTO;
+import com.ufcg.psoft.pitsa.dto.entregador.EntregadorRequestDTO;
+import com.ufcg.psoft.pitsa.dto.estabelecimento.EstabelecimentoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.pizza.PizzaRequestDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.SaborRequestDTO;
+import com.ufcg.psoft.pitsa.dto.veiculo.VeiculoRequestDTO;
+import com.ufcg.psoft.pitsa.model.enums.MetodoPagamento;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.model.enums.TamanhoPizza;
+import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import com.ufcg.psoft.pitsa.model.enums.TipoVeiculo;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// sobe a aplicacao num h2 proprio e simula um dia de pizzaria pela api rest: ./gradlew carga -Pcarga.pedidos=1000 -Pcarga.taxa=50
+public class SimuladorCarga {
+
+    private static final String SENHA = "123456";
+
+    private final ConfiguracaoCarga configuracao;
+
+    private final MetricasCarga metricas = new MetricasCarga();
+
+    private final List<Long> estabelecimentos = new ArrayList<>();
+
+    private final List<List<String>> cardapios = new ArrayList<>();
+
+    private final List<Long> clientes = new ArrayList<>();
+
+    private final AtomicInteger falhas = new AtomicInteger();
+
+    private ApiPitsa api;
+
+    public SimuladorCarga(ConfiguracaoCarga configuracao) {
+        this.configuracao = configuracao;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga configuracao = new ConfiguracaoCarga();
+        ConfigurableApplicationContext contexto = SpringApplication.run(PitsApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--pitsa.despacho.intervalo=" + configuracao.intervaloDespachoMs,
+                "--logging.level.root=WARN");
+        try {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            new SimuladorCarga(configuracao).executar(porta);
+        } finally {
+            SpringApplication.exit(contexto);
+        }
+    }
+
+    public void executar(int porta) throws Exception {
+        api = new ApiPitsa(porta, metricas);
+        Random random = new Random(configuracao.semente);
+
+        cadastrar(random);
+        System.out.printf("cadastro concluido: %d estabelecimentos, %d clientes; disparando %d pedidos a %.1f/s com %d em paralelo%n",
+                estabelecimentos.size(), clientes.size(), configuracao.pedidos, configuracao.taxaChegada, configuracao.concorrencia);
+
+        ExecutorService workers = Executors.newFixedThreadPool(configuracao.concorrencia);
+        metricas.iniciarMedicao();
+
+        // chegadas em processo de poisson: o horario previsto e fixado antes de entrar na fila, entao a espera
+        // por um worker livre aparece na latencia do pedido em vez de desaparecer (omissao coordenada)
+        long proximaChegada = System.nanoTime();
+        for (int i = 0; i < configuracao.pedidos; i++) {
+            long chegada = proximaChegada;
+            LockSupport.parkNanos(chegada - System.nanoTime());
+            long semente = random.nextLong();
+            workers.submit(() -> atenderPedido(chegada, new Random(semente)));
+            proximaChegada += (long) (-Math.log(1 - random.nextDouble()) / configuracao.taxaChegada * 1e9);
+        }
+
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.HOURS);
+        metricas.encerrarMedicao();
+
+        metricas.imprimir(configuracao);
+        metricas.escrever(configuracao);
+        if (falhas.get() > 0) {
+            System.out.println(falhas.get() + " pedidos nao chegaram ao fim");
+        }
+    }
+
+    private void cadastrar(Random random) {
+        for (int e = 0; e < configuracao.estabelecimentos; e++) {
+            Long estabelecimentoId = api.post("POST /estabelecimento", "/estabelecimento?codigoAcesso=" + SENHA,
+                    EstabelecimentoRequestDTO.builder().codigoAcesso(SENHA).build()).get("id").asLong();
+            estabelecimentos.add(estabelecimentoId);
+
+            List<String> sabores = new ArrayList<>();
+            for (int s = 0; s < configuracao.saboresPorEstabelecimento; s++) {
+                String nome = "Sabor " + e + "-" + s;
+                double preco = 30 + random.nextInt(30);
+                api.post("POST /sabor", "/sabor?estabelecimentoId=" + estabelecimentoId + "&codAcessoEstabelecimento=" + SENHA,
+                        SaborRequestDTO.builder()
+                                .nome(nome)
+                                .tipo(s % 3 == 0 ? TipoSabor.DOCE : TipoSabor.SALGADO)
+                                .precoMedia(preco)
+                                .precoGrande(preco + 15)
+                                .disponivel(true)
+                                .build());
+                sabores.add(nome);
+            }
+            cardapios.add(sabores);
+
+            for (int n = 0; n < configuracao.entregadoresPorEstabelecimento; n++) {
+                cadastrarEntregador(estabelecimentoId, e, n);
+            }
+        }
+
+        for (int c = 0; c < configuracao.clientes; c++) {
+            clientes.add(api.post("POST /cliente", "/cliente",
+                    ClienteRequestDTO.builder()
+                            .nome("Cliente " + c)
+                            .endereco("Rua " + c + ", Campina Grande")
+                            .codigoAcesso(SENHA)
+                            .build()).get("id").asLong());
+        }
+    }
+
+    private void cadastrarEntregador(Long estabelecimentoId, int estabelecimento, int indice) {
+        Long entregadorId = api.post("POST /entregador", "/entregador",
+                EntregadorRequestDTO.builder()
+                        .nome("Entregador " + estabelecimento + "-" + indice)
+                        .codigoAcesso(SENHA)
+                        .veiculoRequestDTO(VeiculoRequestDTO.builder()
+                                .placaVeiculo(String.format("PIT-%04d", estabelecimento * 1000 + indice))
+                                .tipoVeiculo(indice % 2 == 0 ? TipoVeiculo.MOTO : TipoVeiculo.CARRO)
+                                .corVeiculo("Vermelho")
+                                .build())
+                        .build()).get("id").asLong();
+
+        Long associacaoId = api.post("POST /associacao", "/associacao?entregadorId=" + entregadorId
+                + "&codigoAcessoEntregador=" + SENHA + "&estabelecimentoId=" + estabelecimentoId, null).get("id").asLong();
+        api.put("PUT /associacao", "/associacao?entregadorId=" + entregadorId + "&codigoAcessoEstabelecimento=" + SENHA
+                + "&estabelecimentoId=" + estabelecimentoId + "&statusAssociacao=APROVADO", null);
+        api.put("PUT /associacao/atualizar-disponibilidade-entregador", "/associacao/atualizar-disponibilidade-entregador?associacaoId="
+                + associacaoId + "&entregadorId=" + entregadorId + "&codigoAcessoEntregador=" + SENHA + "&disponibilidadeEntregador=ATIVO", null);
+    }
+
+    private void atenderPedido(long chegada, Random random) {
+        int indice = random.nextInt(estabelecimentos.size());
+        Long estabelecimentoId = estabelecimentos.get(indice);
+        Long clienteId = clientes.get(random.nextInt(clientes.size()));
+        String doCliente = "clienteId=" + clienteId + "&codigoAcessoCliente=" + SENHA;
+
+        try {
+            long etapa = System.nanoTime();
+            api.get("GET /estabelecimento/{id}/cardapio", "/estabelecimento/" + estabelecimentoId + "/cardapio");
+            Long pedidoId = api.post("POST /pedido", "/pedido?" + doCliente + "&estabelecimentoId=" + estabelecimentoId,
+                    montarPedido(cardapios.get(indice), random)).get("id").asLong();
+            etapa = concluir(Etapa.CRIACAO, etapa);
+
+            MetodoPagamento metodo = MetodoPagamento.values()[random.nextInt(MetodoPagamento.values().length)];
+            api.put("PUT /pedido/{id}/confirmar-pagamento", "/pedido/" + pedidoId + "/confirmar-pagamento?" + doCliente
+                    + "&metodoPagamento=" + metodo, null);
+            etapa = concluir(Etapa.PAGAMENTO, etapa);
+
+            api.put("PUT /pedido/{id}/finalizar-preparo-pedido", "/pedido/" + pedidoId + "/finalizar-preparo-pedido?estabelecimentoId="
+                    + estabelecimentoId + "&codigoAcessoEstabelecimento=" + SENHA, null);
+            etapa = concluir(Etapa.PREPARO, etapa);
+
+            aguardarEntregador(pedidoId, clienteId, etapa);
+            etapa = concluir(Etapa.DESPACHO, etapa);
+
+            // o entregador leva um tempo ate o cliente; fora do relogio da etapa de entrega
+            Thread.sleep(configuracao.tempoEntregaMs);
+            etapa = System.nanoTime();
+            api.put("PUT /pedido/{id}/confirmar-entrega", "/pedido/" + pedidoId + "/confirmar-entrega?" + doCliente, null);
+            concluir(Etapa.ENTREGA, etapa);
+
+            metricas.registrarEtapa(Etapa.PEDIDO_COMPLETO, System.nanoTime() - chegada, true);
+        } catch (ApiPitsa.FalhaRequisicao | IllegalStateException e) {
+            metricas.registrarEtapa(Etapa.PEDIDO_COMPLETO, 0, false);
+            if (falhas.incrementAndGet() <= 5) {
+                System.err.println(e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private PedidoRequestDTO montarPedido(List<String> sabores, Random random) {
+        List<PizzaRequestDTO> pizzas = new ArrayList<>();
+        int quantidade = 1 + random.nextInt(3);
+        for (int p = 0; p < quantidade; p++) {
+            boolean grande = random.nextBoolean();
+            pizzas.add(PizzaRequestDTO.builder()
+                    .tamanho(grande ? TamanhoPizza.GRANDE : TamanhoPizza.MEDIA)
+                    .sabor1(sabores.get(random.nextInt(sabores.size())))
+                    .sabor2(grande && random.nextBoolean() ? sabores.get(random.nextInt(sabores.size())) : null)
+                    .build());
+        }
+        return PedidoRequestDTO.builder()
+                .enderecoEntrega("Rua " + random.nextInt(500) + ", Campina Grande")
+                .pizzas(pizzas)
+                .build();
+    }
+
+    // o despacho e assincrono quando nao ha entregador livre; o cliente acompanha o pedido ate ele sair
+    private void aguardarEntregador(Long pedidoId, Long clienteId, long desde) throws InterruptedException {
+        long limite = desde + TimeUnit.MILLISECONDS.toNanos(configuracao.esperaMaximaDespachoMs);
+        long espera = Math.max(10, configuracao.intervaloDespachoMs / 4);
+        while (true) {
+            JsonNode pedido = api.get("GET /pedido/{id}/cliente/{clienteId}", "/pedido/" + pedidoId + "/cliente/" + clienteId
+                    + "?codigoAcessoCliente=" + SENHA);
+            if (StatusPedido.PEDIDO_EM_ROTA.name().equals(pedido.path("statusPedido").asText())) {
+                return;
+            }
+            if (System.nanoTime() > limite) {
+                throw new IllegalStateException("pedido " + pedidoId + " nao saiu para entrega em " + configuracao.esperaMaximaDespachoMs + "ms");
+            }
+            Thread.sleep(espera);
+        }
+    }
+
+    private long concluir(Etapa etapa, long inicio) {
+        long agora = System.nanoTime();
+        metricas.registrarEtapa(etapa, agora - inicio, true);
+        return agora;
+    }
+}
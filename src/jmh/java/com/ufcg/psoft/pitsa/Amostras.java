@@ -0,0 +1,71 @@
+package com.ufcg.psoft.pitsa;
+
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.Entregador;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.Pizza;
+import com.ufcg.psoft.pitsa.model.Sabor;
+import com.ufcg.psoft.pitsa.model.Veiculo;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.model.enums.TamanhoPizza;
+import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import com.ufcg.psoft.pitsa.model.enums.TipoVeiculo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// dados de exemplo compartilhados pelos benchmarks
+public final class Amostras {
+
+    private Amostras() {
+    }
+
+    public static Sabor sabor(long id, String nome, TipoSabor tipo, double precoMedia, double precoGrande) {
+        return Sabor.builder()
+                .id(id)
+                .nome(nome)
+                .tipo(tipo)
+                .precoMedia(Dinheiro.deReais(precoMedia))
+                .precoGrande(Dinheiro.deReais(precoGrande))
+                .disponivel(true)
+                .build();
+    }
+
+    public static Pizza meiaMeia(long id) {
+        return Pizza.builder()
+                .id(id)
+                .tamanho(TamanhoPizza.GRANDE)
+                .sabor1(sabor(1L, "Calabresa", TipoSabor.SALGADO, 30.0, 45.0))
+                .sabor2(sabor(2L, "Chocolate", TipoSabor.DOCE, 35.0, 52.0))
+                .build();
+    }
+
+    public static Pedido pedido(int quantidadePizzas) {
+        List<Pizza> pizzas = new ArrayList<>(quantidadePizzas);
+        for (int i = 0; i < quantidadePizzas; i++) {
+            pizzas.add(meiaMeia(i + 1L));
+        }
+        return Pedido.builder()
+                .id(1L)
+                .clienteId(1L)
+                .estabelecimentoId(1L)
+                .entregadorId(1L)
+                .valorPedido(Dinheiro.deCentavos(4850L * quantidadePizzas))
+                .enderecoEntrega("Rua Aprigio Veloso, 882")
+                .pizzas(pizzas)
+                .statusPedido(StatusPedido.PEDIDO_RECEBIDO)
+                .statusPagamento(false)
+                .dataCriacao(LocalDateTime.of(2024, 7, 22, 19, 30))
+                .build();
+    }
+
+    public static Entregador entregador() {
+        return Entregador.builder()
+                .id(1L)
+                .nome("Joaozinho")
+                .veiculo(new Veiculo("SLD-1B54", TipoVeiculo.MOTO, "Azul"))
+                .codigoAcesso("101010")
+                .build();
+    }
+}
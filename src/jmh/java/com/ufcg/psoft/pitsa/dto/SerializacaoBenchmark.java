@@ -0,0 +1,55 @@
+package com.ufcg.psoft.pitsa.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.pitsa.Amostras;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.SaborCardapioDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.SaborResponseDTO;
+import com.ufcg.psoft.pitsa.mapper.PedidoMapper;
+import com.ufcg.psoft.pitsa.mapper.SaborMapper;
+import com.ufcg.psoft.pitsa.model.Sabor;
+import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+
+// ida e volta pelo json, com a mesma configuracao de ObjectMapper que o Spring Boot monta
+@State(Scope.Thread)
+public class SerializacaoBenchmark {
+
+    ObjectMapper objectMapper;
+
+    PedidoResponseDTO pedido;
+
+    SaborResponseDTO sabor;
+
+    SaborCardapioDTO saborCardapio;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        try (AnnotationConfigApplicationContext mappers = new AnnotationConfigApplicationContext("com.ufcg.psoft.pitsa.mapper")) {
+            Sabor calabresa = Amostras.sabor(1L, "Calabresa", TipoSabor.SALGADO, 30.0, 45.0);
+            pedido = mappers.getBean(PedidoMapper.class).paraResposta(Amostras.pedido(3));
+            sabor = mappers.getBean(SaborMapper.class).paraResposta(calabresa);
+            saborCardapio = mappers.getBean(SaborMapper.class).paraCardapio(calabresa);
+        }
+    }
+
+    @Benchmark
+    public PedidoResponseDTO pedidoResponseDTO() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(pedido), PedidoResponseDTO.class);
+    }
+
+    @Benchmark
+    public SaborResponseDTO saborResponseDTO() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(sabor), SaborResponseDTO.class);
+    }
+
+    @Benchmark
+    public SaborCardapioDTO saborCardapioDTO() throws IOException {
+        return objectMapper.readValue(objectMapper.writeValueAsBytes(saborCardapio), SaborCardapioDTO.class);
+    }
+}
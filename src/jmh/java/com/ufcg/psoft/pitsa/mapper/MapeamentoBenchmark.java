@@ -0,0 +1,105 @@
+package com.ufcg.psoft.pitsa.mapper;
+
+import com.ufcg.psoft.pitsa.Amostras;
+import com.ufcg.psoft.pitsa.dto.entregador.EntregadorRequestDTO;
+import com.ufcg.psoft.pitsa.dto.entregador.EntregadorResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.SaborResponseDTO;
+import com.ufcg.psoft.pitsa.dto.veiculo.VeiculoRequestDTO;
+import com.ufcg.psoft.pitsa.model.Entregador;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.Sabor;
+import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import com.ufcg.psoft.pitsa.model.enums.TipoVeiculo;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+// mappers gerados em tempo de compilacao lado a lado com o ModelMapper configurado como era antes deles
+@State(Scope.Thread)
+public class MapeamentoBenchmark {
+
+    AnnotationConfigApplicationContext mappers;
+
+    PedidoMapper pedidoMapper;
+
+    SaborMapper saborMapper;
+
+    EntregadorMapper entregadorMapper;
+
+    ModelMapper modelMapper;
+
+    Pedido pedido;
+
+    Sabor sabor;
+
+    Entregador entregador;
+
+    EntregadorRequestDTO entregadorRequestDTO;
+
+    @Setup
+    public void setUp() {
+        mappers = new AnnotationConfigApplicationContext("com.ufcg.psoft.pitsa.mapper");
+        pedidoMapper = mappers.getBean(PedidoMapper.class);
+        saborMapper = mappers.getBean(SaborMapper.class);
+        entregadorMapper = mappers.getBean(EntregadorMapper.class);
+
+        modelMapper = new ModelMapper();
+        modelMapper.typeMap(Entregador.class, EntregadorResponseDTO.class)
+                .addMapping(Entregador::getVeiculo, EntregadorResponseDTO::setVeiculoResponseDTO);
+
+        pedido = Amostras.pedido(3);
+        sabor = Amostras.sabor(1L, "Calabresa", TipoSabor.SALGADO, 30.0, 45.0);
+        entregador = Amostras.entregador();
+        entregadorRequestDTO = EntregadorRequestDTO.builder()
+                .nome("Joaozinho")
+                .veiculoRequestDTO(new VeiculoRequestDTO("SLD-1B54", TipoVeiculo.MOTO, "Azul"))
+                .codigoAcesso("101010")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        mappers.close();
+    }
+
+    @Benchmark
+    public PedidoResponseDTO pedidoMapStruct() {
+        return pedidoMapper.paraResposta(pedido);
+    }
+
+    @Benchmark
+    public PedidoResponseDTO pedidoModelMapper() {
+        return modelMapper.map(pedido, PedidoResponseDTO.class);
+    }
+
+    @Benchmark
+    public SaborResponseDTO saborMapStruct() {
+        return saborMapper.paraResposta(sabor);
+    }
+
+    @Benchmark
+    public SaborResponseDTO saborModelMapper() {
+        return modelMapper.map(sabor, SaborResponseDTO.class);
+    }
+
+    @Benchmark
+    public EntregadorResponseDTO entregadorMapStruct() {
+        return entregadorMapper.paraResposta(entregador);
+    }
+
+    @Benchmark
+    public EntregadorResponseDTO entregadorModelMapper() {
+        return modelMapper.map(entregador, EntregadorResponseDTO.class);
+    }
+
+    @Benchmark
+    public Entregador entregadorRequestMapStruct() {
+        return entregadorMapper.paraEntidade(entregadorRequestDTO);
+    }
+
+    @Benchmark
+    public Entregador entregadorRequestModelMapper() {
+        return modelMapper.map(entregadorRequestDTO, Entregador.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ufcg.psoft.pitsa.repository;
+
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.DinheiroConverter;
+import com.ufcg.psoft.pitsa.model.Estabelecimento;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.Pizza;
+import com.ufcg.psoft.pitsa.model.Sabor;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// leitura em massa de pedidos pelo hibernate; o custo por pedido inclui o que os callbacks da entidade alocam ao carregar
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CargaPedidosBenchmark {
+
+    @Param({"10000"})
+    int quantidade;
+
+    SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // mesma estrategia de nomes do spring boot, os indices das entidades usam os nomes de coluna com underscore
+        Configuration configuracao = new Configuration()
+                .addAnnotatedClass(Pedido.class)
+                .addAnnotatedClass(Pizza.class)
+                .addAnnotatedClass(Sabor.class)
+                .addAnnotatedClass(Estabelecimento.class)
+                .setProperty(AvailableSettings.URL, "jdbc:h2:mem:carga-pedidos;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "500");
+        configuracao.setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy());
+        configuracao.addAttributeConverter(DinheiroConverter.class);
+        sessionFactory = configuracao.buildSessionFactory();
+
+        StatusPedido[] status = StatusPedido.values();
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < quantidade; i++) {
+                session.persist(Pedido.builder()
+                        .clienteId(1L + i % 50)
+                        .estabelecimentoId(1L + i % 3)
+                        .valorPedido(Dinheiro.deCentavos(4500))
+                        .enderecoEntrega("Rua " + i)
+                        .statusPedido(status[i % status.length])
+                        .statusPagamento(true)
+                        .dataCriacao(LocalDateTime.now())
+                        .build());
+                if (i % 500 == 499) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<Pedido> carregarPedidos() {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createSelectionQuery("from Pedido", Pedido.class).getResultList();
+        }
+    }
+}
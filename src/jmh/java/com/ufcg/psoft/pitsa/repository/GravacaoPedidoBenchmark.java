@@ -0,0 +1,113 @@
+package com.ufcg.psoft.pitsa.repository;
+
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.DinheiroConverter;
+import com.ufcg.psoft.pitsa.model.Estabelecimento;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.Pizza;
+import com.ufcg.psoft.pitsa.model.Sabor;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.model.enums.TamanhoPizza;
+import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// gravacao de um pedido novo com suas pizzas, como no PedidoServiceImpl.criar; com lote e ids em bloco a quantidade
+// de comandos enviados ao banco nao cresce com as pizzas
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GravacaoPedidoBenchmark {
+
+    @Param({"1", "8"})
+    int quantidadePizzas;
+
+    // 1 equivale a nao agrupar os inserts
+    @Param({"1", "50"})
+    int lote;
+
+    SessionFactory sessionFactory;
+
+    Statistics estatisticas;
+
+    Long saborId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Comandos {
+
+        // comandos preparados na ultima gravacao de cada iteracao; no resumo o jmh soma as iteracoes medidas
+        public long comandosPorPedido;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Configuration configuracao = new Configuration()
+                .addAnnotatedClass(Pedido.class)
+                .addAnnotatedClass(Pizza.class)
+                .addAnnotatedClass(Sabor.class)
+                .addAnnotatedClass(Estabelecimento.class)
+                .setProperty(AvailableSettings.URL, "jdbc:h2:mem:gravacao-pedido;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(lote))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.ORDER_UPDATES, "true");
+        configuracao.setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy());
+        configuracao.addAttributeConverter(DinheiroConverter.class);
+        sessionFactory = configuracao.buildSessionFactory();
+        estatisticas = sessionFactory.getStatistics();
+
+        Sabor sabor = Sabor.builder()
+                .nome("Calabresa")
+                .tipo(TipoSabor.SALGADO)
+                .precoMedia(Dinheiro.deCentavos(3000))
+                .precoGrande(Dinheiro.deCentavos(4500))
+                .disponivel(true)
+                .build();
+        sessionFactory.inTransaction(session -> session.persist(sabor));
+        saborId = sabor.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Long gravarPedido(Comandos comandos) {
+        long antes = estatisticas.getPrepareStatementCount();
+        Pedido pedido = sessionFactory.fromTransaction(session -> {
+            Sabor sabor = session.getReference(Sabor.class, saborId);
+            List<Pizza> pizzas = new ArrayList<>(quantidadePizzas);
+            for (int i = 0; i < quantidadePizzas; i++) {
+                pizzas.add(Pizza.builder().tamanho(TamanhoPizza.GRANDE).sabor1(sabor).build());
+            }
+            Pedido novo = Pedido.builder()
+                    .clienteId(1L)
+                    .estabelecimentoId(1L)
+                    .valorPedido(Dinheiro.deCentavos(4500L * quantidadePizzas))
+                    .enderecoEntrega("Rua Aprigio Veloso, 882")
+                    .pizzas(pizzas)
+                    .statusPedido(StatusPedido.PEDIDO_RECEBIDO)
+                    .statusPagamento(false)
+                    .dataCriacao(LocalDateTime.now())
+                    .build();
+            session.persist(novo);
+            return novo;
+        });
+        comandos.comandosPorPedido = estatisticas.getPrepareStatementCount() - antes;
+        return pedido.getId();
+    }
+}
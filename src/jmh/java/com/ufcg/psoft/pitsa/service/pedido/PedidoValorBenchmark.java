@@ -0,0 +1,30 @@
+package com.ufcg.psoft.pitsa.service.pedido;
+
+import com.ufcg.psoft.pitsa.Amostras;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.service.pizza.PizzaServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+public class PedidoValorBenchmark {
+
+    @Param({"1", "5", "20"})
+    int quantidadePizzas;
+
+    PedidoServiceImpl pedidoService;
+
+    Pedido pedido;
+
+    @Setup
+    public void setUp() {
+        pedidoService = new PedidoServiceImpl();
+        pedidoService.pizzaService = new PizzaServiceImpl();
+        pedido = Amostras.pedido(quantidadePizzas);
+    }
+
+    @Benchmark
+    public Dinheiro calcularValorPedido() {
+        return pedidoService.calculaValorPedido(pedido);
+    }
+}
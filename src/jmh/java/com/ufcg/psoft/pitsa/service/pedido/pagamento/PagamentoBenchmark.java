@@ -0,0 +1,38 @@
+package com.ufcg.psoft.pitsa.service.pedido.pagamento;
+
+import com.ufcg.psoft.pitsa.Amostras;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.enums.MetodoPagamento;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+public class PagamentoBenchmark {
+
+    @Param({"CREDITO", "DEBITO", "PIX"})
+    MetodoPagamento metodoPagamento;
+
+    PagamentoStrategy pagamento;
+
+    Pedido pedido;
+
+    static final Dinheiro VALOR = Dinheiro.deCentavos(9700);
+
+    @Setup
+    public void setUp() {
+        pagamento = switch (metodoPagamento) {
+            case CREDITO -> new PagamentoCredito();
+            case DEBITO -> new PagamentoDebito();
+            case PIX -> new PagamentoPix();
+        };
+        pedido = Amostras.pedido(2);
+    }
+
+    @Benchmark
+    public Dinheiro pagar() {
+        // o desconto se acumularia entre as invocacoes
+        pedido.setValorPedido(VALOR);
+        pagamento.pagar(pedido);
+        return pedido.getValorPedido();
+    }
+}
@@ -0,0 +1,63 @@
+package com.ufcg.psoft.pitsa.service.pedido.status;
+
+import com.ufcg.psoft.pitsa.Amostras;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Thread)
+public class StatusPedidoBenchmark {
+
+    MaquinaEstadosPedido maquinaEstadosPedido;
+
+    Pedido pedido;
+
+    @Setup
+    public void setUp() {
+        maquinaEstadosPedido = new MaquinaEstadosPedido();
+        pedido = Amostras.pedido(1);
+    }
+
+    @State(Scope.Thread)
+    public static class PedidoNoStatus {
+
+        @Param({"PEDIDO_RECEBIDO", "PEDIDO_EM_PREPARO", "PEDIDO_PRONTO", "PEDIDO_EM_ROTA"})
+        StatusPedido statusPedido;
+
+        AcaoPedido acao;
+
+        Pedido pedido;
+
+        @Setup
+        public void setUp() {
+            pedido = Amostras.pedido(1);
+            acao = switch (statusPedido) {
+                case PEDIDO_RECEBIDO -> AcaoPedido.PREPARAR;
+                case PEDIDO_EM_PREPARO -> AcaoPedido.FINALIZAR_PREPARO;
+                case PEDIDO_PRONTO -> AcaoPedido.ENVIAR_PARA_ENTREGA;
+                default -> AcaoPedido.CONFIRMAR_ENTREGA;
+            };
+        }
+    }
+
+    // a unica acao permitida em cada status, consultada na tabela de transicoes
+    @Benchmark
+    public StatusPedido proximaEtapa(PedidoNoStatus estado) {
+        estado.pedido.setStatusPedido(estado.statusPedido);
+        maquinaEstadosPedido.executar(estado.pedido, estado.acao);
+        estado.pedido.limparTransicoes();
+        return estado.pedido.getStatusPedido();
+    }
+
+    // do recebido ao entregue, passando por todos os estados
+    @Benchmark
+    public StatusPedido cicloCompleto() {
+        pedido.setStatusPedido(StatusPedido.PEDIDO_RECEBIDO);
+        maquinaEstadosPedido.preparar(pedido);
+        maquinaEstadosPedido.finalizarPreparo(pedido);
+        maquinaEstadosPedido.enviarParaEntrega(pedido);
+        maquinaEstadosPedido.confirmarEntrega(pedido);
+        pedido.limparTransicoes();
+        return pedido.getStatusPedido();
+    }
+}
@@ -0,0 +1,45 @@
+package com.ufcg.psoft.pitsa.service.pizza;
+
+import com.ufcg.psoft.pitsa.Amostras;
+import com.ufcg.psoft.pitsa.cache.TabelaPrecos;
+import com.ufcg.psoft.pitsa.dto.pizza.PizzaRequestDTO;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.Pizza;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+
+@State(Scope.Thread)
+public class PizzaPrecoBenchmark {
+
+    PizzaServiceImpl pizzaService;
+
+    Pizza meiaMeia;
+
+    TabelaPrecos tabelaPrecos;
+
+    PizzaRequestDTO meiaMeiaRequisicao;
+
+    @Setup
+    public void setUp() {
+        pizzaService = new PizzaServiceImpl();
+        meiaMeia = Amostras.meiaMeia(1L);
+        tabelaPrecos = TabelaPrecos.de(List.of(meiaMeia.getSabor1(), meiaMeia.getSabor2()));
+        meiaMeiaRequisicao = PizzaRequestDTO.builder()
+                .tamanho(meiaMeia.getTamanho())
+                .sabor1(meiaMeia.getSabor1().getNome())
+                .sabor2(meiaMeia.getSabor2().getNome())
+                .build();
+    }
+
+    @Benchmark
+    public Dinheiro calcularPrecoMeiaMeia() {
+        return pizzaService.calcularPreco(meiaMeia);
+    }
+
+    // a mesma pizza cotada pelo nome dos sabores na tabela de precos do cardapio
+    @Benchmark
+    public Dinheiro cotarMeiaMeia() {
+        return pizzaService.cotar(meiaMeiaRequisicao, tabelaPrecos);
+    }
+}
@@ -0,0 +1,95 @@
+package com.ufcg.psoft.pitsa.cache;
+
+import com.ufcg.psoft.pitsa.exception.EntidadeNaoExisteException;
+import com.ufcg.psoft.pitsa.mapper.SaborMapper;
+import com.ufcg.psoft.pitsa.repository.EstabelecimentoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class CardapioCache {
+
+    private final Map<Long, CardapioSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private final Map<Long, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    // as versoes em memoria recomecam do zero a cada inicio, entao a etag leva tambem o instante em que a aplicacao subiu
+    private final long inicio = System.currentTimeMillis();
+
+    @Autowired
+    EstabelecimentoRepository estabelecimentoRepository;
+
+    @Autowired
+    SaborMapper saborMapper;
+
+    public CardapioSnapshot recuperar(Long estabelecimentoId) {
+        CardapioSnapshot snapshot = snapshots.get(estabelecimentoId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        // a versao eh lida antes da consulta para nao guardar um snapshot que ja nasceu desatualizado
+        long versao = versao(estabelecimentoId);
+        if (!estabelecimentoRepository.existsById(estabelecimentoId)) {
+            throw new EntidadeNaoExisteException("estabelecimento");
+        }
+        snapshot = CardapioSnapshot.de(versao, estabelecimentoRepository.findSaboresByEstabelecimentoId(estabelecimentoId), saborMapper);
+
+        snapshots.put(estabelecimentoId, snapshot);
+        if (versao(estabelecimentoId) != versao) {
+            snapshots.remove(estabelecimentoId, snapshot);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // snapshot montado dentro de uma transacao so vale se ela for confirmada
+            CardapioSnapshot montado = snapshot;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        snapshots.remove(estabelecimentoId, montado);
+                    }
+                }
+            });
+        }
+        return snapshot;
+    }
+
+    // so alteracoes do cardapio criam entrada, leituras de ids quaisquer nao fazem o mapa crescer
+    public long versao(Long estabelecimentoId) {
+        AtomicLong versao = versoes.get(estabelecimentoId);
+        return versao == null ? 0L : versao.get();
+    }
+
+    // etag forte montada com a versao em memoria; sem snapshot confirma no banco que o estabelecimento existe antes de um 304
+    public String etag(Long estabelecimentoId) {
+        long versao = versao(estabelecimentoId);
+        if (!snapshots.containsKey(estabelecimentoId) && !estabelecimentoRepository.existsById(estabelecimentoId)) {
+            throw new EntidadeNaoExisteException("estabelecimento");
+        }
+        return "\"cardapio-" + estabelecimentoId + "-" + inicio + "-" + versao + "\"";
+    }
+
+    public void invalidar(Long estabelecimentoId) {
+        descartar(estabelecimentoId);
+
+        // leituras concorrentes ainda podem remontar o estado anterior ate o commit, entao descarta de novo ao final
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    descartar(estabelecimentoId);
+                }
+            });
+        }
+    }
+
+    private void descartar(Long estabelecimentoId) {
+        versoes.computeIfAbsent(estabelecimentoId, id -> new AtomicLong()).incrementAndGet();
+        snapshots.remove(estabelecimentoId);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ufcg.psoft.pitsa.cache;
+
+import com.ufcg.psoft.pitsa.dto.sabor.SaborCardapioDTO;
+import com.ufcg.psoft.pitsa.mapper.SaborMapper;
+import com.ufcg.psoft.pitsa.model.Sabor;
+import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import lombok.Getter;
+
+import java.util.*;
+
+@Getter
+public class CardapioSnapshot {
+
+    private final long versao;
+
+    private final List<SaborCardapioDTO> sabores;
+
+    private final Map<TipoSabor, List<SaborCardapioDTO>> saboresPorTipo;
+
+    private final TabelaPrecos tabelaPrecos;
+
+    private CardapioSnapshot(long versao, List<SaborCardapioDTO> sabores, Map<TipoSabor, List<SaborCardapioDTO>> saboresPorTipo, TabelaPrecos tabelaPrecos) {
+        this.versao = versao;
+        this.sabores = sabores;
+        this.saboresPorTipo = saboresPorTipo;
+        this.tabelaPrecos = tabelaPrecos;
+    }
+
+    public static CardapioSnapshot de(long versao, List<Sabor> sabores, SaborMapper saborMapper) {
+        // ordena uma unica vez (disponiveis primeiro) e ja particiona por tipo
+        List<Sabor> ordenados = sabores.stream()
+                .sorted(Comparator.comparing(Sabor::getDisponivel, Comparator.reverseOrder()))
+                .toList();
+
+        Map<TipoSabor, List<SaborCardapioDTO>> porTipo = new EnumMap<>(TipoSabor.class);
+        for (TipoSabor tipo : TipoSabor.values()) {
+            porTipo.put(tipo, new ArrayList<>());
+        }
+
+        List<SaborCardapioDTO> todos = new ArrayList<>(ordenados.size());
+        for (Sabor sabor : ordenados) {
+            SaborCardapioDTO saborCardapioDTO = saborMapper.paraCardapio(sabor);
+            todos.add(saborCardapioDTO);
+            porTipo.get(sabor.getTipo()).add(saborCardapioDTO);
+        }
+        porTipo.replaceAll((tipo, lista) -> List.copyOf(lista));
+
+        // a tabela de precos segue a mesma versao, qualquer edicao de sabor descarta as duas juntas
+        return new CardapioSnapshot(versao, List.copyOf(todos), Collections.unmodifiableMap(porTipo), TabelaPrecos.de(sabores));
+    }
+
+    public List<SaborCardapioDTO> getSaboresPorTipo(TipoSabor tipoSabor) {
+        return saboresPorTipo.get(tipoSabor);
+    }
+}
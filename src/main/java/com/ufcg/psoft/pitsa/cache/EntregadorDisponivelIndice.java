@@ -0,0 +1,125 @@
+package com.ufcg.psoft.pitsa.cache;
+
+import com.ufcg.psoft.pitsa.model.Associacao;
+import com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador;
+import com.ufcg.psoft.pitsa.repository.AssociacaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+@Component
+public class EntregadorDisponivelIndice {
+
+    // quem nunca entregou vem primeiro, depois quem esta ha mais tempo sem entregar
+    private static final Comparator<EntregadorDisponivel> PRIORIDADE = Comparator
+            .comparing(EntregadorDisponivel::ultimaEntrega, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(EntregadorDisponivel::associacaoId);
+
+    private final Map<Long, NavigableSet<EntregadorDisponivel>> disponiveisPorEstabelecimento = new ConcurrentHashMap<>();
+
+    private final Map<Long, EntregadorDisponivel> disponiveis = new ConcurrentHashMap<>();
+
+    @Autowired
+    AssociacaoRepository associacaoRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        Map<Long, List<Associacao>> ativas = associacaoRepository.findAllByDisponibilidadeEntregador(DisponibilidadeEntregador.ATIVO).stream()
+                .collect(Collectors.groupingBy(associacao -> associacao.getEstabelecimento().getId()));
+        ativas.forEach((estabelecimentoId, associacoes) -> {
+            NavigableSet<EntregadorDisponivel> fila = novaFila(associacoes);
+            disponiveisPorEstabelecimento.put(estabelecimentoId, fila);
+            fila.forEach(entregador -> disponiveis.put(entregador.associacaoId(), entregador));
+        });
+    }
+
+    // retira o entregador de maior prioridade e confirma no banco que ele ainda estava ativo
+    public Long reservar(Long estabelecimentoId) {
+        NavigableSet<EntregadorDisponivel> fila = fila(estabelecimentoId);
+        EntregadorDisponivel entregador;
+        while ((entregador = fila.pollFirst()) != null) {
+            disponiveis.remove(entregador.associacaoId(), entregador);
+            if (associacaoRepository.reservarEntregador(entregador.associacaoId()) == 1) {
+                sincronizarSeDesfeita(entregador.associacaoId());
+                return entregador.associacaoId();
+            }
+            // entrada desatualizada, o banco ja nao considera esse entregador ativo
+        }
+        return null;
+    }
+
+    public void atualizar(Associacao associacao) {
+        if (DisponibilidadeEntregador.ATIVO.equals(associacao.getDisponibilidadeEntregador())) {
+            disponibilizar(associacao);
+        } else {
+            remover(associacao.getId());
+        }
+        sincronizarSeDesfeita(associacao.getId());
+    }
+
+    private void disponibilizar(Associacao associacao) {
+        Long estabelecimentoId = associacao.getEstabelecimento().getId();
+        NavigableSet<EntregadorDisponivel> fila = fila(estabelecimentoId);
+        EntregadorDisponivel novo = new EntregadorDisponivel(associacao.getId(), estabelecimentoId, associacao.getUltimaEntrega());
+        disponiveis.compute(associacao.getId(), (id, anterior) -> {
+            if (anterior != null) fila(anterior.estabelecimentoId()).remove(anterior);
+            fila.add(novo);
+            return novo;
+        });
+    }
+
+    private void remover(Long associacaoId) {
+        disponiveis.computeIfPresent(associacaoId, (id, anterior) -> {
+            fila(anterior.estabelecimentoId()).remove(anterior);
+            return null;
+        });
+    }
+
+    private NavigableSet<EntregadorDisponivel> fila(Long estabelecimentoId) {
+        NavigableSet<EntregadorDisponivel> fila = disponiveisPorEstabelecimento.get(estabelecimentoId);
+        if (fila != null) return fila;
+
+        // estabelecimento ainda nao consultado desde a inicializacao, carrega sob demanda
+        fila = novaFila(associacaoRepository.findAllByDisponibilidadeEntregadorAndEstabelecimentoId(DisponibilidadeEntregador.ATIVO, estabelecimentoId));
+        NavigableSet<EntregadorDisponivel> existente = disponiveisPorEstabelecimento.putIfAbsent(estabelecimentoId, fila);
+        if (existente != null) return existente;
+        fila.forEach(entregador -> disponiveis.putIfAbsent(entregador.associacaoId(), entregador));
+        return fila;
+    }
+
+    private NavigableSet<EntregadorDisponivel> novaFila(List<Associacao> associacoes) {
+        NavigableSet<EntregadorDisponivel> fila = new ConcurrentSkipListSet<>(PRIORIDADE);
+        associacoes.forEach(associacao -> fila.add(new EntregadorDisponivel(associacao.getId(), associacao.getEstabelecimento().getId(), associacao.getUltimaEntrega())));
+        return fila;
+    }
+
+    // se a transacao for desfeita o indice volta a refletir o que esta no banco
+    private void sincronizarSeDesfeita(Long associacaoId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) return;
+                associacaoRepository.findById(associacaoId).ifPresentOrElse(
+                        associacao -> atualizar(associacao),
+                        () -> remover(associacaoId)
+                );
+            }
+        });
+    }
+
+    private record EntregadorDisponivel(Long associacaoId, Long estabelecimentoId, LocalDateTime ultimaEntrega) {
+    }
+}
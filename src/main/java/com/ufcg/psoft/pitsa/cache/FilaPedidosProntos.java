@@ -0,0 +1,92 @@
+package com.ufcg.psoft.pitsa.cache;
+
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.repository.PedidoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+@Component
+public class FilaPedidosProntos {
+
+    // pedidos prontos ha mais tempo saem primeiro
+    private static final Comparator<PedidoPronto> ORDEM_CHEGADA = Comparator
+            .comparing(PedidoPronto::dataCriacao, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(PedidoPronto::pedidoId);
+
+    private final Map<Long, NavigableSet<PedidoPronto>> filas = new ConcurrentHashMap<>();
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        Map<Long, List<Pedido>> prontos = pedidoRepository.findAllByStatusPedido(StatusPedido.PEDIDO_PRONTO).stream()
+                .collect(Collectors.groupingBy(Pedido::getEstabelecimentoId));
+        prontos.forEach((estabelecimentoId, pedidos) -> filas.put(estabelecimentoId, novaFila(pedidos)));
+    }
+
+    public void adicionar(Pedido pedido) {
+        PedidoPronto pronto = new PedidoPronto(pedido.getId(), pedido.getDataCriacao());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            devolver(pedido.getEstabelecimentoId(), pronto);
+            return;
+        }
+        // so entra na fila depois do commit, senao o despacho pode le-lo antes de estar pronto no banco
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                devolver(pedido.getEstabelecimentoId(), pronto);
+            }
+        });
+    }
+
+    // retira o pedido mais antigo, a retirada eh o que garante que so um despacho fica com ele
+    public PedidoPronto retirar(Long estabelecimentoId) {
+        return fila(estabelecimentoId).pollFirst();
+    }
+
+    public void devolver(Long estabelecimentoId, PedidoPronto pedido) {
+        fila(estabelecimentoId).add(pedido);
+    }
+
+    public Set<Long> estabelecimentosComPedidos() {
+        return filas.entrySet().stream()
+                .filter(fila -> !fila.getValue().isEmpty())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private NavigableSet<PedidoPronto> fila(Long estabelecimentoId) {
+        NavigableSet<PedidoPronto> fila = filas.get(estabelecimentoId);
+        if (fila != null) return fila;
+
+        // estabelecimento ainda nao consultado desde a inicializacao, carrega sob demanda
+        fila = novaFila(pedidoRepository.findAllByEstabelecimentoIdAndStatusPedido(estabelecimentoId, StatusPedido.PEDIDO_PRONTO));
+        NavigableSet<PedidoPronto> existente = filas.putIfAbsent(estabelecimentoId, fila);
+        return existente != null ? existente : fila;
+    }
+
+    private NavigableSet<PedidoPronto> novaFila(List<Pedido> pedidos) {
+        NavigableSet<PedidoPronto> fila = new ConcurrentSkipListSet<>(ORDEM_CHEGADA);
+        pedidos.forEach(pedido -> fila.add(new PedidoPronto(pedido.getId(), pedido.getDataCriacao())));
+        return fila;
+    }
+
+    public record PedidoPronto(Long pedidoId, LocalDateTime dataCriacao) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.ufcg.psoft.pitsa.cache;
+
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// respostas recentes das operacoes com Idempotency-Key; o banco continua sendo a referencia,
+// aqui ficam so as mais usadas para que a repeticao de uma requisicao nao consulte o banco
+@Component
+public class RespostasIdempotentes {
+
+    @Value("${pitsa.idempotencia.capacidade:10000}")
+    int capacidade;
+
+    // em ordem de acesso, a entrada usada ha mais tempo sai quando a capacidade e atingida
+    private final Map<String, RespostaGuardada> respostas = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RespostaGuardada> maisAntiga) {
+            return size() > capacidade;
+        }
+    };
+
+    public synchronized RespostaGuardada recuperar(String chave) {
+        RespostaGuardada guardada = respostas.get(chave);
+        if (guardada != null && guardada.expiraEm().isBefore(LocalDateTime.now())) {
+            respostas.remove(chave);
+            return null;
+        }
+        return guardada;
+    }
+
+    public synchronized void guardar(String chave, RespostaGuardada resposta) {
+        respostas.put(chave, resposta);
+    }
+
+    public record RespostaGuardada(String impressao, PedidoResponseDTO resposta, LocalDateTime expiraEm) {
+    }
+}
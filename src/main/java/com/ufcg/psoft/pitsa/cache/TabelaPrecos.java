@@ -0,0 +1,64 @@
+package com.ufcg.psoft.pitsa.cache;
+
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.Sabor;
+import com.ufcg.psoft.pitsa.model.enums.TamanhoPizza;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// precos do cardapio em centavos numa matriz sabor x tamanho, para cotar pedidos sem ir ao banco
+public class TabelaPrecos {
+
+    public static final int SEM_SABOR = -1;
+
+    private static final int TAMANHOS = TamanhoPizza.values().length;
+
+    private final Map<String, Integer> indices;
+
+    private final long[] precos;
+
+    private final boolean[] disponiveis;
+
+    private TabelaPrecos(Map<String, Integer> indices, long[] precos, boolean[] disponiveis) {
+        this.indices = indices;
+        this.precos = precos;
+        this.disponiveis = disponiveis;
+    }
+
+    public static TabelaPrecos de(List<Sabor> sabores) {
+        Collection<Sabor> unicos = Sabor.porNome(sabores).values();
+        Map<String, Integer> indices = new HashMap<>();
+        long[] precos = new long[unicos.size() * TAMANHOS];
+        boolean[] disponiveis = new boolean[unicos.size()];
+
+        int indice = 0;
+        for (Sabor sabor : unicos) {
+            indices.put(sabor.getNome(), indice);
+            precos[indice * TAMANHOS + TamanhoPizza.MEDIA.ordinal()] = sabor.getPrecoMedia().centavos();
+            precos[indice * TAMANHOS + TamanhoPizza.GRANDE.ordinal()] = sabor.getPrecoGrande().centavos();
+            disponiveis[indice] = !Boolean.FALSE.equals(sabor.getDisponivel());
+            indice++;
+        }
+        return new TabelaPrecos(Map.copyOf(indices), precos, disponiveis);
+    }
+
+    public int indice(String nome) {
+        return nome == null ? SEM_SABOR : indices.getOrDefault(nome, SEM_SABOR);
+    }
+
+    public boolean disponivel(int indice) {
+        return disponiveis[indice];
+    }
+
+    // mesmo calculo do PizzaService: media so tem um sabor, grande meia-meia fica com a media dos dois
+    public Dinheiro preco(TamanhoPizza tamanho, int sabor1, int sabor2) {
+        Dinheiro preco1 = Dinheiro.deCentavos(precos[sabor1 * TAMANHOS + tamanho.ordinal()]);
+        if (sabor2 == SEM_SABOR) {
+            return preco1;
+        }
+        return preco1.media(Dinheiro.deCentavos(precos[sabor2 * TAMANHOS + tamanho.ordinal()]));
+    }
+}
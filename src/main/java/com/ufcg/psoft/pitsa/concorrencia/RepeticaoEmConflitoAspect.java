@@ -0,0 +1,42 @@
+package com.ufcg.psoft.pitsa.concorrencia;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// roda por fora da transacao, entao cada tentativa le de novo o estado e grava numa transacao nova
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RepeticaoEmConflitoAspect {
+
+    @Value("${pitsa.concorrencia.tentativas:3}")
+    int tentativas;
+
+    @Value("${pitsa.concorrencia.espera:20}")
+    long esperaMs;
+
+    @Around("@annotation(com.ufcg.psoft.pitsa.concorrencia.RepetirEmConflito)")
+    public Object repetir(ProceedingJoinPoint chamada) throws Throwable {
+        // dentro de uma transacao ja aberta repetir nao adianta, o conflito sobe para quem a abriu
+        if (TransactionSynchronizationManager.isActualTransactionActive()) return chamada.proceed();
+
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return chamada.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (tentativa >= tentativas) throw e;
+                // espera aleatoria e crescente para as requisicoes em conflito nao colidirem de novo
+                Thread.sleep(ThreadLocalRandom.current().nextLong(esperaMs * tentativa) + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ufcg.psoft.pitsa.concorrencia;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// so para operacoes que podem ser refeitas do zero com o estado atual, sem efeito duplicado
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RepetirEmConflito {
+}
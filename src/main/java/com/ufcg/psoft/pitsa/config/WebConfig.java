@@ -0,0 +1,31 @@
+package com.ufcg.psoft.pitsa.config;
+
+import com.ufcg.psoft.pitsa.security.SessaoArgumentResolver;
+import com.ufcg.psoft.pitsa.security.SessaoInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    SessaoInterceptor sessaoInterceptor;
+
+    @Autowired
+    SessaoArgumentResolver sessaoArgumentResolver;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sessaoInterceptor);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(sessaoArgumentResolver);
+    }
+}
@@ -3,6 +3,8 @@ package com.ufcg.psoft.pitsa.controller;
 import com.ufcg.psoft.pitsa.dto.associacao.AssociacaoResponseDTO;
 import com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador;
 import com.ufcg.psoft.pitsa.model.enums.StatusAssociacao;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.security.SessaoOpcional;
 import com.ufcg.psoft.pitsa.service.associacao.AssociacaoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -22,36 +24,39 @@ public class AssociacaoController {
     @PostMapping()
     public ResponseEntity<AssociacaoResponseDTO> criarAssociacao(
             @RequestParam Long entregadorId,
-            @RequestParam String codigoAcessoEntregador,
+            @RequestParam(required = false) String codigoAcessoEntregador,
+            @SessaoOpcional Sessao sessao,
             @RequestParam Long estabelecimentoId) {
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(associacaoService.criar(entregadorId, codigoAcessoEntregador, estabelecimentoId));
+                .body(associacaoService.criar(entregadorId, codigoAcessoEntregador, sessao, estabelecimentoId));
     }
 
     @PutMapping()
     public ResponseEntity<AssociacaoResponseDTO> atualizarStatus(
             @RequestParam Long entregadorId,
-            @RequestParam String codigoAcessoEstabelecimento,
+            @RequestParam(required = false) String codigoAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao,
             @RequestParam Long estabelecimentoId,
             @RequestParam StatusAssociacao statusAssociacao) {
 
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(associacaoService.atualizar(entregadorId, codigoAcessoEstabelecimento, estabelecimentoId, statusAssociacao));
+                .body(associacaoService.atualizar(entregadorId, codigoAcessoEstabelecimento, sessao, estabelecimentoId, statusAssociacao));
     }
 
     @PutMapping("/atualizar-disponibilidade-entregador")
     public ResponseEntity<AssociacaoResponseDTO> atualizarDisponibilidadeEntregador(
             @RequestParam Long associacaoId,
             @RequestParam Long entregadorId,
-            @RequestParam String codigoAcessoEntregador,
+            @RequestParam(required = false) String codigoAcessoEntregador,
+            @SessaoOpcional Sessao sessao,
             @RequestParam DisponibilidadeEntregador disponibilidadeEntregador) {
 
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(associacaoService.atualizarDisponibilidadeEntregador(entregadorId, codigoAcessoEntregador, associacaoId, disponibilidadeEntregador));
+                .body(associacaoService.atualizarDisponibilidadeEntregador(entregadorId, codigoAcessoEntregador, sessao, associacaoId, disponibilidadeEntregador));
     }
 
 }
@@ -2,9 +2,13 @@ package com.ufcg.psoft.pitsa.controller;
 
 import com.ufcg.psoft.pitsa.dto.cliente.ClienteRequestDTO;
 import com.ufcg.psoft.pitsa.dto.cliente.ClienteResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResumoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborResponseDTO;
 import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.security.SessaoOpcional;
 import com.ufcg.psoft.pitsa.service.cliente.ClienteService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,28 +46,34 @@ public class ClienteController {
     }
 
     @GetMapping("")
-    public ResponseEntity<List<ClienteResponseDTO>> listarClientes() {
+    public ResponseEntity<List<ClienteResponseDTO>> listarClientes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaResponseDTO<ClienteResponseDTO> pagina = clienteService.listar(cursor, tamanho);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(clienteService.listar());
+                .headers(pagina.cabecalhos())
+                .body(pagina.getItens());
     }
 
     @PutMapping("/{id:[0-9]+}")
     public ResponseEntity<ClienteResponseDTO> atualizarCliente(
             @PathVariable Long id,
-            @RequestParam String codigoAcesso,
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao,
             @RequestBody @Valid ClienteRequestDTO clienteRequestDTO) {
 
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(clienteService.atualizar(id, codigoAcesso, clienteRequestDTO));
+                .body(clienteService.atualizar(id, codigoAcesso, sessao, clienteRequestDTO));
     }
 
     @DeleteMapping("/{id:[0-9]+}")
     public ResponseEntity<Void> removerCliente(
             @PathVariable Long id,
-            @RequestParam String codigoAcesso) {
-        clienteService.remover(id, codigoAcesso);
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao) {
+        clienteService.remover(id, codigoAcesso, sessao);
         return ResponseEntity
                 .status(HttpStatus.NO_CONTENT)
                 .build();
@@ -72,60 +82,90 @@ public class ClienteController {
     @PutMapping("/{id:[0-9]+}/interesse-sabor")
     public ResponseEntity<SaborResponseDTO> demonstrarInteresse(
             @PathVariable Long id,
-            @RequestParam String codigoAcesso,
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao,
             @RequestParam Long idSabor
     ) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(clienteService.demonstrarInteresse(id, codigoAcesso, idSabor));
+                .body(clienteService.demonstrarInteresse(id, codigoAcesso, sessao, idSabor));
     }
 
     @PutMapping("/{id:[0-9]+}/interesse-sabor/remover")
     public ResponseEntity<SaborResponseDTO> removerInteresse(
             @PathVariable Long id,
-            @RequestParam String codigoAcesso,
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao,
             @RequestParam Long idSabor
     ) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(clienteService.removerInteresse(id, codigoAcesso, idSabor));
+                .body(clienteService.removerInteresse(id, codigoAcesso, sessao, idSabor));
     }
 
     @GetMapping("/{id:[0-9]+}/meus-pedidos")
     public ResponseEntity<List<PedidoResponseDTO>> recuperarPedidos(
             @PathVariable Long id,
-            @RequestParam String codigoAcesso) {
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaResponseDTO<PedidoResponseDTO> pagina = clienteService.listarPedidos(id, codigoAcesso, sessao, cursor, tamanho);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(clienteService.listarPedidos(id, codigoAcesso));
+                .headers(pagina.cabecalhos())
+                .body(pagina.getItens());
+    }
+
+    // historico leve para a tela do cliente, sem as pizzas, servido pela tabela de resumo
+    @GetMapping("/{id:[0-9]+}/meus-pedidos/resumo")
+    public ResponseEntity<List<PedidoResumoResponseDTO>> recuperarResumoPedidos(
+            @PathVariable Long id,
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam(required = false) StatusPedido statusPedido,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaResponseDTO<PedidoResumoResponseDTO> pagina = clienteService.listarResumoPedidos(id, codigoAcesso, sessao, statusPedido, cursor, tamanho);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .headers(pagina.cabecalhos())
+                .body(pagina.getItens());
     }
 
     @GetMapping("/{id:[0-9]+}/meus-pedidos/status/{statusPedido}")
     public ResponseEntity<List<PedidoResponseDTO>> recuperarPedidosByStatus(
             @PathVariable Long id,
             @PathVariable StatusPedido statusPedido,
-            @RequestParam String codigoAcesso) {
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaResponseDTO<PedidoResponseDTO> pagina = clienteService.listarPedidosFilter(id, codigoAcesso, sessao, statusPedido, cursor, tamanho);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(clienteService.listarPedidosFilter(id, codigoAcesso, statusPedido));
+                .headers(pagina.cabecalhos())
+                .body(pagina.getItens());
     }
 
     @GetMapping("/{id:[0-9]+}/meus-pedidos/{idPedido:[0-9]+}")
     public ResponseEntity<PedidoResponseDTO> recuperarPedido(
             @PathVariable Long id,
             @PathVariable Long idPedido,
-            @RequestParam String codigoAcesso) {
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(clienteService.recuperarPedido(id, codigoAcesso, idPedido));
+                .body(clienteService.recuperarPedido(id, codigoAcesso, sessao, idPedido));
     }
 
     @DeleteMapping("/{id:[0-9]+}/cancelar/{idPedido:[0-9]+}")
     public ResponseEntity<Void> cancelarPedido(
             @PathVariable Long id,
             @PathVariable Long idPedido,
-            @RequestParam String codigoAcesso) {
-        clienteService.cancelarPedido(id, codigoAcesso, idPedido);
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao) {
+        clienteService.cancelarPedido(id, codigoAcesso, sessao, idPedido);
         return ResponseEntity
                 .status(HttpStatus.NO_CONTENT)
                 .build();
@@ -2,6 +2,9 @@ package com.ufcg.psoft.pitsa.controller;
 
 import com.ufcg.psoft.pitsa.dto.entregador.EntregadorRequestDTO;
 import com.ufcg.psoft.pitsa.dto.entregador.EntregadorResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.security.SessaoOpcional;
 import com.ufcg.psoft.pitsa.service.entregador.EntregadorService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,27 +42,33 @@ public class EntregadorController {
     }
 
     @GetMapping("")
-    public ResponseEntity<List<EntregadorResponseDTO>> listarEntregadores() {
+    public ResponseEntity<List<EntregadorResponseDTO>> listarEntregadores(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaResponseDTO<EntregadorResponseDTO> pagina = entregadorService.listar(cursor, tamanho);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(entregadorService.listar());
+                .headers(pagina.cabecalhos())
+                .body(pagina.getItens());
     }
 
     @PutMapping("/{id:[0-9]+}")
     public ResponseEntity<EntregadorResponseDTO> atualizarEntregador(
             @PathVariable Long id,
-            @RequestParam String codigoAcesso,
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao,
             @RequestBody @Valid EntregadorRequestDTO entregadorRequestDTO) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(entregadorService.atualizar(id, codigoAcesso, entregadorRequestDTO));
+                .body(entregadorService.atualizar(id, codigoAcesso, sessao, entregadorRequestDTO));
     }
 
     @DeleteMapping("/{id:[0-9]+}")
     public ResponseEntity<Void> removerEntregador(
             @PathVariable Long id,
-            @RequestParam String codigoAcesso) {
-        entregadorService.remover(id, codigoAcesso);
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao) {
+        entregadorService.remover(id, codigoAcesso, sessao);
         return ResponseEntity
                 .status(HttpStatus.NO_CONTENT)
                 .build();
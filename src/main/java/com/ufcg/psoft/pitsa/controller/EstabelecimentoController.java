@@ -4,13 +4,17 @@ import com.ufcg.psoft.pitsa.dto.estabelecimento.EstabelecimentoRequestDTO;
 import com.ufcg.psoft.pitsa.dto.estabelecimento.EstabelecimentoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborCardapioDTO;
 import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.security.SessaoOpcional;
 import com.ufcg.psoft.pitsa.service.estabelecimento.EstabelecimentoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -46,18 +50,25 @@ public class EstabelecimentoController {
     @DeleteMapping("/{id:[0-9]+}")
     public ResponseEntity<Void> removerEstabelecimento(
             @PathVariable Long id,
-            @RequestParam String codigoAcesso) {
-        estabelecimentoService.remover(id, codigoAcesso);
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao) {
+        estabelecimentoService.remover(id, codigoAcesso, sessao);
         return ResponseEntity
                 .status(HttpStatus.NO_CONTENT)
                 .build();
     }
 
+    // a etag vem da versao do cardapio em memoria: quem ja tem a versao atual recebe 304 sem montar o cardapio
     @GetMapping("/{id:[0-9]+}/cardapio")
     public ResponseEntity<List<SaborCardapioDTO>> cardapio(
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest requisicao) {
+        if (requisicao.checkNotModified(estabelecimentoService.etagCardapio(id))) {
+            return null;
+        }
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache())
                 .body(estabelecimentoService.recuperarSabores(id));
 
     }
@@ -65,10 +76,15 @@ public class EstabelecimentoController {
     @GetMapping("/{id:[0-9]+}/cardapio/{tipoSabor}")
     public ResponseEntity<List<SaborCardapioDTO>> cardapioPorTipo(
             @PathVariable Long id,
-            @PathVariable TipoSabor tipoSabor
+            @PathVariable TipoSabor tipoSabor,
+            WebRequest requisicao
     ) {
+        if (requisicao.checkNotModified(estabelecimentoService.etagCardapio(id))) {
+            return null;
+        }
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache())
                 .body(estabelecimentoService.recuperarSaboresPorTipo(id, tipoSabor));
 
     }
@@ -1,16 +1,32 @@
 package com.ufcg.psoft.pitsa.controller;
 
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.CotacaoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.sla.SlaEtapaResponseDTO;
 import com.ufcg.psoft.pitsa.model.enums.MetodoPagamento;
+import com.ufcg.psoft.pitsa.model.enums.OperacaoIdempotente;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.security.SessaoOpcional;
+import com.ufcg.psoft.pitsa.service.pedido.IdempotenciaPedidos;
 import com.ufcg.psoft.pitsa.service.pedido.PedidoService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,74 +36,164 @@ import java.util.List;
 )
 public class PedidoController {
 
+    // um pedido entregue nao muda mais, entao a etag dele so depende do id
+    private static final CacheControl CACHE_PEDIDO_ENTREGUE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
     @Autowired
     PedidoService<PedidoRequestDTO, PedidoResponseDTO> pedidoService;
 
+    @Autowired
+    IdempotenciaPedidos idempotenciaPedidos;
+
     @PostMapping()
     public ResponseEntity<PedidoResponseDTO> criarPedido(
             @RequestParam Long clienteId,
-            @RequestParam String codigoAcessoCliente,
+            @RequestParam(required = false) String codigoAcessoCliente,
+            @SessaoOpcional Sessao sessao,
             @RequestParam Long estabelecimentoId,
+            @RequestHeader(value = IdempotenciaPedidos.CABECALHO, required = false) String chaveIdempotencia,
             @RequestBody @Valid PedidoRequestDTO pedidoRequestDTO) {
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(pedidoService.criar(pedidoRequestDTO, codigoAcessoCliente, clienteId, estabelecimentoId));
+                .body(idempotenciaPedidos.executar(OperacaoIdempotente.CRIAR_PEDIDO, chaveIdempotencia, clienteId, codigoAcessoCliente, sessao,
+                        List.of(estabelecimentoId, pedidoRequestDTO),
+                        sessaoCliente -> pedidoService.criar(pedidoRequestDTO, codigoAcessoCliente, sessaoCliente, clienteId, estabelecimentoId)));
+    }
+
+    @PostMapping("/cotacao")
+    public ResponseEntity<CotacaoResponseDTO> cotarPedido(
+            @RequestParam Long clienteId,
+            @RequestParam(required = false) String codigoAcessoCliente,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam Long estabelecimentoId,
+            @RequestBody @Valid PedidoRequestDTO pedidoRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(pedidoService.cotar(pedidoRequestDTO, codigoAcessoCliente, sessao, clienteId, estabelecimentoId));
     }
 
     @PutMapping("/{pedidoId:[0-9]+}")
     public ResponseEntity<PedidoResponseDTO> atualizarPedido(
             @PathVariable Long pedidoId,
-            @RequestParam String codigoAcesso,
+            @RequestParam(required = false) String codigoAcesso,
+            @SessaoOpcional Sessao sessao,
             @RequestBody @Valid PedidoRequestDTO pedidoRequestDTO) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(pedidoService.atualizar(pedidoId, codigoAcesso, pedidoRequestDTO));
+                .body(pedidoService.atualizar(pedidoId, codigoAcesso, sessao, pedidoRequestDTO));
     }
 
     @GetMapping("/{pedidoId:[0-9]+}/cliente/{clienteId:[0-9]+}")
     public ResponseEntity<PedidoResponseDTO> recuperarPedidoCliente(
             @PathVariable Long pedidoId,
             @PathVariable Long clienteId,
-            @RequestParam String codigoAcessoCliente) {
+            @RequestParam(required = false) String codigoAcessoCliente,
+            @SessaoOpcional Sessao sessao,
+            WebRequest requisicao) {
+        // com If-None-Match de um pedido entregue, o 304 sai sem carregar o pedido
+        String etag = etagPedidoEntregue(pedidoId);
+        if (requisicao.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && pedidoService.entregueAoCliente(pedidoId, clienteId, codigoAcessoCliente, sessao)
+                && requisicao.checkNotModified(etag)) {
+            return pedidoEntregueNaoModificado(etag);
+        }
+
+        PedidoResponseDTO pedido = pedidoService.recuperarPedidoCliente(pedidoId, clienteId, codigoAcessoCliente, sessao);
+        if (pedido.getStatusPedido() != StatusPedido.PEDIDO_ENTREGUE) {
+            return ResponseEntity
+                    .status(HttpStatus.OK)
+                    .body(pedido);
+        }
+        if (requisicao.checkNotModified(etag)) {
+            return pedidoEntregueNaoModificado(etag);
+        }
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(pedidoService.recuperarPedidoCliente(pedidoId, clienteId, codigoAcessoCliente));
+                .cacheControl(CACHE_PEDIDO_ENTREGUE)
+                .body(pedido);
+    }
+
+    // o 304 revalida a copia em cache, entao repete o Cache-Control do 200
+    private ResponseEntity<PedidoResponseDTO> pedidoEntregueNaoModificado(String etag) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CACHE_PEDIDO_ENTREGUE)
+                .build();
     }
 
     @GetMapping("/{pedidoId:[0-9]+}/estabelecimento/{estabelecimentoId:[0-9]+}")
     public ResponseEntity<PedidoResponseDTO> recuperarPedidoEstabelecimento(
             @PathVariable Long pedidoId,
             @PathVariable Long estabelecimentoId,
-            @RequestParam String codigoAcessoEstabelecimento) {
+            @RequestParam(required = false) String codigoAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(pedidoService.recuperarPedidoEstabelecimento(pedidoId, estabelecimentoId, codigoAcessoEstabelecimento));
+                .body(pedidoService.recuperarPedidoEstabelecimento(pedidoId, estabelecimentoId, codigoAcessoEstabelecimento, sessao));
     }
 
     @GetMapping("/cliente/{clienteId:[0-9]+}/all")
     public ResponseEntity<List<PedidoResponseDTO>> listarPedidos(
             @PathVariable Long clienteId,
-            @RequestParam String codigoAcessoCliente) {
+            @RequestParam(required = false) String codigoAcessoCliente,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaResponseDTO<PedidoResponseDTO> pagina = pedidoService.listarPedidos(clienteId, codigoAcessoCliente, sessao, cursor, tamanho);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(pedidoService.listarPedidos(clienteId, codigoAcessoCliente));
+                .headers(pagina.cabecalhos())
+                .body(pagina.getItens());
     }
 
     @GetMapping("/estabelecimento/{estabelecimentoId:[0-9]+}/all")
     public ResponseEntity<List<PedidoResponseDTO>> listarPedidosEstabelecimento(
             @PathVariable Long estabelecimentoId,
-            @RequestParam String codigoAcessoEstabelecimento) {
+            @RequestParam(required = false) String codigoAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaResponseDTO<PedidoResponseDTO> pagina = pedidoService.listarPedidosEstabelecimento(estabelecimentoId, codigoAcessoEstabelecimento, sessao, cursor, tamanho);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(pedidoService.listarPedidosEstabelecimento(estabelecimentoId, codigoAcessoEstabelecimento));
+                .headers(pagina.cabecalhos())
+                .body(pagina.getItens());
+    }
+
+    @GetMapping(value = "/estabelecimento/{estabelecimentoId:[0-9]+}/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarPedidosEstabelecimento(
+            @PathVariable Long estabelecimentoId,
+            @RequestParam(required = false) String codigoAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam(required = false) StatusPedido statusPedido,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(pedidoService.exportarPedidosEstabelecimento(estabelecimentoId, codigoAcessoEstabelecimento, sessao, statusPedido, de, ate));
+    }
+
+    @GetMapping("/estabelecimento/{estabelecimentoId:[0-9]+}/sla")
+    public ResponseEntity<List<SlaEtapaResponseDTO>> slaEstabelecimento(
+            @PathVariable Long estabelecimentoId,
+            @RequestParam(required = false) String codigoAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(pedidoService.slaEstabelecimento(estabelecimentoId, codigoAcessoEstabelecimento, sessao, de, ate));
     }
 
     @DeleteMapping("/{pedidoId:[0-9]+}/cliente/{clienteId:[0-9]+}")
     public ResponseEntity<Void> removerPedidoCliente(
             @PathVariable Long pedidoId,
             @PathVariable Long clienteId,
-            @RequestParam String codigoAcessoCliente) {
-        pedidoService.removerCliente(pedidoId, clienteId, codigoAcessoCliente);
+            @RequestParam(required = false) String codigoAcessoCliente,
+            @SessaoOpcional Sessao sessao) {
+        pedidoService.removerCliente(pedidoId, clienteId, codigoAcessoCliente, sessao);
         return ResponseEntity
                 .status(HttpStatus.NO_CONTENT)
                 .build();
@@ -97,8 +203,9 @@ public class PedidoController {
     public ResponseEntity<Void> removerPedidoEstabelecimento(
             @PathVariable Long pedidoId,
             @PathVariable Long estabelecimentoId,
-            @RequestParam String codigoAcessoEstabelecimento) {
-        pedidoService.removerEstabelecimento(pedidoId, estabelecimentoId, codigoAcessoEstabelecimento);
+            @RequestParam(required = false) String codigoAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao) {
+        pedidoService.removerEstabelecimento(pedidoId, estabelecimentoId, codigoAcessoEstabelecimento, sessao);
         return ResponseEntity
                 .status(HttpStatus.NO_CONTENT)
                 .build();
@@ -108,30 +215,40 @@ public class PedidoController {
     public ResponseEntity<PedidoResponseDTO> confirmarPagamento(
             @PathVariable Long pedidoId,
             @RequestParam Long clienteId,
-            @RequestParam String codigoAcessoCliente,
-            @RequestParam MetodoPagamento metodoPagamento) {
+            @RequestParam(required = false) String codigoAcessoCliente,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam MetodoPagamento metodoPagamento,
+            @RequestHeader(value = IdempotenciaPedidos.CABECALHO, required = false) String chaveIdempotencia) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(pedidoService.confirmarPagamento(pedidoId, clienteId, codigoAcessoCliente, metodoPagamento));
+                .body(idempotenciaPedidos.executar(OperacaoIdempotente.CONFIRMAR_PAGAMENTO, chaveIdempotencia, clienteId, codigoAcessoCliente, sessao,
+                        List.of(pedidoId, metodoPagamento),
+                        sessaoCliente -> pedidoService.confirmarPagamento(pedidoId, clienteId, codigoAcessoCliente, sessaoCliente, metodoPagamento)));
     }
 
     @PutMapping("/{pedidoId:[0-9]+}/finalizar-preparo-pedido")
     public ResponseEntity<PedidoResponseDTO> estabelecimentoPrepararPedido(
             @PathVariable Long pedidoId,
             @RequestParam Long estabelecimentoId,
-            @RequestParam String codigoAcessoEstabelecimento) {
+            @RequestParam(required = false) String codigoAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(pedidoService.finalizarPreparoPedido(pedidoId, estabelecimentoId, codigoAcessoEstabelecimento));
+                .body(pedidoService.finalizarPreparoPedido(pedidoId, estabelecimentoId, codigoAcessoEstabelecimento, sessao));
     }
 
     @PutMapping("/{pedidoId:[0-9]+}/confirmar-entrega")
     public ResponseEntity<PedidoResponseDTO> clienteConfirmaEntrega(
             @PathVariable Long pedidoId,
             @RequestParam Long clienteId,
-            @RequestParam String codigoAcessoCliente) {
+            @RequestParam(required = false) String codigoAcessoCliente,
+            @SessaoOpcional Sessao sessao) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(pedidoService.confirmarRecebimento(pedidoId, clienteId, codigoAcessoCliente));
+                .body(pedidoService.confirmarRecebimento(pedidoId, clienteId, codigoAcessoCliente, sessao));
+    }
+
+    private static String etagPedidoEntregue(Long pedidoId) {
+        return "\"pedido-" + pedidoId + "-entregue\"";
     }
 }
@@ -1,15 +1,22 @@
 package com.ufcg.psoft.pitsa.controller;
 
+import com.ufcg.psoft.pitsa.dto.cliente.ClienteResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.ImportacaoSaboresResponseDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborRequestDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborResponseDTO;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.security.SessaoOpcional;
 import com.ufcg.psoft.pitsa.service.sabor.SaborService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -25,32 +32,68 @@ public class SaborController {
     @PostMapping
     public ResponseEntity<SaborResponseDTO> criarSabor(
             @RequestParam Long estabelecimentoId,
-            @RequestParam String codAcessoEstabelecimento,
+            @RequestParam(required = false) String codAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao,
             @RequestBody @Valid SaborRequestDTO saborRequestDTO
     ) {
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(saborService.criar(saborRequestDTO, estabelecimentoId, codAcessoEstabelecimento));
+                .body(saborService.criar(saborRequestDTO, estabelecimentoId, codAcessoEstabelecimento, sessao));
+    }
+
+    // o corpo e lido direto da requisicao, uma linha por sabor, em csv com cabecalho ou ndjson
+    @PostMapping(value = "/lote", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ImportacaoSaboresResponseDTO> importarSabores(
+            @RequestParam Long estabelecimentoId,
+            @RequestParam(required = false) String codAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam(defaultValue = "false") boolean sincronizar,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType formato,
+            InputStream corpo) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(saborService.importar(corpo, formato, estabelecimentoId, codAcessoEstabelecimento, sessao, sincronizar));
     }
 
     @GetMapping("/{id:[0-9]+}")
     public ResponseEntity<SaborResponseDTO> recuperarSabor(
             @PathVariable Long id,
             @RequestParam Long estabelecimentoId,
-            @RequestParam String codAcessoEstabelecimento) {
+            @RequestParam(required = false) String codAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(saborService.recuperar(id, estabelecimentoId, codAcessoEstabelecimento));
+                .body(saborService.recuperar(id, estabelecimentoId, codAcessoEstabelecimento, sessao));
 
     }
 
+    @GetMapping("/{id:[0-9]+}/interessados")
+    public ResponseEntity<List<ClienteResponseDTO>> listarInteressados(
+            @PathVariable Long id,
+            @RequestParam Long estabelecimentoId,
+            @RequestParam(required = false) String codAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaResponseDTO<ClienteResponseDTO> pagina = saborService.listarInteressados(id, estabelecimentoId, codAcessoEstabelecimento, sessao, cursor, tamanho);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .headers(pagina.cabecalhos())
+                .body(pagina.getItens());
+    }
+
     @GetMapping
     public ResponseEntity<List<SaborResponseDTO>> listarSabores(
             @RequestParam Long estabelecimentoId,
-            @RequestParam String codAcessoEstabelecimento) {
+            @RequestParam(required = false) String codAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaResponseDTO<SaborResponseDTO> pagina = saborService.listar(estabelecimentoId, codAcessoEstabelecimento, sessao, cursor, tamanho);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(saborService.listar(estabelecimentoId, codAcessoEstabelecimento));
+                .headers(pagina.cabecalhos())
+                .body(pagina.getItens());
 
     }
 
@@ -58,19 +101,21 @@ public class SaborController {
     public ResponseEntity<SaborResponseDTO> atualizarSabor(
             @PathVariable Long id,
             @RequestParam Long estabelecimentoId,
-            @RequestParam String codAcessoEstabelecimento,
+            @RequestParam(required = false) String codAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao,
             @RequestBody @Valid SaborRequestDTO saborRequestDTO) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(saborService.atualizar(id, estabelecimentoId, codAcessoEstabelecimento, saborRequestDTO));
+                .body(saborService.atualizar(id, estabelecimentoId, codAcessoEstabelecimento, sessao, saborRequestDTO));
     }
 
     @DeleteMapping("/{id:[0-9]+}")
     public ResponseEntity<Void> removerSabor(
             @PathVariable Long id,
             @RequestParam Long estabelecimentoId,
-            @RequestParam String codAcessoEstabelecimento) {
-        saborService.remover(id, estabelecimentoId, codAcessoEstabelecimento);
+            @RequestParam(required = false) String codAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao) {
+        saborService.remover(id, estabelecimentoId, codAcessoEstabelecimento, sessao);
         return ResponseEntity
                 .status(HttpStatus.NO_CONTENT)
                 .build();
@@ -80,11 +125,12 @@ public class SaborController {
     public ResponseEntity<SaborResponseDTO> atualizarDisponibilidade(
             @PathVariable Long id,
             @RequestParam Long estabelecimentoId,
-            @RequestParam String codAcessoEstabelecimento,
+            @RequestParam(required = false) String codAcessoEstabelecimento,
+            @SessaoOpcional Sessao sessao,
             @RequestParam Boolean disponibilidade) {
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(saborService.atualizarDisponibilidade(id, estabelecimentoId, codAcessoEstabelecimento, disponibilidade));
+                .body(saborService.atualizarDisponibilidade(id, estabelecimentoId, codAcessoEstabelecimento, sessao, disponibilidade));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.ufcg.psoft.pitsa.controller;
+
+import com.ufcg.psoft.pitsa.dto.sessao.SessaoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.sessao.SessaoResponseDTO;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.service.sessao.SessaoService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(
+        value = "/sessao",
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class SessaoController {
+
+    @Autowired
+    SessaoService<SessaoRequestDTO, SessaoResponseDTO> sessaoService;
+
+    @PostMapping()
+    public ResponseEntity<SessaoResponseDTO> criarSessao(
+            @RequestBody @Valid SessaoRequestDTO sessaoRequestDTO) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(sessaoService.criar(sessaoRequestDTO));
+    }
+
+    @GetMapping()
+    public ResponseEntity<SessaoResponseDTO> recuperarSessao(Sessao sessao) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(sessaoService.recuperar(sessao));
+    }
+}
@@ -1,9 +1,8 @@
 package com.ufcg.psoft.pitsa.dto.associacao;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.ufcg.psoft.pitsa.model.Associacao;
+import com.ufcg.psoft.pitsa.dto.estabelecimento.EstabelecimentoResponseDTO;
 import com.ufcg.psoft.pitsa.model.Entregador;
-import com.ufcg.psoft.pitsa.model.Estabelecimento;
 import com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador;
 import com.ufcg.psoft.pitsa.model.enums.StatusAssociacao;
 import jakarta.persistence.GeneratedValue;
@@ -27,7 +26,7 @@ public class AssociacaoResponseDTO {
 
     @JsonProperty("estabelecimento")
     @NotBlank(message = "Estabelecimento obrigatorio")
-    private Estabelecimento estabelecimento;
+    private EstabelecimentoResponseDTO estabelecimento;
 
     @JsonProperty("entregador")
     @NotBlank(message = "Entregador obrigatorio")
@@ -38,12 +37,4 @@ public class AssociacaoResponseDTO {
 
     @JsonProperty("disponibilidadeEntregador")
     private DisponibilidadeEntregador disponibilidadeEntregador;
-
-    public AssociacaoResponseDTO(Associacao associacao) {
-        this.id = associacao.getId();
-        this.estabelecimento = associacao.getEstabelecimento();
-        this.entregador = associacao.getEntregador();
-        this.status = associacao.getStatus();
-        this.disponibilidadeEntregador = associacao.getDisponibilidadeEntregador();
-    }
-}
\ No newline at end of file
+}
@@ -1,7 +1,6 @@
 package com.ufcg.psoft.pitsa.dto.cliente;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.ufcg.psoft.pitsa.model.Cliente;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -29,10 +28,4 @@ public class ClienteResponseDTO {
     @JsonProperty("endereco")
     @NotBlank(message = "Endereco obrigatorio")
     private String endereco;
-
-    public ClienteResponseDTO(Cliente cliente) {
-        this.id = cliente.getId();
-        this.nome = cliente.getNome();
-        this.endereco = cliente.getEndereco();
-    }
 }
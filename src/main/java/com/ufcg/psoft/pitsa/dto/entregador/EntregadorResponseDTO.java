@@ -2,7 +2,6 @@ package com.ufcg.psoft.pitsa.dto.entregador;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.ufcg.psoft.pitsa.dto.veiculo.VeiculoResponseDTO;
-import com.ufcg.psoft.pitsa.model.Entregador;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -29,11 +28,4 @@ public class EntregadorResponseDTO {
 
     @JsonProperty("veiculo")
     private VeiculoResponseDTO veiculoResponseDTO;
-
-    public EntregadorResponseDTO(Entregador entregador) {
-        this.id = entregador.getId();
-        this.nome = entregador.getNome();
-        this.veiculoResponseDTO = new VeiculoResponseDTO(entregador.getVeiculo());
-    }
-
 }
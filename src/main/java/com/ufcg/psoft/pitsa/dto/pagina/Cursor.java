@@ -0,0 +1,49 @@
+package com.ufcg.psoft.pitsa.dto.pagina;
+
+import com.ufcg.psoft.pitsa.exception.CursorInvalidoException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// ultima chave devolvida por uma pagina; para o cliente e so um texto opaco
+@Data
+@AllArgsConstructor
+public class Cursor {
+
+    public static final int TAMANHO_PADRAO = 50;
+
+    public static final int TAMANHO_MAXIMO = 200;
+
+    private static final Cursor INICIO = new Cursor(null, 0L);
+
+    // ordenacao anterior ao id, quando a listagem nao e so por id
+    private String chave;
+
+    private Long id;
+
+    public static Cursor ler(String cursor) {
+        if (cursor == null || cursor.isBlank()) return INICIO;
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(':');
+            String chave = separador < 0 ? null : valor.substring(0, separador);
+            Long id = Long.valueOf(valor.substring(separador + 1));
+            if (id < 0) throw new CursorInvalidoException();
+            return new Cursor(chave, id);
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException();
+        }
+    }
+
+    public static int tamanho(Integer tamanho) {
+        if (tamanho == null) return TAMANHO_PADRAO;
+        return Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO));
+    }
+
+    public String escrever() {
+        String valor = chave == null ? id.toString() : chave + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,36 @@
+package com.ufcg.psoft.pitsa.dto.pagina;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class PaginaResponseDTO<T> {
+
+    // o corpo continua sendo a lista, o cursor da proxima pagina vai no cabecalho
+    public static final String CABECALHO_CURSOR = "X-Proximo-Cursor";
+
+    private List<T> itens;
+
+    // nulo na ultima pagina
+    private String proximoCursor;
+
+    public static <E, T> PaginaResponseDTO<T> de(Slice<E> slice, Function<E, T> mapeamento, Function<E, Long> id) {
+        List<E> conteudo = slice.getContent();
+        String proximo = slice.hasNext() ? new Cursor(null, id.apply(conteudo.get(conteudo.size() - 1))).escrever() : null;
+        return new PaginaResponseDTO<>(conteudo.stream().map(mapeamento).toList(), proximo);
+    }
+
+    public HttpHeaders cabecalhos() {
+        HttpHeaders headers = new HttpHeaders();
+        if (proximoCursor != null) {
+            headers.add(CABECALHO_CURSOR, proximoCursor);
+        }
+        return headers;
+    }
+}
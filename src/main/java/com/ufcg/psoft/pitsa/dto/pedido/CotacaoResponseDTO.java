@@ -0,0 +1,33 @@
+package com.ufcg.psoft.pitsa.dto.pedido;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.pitsa.dto.pizza.PizzaCotacaoDTO;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.enums.MetodoPagamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CotacaoResponseDTO {
+
+    @JsonProperty("estabelecimentoId")
+    private Long estabelecimentoId;
+
+    @JsonProperty("pizzas")
+    private List<PizzaCotacaoDTO> pizzas;
+
+    @JsonProperty("valor")
+    private Dinheiro valor;
+
+    // valor final em cada metodo de pagamento, ja com o desconto aplicado
+    @JsonProperty("valorPorMetodoPagamento")
+    private Map<MetodoPagamento, Dinheiro> valorPorMetodoPagamento;
+}
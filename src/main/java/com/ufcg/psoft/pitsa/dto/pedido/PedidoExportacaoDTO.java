@@ -0,0 +1,22 @@
+package com.ufcg.psoft.pitsa.dto.pedido;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// uma linha da exportacao: o mesmo formato da listagem mais a data de criacao
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoExportacaoDTO {
+
+    @JsonUnwrapped
+    private PedidoResponseDTO pedido;
+
+    @JsonProperty("dataCriacao")
+    private LocalDateTime dataCriacao;
+}
@@ -2,8 +2,7 @@ package com.ufcg.psoft.pitsa.dto.pedido;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.ufcg.psoft.pitsa.dto.pizza.PizzaResponseDTO;
-import com.ufcg.psoft.pitsa.model.Pedido;
-import com.ufcg.psoft.pitsa.model.Pizza;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
 import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,7 +27,7 @@ public class PedidoResponseDTO {
     private Long estabelecimentoId;
 
     @JsonProperty("valor")
-    private Double valorPedido;
+    private Dinheiro valorPedido;
 
     @JsonProperty("enderecoEntrega")
     private String enderecoEntrega;
@@ -45,23 +44,4 @@ public class PedidoResponseDTO {
 
     @JsonProperty("entregadorId")
     private Long entregadorId;
-
-    public PedidoResponseDTO(Pedido pedido) {
-        this.id = pedido.getId();
-        this.clienteId = pedido.getClienteId();
-        this.estabelecimentoId = pedido.getEstabelecimentoId();
-        this.valorPedido = pedido.getValorPedido();
-        this.enderecoEntrega = pedido.getEnderecoEntrega();
-        this.pizzas = mapeiaPizzas(pedido.getPizzas());
-        this.statusPagamento = pedido.getStatusPagamento();
-        this.statusPedido = pedido.getStatusPedido();
-        this.entregadorId = pedido.getEntregadorId();
-    }
-
-    private List<PizzaResponseDTO> mapeiaPizzas(List<Pizza> pizzas) {
-        return pizzas.stream()
-                .map(PizzaResponseDTO::new)
-                .toList();
-    }
-
 }
@@ -0,0 +1,37 @@
+package com.ufcg.psoft.pitsa.dto.pedido;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoResumoResponseDTO {
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("statusPedido")
+    private StatusPedido statusPedido;
+
+    @JsonProperty("valor")
+    private Dinheiro valorPedido;
+
+    @JsonProperty("dataCriacao")
+    private LocalDateTime dataCriacao;
+
+    @JsonProperty("quantidadePizzas")
+    private Integer quantidadePizzas;
+
+    // nulo ate o pedido sair para entrega
+    @JsonProperty("nomeEntregador")
+    private String nomeEntregador;
+}
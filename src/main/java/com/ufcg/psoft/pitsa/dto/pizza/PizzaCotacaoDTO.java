@@ -0,0 +1,28 @@
+package com.ufcg.psoft.pitsa.dto.pizza;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.enums.TamanhoPizza;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PizzaCotacaoDTO {
+
+    @JsonProperty("tamanho")
+    private TamanhoPizza tamanho;
+
+    @JsonProperty("sabor1")
+    private String sabor1;
+
+    @JsonProperty("sabor2")
+    private String sabor2;
+
+    @JsonProperty("valor")
+    private Dinheiro valor;
+}
@@ -0,0 +1,32 @@
+package com.ufcg.psoft.pitsa.dto.sabor;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoSaboresResponseDTO {
+
+    @JsonProperty("criados")
+    private Integer criados;
+
+    @JsonProperty("atualizados")
+    private Integer atualizados;
+
+    @JsonProperty("rejeitados")
+    private Integer rejeitados;
+
+    // sabores do estabelecimento que nao vieram no arquivo, so no modo de sincronizacao
+    @JsonProperty("desativados")
+    private List<String> desativados;
+
+    @JsonProperty("linhas")
+    private List<LinhaImportacaoDTO> linhas;
+}
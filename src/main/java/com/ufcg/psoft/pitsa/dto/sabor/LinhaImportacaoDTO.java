@@ -0,0 +1,32 @@
+package com.ufcg.psoft.pitsa.dto.sabor;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.pitsa.model.enums.ResultadoImportacao;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinhaImportacaoDTO {
+
+    // numero da linha no arquivo enviado, contando o cabecalho do csv
+    @JsonProperty("linha")
+    private Long linha;
+
+    @JsonProperty("nome")
+    private String nome;
+
+    @JsonProperty("resultado")
+    private ResultadoImportacao resultado;
+
+    @JsonProperty("erros")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> erros;
+}
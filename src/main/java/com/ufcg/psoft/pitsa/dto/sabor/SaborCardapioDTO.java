@@ -1,10 +1,9 @@
 package com.ufcg.psoft.pitsa.dto.sabor;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.ufcg.psoft.pitsa.model.Sabor;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,14 +16,12 @@ import lombok.NoArgsConstructor;
 public class SaborCardapioDTO {
 
     @JsonProperty("precoGrande")
-    @Positive(message = "Preco deve ser maior que zero")
     @NotNull(message = "Preco da pizza grande é obrigatorio")
-    Double precoGrande;
+    Dinheiro precoGrande;
 
     @JsonProperty("precoMedia")
-    @Positive(message = "Preco deve ser maior que zero")
     @NotNull(message = "Preco da pizza média é obrigatorio")
-    Double precoMedia;
+    Dinheiro precoMedia;
 
     @JsonProperty("nome")
     @NotBlank(message = "Nome obrigatorio")
@@ -32,12 +29,4 @@ public class SaborCardapioDTO {
 
     @JsonProperty("disponivel")
     private Boolean disponivel;
-
-    public SaborCardapioDTO(Sabor sabor) {
-        this.nome = sabor.getNome();
-        this.precoMedia = sabor.getPrecoMedia();
-        this.precoGrande = sabor.getPrecoGrande();
-        this.disponivel = sabor.getDisponivel();
-    }
-
 }
@@ -1,8 +1,8 @@
 package com.ufcg.psoft.pitsa.dto.sabor;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.ufcg.psoft.pitsa.model.Cliente;
-import com.ufcg.psoft.pitsa.model.Sabor;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
 import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -10,14 +10,11 @@ import jakarta.persistence.Id;
 import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.Set;
-
 @Data
 @Builder
 @NoArgsConstructor
@@ -25,21 +22,21 @@ import java.util.Set;
 public class SaborResponseDTO {
 
     @JsonProperty("precoGrande")
-    @Positive(message = "Preco deve ser maior que zero")
     @NotNull(message = "Preco da pizza grande é obrigatorio")
-    Double precoGrande;
+    Dinheiro precoGrande;
 
     @JsonProperty("precoMedia")
-    @Positive(message = "Preco deve ser maior que zero")
     @NotNull(message = "Preco da pizza média é obrigatorio")
-    Double precoMedia;
+    Dinheiro precoMedia;
 
     @JsonProperty("disponivel")
     @AssertTrue
     Boolean disponivel;
 
-    @JsonProperty("clientesInteressados")
-    Set<Cliente> clientesInteressados;
+    // so vem preenchido quando o sabor e consultado individualmente ou o interesse nele muda, a lista fica em /sabor/{id}/interessados
+    @JsonProperty("quantidadeInteressados")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Long quantidadeInteressados;
 
     @JsonProperty("id")
     @Id
@@ -53,16 +50,4 @@ public class SaborResponseDTO {
     @JsonProperty("tipo")
     @NotNull(message = "Tipo obrigatorio")
     private TipoSabor tipo;
-
-    public SaborResponseDTO(Sabor sabor) {
-        this.id = sabor.getId();
-        this.nome = sabor.getNome();
-        this.tipo = sabor.getTipo();
-        this.precoMedia = sabor.getPrecoMedia();
-        this.precoGrande = sabor.getPrecoGrande();
-        this.disponivel = sabor.getDisponivel();
-        this.clientesInteressados = sabor.getClientesInteressados();
-
-    }
-
 }
@@ -0,0 +1,29 @@
+package com.ufcg.psoft.pitsa.dto.sessao;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessaoRequestDTO {
+
+    @JsonProperty("tipo")
+    @NotNull(message = "Tipo de usuario obrigatorio")
+    private TipoUsuario tipo;
+
+    @JsonProperty("id")
+    @NotNull(message = "Id obrigatorio")
+    private Long id;
+
+    @JsonProperty("codigoAcesso")
+    @NotBlank(message = "Codigo de acesso obrigatorio")
+    private String codigoAcesso;
+}
@@ -0,0 +1,37 @@
+package com.ufcg.psoft.pitsa.dto.sessao;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessaoResponseDTO {
+
+    @JsonProperty("token")
+    private String token;
+
+    @JsonProperty("tipo")
+    private TipoUsuario tipo;
+
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("expiraEm")
+    private Instant expiraEm;
+
+    public SessaoResponseDTO(Sessao sessao, String token) {
+        this.token = token;
+        this.tipo = sessao.getTipo();
+        this.id = sessao.getId();
+        this.expiraEm = sessao.getExpiraEm();
+    }
+}
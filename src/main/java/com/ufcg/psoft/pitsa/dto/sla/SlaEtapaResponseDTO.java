@@ -0,0 +1,32 @@
+package com.ufcg.psoft.pitsa.dto.sla;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaEtapaResponseDTO {
+
+    // status em que o pedido estava, PEDIDO_EM_PREPARO e o preparo e PEDIDO_PRONTO a espera pelo despacho
+    @JsonProperty("etapa")
+    private StatusPedido etapa;
+
+    @JsonProperty("quantidade")
+    private Long quantidade;
+
+    @JsonProperty("mediaMs")
+    private Double mediaMs;
+
+    // mediana e percentil sao o limite superior da faixa em que caem, com erro de ate 25%
+    @JsonProperty("medianaMs")
+    private Long medianaMs;
+
+    @JsonProperty("p90Ms")
+    private Long p90Ms;
+}
@@ -1,7 +1,6 @@
 package com.ufcg.psoft.pitsa.dto.veiculo;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.ufcg.psoft.pitsa.model.Veiculo;
 import com.ufcg.psoft.pitsa.model.enums.TipoVeiculo;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
@@ -26,11 +25,4 @@ public class VeiculoResponseDTO {
     @JsonProperty("corVeiculo")
     @NotBlank(message = "Cor do veículo obrigatoria")
     private String corVeiculo;
-
-    public VeiculoResponseDTO(Veiculo veiculo) {
-        this.placaVeiculo = veiculo.getPlacaVeiculo();
-        this.tipoVeiculo = veiculo.getTipoVeiculo();
-        this.corVeiculo = veiculo.getCorVeiculo();
-    }
-
 }
@@ -0,0 +1,24 @@
+package com.ufcg.psoft.pitsa.event;
+
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class PedidoTransicaoEvent {
+    @ToString.Exclude
+    private Pedido pedido;
+    private StatusPedido de;
+    private StatusPedido para;
+    private LocalDateTime data;
+    // tempo que o pedido passou no status de origem
+    private Duration duracao;
+}
@@ -0,0 +1,7 @@
+package com.ufcg.psoft.pitsa.exception;
+
+public class ArquivoImportacaoInvalidoException extends PitsAException {
+    public ArquivoImportacaoInvalidoException(String message) {
+        super(message);
+    }
+}
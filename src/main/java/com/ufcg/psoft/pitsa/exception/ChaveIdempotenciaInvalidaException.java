@@ -0,0 +1,7 @@
+package com.ufcg.psoft.pitsa.exception;
+
+public class ChaveIdempotenciaInvalidaException extends PitsAException {
+    public ChaveIdempotenciaInvalidaException() {
+        super("Chave de idempotencia invalida!");
+    }
+}
@@ -0,0 +1,7 @@
+package com.ufcg.psoft.pitsa.exception;
+
+public class ChaveIdempotenciaReutilizadaException extends PitsAException {
+    public ChaveIdempotenciaReutilizadaException() {
+        super("A chave de idempotencia ja foi usada em outra requisicao!");
+    }
+}
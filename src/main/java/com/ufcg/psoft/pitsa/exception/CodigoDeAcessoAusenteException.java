@@ -0,0 +1,7 @@
+package com.ufcg.psoft.pitsa.exception;
+
+public class CodigoDeAcessoAusenteException extends PitsAException {
+    public CodigoDeAcessoAusenteException() {
+        super("Codigo de acesso ausente!");
+    }
+}
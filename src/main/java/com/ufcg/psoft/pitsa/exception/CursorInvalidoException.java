@@ -0,0 +1,7 @@
+package com.ufcg.psoft.pitsa.exception;
+
+public class CursorInvalidoException extends PitsAException {
+    public CursorInvalidoException() {
+        super("Cursor de paginacao invalido!");
+    }
+}
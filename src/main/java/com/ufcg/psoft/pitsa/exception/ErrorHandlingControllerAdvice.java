@@ -1,7 +1,9 @@
 package com.ufcg.psoft.pitsa.exception;
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -69,6 +71,20 @@ public class ErrorHandlingControllerAdvice {
         return defaultCustomErrorTypeConstruct(e.getMessage());
     }
 
+    @ExceptionHandler(SessaoInvalidaException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    @ResponseBody
+    public CustomErrorType onInvalidSessionException(SessaoInvalidaException e) {
+        return defaultCustomErrorTypeConstruct(e.getMessage());
+    }
+
+    @ExceptionHandler(CursorInvalidoException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public CustomErrorType onInvalidCursorException(CursorInvalidoException e) {
+        return defaultCustomErrorTypeConstruct(e.getMessage());
+    }
+
     @ExceptionHandler(TipoInvalidoException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
@@ -131,6 +147,20 @@ public class ErrorHandlingControllerAdvice {
         return defaultCustomErrorTypeConstruct(e.getMessage());
     }
 
+    @ExceptionHandler(ChaveIdempotenciaReutilizadaException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ResponseBody
+    public CustomErrorType onReusedIdempotencyKeyException(ChaveIdempotenciaReutilizadaException e) {
+        return defaultCustomErrorTypeConstruct(e.getMessage());
+    }
+
+    // outra requisicao gravou a mesma entidade entre a leitura e a escrita desta
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public CustomErrorType onOptimisticLockException(RuntimeException e) {
+        return defaultCustomErrorTypeConstruct("O recurso foi alterado por outra requisicao, tente novamente!");
+    }
 
     @ExceptionHandler(PitsAException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,7 @@
+package com.ufcg.psoft.pitsa.exception;
+
+public class SessaoInvalidaException extends PitsAException {
+    public SessaoInvalidaException() {
+        super("Sessao invalida ou expirada!");
+    }
+}
@@ -0,0 +1,12 @@
+package com.ufcg.psoft.pitsa.mapper;
+
+import com.ufcg.psoft.pitsa.dto.associacao.AssociacaoResponseDTO;
+import com.ufcg.psoft.pitsa.model.Associacao;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = EstabelecimentoMapper.class)
+public interface AssociacaoMapper {
+
+    AssociacaoResponseDTO paraResposta(Associacao associacao);
+}
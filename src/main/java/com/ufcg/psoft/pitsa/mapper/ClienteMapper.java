@@ -0,0 +1,21 @@
+package com.ufcg.psoft.pitsa.mapper;
+
+import com.ufcg.psoft.pitsa.dto.cliente.ClienteRequestDTO;
+import com.ufcg.psoft.pitsa.dto.cliente.ClienteResponseDTO;
+import com.ufcg.psoft.pitsa.model.Cliente;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ClienteMapper {
+
+    @Mapping(target = "id", ignore = true)
+    Cliente paraEntidade(ClienteRequestDTO clienteRequestDTO);
+
+    @Mapping(target = "id", ignore = true)
+    void atualizar(ClienteRequestDTO clienteRequestDTO, @MappingTarget Cliente cliente);
+
+    ClienteResponseDTO paraResposta(Cliente cliente);
+}
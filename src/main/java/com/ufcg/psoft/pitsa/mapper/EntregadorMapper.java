@@ -0,0 +1,32 @@
+package com.ufcg.psoft.pitsa.mapper;
+
+import com.ufcg.psoft.pitsa.dto.entregador.EntregadorRequestDTO;
+import com.ufcg.psoft.pitsa.dto.entregador.EntregadorResponseDTO;
+import com.ufcg.psoft.pitsa.dto.veiculo.VeiculoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.veiculo.VeiculoResponseDTO;
+import com.ufcg.psoft.pitsa.model.Entregador;
+import com.ufcg.psoft.pitsa.model.Veiculo;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface EntregadorMapper {
+
+    // o veiculo chega e sai no campo "veiculo" do json, mas os DTOs guardam ele com outro nome
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "veiculo", source = "veiculoRequestDTO")
+    Entregador paraEntidade(EntregadorRequestDTO entregadorRequestDTO);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "veiculo", source = "veiculoRequestDTO")
+    void atualizar(EntregadorRequestDTO entregadorRequestDTO, @MappingTarget Entregador entregador);
+
+    @Mapping(target = "veiculoResponseDTO", source = "veiculo")
+    EntregadorResponseDTO paraResposta(Entregador entregador);
+
+    Veiculo paraEntidade(VeiculoRequestDTO veiculoRequestDTO);
+
+    VeiculoResponseDTO paraResposta(Veiculo veiculo);
+}
@@ -0,0 +1,23 @@
+package com.ufcg.psoft.pitsa.mapper;
+
+import com.ufcg.psoft.pitsa.dto.estabelecimento.EstabelecimentoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.estabelecimento.EstabelecimentoResponseDTO;
+import com.ufcg.psoft.pitsa.model.Estabelecimento;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface EstabelecimentoMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "sabores", ignore = true)
+    Estabelecimento paraEntidade(EstabelecimentoRequestDTO estabelecimentoRequestDTO);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "sabores", ignore = true)
+    void atualizar(EstabelecimentoRequestDTO estabelecimentoRequestDTO, @MappingTarget Estabelecimento estabelecimento);
+
+    EstabelecimentoResponseDTO paraResposta(Estabelecimento estabelecimento);
+}
@@ -0,0 +1,28 @@
+package com.ufcg.psoft.pitsa.mapper;
+
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoExportacaoDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResumoResponseDTO;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.PedidoResumo;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = PizzaMapper.class)
+public interface PedidoMapper {
+
+    // do pedido recebido so o endereco vem direto, o resto eh calculado pelo servico
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "enderecoEntrega")
+    Pedido paraEntidade(PedidoRequestDTO pedidoRequestDTO);
+
+    PedidoResponseDTO paraResposta(Pedido pedido);
+
+    PedidoResumoResponseDTO paraResumo(PedidoResumo resumo);
+
+    @Mapping(target = "pedido", source = ".")
+    PedidoExportacaoDTO paraExportacao(Pedido pedido);
+}
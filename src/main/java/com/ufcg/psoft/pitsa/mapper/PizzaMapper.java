@@ -0,0 +1,20 @@
+package com.ufcg.psoft.pitsa.mapper;
+
+import com.ufcg.psoft.pitsa.dto.pizza.PizzaRequestDTO;
+import com.ufcg.psoft.pitsa.dto.pizza.PizzaResponseDTO;
+import com.ufcg.psoft.pitsa.model.Pizza;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING, uses = SaborMapper.class)
+public interface PizzaMapper {
+
+    // os sabores chegam pelo nome e sao resolvidos no cardapio do estabelecimento
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "sabor1", ignore = true)
+    @Mapping(target = "sabor2", ignore = true)
+    Pizza paraEntidade(PizzaRequestDTO pizzaRequestDTO);
+
+    PizzaResponseDTO paraResposta(Pizza pizza);
+}
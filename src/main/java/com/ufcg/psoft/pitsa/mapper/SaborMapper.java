@@ -0,0 +1,39 @@
+package com.ufcg.psoft.pitsa.mapper;
+
+import com.ufcg.psoft.pitsa.dto.sabor.SaborCardapioDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.SaborRequestDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.SaborResponseDTO;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.Sabor;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface SaborMapper {
+
+    @Mapping(target = "id", ignore = true)
+    Sabor paraEntidade(SaborRequestDTO saborRequestDTO);
+
+    @Mapping(target = "id", ignore = true)
+    void atualizar(SaborRequestDTO saborRequestDTO, @MappingTarget Sabor sabor);
+
+    // na importacao um campo ausente na linha mantem o valor atual do sabor
+    @Mapping(target = "id", ignore = true)
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void importar(SaborRequestDTO saborRequestDTO, @MappingTarget Sabor sabor);
+
+    // os interessados sao consultados a parte, so quando o sabor e pedido individualmente
+    @Mapping(target = "quantidadeInteressados", ignore = true)
+    SaborResponseDTO paraResposta(Sabor sabor);
+
+    SaborCardapioDTO paraCardapio(Sabor sabor);
+
+    // os precos chegam em reais (validados com @Positive) e sao guardados em centavos
+    default Dinheiro paraDinheiro(Double reais) {
+        return Dinheiro.deReais(reais);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ufcg.psoft.pitsa.metricas;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+// acrescenta ao http.server.requests o controlador que atendeu, para ter a latencia agrupada por controlador alem de por rota
+@Component
+public class ControladorObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(controlador(context));
+    }
+
+    private KeyValue controlador(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod metodo) {
+            return KeyValue.of("controller", metodo.getBeanType().getSimpleName());
+        }
+        return KeyValue.of("controller", "none");
+    }
+}
@@ -0,0 +1,41 @@
+package com.ufcg.psoft.pitsa.metricas;
+
+import com.ufcg.psoft.pitsa.repository.AssociacaoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+public class MetricasEntregadores {
+
+    private final MultiGauge entregadores;
+
+    @Autowired
+    AssociacaoRepository associacaoRepository;
+
+    public MetricasEntregadores(MeterRegistry registry) {
+        entregadores = MultiGauge.builder("pitsa.entregadores")
+                .description("Entregadores aprovados de cada estabelecimento por disponibilidade")
+                .register(registry);
+    }
+
+    // uma consulta agregada por intervalo em vez de uma por scrape; estabelecimentos que somem deixam de ser reportados
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${pitsa.metricas.intervalo:15000}", initialDelayString = "${pitsa.metricas.intervalo:15000}")
+    public void atualizar() {
+        entregadores.register(associacaoRepository.contarEntregadoresPorDisponibilidade().stream()
+                .filter(linha -> linha.getDisponibilidade() != null)
+                .map(linha -> MultiGauge.Row.of(
+                        Tags.of("estabelecimento", String.valueOf(linha.getEstabelecimentoId()),
+                                "disponibilidade", linha.getDisponibilidade().name()),
+                        linha.getTotal()))
+                .collect(Collectors.toList()), true);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ufcg.psoft.pitsa.metricas;
+
+import com.ufcg.psoft.pitsa.event.EntregadorIndisponivelEvent;
+import com.ufcg.psoft.pitsa.event.PedidoTransicaoEvent;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+public class MetricasPedido {
+
+    private final Map<StatusPedido, Timer> etapas = new EnumMap<>(StatusPedido.class);
+
+    private final Timer ciclo;
+
+    private final Timer esperaDespacho;
+
+    private final Counter entregadorIndisponivel;
+
+    public MetricasPedido(MeterRegistry registry) {
+        for (StatusPedido status : StatusPedido.values()) {
+            etapas.put(status, Timer.builder("pitsa.pedido.etapa")
+                    .description("Tempo que o pedido passou em cada status")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
+        ciclo = Timer.builder("pitsa.pedido.ciclo")
+                .description("Tempo entre a criacao e a entrega do pedido")
+                .register(registry);
+        esperaDespacho = Timer.builder("pitsa.despacho.espera")
+                .description("Tempo entre o pedido ficar pronto e sair para entrega")
+                .register(registry);
+        entregadorIndisponivel = Counter.builder("pitsa.entregador.indisponivel")
+                .description("Pedidos prontos que ficaram na fila por falta de entregador")
+                .register(registry);
+    }
+
+    // o tempo da etapa que terminou so conta se a transacao que mudou o status for confirmada
+    @EventListener
+    public void registrar(PedidoTransicaoEvent event) {
+        Pedido pedido = event.getPedido();
+        StatusPedido anterior = event.getDe();
+        Duration total = pedido.getDataCriacao() == null ? null : Duration.between(pedido.getDataCriacao(), event.getData());
+
+        aposCommit(() -> {
+            if (anterior != null) etapas.get(anterior).record(event.getDuracao());
+            if (anterior == StatusPedido.PEDIDO_PRONTO) esperaDespacho.record(event.getDuracao());
+            if (total != null && event.getPara() == StatusPedido.PEDIDO_ENTREGUE) ciclo.record(total);
+        });
+    }
+
+    @EventListener
+    public void contar(EntregadorIndisponivelEvent event) {
+        aposCommit(entregadorIndisponivel::increment);
+    }
+
+    private void aposCommit(Runnable registro) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            registro.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                registro.run();
+            }
+        });
+    }
+}
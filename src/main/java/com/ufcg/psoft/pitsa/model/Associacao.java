@@ -1,5 +1,6 @@
 package com.ufcg.psoft.pitsa.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador;
 import com.ufcg.psoft.pitsa.model.enums.StatusAssociacao;
@@ -16,11 +17,12 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_associacao_estabelecimento_disponibilidade", columnList = "estabelecimento_id, disponibilidadeEntregador, ultimaEntrega"))
 public class Associacao {
 
     @Id
     @JsonProperty("id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @ManyToOne(cascade = CascadeType.MERGE)
@@ -42,6 +44,11 @@ public class Associacao {
     @JsonProperty("ultimaEntrega")
     private LocalDateTime ultimaEntrega;
 
+    // a disponibilidade muda tanto pelo entregador quanto pelo despacho, a versao impede que um sobrescreva o outro
+    @Version
+    @JsonIgnore
+    private Long versao;
+
     @PrePersist
     public void setDefaultValues() {
         if (status == null) {
@@ -0,0 +1,83 @@
+package com.ufcg.psoft.pitsa.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.EqualsAndHashCode;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// valor monetario em centavos inteiros: soma, media e desconto sao exatos e o arredondamento e sempre
+// meio para cima no centavo; no json continua saindo como numero em reais (95.0, 97.5)
+@EqualsAndHashCode
+public final class Dinheiro implements Comparable<Dinheiro> {
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    private static final long PONTOS_BASE = 10_000;
+
+    private final long centavos;
+
+    private Dinheiro(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Dinheiro deCentavos(long centavos) {
+        return new Dinheiro(centavos);
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Dinheiro deReais(BigDecimal reais) {
+        if (reais == null) {
+            return null;
+        }
+        return new Dinheiro(reais.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact());
+    }
+
+    public static Dinheiro deReais(Double reais) {
+        return reais == null ? null : deReais(BigDecimal.valueOf(reais));
+    }
+
+    public Dinheiro somar(Dinheiro outro) {
+        return new Dinheiro(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro subtrair(Dinheiro outro) {
+        return new Dinheiro(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    // meia-meia: a metade do centavo impar fica com o estabelecimento
+    public Dinheiro media(Dinheiro outro) {
+        return new Dinheiro(dividir(Math.addExact(centavos, outro.centavos), 2));
+    }
+
+    // percentual em pontos base (250 = 2,5%), o desconto e arredondado no centavo antes de ser abatido
+    public Dinheiro descontar(long pontosBase) {
+        long desconto = dividir(Math.multiplyExact(centavos, pontosBase), PONTOS_BASE);
+        return new Dinheiro(centavos - desconto);
+    }
+
+    public long centavos() {
+        return centavos;
+    }
+
+    @JsonValue
+    public double emReais() {
+        return centavos / 100.0;
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public String toString() {
+        return BigDecimal.valueOf(centavos, 2).toPlainString();
+    }
+
+    // divisao inteira arredondando meio para cima
+    private static long dividir(long valor, long divisor) {
+        return Math.floorDiv(2 * valor + divisor, 2 * divisor);
+    }
+}
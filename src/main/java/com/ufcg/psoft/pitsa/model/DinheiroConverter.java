@@ -0,0 +1,19 @@
+package com.ufcg.psoft.pitsa.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// grava qualquer atributo Dinheiro como bigint de centavos
+@Converter(autoApply = true)
+public class DinheiroConverter implements AttributeConverter<Dinheiro, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Dinheiro dinheiro) {
+        return dinheiro == null ? null : dinheiro.centavos();
+    }
+
+    @Override
+    public Dinheiro convertToEntityAttribute(Long centavos) {
+        return centavos == null ? null : Dinheiro.deCentavos(centavos);
+    }
+}
@@ -23,7 +23,7 @@ public class Estabelecimento implements PedidoEntregueListener {
 
     @Id
     @JsonProperty("id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @JsonProperty("codigoAcesso")
@@ -0,0 +1,54 @@
+package com.ufcg.psoft.pitsa.model;
+
+import com.ufcg.psoft.pitsa.model.enums.TipoEvento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// notificacao gravada na mesma transacao da operacao e entregue depois do commit
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_evento_pendente_entrega", columnList = "entregueEm, criadoEm"))
+public class EventoPendente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoEvento tipo;
+
+    // cliente ou estabelecimento que recebe a notificacao, nulo quando o evento e distribuido para varios clientes
+    private Long destinatarioId;
+
+    private Long pedidoId;
+
+    private Long saborId;
+
+    private Long entregadorId;
+
+    // interesses registrados depois deste id nao fazem parte da distribuicao
+    private Long ultimoInteresseId;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+
+    private LocalDateTime entregueEm;
+
+    private int tentativas;
+
+    @PrePersist
+    public void setDefaultValues() {
+        if (criadoEm == null) {
+            criadoEm = LocalDateTime.now();
+        }
+    }
+}
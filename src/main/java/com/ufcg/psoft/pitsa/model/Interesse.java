@@ -0,0 +1,43 @@
+package com.ufcg.psoft.pitsa.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// cliente esperando um sabor indisponivel voltar ao cardapio
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_interesse_sabor_cliente", columnNames = {"saborId", "clienteId"}),
+        indexes = {
+                @Index(name = "idx_interesse_sabor", columnList = "saborId, id"),
+                @Index(name = "idx_interesse_cliente", columnList = "clienteId")
+        })
+public class Interesse {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long saborId;
+
+    @Column(nullable = false)
+    private Long clienteId;
+
+    @Column(nullable = false)
+    private LocalDateTime criadoEm;
+
+    @PrePersist
+    public void setDefaultValues() {
+        if (criadoEm == null) {
+            criadoEm = LocalDateTime.now();
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.ufcg.psoft.pitsa.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.pitsa.event.PedidoTransicaoEvent;
 import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
-import com.ufcg.psoft.pitsa.service.pedido.status.StatusPedidoState;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
@@ -18,6 +25,11 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_pedido_estabelecimento_status", columnList = "estabelecimentoId, statusPedido, dataCriacao"),
+        @Index(name = "idx_pedido_estabelecimento", columnList = "estabelecimentoId, id"),
+        @Index(name = "idx_pedido_cliente_status", columnList = "clienteId, statusPedido, id")
+})
 public class Pedido {
 
     @Id
@@ -35,7 +47,7 @@ public class Pedido {
     private Long entregadorId;
 
     @JsonProperty("valor")
-    private Double valorPedido;
+    private Dinheiro valorPedido;
 
     @JsonProperty("enderecoEntrega")
     private String enderecoEntrega;
@@ -44,9 +56,6 @@ public class Pedido {
     @Enumerated(EnumType.STRING)
     private StatusPedido statusPedido;
 
-    @Transient
-    private StatusPedidoState statusPedidoState;
-
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JsonManagedReference
     @JoinColumn(name = "pedido_id")
@@ -59,19 +68,61 @@ public class Pedido {
     @JsonProperty("dataCriacao")
     private LocalDateTime dataCriacao;
 
+    // quando o pedido entrou no status atual, base do tempo gasto em cada etapa
+    @JsonProperty("dataStatus")
+    private LocalDateTime dataStatus;
+
+    // duas requisicoes que leram a mesma versao do pedido nao conseguem gravar as duas
+    @Version
+    @JsonIgnore
+    private Long versao;
+
+    // transicoes ainda nao gravadas, publicadas pelo repositorio no save e gravadas na mesma transacao
+    @Transient
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<PedidoTransicaoEvent> transicoes;
+
     @PrePersist
     public void setDefaultValues() {
         if (statusPedido == null) {
             this.statusPedido = StatusPedido.PEDIDO_RECEBIDO;
-            this.statusPedidoState = StatusPedido.PEDIDO_RECEBIDO.estadoAtual(this);
         }
+        if (dataCriacao == null) {
+            this.dataCriacao = LocalDateTime.now();
+        }
+        if (dataStatus == null) {
+            this.dataStatus = dataCriacao;
+        }
+    }
+
+    // unico caminho pelo qual a maquina de estados muda o status, para que toda mudanca fique registrada
+    public void transicionar(StatusPedido novoStatus) {
+        LocalDateTime agora = LocalDateTime.now();
+        if (transicoes == null) {
+            transicoes = new ArrayList<>();
+        }
+        transicoes.add(PedidoTransicaoEvent.builder()
+                .pedido(this)
+                .de(statusPedido)
+                .para(novoStatus)
+                .data(agora)
+                .duracao(dataStatus == null ? Duration.ZERO : Duration.between(dataStatus, agora))
+                .build());
+
+        this.statusPedido = novoStatus;
+        this.dataStatus = agora;
     }
 
-    @PostLoad
-    public void loadState() {
-        // Carrega o estado com o Pedido armazenado
-        this.statusPedidoState = this.statusPedido.estadoAtual(this);
+    @DomainEvents
+    public List<PedidoTransicaoEvent> transicoesPendentes() {
+        return transicoes == null ? List.of() : List.copyOf(transicoes);
     }
 
+    @AfterDomainEventPublication
+    public void limparTransicoes() {
+        transicoes = null;
+    }
 
 }
@@ -0,0 +1,41 @@
+package com.ufcg.psoft.pitsa.model;
+
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// copia enxuta do pedido para o historico do cliente, lida sem juntar pizza e sabor; mantida pelo ResumoPedidos
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_pedido_resumo_cliente", columnList = "clienteId, id"),
+        @Index(name = "idx_pedido_resumo_cliente_status", columnList = "clienteId, statusPedido, id")
+})
+public class PedidoResumo {
+
+    // o mesmo id do pedido
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long clienteId;
+
+    @Enumerated(EnumType.STRING)
+    private StatusPedido statusPedido;
+
+    private Dinheiro valorPedido;
+
+    private LocalDateTime dataCriacao;
+
+    private Integer quantidadePizzas;
+
+    private String nomeEntregador;
+}
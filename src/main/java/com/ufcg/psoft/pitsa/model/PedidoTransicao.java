@@ -0,0 +1,46 @@
+package com.ufcg.psoft.pitsa.model;
+
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// historico append-only das mudancas de status, sem chave estrangeira para sobreviver a remocao do pedido
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_pedido_transicao_pedido", columnList = "pedidoId, id"),
+        @Index(name = "idx_pedido_transicao_estabelecimento", columnList = "estabelecimentoId, de, data")
+})
+public class PedidoTransicao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long pedidoId;
+
+    @Column(nullable = false)
+    private Long estabelecimentoId;
+
+    @Enumerated(EnumType.STRING)
+    private StatusPedido de;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusPedido para;
+
+    @Column(nullable = false)
+    private LocalDateTime data;
+
+    // tempo em milissegundos que o pedido passou no status de origem
+    private long duracaoMs;
+}
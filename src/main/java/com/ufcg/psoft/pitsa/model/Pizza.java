@@ -25,10 +25,10 @@ public class Pizza {
     private TamanhoPizza tamanho;
 
     @JsonProperty("sabor1")
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Sabor sabor1;
 
     @JsonProperty("sabor2")
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Sabor sabor2;
 }
@@ -0,0 +1,47 @@
+package com.ufcg.psoft.pitsa.model;
+
+import com.ufcg.psoft.pitsa.model.enums.OperacaoIdempotente;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// resposta de uma operacao feita com Idempotency-Key, gravada na mesma transacao da operacao;
+// a chave unica impede que duas requisicoes com a mesma chave confirmem a operacao duas vezes
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_resposta_idempotente", columnNames = {"clienteId", "operacao", "chave"}),
+        indexes = @Index(name = "idx_resposta_idempotente_expiracao", columnList = "expiraEm"))
+public class RespostaIdempotente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long clienteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OperacaoIdempotente operacao;
+
+    @Column(nullable = false)
+    private String chave;
+
+    // hash da requisicao original, a mesma chave com outro conteudo e recusada
+    @Column(nullable = false)
+    private String impressao;
+
+    // PedidoResponseDTO em json
+    @Column(nullable = false, length = 65535)
+    private String resposta;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+}
@@ -3,24 +3,28 @@ package com.ufcg.psoft.pitsa.model;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 
 @Entity
+@Table(indexes = @Index(name = "idx_sabor_estabelecimento_nome", columnList = "estabelecimento_id, nome"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Sabor {
 
+    private static final Comparator<Sabor> ANTIGUIDADE = Comparator.comparing(Sabor::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @JsonProperty("nome")
@@ -29,13 +33,11 @@ public class Sabor {
 
     @JsonProperty("precoGrande")
     @Column(nullable = false)
-    @Positive
-    private Double precoGrande;
+    private Dinheiro precoGrande;
 
     @JsonProperty("precoMedia")
     @Column(nullable = false)
-    @Positive
-    private Double precoMedia;
+    private Dinheiro precoMedia;
 
     @JsonProperty("disponivel")
     private Boolean disponivel;
@@ -44,27 +46,20 @@ public class Sabor {
     @Column(nullable = false)
     private TipoSabor tipo;
 
-    @JsonProperty("clientesInteressados")
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
-    @JoinColumn(name = "sabor_id")
-    private Set<Cliente> clientesInteressados;
-
     @PrePersist
     public void setDefaultValues() {
         if (disponivel == null) {
             disponivel = true;
         }
-        if (this.clientesInteressados == null) {
-            this.clientesInteressados = new HashSet<>();
-        }
     }
 
-    public void addClienteInteressado(Cliente cliente) {
-        this.clientesInteressados.add(cliente);
-    }
-
-    public void removeClienteInteressado(Cliente cliente) {
-        this.clientesInteressados.remove(cliente);
+    // nomes repetidos no mesmo estabelecimento: vale o sabor mais antigo, em qualquer ordem que venham
+    public static Map<String, Sabor> porNome(Collection<Sabor> sabores) {
+        Map<String, Sabor> porNome = new HashMap<>();
+        for (Sabor sabor : sabores) {
+            porNome.merge(sabor.getNome(), sabor, (atual, outro) -> ANTIGUIDADE.compare(atual, outro) <= 0 ? atual : outro);
+        }
+        return porNome;
     }
 
 }
@@ -0,0 +1,57 @@
+package com.ufcg.psoft.pitsa.model;
+
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// agregado incremental das transicoes: quantos pedidos de um estabelecimento sairam de uma etapa
+// naquela hora com duracao dentro da faixa, o que permite mediana e percentis sem varrer o historico
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_sla_etapa", columnNames = {"estabelecimentoId", "etapa", "hora", "faixa"}))
+public class SlaEtapa {
+
+    // faixas geometricas de 25% a partir de 1s, a ultima acumula tudo acima de ~4h
+    public static final double RAZAO_FAIXA = 1.25;
+    public static final int ULTIMA_FAIXA = 44;
+
+    @Id
+    // as linhas sao criadas pelo merge do RegistroTransicoes, fora do hibernate, entao o id continua vindo da coluna
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long estabelecimentoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusPedido etapa;
+
+    @Column(nullable = false)
+    private LocalDateTime hora;
+
+    private int faixa;
+
+    private long quantidade;
+
+    private long somaMs;
+
+    public static int faixa(long duracaoMs) {
+        if (duracaoMs <= 1000) return 0;
+        int faixa = (int) Math.ceil(Math.log(duracaoMs / 1000.0) / Math.log(RAZAO_FAIXA));
+        return Math.min(faixa, ULTIMA_FAIXA);
+    }
+
+    // maior duracao que cai na faixa
+    public static long limiteMs(int faixa) {
+        return Math.round(1000 * Math.pow(RAZAO_FAIXA, faixa));
+    }
+}
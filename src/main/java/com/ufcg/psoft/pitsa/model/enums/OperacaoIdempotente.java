@@ -0,0 +1,6 @@
+package com.ufcg.psoft.pitsa.model.enums;
+
+public enum OperacaoIdempotente {
+    CRIAR_PEDIDO,
+    CONFIRMAR_PAGAMENTO
+}
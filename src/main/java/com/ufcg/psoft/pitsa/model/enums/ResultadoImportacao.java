@@ -0,0 +1,7 @@
+package com.ufcg.psoft.pitsa.model.enums;
+
+public enum ResultadoImportacao {
+    CRIADO,
+    ATUALIZADO,
+    REJEITADO
+}
@@ -0,0 +1,10 @@
+package com.ufcg.psoft.pitsa.model.enums;
+
+public enum TipoEvento {
+    PEDIDO_EM_ROTA,
+    PEDIDO_ENTREGUE,
+    ENTREGADOR_INDISPONIVEL,
+    SABOR_DISPONIVEL,
+    // distribuido em lotes para os clientes da tabela de interesse
+    SABOR_DISPONIVEL_INTERESSADOS
+}
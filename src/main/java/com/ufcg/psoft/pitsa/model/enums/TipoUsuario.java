@@ -0,0 +1,20 @@
+package com.ufcg.psoft.pitsa.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.ufcg.psoft.pitsa.exception.TipoInvalidoException;
+
+public enum TipoUsuario {
+    CLIENTE,
+    ESTABELECIMENTO,
+    ENTREGADOR;
+
+    @JsonCreator
+    public static TipoUsuario fromString(String value) {
+        for (TipoUsuario tipoUsuario : TipoUsuario.values()) {
+            if (tipoUsuario.name().equalsIgnoreCase(value)) {
+                return tipoUsuario;
+            }
+        }
+        throw new TipoInvalidoException("tipoUsuario");
+    }
+}
@@ -3,6 +3,8 @@ package com.ufcg.psoft.pitsa.repository;
 import com.ufcg.psoft.pitsa.model.Associacao;
 import com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +15,28 @@ public interface AssociacaoRepository extends JpaRepository<Associacao, Long> {
 
     List<Associacao> findAllByEstabelecimentoIdAndEntregadorId(Long estabelecimentoId, Long entregadorId);
 
-    Associacao findFirstByDisponibilidadeEntregadorAndEstabelecimentoIdOrderByUltimaEntregaAsc(DisponibilidadeEntregador disponibilidadeEntregador, Long estabelecimentoId);
+    List<Associacao> findAllByDisponibilidadeEntregador(DisponibilidadeEntregador disponibilidadeEntregador);
+
+    List<Associacao> findAllByDisponibilidadeEntregadorAndEstabelecimentoId(DisponibilidadeEntregador disponibilidadeEntregador, Long estabelecimentoId);
+
+    // so reserva se o entregador ainda estiver ativo, evitando que dois pedidos fiquem com o mesmo entregador;
+    // incrementa a versao para que quem leu a associacao antes da reserva nao sobrescreva a disponibilidade
+    @Modifying(flushAutomatically = true)
+    @Query("update Associacao a set a.disponibilidadeEntregador = com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador.ENTREGANDO, a.versao = a.versao + 1 " +
+            "where a.id = :associacaoId and a.disponibilidadeEntregador = com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador.ATIVO")
+    int reservarEntregador(Long associacaoId);
+
+    @Query("select a.estabelecimento.id as estabelecimentoId, a.disponibilidadeEntregador as disponibilidade, count(a) as total " +
+            "from Associacao a where a.status = com.ufcg.psoft.pitsa.model.enums.StatusAssociacao.APROVADO " +
+            "group by a.estabelecimento.id, a.disponibilidadeEntregador")
+    List<EntregadoresPorDisponibilidade> contarEntregadoresPorDisponibilidade();
+
+    interface EntregadoresPorDisponibilidade {
+        Long getEstabelecimentoId();
+
+        DisponibilidadeEntregador getDisponibilidade();
+
+        Long getTotal();
+    }
 
 }
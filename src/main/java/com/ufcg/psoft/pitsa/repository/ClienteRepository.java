@@ -1,7 +1,10 @@
 package com.ufcg.psoft.pitsa.repository;
 
 import com.ufcg.psoft.pitsa.model.Cliente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+    Slice<Cliente> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -1,7 +1,10 @@
 package com.ufcg.psoft.pitsa.repository;
 
 import com.ufcg.psoft.pitsa.model.Entregador;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface EntregadorRepository extends JpaRepository<Entregador, Long> {
+    Slice<Entregador> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 }
@@ -1,7 +1,14 @@
 package com.ufcg.psoft.pitsa.repository;
 
 import com.ufcg.psoft.pitsa.model.Estabelecimento;
+import com.ufcg.psoft.pitsa.model.Sabor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface EstabelecimentoRepository extends JpaRepository<Estabelecimento, Long> {
+
+    @Query("select s from Estabelecimento e join e.sabores s where e.id = :estabelecimentoId")
+    List<Sabor> findSaboresByEstabelecimentoId(Long estabelecimentoId);
 }
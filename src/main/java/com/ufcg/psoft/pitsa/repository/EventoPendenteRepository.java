@@ -0,0 +1,24 @@
+package com.ufcg.psoft.pitsa.repository;
+
+import com.ufcg.psoft.pitsa.model.EventoPendente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EventoPendenteRepository extends JpaRepository<EventoPendente, Long> {
+
+    List<EventoPendente> findByEntregueEmIsNullAndCriadoEmBeforeOrderByIdAsc(LocalDateTime criadoEm, Pageable pageable);
+
+    long countByEntregueEmIsNull();
+
+    // pelo indice (entregueEm, criadoEm), os pendentes tem entregueEm nulo e ficam fora
+    @Modifying
+    @Query("delete from EventoPendente e where e.entregueEm < :limite")
+    int removerEntregues(LocalDateTime limite);
+}
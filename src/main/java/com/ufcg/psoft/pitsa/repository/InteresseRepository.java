@@ -0,0 +1,43 @@
+package com.ufcg.psoft.pitsa.repository;
+
+import com.ufcg.psoft.pitsa.model.Interesse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InteresseRepository extends JpaRepository<Interesse, Long> {
+
+    boolean existsBySaborIdAndClienteId(Long saborId, Long clienteId);
+
+    long countBySaborId(Long saborId);
+
+    Slice<Interesse> findBySaborIdAndIdGreaterThanOrderByIdAsc(Long saborId, Long id, Pageable pageable);
+
+    @Query("select max(i.id) from Interesse i where i.saborId = :saborId")
+    Long findUltimoIdBySaborId(Long saborId);
+
+    List<Interesse> findBySaborIdAndIdLessThanEqualOrderByIdAsc(Long saborId, Long id, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Interesse i where i.id in :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Interesse i where i.saborId = :saborId and i.clienteId = :clienteId")
+    int deleteBySaborIdAndClienteId(Long saborId, Long clienteId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Interesse i where i.saborId = :saborId")
+    int deleteAllBySaborId(Long saborId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Interesse i where i.clienteId = :clienteId")
+    int deleteAllByClienteId(Long clienteId);
+}
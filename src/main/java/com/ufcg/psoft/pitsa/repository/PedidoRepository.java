@@ -2,18 +2,53 @@ package com.ufcg.psoft.pitsa.repository;
 
 import com.ufcg.psoft.pitsa.model.Pedido;
 import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
-    List<Pedido> findAllByClienteId(Long clienteId);
 
-    List<Pedido> findAllByEstabelecimentoId(Long estabelecimentoId);
+    // pedido, pizzas e sabores numa consulta so; as listagens paginadas ficam com o batch fetch para nao paginar em memoria
+    @Override
+    @EntityGraph(attributePaths = {"pizzas", "pizzas.sabor1", "pizzas.sabor2"})
+    Optional<Pedido> findById(Long id);
 
+    @EntityGraph(attributePaths = {"pizzas", "pizzas.sabor1", "pizzas.sabor2"})
     List<Pedido> findAllByClienteIdAndStatusPedido(Long clienteId, StatusPedido statusPedido);
 
-    Pedido findFirstByEstabelecimentoIdAndStatusPedidoOrderByDataCriacaoAsc(Long estabelecimentoId, StatusPedido statusPedido);
+    List<Pedido> findAllByStatusPedido(StatusPedido statusPedido);
+
+    @Query("select c.codigoAcesso from Pedido p join Cliente c on c.id = p.clienteId where p.id = :id and p.clienteId = :clienteId and p.statusPedido = :statusPedido")
+    Optional<String> findCodigoAcessoClienteByIdAndClienteIdAndStatusPedido(Long id, Long clienteId, StatusPedido statusPedido);
+
+    List<Pedido> findAllByEstabelecimentoIdAndStatusPedido(Long estabelecimentoId, StatusPedido statusPedido);
+
+    Slice<Pedido> findByClienteIdAndStatusPedidoAndIdGreaterThanOrderByIdAsc(Long clienteId, StatusPedido statusPedido, Long id, Pageable pageable);
+
+    Slice<Pedido> findByEstabelecimentoIdAndIdGreaterThanOrderByIdAsc(Long estabelecimentoId, Long id, Pageable pageable);
+
+    // pizzas e sabores vem na mesma consulta e as linhas chegam do banco aos poucos, sem carregar tudo na memoria
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Pedido p left join fetch p.pizzas pz left join fetch pz.sabor1 left join fetch pz.sabor2 " +
+            "where p.estabelecimentoId = :estabelecimentoId " +
+            "and (:statusPedido is null or p.statusPedido = :statusPedido) " +
+            "and (:inicio is null or p.dataCriacao >= :inicio) " +
+            "and (:fim is null or p.dataCriacao < :fim) " +
+            "order by p.id")
+    Stream<Pedido> streamByEstabelecimentoId(Long estabelecimentoId, StatusPedido statusPedido, LocalDateTime inicio, LocalDateTime fim);
 }
@@ -0,0 +1,16 @@
+package com.ufcg.psoft.pitsa.repository;
+
+import com.ufcg.psoft.pitsa.model.PedidoResumo;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PedidoResumoRepository extends JpaRepository<PedidoResumo, Long> {
+
+    Slice<PedidoResumo> findByClienteIdAndIdGreaterThanOrderByIdAsc(Long clienteId, Long id, Pageable pageable);
+
+    Slice<PedidoResumo> findByClienteIdAndStatusPedidoAndIdGreaterThanOrderByIdAsc(Long clienteId, StatusPedido statusPedido, Long id, Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.ufcg.psoft.pitsa.repository;
+
+import com.ufcg.psoft.pitsa.model.PedidoTransicao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PedidoTransicaoRepository extends JpaRepository<PedidoTransicao, Long> {
+
+    List<PedidoTransicao> findAllByPedidoIdOrderByIdAsc(Long pedidoId);
+}
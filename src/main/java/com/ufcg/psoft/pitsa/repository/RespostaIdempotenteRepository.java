@@ -0,0 +1,21 @@
+package com.ufcg.psoft.pitsa.repository;
+
+import com.ufcg.psoft.pitsa.model.RespostaIdempotente;
+import com.ufcg.psoft.pitsa.model.enums.OperacaoIdempotente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RespostaIdempotenteRepository extends JpaRepository<RespostaIdempotente, Long> {
+
+    Optional<RespostaIdempotente> findByClienteIdAndOperacaoAndChave(Long clienteId, OperacaoIdempotente operacao, String chave);
+
+    @Modifying
+    @Query("delete from RespostaIdempotente r where r.expiraEm < :agora")
+    int removerExpiradas(LocalDateTime agora);
+}
@@ -1,12 +1,22 @@
 package com.ufcg.psoft.pitsa.repository;
 
 import com.ufcg.psoft.pitsa.model.Sabor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface SaborRepository extends JpaRepository<Sabor, Long> {
-    Optional<Sabor> findByNome(String nome);
+    boolean existsByNome(String nome);
+
+    @Query("select s from Estabelecimento e join e.sabores s where e.id = :estabelecimentoId and s.nome in :nomes")
+    List<Sabor> findAllByEstabelecimentoIdAndNomeIn(Long estabelecimentoId, Collection<String> nomes);
+
+    @Query("select s from Estabelecimento e join e.sabores s where e.id = :estabelecimentoId and s.id > :id order by s.id")
+    Slice<Sabor> findAllByEstabelecimentoIdAndIdGreaterThan(Long estabelecimentoId, Long id, Pageable pageable);
 }
@@ -0,0 +1,29 @@
+package com.ufcg.psoft.pitsa.repository;
+
+import com.ufcg.psoft.pitsa.model.SlaEtapa;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SlaEtapaRepository extends JpaRepository<SlaEtapa, Long> {
+
+    @Query("select s.etapa as etapa, s.faixa as faixa, sum(s.quantidade) as quantidade, sum(s.somaMs) as somaMs " +
+            "from SlaEtapa s where s.estabelecimentoId = :estabelecimentoId and s.hora >= :de and s.hora < :ate " +
+            "group by s.etapa, s.faixa order by s.etapa, s.faixa")
+    List<FaixaSla> somarFaixas(Long estabelecimentoId, LocalDateTime de, LocalDateTime ate);
+
+    interface FaixaSla {
+        StatusPedido getEtapa();
+
+        Integer getFaixa();
+
+        Long getQuantidade();
+
+        Long getSomaMs();
+    }
+}
@@ -0,0 +1,32 @@
+package com.ufcg.psoft.pitsa.security;
+
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class Sessao {
+
+    // atributo da requisicao onde fica o usuario autenticado pelo token
+    public static final String ATRIBUTO = Sessao.class.getName();
+
+    private TipoUsuario tipo;
+
+    private Long id;
+
+    private Instant expiraEm;
+
+    // usuario que acabou de informar o codigo de acesso correto, repassado aos servicos chamados em seguida
+    public static Sessao porCodigoAcesso(TipoUsuario tipo, Long id) {
+        return new Sessao(tipo, id, null);
+    }
+
+    public boolean pertenceA(TipoUsuario tipo, Long id) {
+        return this.tipo == tipo && this.id.equals(id);
+    }
+}
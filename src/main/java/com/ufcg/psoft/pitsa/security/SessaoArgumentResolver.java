@@ -0,0 +1,27 @@
+package com.ufcg.psoft.pitsa.security;
+
+import com.ufcg.psoft.pitsa.exception.SessaoInvalidaException;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@Component
+public class SessaoArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return Sessao.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object sessao = webRequest.getAttribute(Sessao.ATRIBUTO, RequestAttributes.SCOPE_REQUEST);
+        if (sessao == null && !parameter.hasParameterAnnotation(SessaoOpcional.class)) throw new SessaoInvalidaException();
+        return sessao;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ufcg.psoft.pitsa.security;
+
+import com.ufcg.psoft.pitsa.exception.SessaoInvalidaException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@Component
+public class SessaoInterceptor implements HandlerInterceptor {
+
+    private static final String PREFIXO = "Bearer ";
+
+    @Autowired
+    TokenSessao tokenSessao;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // sem token a requisicao segue pelo codigo de acesso informado nos parametros
+        String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (autorizacao == null) return true;
+        if (!autorizacao.regionMatches(true, 0, PREFIXO, 0, PREFIXO.length())) throw new SessaoInvalidaException();
+
+        // o token eh verificado uma unica vez por requisicao e sem consultar o banco
+        Sessao sessao = tokenSessao.verificar(autorizacao.substring(PREFIXO.length()).trim());
+        request.setAttribute(Sessao.ATRIBUTO, sessao);
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package com.ufcg.psoft.pitsa.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// sem token o handler recebe sessao nula e segue pelo codigo de acesso
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SessaoOpcional {
+}
@@ -0,0 +1,90 @@
+package com.ufcg.psoft.pitsa.security;
+
+import com.ufcg.psoft.pitsa.exception.SessaoInvalidaException;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+@Component
+public class TokenSessao {
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    private final SecretKeySpec chave;
+
+    private final Duration duracao;
+
+    // Mac nao eh thread-safe, entao cada thread reaproveita a sua instancia
+    private final ThreadLocal<Mac> mac;
+
+    public TokenSessao(@Value("${pitsa.sessao.segredo:}") String segredo,
+                       @Value("${pitsa.sessao.duracao:PT30M}") Duration duracao) {
+        byte[] bytesChave;
+        if (segredo.isBlank()) {
+            // sem segredo configurado os tokens so valem ate a aplicacao reiniciar
+            bytesChave = new byte[32];
+            new SecureRandom().nextBytes(bytesChave);
+        } else {
+            bytesChave = segredo.getBytes(StandardCharsets.UTF_8);
+        }
+        this.chave = new SecretKeySpec(bytesChave, ALGORITMO);
+        this.duracao = duracao;
+        this.mac = ThreadLocal.withInitial(this::novoMac);
+    }
+
+    public Sessao criar(TipoUsuario tipo, Long id) {
+        return new Sessao(tipo, id, Instant.now().plus(duracao).truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public String gerar(Sessao sessao) {
+        String conteudo = sessao.getTipo() + ":" + sessao.getId() + ":" + sessao.getExpiraEm().getEpochSecond();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(conteudo.getBytes(StandardCharsets.UTF_8)) + "." + encoder.encodeToString(assinar(conteudo));
+    }
+
+    public Sessao verificar(String token) {
+        try {
+            int separador = token.indexOf('.');
+            if (separador < 0) throw new SessaoInvalidaException();
+
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            String conteudo = new String(decoder.decode(token.substring(0, separador)), StandardCharsets.UTF_8);
+            byte[] assinatura = decoder.decode(token.substring(separador + 1));
+            if (!MessageDigest.isEqual(assinar(conteudo), assinatura)) throw new SessaoInvalidaException();
+
+            String[] partes = conteudo.split(":");
+            if (partes.length != 3) throw new SessaoInvalidaException();
+            Instant expiraEm = Instant.ofEpochSecond(Long.parseLong(partes[2]));
+            if (Instant.now().isAfter(expiraEm)) throw new SessaoInvalidaException();
+
+            return new Sessao(TipoUsuario.valueOf(partes[0]), Long.valueOf(partes[1]), expiraEm);
+        } catch (IllegalArgumentException e) {
+            throw new SessaoInvalidaException();
+        }
+    }
+
+    private byte[] assinar(String conteudo) {
+        return mac.get().doFinal(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Mac novoMac() {
+        try {
+            Mac novo = Mac.getInstance(ALGORITMO);
+            novo.init(chave);
+            return novo;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
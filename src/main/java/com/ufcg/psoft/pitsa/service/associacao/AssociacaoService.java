@@ -2,12 +2,13 @@ package com.ufcg.psoft.pitsa.service.associacao;
 
 import com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador;
 import com.ufcg.psoft.pitsa.model.enums.StatusAssociacao;
+import com.ufcg.psoft.pitsa.security.Sessao;
 
 public interface AssociacaoService<O> {
 
-    O criar(Long entregadorId, String codigoAcessoEntregador, Long estabelecimentoId);
+    O criar(Long entregadorId, String codigoAcessoEntregador, Sessao sessao, Long estabelecimentoId);
 
-    O atualizar(Long entregadorId, String codigoAcessoEstabelecimento, Long estabelecimentoId, StatusAssociacao status);
+    O atualizar(Long entregadorId, String codigoAcessoEstabelecimento, Sessao sessao, Long estabelecimentoId, StatusAssociacao status);
 
-    O atualizarDisponibilidadeEntregador(Long entregadorId, String codigoAcessoEntregador, Long associacaoId, DisponibilidadeEntregador disponibilidadeEntregador);
+    O atualizarDisponibilidadeEntregador(Long entregadorId, String codigoAcessoEntregador, Sessao sessao, Long associacaoId, DisponibilidadeEntregador disponibilidadeEntregador);
 }
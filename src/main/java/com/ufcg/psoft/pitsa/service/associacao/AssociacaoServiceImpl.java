@@ -1,23 +1,24 @@
 package com.ufcg.psoft.pitsa.service.associacao;
 
+import com.ufcg.psoft.pitsa.cache.EntregadorDisponivelIndice;
+import com.ufcg.psoft.pitsa.concorrencia.RepetirEmConflito;
 import com.ufcg.psoft.pitsa.dto.associacao.AssociacaoResponseDTO;
 import com.ufcg.psoft.pitsa.exception.EntidadeNaoExisteException;
+import com.ufcg.psoft.pitsa.mapper.AssociacaoMapper;
 import com.ufcg.psoft.pitsa.model.Associacao;
 import com.ufcg.psoft.pitsa.model.Entregador;
 import com.ufcg.psoft.pitsa.model.Estabelecimento;
-import com.ufcg.psoft.pitsa.model.Pedido;
 import com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador;
 import com.ufcg.psoft.pitsa.model.enums.StatusAssociacao;
-import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
 import com.ufcg.psoft.pitsa.repository.AssociacaoRepository;
 import com.ufcg.psoft.pitsa.repository.EntregadorRepository;
 import com.ufcg.psoft.pitsa.repository.EstabelecimentoRepository;
-import com.ufcg.psoft.pitsa.repository.PedidoRepository;
-import com.ufcg.psoft.pitsa.service.pedido.PedidoServiceImpl;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.service.pedido.DespachoPedidos;
 import com.ufcg.psoft.pitsa.validator.AssociacaoValidator;
 import com.ufcg.psoft.pitsa.validator.CodigoAcessoValidator;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -34,10 +35,7 @@ public class AssociacaoServiceImpl implements AssociacaoService<AssociacaoRespon
     EntregadorRepository entregadorRepository;
 
     @Autowired
-    PedidoRepository pedidoRepository;
-
-    @Autowired
-    ModelMapper modelMapper;
+    AssociacaoMapper associacaoMapper;
 
     @Autowired
     CodigoAcessoValidator codigoAcessoValidator;
@@ -46,15 +44,18 @@ public class AssociacaoServiceImpl implements AssociacaoService<AssociacaoRespon
     AssociacaoValidator associacaoValidator;
 
     @Autowired
-    PedidoServiceImpl pedidoService;
+    DespachoPedidos despachoPedidos;
+
+    @Autowired
+    EntregadorDisponivelIndice entregadorDisponivelIndice;
 
     @Override
     @Transactional
-    public AssociacaoResponseDTO criar(Long entregadorId, String codigoAcessoEntregador, Long estabelecimentoId) {
+    public AssociacaoResponseDTO criar(Long entregadorId, String codigoAcessoEntregador, Sessao sessao, Long estabelecimentoId) {
         //valida entregador e estabelecimento
         Entregador entregador = entregadorRepository.findById(entregadorId).orElseThrow(() -> new EntidadeNaoExisteException("entregador"));
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(entregador.getCodigoAcesso(), codigoAcessoEntregador);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ENTREGADOR, entregadorId, entregador.getCodigoAcesso(), codigoAcessoEntregador);
         associacaoValidator.validar(entregadorId, estabelecimentoId);
 
         Associacao associacao = Associacao.builder()
@@ -62,46 +63,46 @@ public class AssociacaoServiceImpl implements AssociacaoService<AssociacaoRespon
                 .estabelecimento(estabelecimento)
                 .build();
 
-        return modelMapper.map(associacaoRepository.save(associacao), AssociacaoResponseDTO.class);
+        return associacaoMapper.paraResposta(associacaoRepository.save(associacao));
     }
 
     @Override
     @Transactional
-    public AssociacaoResponseDTO atualizar(Long entregadorId, String codigoAcessoEstabelecimento, Long estabelecimentoId, StatusAssociacao status) {
+    @RepetirEmConflito
+    public AssociacaoResponseDTO atualizar(Long entregadorId, String codigoAcessoEstabelecimento, Sessao sessao, Long estabelecimentoId, StatusAssociacao status) {
         //valida entregador e estabelecimento
         entregadorRepository.findById(entregadorId).orElseThrow(() -> new EntidadeNaoExisteException("entregador"));
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(estabelecimento.getCodigoAcesso(), codigoAcessoEstabelecimento);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ESTABELECIMENTO, estabelecimentoId, estabelecimento.getCodigoAcesso(), codigoAcessoEstabelecimento);
 
         //valida e altera associacao
         Associacao associacao = associacaoRepository.findByEntregadorIdAndEstabelecimentoId(entregadorId, estabelecimentoId);
         associacaoValidator.validarAtualizacaoStatus(associacao);
         associacao.atualizarStatus(status);
+        entregadorDisponivelIndice.atualizar(associacao);
 
-        return modelMapper.map(associacaoRepository.save(associacao), AssociacaoResponseDTO.class);
+        return associacaoMapper.paraResposta(associacaoRepository.save(associacao));
     }
 
     @Override
     @Transactional
-    public AssociacaoResponseDTO atualizarDisponibilidadeEntregador(Long entregadorId, String codigoAcessoEntregador, Long associacaoId, DisponibilidadeEntregador disponibilidadeEntregador) {
+    @RepetirEmConflito
+    public AssociacaoResponseDTO atualizarDisponibilidadeEntregador(Long entregadorId, String codigoAcessoEntregador, Sessao sessao, Long associacaoId, DisponibilidadeEntregador disponibilidadeEntregador) {
         //valida entregador
-        Entregador entregador = entregadorRepository.findById(entregadorId).orElseThrow(() -> new EntidadeNaoExisteException("entregador"));
-        codigoAcessoValidator.validar(entregador.getCodigoAcesso(), codigoAcessoEntregador);
+        codigoAcessoValidator.validarEntregador(sessao, entregadorId, codigoAcessoEntregador);
 
         //valida e altera associacao
         Associacao associacao = associacaoRepository.findById(associacaoId).orElseThrow(() -> new EntidadeNaoExisteException("associacao"));
         associacaoValidator.validarAtualizacaoDisponibilidade(associacao);
         associacao.setDisponibilidadeEntregador(disponibilidadeEntregador);
         associacaoRepository.save(associacao);
+        entregadorDisponivelIndice.atualizar(associacao);
 
         if (associacao.getDisponibilidadeEntregador().equals(DisponibilidadeEntregador.ATIVO)) {
-            //procura pelo pedido que esta a mais tempo esperando entregador
-            Long estabelecimentoId = associacao.getEstabelecimento().getId();
-            Pedido pedidoPronto = pedidoRepository.findFirstByEstabelecimentoIdAndStatusPedidoOrderByDataCriacaoAsc(estabelecimentoId, StatusPedido.PEDIDO_PRONTO);
-
-            if (pedidoPronto != null) pedidoService.associarEntregador(pedidoPronto);
+            //entrega os pedidos que estao a mais tempo esperando entregador
+            despachoPedidos.despachar(associacao.getEstabelecimento().getId());
         }
 
-        return modelMapper.map(associacao, AssociacaoResponseDTO.class);
+        return associacaoMapper.paraResposta(associacao);
     }
 }
@@ -1,8 +1,11 @@
 package com.ufcg.psoft.pitsa.service.cliente;
 
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResumoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborResponseDTO;
 import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.security.Sessao;
 
 import java.util.List;
 
@@ -12,21 +15,23 @@ public interface ClienteService<I, O> {
 
     O recuperar(Long id);
 
-    List<O> listar();
+    PaginaResponseDTO<O> listar(String cursor, Integer tamanho);
 
-    O atualizar(Long id, String codigoAcesso, I clienteRequestDTO);
+    O atualizar(Long id, String codigoAcesso, Sessao sessao, I clienteRequestDTO);
 
-    void remover(Long id, String codigoAcesso);
+    void remover(Long id, String codigoAcesso, Sessao sessao);
 
-    SaborResponseDTO demonstrarInteresse(Long id, String codigoAcesso, Long idSabor);
+    SaborResponseDTO demonstrarInteresse(Long id, String codigoAcesso, Sessao sessao, Long idSabor);
 
-    SaborResponseDTO removerInteresse(Long id, String codigoAcesso, Long idSabor);
+    SaborResponseDTO removerInteresse(Long id, String codigoAcesso, Sessao sessao, Long idSabor);
 
-    List<PedidoResponseDTO> listarPedidos(Long id, String codigoAcesso);
+    PaginaResponseDTO<PedidoResponseDTO> listarPedidos(Long id, String codigoAcesso, Sessao sessao, String cursor, Integer tamanho);
 
-    List<PedidoResponseDTO> listarPedidosFilter(Long id, String codigoAcesso, StatusPedido statusPedido);
+    PaginaResponseDTO<PedidoResumoResponseDTO> listarResumoPedidos(Long id, String codigoAcesso, Sessao sessao, StatusPedido statusPedido, String cursor, Integer tamanho);
 
-    PedidoResponseDTO recuperarPedido(Long id, String codigoAcesso, Long idPedido);
+    PaginaResponseDTO<PedidoResponseDTO> listarPedidosFilter(Long id, String codigoAcesso, Sessao sessao, StatusPedido statusPedido, String cursor, Integer tamanho);
 
-    void cancelarPedido(Long id, String codigoAcesso, Long idPedido);
+    PedidoResponseDTO recuperarPedido(Long id, String codigoAcesso, Sessao sessao, Long idPedido);
+
+    void cancelarPedido(Long id, String codigoAcesso, Sessao sessao, Long idPedido);
 }
@@ -1,21 +1,29 @@
 package com.ufcg.psoft.pitsa.service.cliente;
 
+import com.ufcg.psoft.pitsa.dto.pagina.Cursor;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
 import com.ufcg.psoft.pitsa.dto.cliente.ClienteRequestDTO;
 import com.ufcg.psoft.pitsa.dto.cliente.ClienteResponseDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResumoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborRequestDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborResponseDTO;
 import com.ufcg.psoft.pitsa.exception.EntidadeNaoExisteException;
+import com.ufcg.psoft.pitsa.mapper.ClienteMapper;
 import com.ufcg.psoft.pitsa.model.Cliente;
 import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
 import com.ufcg.psoft.pitsa.repository.ClienteRepository;
+import com.ufcg.psoft.pitsa.repository.InteresseRepository;
+import com.ufcg.psoft.pitsa.security.Sessao;
 import com.ufcg.psoft.pitsa.service.pedido.PedidoService;
 import com.ufcg.psoft.pitsa.service.sabor.SaborService;
 import com.ufcg.psoft.pitsa.validator.CodigoAcessoValidator;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -27,7 +35,10 @@ public class ClienteServiceImpl implements ClienteService<ClienteRequestDTO, Cli
     ClienteRepository clienteRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    InteresseRepository interesseRepository;
+
+    @Autowired
+    ClienteMapper clienteMapper;
 
     @Autowired
     CodigoAcessoValidator codigoAcessoValidator;
@@ -41,90 +52,97 @@ public class ClienteServiceImpl implements ClienteService<ClienteRequestDTO, Cli
     @Override
     @Transactional
     public ClienteResponseDTO criar(ClienteRequestDTO clienteRequestDTO) {
-        Cliente cliente = modelMapper.map(clienteRequestDTO, Cliente.class);
+        Cliente cliente = clienteMapper.paraEntidade(clienteRequestDTO);
         clienteRepository.save(cliente);
-        return modelMapper.map(cliente, ClienteResponseDTO.class);
+        return clienteMapper.paraResposta(cliente);
     }
 
     @Override
     @Transactional
     public ClienteResponseDTO recuperar(Long id) {
         Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        return new ClienteResponseDTO(cliente);
+        return clienteMapper.paraResposta(cliente);
     }
 
     @Override
     @Transactional
-    public List<ClienteResponseDTO> listar() {
-        List<Cliente> clientes = clienteRepository.findAll();
-        return clientes.stream()
-                .map(ClienteResponseDTO::new)
-                .toList();
+    public PaginaResponseDTO<ClienteResponseDTO> listar(String cursor, Integer tamanho) {
+        Slice<Cliente> clientes = clienteRepository.findByIdGreaterThanOrderByIdAsc(Cursor.ler(cursor).getId(), PageRequest.of(0, Cursor.tamanho(tamanho)));
+        return PaginaResponseDTO.de(clientes, clienteMapper::paraResposta, Cliente::getId);
     }
 
     @Override
     @Transactional
-    public ClienteResponseDTO atualizar(Long id, String codigoAcesso, ClienteRequestDTO clienteRequestDTO) {
+    public ClienteResponseDTO atualizar(Long id, String codigoAcesso, Sessao sessao, ClienteRequestDTO clienteRequestDTO) {
         Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(cliente.getCodigoAcesso(), codigoAcesso);
-        modelMapper.map(clienteRequestDTO, cliente);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.CLIENTE, id, cliente.getCodigoAcesso(), codigoAcesso);
+        clienteMapper.atualizar(clienteRequestDTO, cliente);
         clienteRepository.save(cliente);
-        return modelMapper.map(cliente, ClienteResponseDTO.class);
+        return clienteMapper.paraResposta(cliente);
     }
 
     @Override
     @Transactional
-    public void remover(Long id, String codigoAcesso) {
+    public void remover(Long id, String codigoAcesso, Sessao sessao) {
         Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(cliente.getCodigoAcesso(), codigoAcesso);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.CLIENTE, id, cliente.getCodigoAcesso(), codigoAcesso);
+        interesseRepository.deleteAllByClienteId(id);
         clienteRepository.delete(cliente);
     }
 
     @Override
     @Transactional
-    public SaborResponseDTO demonstrarInteresse(Long id, String codigoAcesso, Long idSabor) {
+    public SaborResponseDTO demonstrarInteresse(Long id, String codigoAcesso, Sessao sessao, Long idSabor) {
         Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(cliente.getCodigoAcesso(), codigoAcesso);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.CLIENTE, id, cliente.getCodigoAcesso(), codigoAcesso);
 
         return saborService.demonstrarInteresse(cliente, idSabor);
     }
 
     @Override
-    public List<PedidoResponseDTO> listarPedidos(Long id, String codigoAcesso) {
-        Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(cliente.getCodigoAcesso(), codigoAcesso);
-        return pedidoService.listarPedidos(id, codigoAcesso);
+    @Transactional
+    public PaginaResponseDTO<PedidoResponseDTO> listarPedidos(Long id, String codigoAcesso, Sessao sessao, String cursor, Integer tamanho) {
+        // a sessao validada segue para o servico de pedidos, que nao repete a validacao
+        Sessao sessaoCliente = codigoAcessoValidator.validarCliente(sessao, id, codigoAcesso);
+        return pedidoService.listarPedidos(id, codigoAcesso, sessaoCliente, cursor, tamanho);
     }
 
     @Override
-    public List<PedidoResponseDTO> listarPedidosFilter(Long id, String codigoAcesso, StatusPedido statusPedido) {
-        Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(cliente.getCodigoAcesso(), codigoAcesso);
+    @Transactional
+    public PaginaResponseDTO<PedidoResumoResponseDTO> listarResumoPedidos(Long id, String codigoAcesso, Sessao sessao, StatusPedido statusPedido, String cursor, Integer tamanho) {
+        Sessao sessaoCliente = codigoAcessoValidator.validarCliente(sessao, id, codigoAcesso);
+        return pedidoService.listarResumoPedidos(id, codigoAcesso, sessaoCliente, statusPedido, cursor, tamanho);
+    }
 
-        return pedidoService.listarPedidosByStatus(id, codigoAcesso, statusPedido);
+    @Override
+    @Transactional
+    public PaginaResponseDTO<PedidoResponseDTO> listarPedidosFilter(Long id, String codigoAcesso, Sessao sessao, StatusPedido statusPedido, String cursor, Integer tamanho) {
+        Sessao sessaoCliente = codigoAcessoValidator.validarCliente(sessao, id, codigoAcesso);
+
+        return pedidoService.listarPedidosByStatus(id, codigoAcesso, sessaoCliente, statusPedido, cursor, tamanho);
     }
 
     @Override
-    public PedidoResponseDTO recuperarPedido(Long id, String codigoAcesso, Long idPedido) {
-        Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(cliente.getCodigoAcesso(), codigoAcesso);
+    @Transactional
+    public PedidoResponseDTO recuperarPedido(Long id, String codigoAcesso, Sessao sessao, Long idPedido) {
+        Sessao sessaoCliente = codigoAcessoValidator.validarCliente(sessao, id, codigoAcesso);
 
-        return pedidoService.recuperarPedidoCliente(idPedido, id, codigoAcesso);
+        return pedidoService.recuperarPedidoCliente(idPedido, id, codigoAcesso, sessaoCliente);
     }
 
 
-    public SaborResponseDTO removerInteresse(Long id, String codigoAcesso, Long idSabor) {
+    public SaborResponseDTO removerInteresse(Long id, String codigoAcesso, Sessao sessao, Long idSabor) {
         Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(cliente.getCodigoAcesso(), codigoAcesso);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.CLIENTE, id, cliente.getCodigoAcesso(), codigoAcesso);
 
         return saborService.removerInteresse(cliente, idSabor);
     }
 
     @Override
-    public void cancelarPedido(Long id, String codigoAcesso, Long idPedido) {
-        Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(cliente.getCodigoAcesso(), codigoAcesso);
+    @Transactional
+    public void cancelarPedido(Long id, String codigoAcesso, Sessao sessao, Long idPedido) {
+        Sessao sessaoCliente = codigoAcessoValidator.validarCliente(sessao, id, codigoAcesso);
 
-        pedidoService.cancelarPedidoCliente(id, codigoAcesso, idPedido);
+        pedidoService.cancelarPedidoCliente(id, codigoAcesso, sessaoCliente, idPedido);
     }
 }
@@ -1,6 +1,7 @@
 package com.ufcg.psoft.pitsa.service.entregador;
 
-import java.util.List;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.security.Sessao;
 
 public interface EntregadorService<I, O> {
 
@@ -8,10 +9,10 @@ public interface EntregadorService<I, O> {
 
     O recuperar(Long entregadorId);
 
-    List<O> listar();
+    PaginaResponseDTO<O> listar(String cursor, Integer tamanho);
 
-    O atualizar(Long entregadorId, String codAcessoEntregador, I entregadorRequestDTO);
+    O atualizar(Long entregadorId, String codAcessoEntregador, Sessao sessao, I entregadorRequestDTO);
 
-    void remover(Long entregadorId, String codAcessoEntregador);
+    void remover(Long entregadorId, String codAcessoEntregador, Sessao sessao);
 
 }
\ No newline at end of file
@@ -1,18 +1,22 @@
 package com.ufcg.psoft.pitsa.service.entregador;
 
+import com.ufcg.psoft.pitsa.dto.pagina.Cursor;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
 import com.ufcg.psoft.pitsa.dto.entregador.EntregadorRequestDTO;
 import com.ufcg.psoft.pitsa.dto.entregador.EntregadorResponseDTO;
 import com.ufcg.psoft.pitsa.exception.EntidadeNaoExisteException;
+import com.ufcg.psoft.pitsa.mapper.EntregadorMapper;
 import com.ufcg.psoft.pitsa.model.Entregador;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
 import com.ufcg.psoft.pitsa.repository.EntregadorRepository;
+import com.ufcg.psoft.pitsa.security.Sessao;
 import com.ufcg.psoft.pitsa.validator.CodigoAcessoValidator;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class EntregadorServiceImpl implements EntregadorService<EntregadorRequestDTO, EntregadorResponseDTO> {
 
@@ -20,7 +24,7 @@ public class EntregadorServiceImpl implements EntregadorService<EntregadorReques
     EntregadorRepository entregadorRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    EntregadorMapper entregadorMapper;
 
     @Autowired
     CodigoAcessoValidator codigoAcessoValidator;
@@ -28,42 +32,40 @@ public class EntregadorServiceImpl implements EntregadorService<EntregadorReques
     @Override
     @Transactional
     public EntregadorResponseDTO criar(EntregadorRequestDTO entregadorRequestDTO) {
-        Entregador entregador = modelMapper.map(entregadorRequestDTO, Entregador.class);
+        Entregador entregador = entregadorMapper.paraEntidade(entregadorRequestDTO);
         entregadorRepository.save(entregador);
-        return modelMapper.map(entregador, EntregadorResponseDTO.class);
+        return entregadorMapper.paraResposta(entregador);
     }
 
     @Override
     @Transactional
     public EntregadorResponseDTO recuperar(Long id) {
         Entregador entregador = entregadorRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("entregador"));
-        return new EntregadorResponseDTO(entregador);
+        return entregadorMapper.paraResposta(entregador);
     }
 
     @Override
     @Transactional
-    public List<EntregadorResponseDTO> listar() {
-        List<Entregador> entregadors = entregadorRepository.findAll();
-        return entregadors.stream()
-                .map(EntregadorResponseDTO::new)
-                .toList();
+    public PaginaResponseDTO<EntregadorResponseDTO> listar(String cursor, Integer tamanho) {
+        Slice<Entregador> entregadors = entregadorRepository.findByIdGreaterThanOrderByIdAsc(Cursor.ler(cursor).getId(), PageRequest.of(0, Cursor.tamanho(tamanho)));
+        return PaginaResponseDTO.de(entregadors, entregadorMapper::paraResposta, Entregador::getId);
     }
 
     @Override
     @Transactional
-    public EntregadorResponseDTO atualizar(Long id, String codigoAcesso, EntregadorRequestDTO entregadorRequestDTO) {
+    public EntregadorResponseDTO atualizar(Long id, String codigoAcesso, Sessao sessao, EntregadorRequestDTO entregadorRequestDTO) {
         Entregador entregador = entregadorRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("entregador"));
-        codigoAcessoValidator.validar(entregador.getCodigoAcesso(), codigoAcesso);
-        modelMapper.map(entregadorRequestDTO, entregador);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ENTREGADOR, id, entregador.getCodigoAcesso(), codigoAcesso);
+        entregadorMapper.atualizar(entregadorRequestDTO, entregador);
         entregadorRepository.save(entregador);
-        return modelMapper.map(entregador, EntregadorResponseDTO.class);
+        return entregadorMapper.paraResposta(entregador);
     }
 
     @Override
     @Transactional
-    public void remover(Long id, String codigoAcesso) {
+    public void remover(Long id, String codigoAcesso, Sessao sessao) {
         Entregador entregador = entregadorRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("entregador"));
-        codigoAcessoValidator.validar(entregador.getCodigoAcesso(), codigoAcesso);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ENTREGADOR, id, entregador.getCodigoAcesso(), codigoAcesso);
         entregadorRepository.delete(entregador);
     }
 
@@ -2,6 +2,7 @@ package com.ufcg.psoft.pitsa.service.estabelecimento;
 
 import com.ufcg.psoft.pitsa.dto.sabor.SaborCardapioDTO;
 import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import com.ufcg.psoft.pitsa.security.Sessao;
 
 import java.util.List;
 
@@ -11,10 +12,12 @@ public interface EstabelecimentoService<I, O> {
 
     O atualizar(Long id, String codigoAcesso, I estabelecimentoRequestDTO);
 
-    void remover(Long id, String codigoAcesso);
+    void remover(Long id, String codigoAcesso, Sessao sessao);
 
     List<SaborCardapioDTO> recuperarSabores(Long id);
 
+    String etagCardapio(Long id);
+
     List<SaborCardapioDTO> recuperarSaboresPorTipo(Long id, TipoSabor tipoSabor);
 
 }
@@ -1,24 +1,24 @@
 package com.ufcg.psoft.pitsa.service.estabelecimento;
 
+import com.ufcg.psoft.pitsa.cache.CardapioCache;
 import com.ufcg.psoft.pitsa.dto.estabelecimento.EstabelecimentoRequestDTO;
 import com.ufcg.psoft.pitsa.dto.estabelecimento.EstabelecimentoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborCardapioDTO;
 import com.ufcg.psoft.pitsa.exception.EntidadeNaoExisteException;
+import com.ufcg.psoft.pitsa.mapper.EstabelecimentoMapper;
 import com.ufcg.psoft.pitsa.model.Estabelecimento;
-import com.ufcg.psoft.pitsa.model.Sabor;
 import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
 import com.ufcg.psoft.pitsa.repository.EstabelecimentoRepository;
+import com.ufcg.psoft.pitsa.security.Sessao;
 import com.ufcg.psoft.pitsa.service.pedido.PedidoService;
 import com.ufcg.psoft.pitsa.validator.CodigoAcessoValidator;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 @Service
@@ -28,7 +28,7 @@ public class EstabelecimentoServiceImpl implements EstabelecimentoService<Estabe
     EstabelecimentoRepository estabelecimentoRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    EstabelecimentoMapper estabelecimentoMapper;
 
     @Autowired
     CodigoAcessoValidator codigoAcessoValidator;
@@ -36,14 +36,17 @@ public class EstabelecimentoServiceImpl implements EstabelecimentoService<Estabe
     @Autowired
     PedidoService<PedidoRequestDTO, PedidoResponseDTO> pedidoService;
 
+    @Autowired
+    CardapioCache cardapioCache;
+
     @Override
     @Transactional
     public EstabelecimentoResponseDTO criar(String codigoDeAcesso, EstabelecimentoRequestDTO estabelecimentoDTO) {
         codigoAcessoValidator.validar(codigoDeAcesso, estabelecimentoDTO.getCodigoAcesso());
 
-        Estabelecimento estabelecimento = modelMapper.map(estabelecimentoDTO, Estabelecimento.class);
+        Estabelecimento estabelecimento = estabelecimentoMapper.paraEntidade(estabelecimentoDTO);
         estabelecimentoRepository.save(estabelecimento);
-        return modelMapper.map(estabelecimento, EstabelecimentoResponseDTO.class);
+        return estabelecimentoMapper.paraResposta(estabelecimento);
     }
 
     @Override
@@ -52,47 +55,34 @@ public class EstabelecimentoServiceImpl implements EstabelecimentoService<Estabe
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
         codigoAcessoValidator.validar(codigoAcesso, estabelecimentoDTO.getCodigoAcesso());
 
-        modelMapper.map(estabelecimentoDTO, estabelecimento);
+        estabelecimentoMapper.atualizar(estabelecimentoDTO, estabelecimento);
         estabelecimentoRepository.save(estabelecimento);
-        return modelMapper.map(estabelecimento, EstabelecimentoResponseDTO.class);
+        return estabelecimentoMapper.paraResposta(estabelecimento);
     }
 
     @Override
     @Transactional
-    public void remover(Long id, String codigoAcesso) {
+    public void remover(Long id, String codigoAcesso, Sessao sessao) {
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(codigoAcesso, estabelecimento.getCodigoAcesso());
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ESTABELECIMENTO, id, estabelecimento.getCodigoAcesso(), codigoAcesso);
 
         estabelecimentoRepository.delete(estabelecimento);
+        cardapioCache.invalidar(id);
     }
 
     @Override
-    @Transactional
     public List<SaborCardapioDTO> recuperarSabores(Long id) {
-        Estabelecimento estabelecimento = estabelecimentoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        List<Sabor> sabores = estabelecimento.getSabores();
-        if (sabores == null || sabores.isEmpty()) {
-            return new ArrayList<>();
-        }
-        return sabores.stream()
-                .sorted(Comparator.comparing(Sabor::getDisponivel, Comparator.reverseOrder()))
-                .map(SaborCardapioDTO::new)
-                .toList();
+        return cardapioCache.recuperar(id).getSabores();
+    }
+
+    @Override
+    public String etagCardapio(Long id) {
+        return cardapioCache.etag(id);
     }
 
     @Override
-    @Transactional
     public List<SaborCardapioDTO> recuperarSaboresPorTipo(Long id, TipoSabor tipoSabor) {
-        Estabelecimento estabelecimento = estabelecimentoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        List<Sabor> sabores = estabelecimento.getSabores();
-        if (sabores == null || sabores.isEmpty()) {
-            return new ArrayList<>();
-        }
-        return sabores.stream()
-                .filter(s -> s.getTipo() == tipoSabor)
-                .sorted(Comparator.comparing(Sabor::getDisponivel, Comparator.reverseOrder()))
-                .map(SaborCardapioDTO::new)
-                .toList();
+        return cardapioCache.recuperar(id).getSaboresPorTipo(tipoSabor);
     }
 
 }
@@ -0,0 +1,74 @@
+package com.ufcg.psoft.pitsa.service.notificacao;
+
+import com.ufcg.psoft.pitsa.model.EventoPendente;
+import com.ufcg.psoft.pitsa.model.Interesse;
+import com.ufcg.psoft.pitsa.model.enums.TipoEvento;
+import com.ufcg.psoft.pitsa.repository.EventoPendenteRepository;
+import com.ufcg.psoft.pitsa.repository.InteresseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// transforma o aviso de sabor disponivel em notificacoes por cliente, um lote curto de cada vez
+@Component
+public class DistribuicaoInteresses {
+
+    private final int tamanhoLote;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    InteresseRepository interesseRepository;
+
+    @Autowired
+    EventoPendenteRepository eventoPendenteRepository;
+
+    @Autowired
+    @Lazy
+    EntregaEventos entregaEventos;
+
+    public DistribuicaoInteresses(@Value("${pitsa.interesses.lote:500}") int tamanhoLote,
+                                  PlatformTransactionManager transactionManager) {
+        this.tamanhoLote = tamanhoLote;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // um lote por evento: se sobrarem interessados, o restante volta para o fim da fila como outro evento,
+    // assim um sabor muito esperado nao segura os demais eventos na thread de entrega
+    public void distribuir(EventoPendente evento) {
+        transactionTemplate.executeWithoutResult(status -> distribuirLote(evento.getSaborId(), evento.getUltimoInteresseId()));
+    }
+
+    private void distribuirLote(Long saborId, Long ultimoInteresseId) {
+        // os interesses atendidos sao apagados no proprio lote, a continuacao ja comeca nos seguintes
+        List<Interesse> interesses = interesseRepository.findBySaborIdAndIdLessThanEqualOrderByIdAsc(saborId, ultimoInteresseId, PageRequest.of(0, tamanhoLote));
+        if (interesses.isEmpty()) return;
+
+        List<EventoPendente> novos = new ArrayList<>(interesses.stream()
+                .map(interesse -> EventoPendente.builder()
+                        .tipo(TipoEvento.SABOR_DISPONIVEL)
+                        .destinatarioId(interesse.getClienteId())
+                        .saborId(saborId)
+                        .build())
+                .toList());
+        if (interesses.size() == tamanhoLote) {
+            novos.add(EventoPendente.builder()
+                    .tipo(TipoEvento.SABOR_DISPONIVEL_INTERESSADOS)
+                    .saborId(saborId)
+                    .ultimoInteresseId(ultimoInteresseId)
+                    .build());
+        }
+        List<EventoPendente> eventos = eventoPendenteRepository.saveAll(novos);
+        interesseRepository.deleteAllByIdIn(interesses.stream().map(Interesse::getId).toList());
+        entregaEventos.agendarAposCommit(eventos.stream().map(EventoPendente::getId).toList());
+    }
+}
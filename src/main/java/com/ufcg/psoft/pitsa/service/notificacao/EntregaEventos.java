@@ -0,0 +1,219 @@
+package com.ufcg.psoft.pitsa.service.notificacao;
+
+import com.ufcg.psoft.pitsa.event.EntregadorIndisponivelEvent;
+import com.ufcg.psoft.pitsa.event.PedidoEmRotaEvent;
+import com.ufcg.psoft.pitsa.event.PedidoEntregueEvent;
+import com.ufcg.psoft.pitsa.event.SaborDisponivelEvent;
+import com.ufcg.psoft.pitsa.model.*;
+import com.ufcg.psoft.pitsa.model.enums.TipoEvento;
+import com.ufcg.psoft.pitsa.repository.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class EntregaEventos {
+
+    private static final Logger logger = LogManager.getLogger(EntregaEventos.class);
+
+    private static final int MAXIMO_TENTATIVAS = 5;
+
+    private final BlockingQueue<Long> fila;
+
+    // evita que a varredura enfileire de novo um evento que ainda esta esperando na fila
+    private final Set<Long> enfileirados = ConcurrentHashMap.newKeySet();
+
+    private final int tamanhoLote;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "entrega-eventos");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean ativo = true;
+
+    @Autowired
+    EventoPendenteRepository eventoPendenteRepository;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    EstabelecimentoRepository estabelecimentoRepository;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    SaborRepository saborRepository;
+
+    @Autowired
+    EntregadorRepository entregadorRepository;
+
+    @Autowired
+    DistribuicaoInteresses distribuicaoInteresses;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Value("${pitsa.eventos.retencao:PT24H}")
+    Duration retencao;
+
+    public EntregaEventos(@Value("${pitsa.eventos.capacidade:1000}") int capacidade,
+                          @Value("${pitsa.eventos.lote:50}") int tamanhoLote) {
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        executor.execute(this::processar);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        ativo = false;
+        executor.shutdownNow();
+    }
+
+    public void agendarAposCommit(List<Long> eventoIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventoIds.forEach(this::enfileirar);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventoIds.forEach(EntregaEventos.this::enfileirar);
+            }
+        });
+    }
+
+    // recupera eventos que ficaram para tras, seja por fila cheia ou por queda da aplicacao
+    @Scheduled(fixedDelayString = "${pitsa.eventos.varredura:10000}", initialDelayString = "${pitsa.eventos.varredura:10000}")
+    public void varrerPendentes() {
+        LocalDateTime limite = LocalDateTime.now().minusSeconds(5);
+        eventoPendenteRepository.findByEntregueEmIsNullAndCriadoEmBeforeOrderByIdAsc(limite, PageRequest.of(0, fila.remainingCapacity() + 1))
+                .forEach(evento -> enfileirar(evento.getId()));
+    }
+
+    // eventos entregues so servem para consulta recente; sem a limpeza cada distribuicao de interesses deixaria uma linha por cliente
+    @Scheduled(fixedDelayString = "${pitsa.eventos.limpeza:3600000}", initialDelayString = "${pitsa.eventos.limpeza:3600000}")
+    public void removerEntregues() {
+        transactionTemplate.executeWithoutResult(status -> eventoPendenteRepository.removerEntregues(LocalDateTime.now().minus(retencao)));
+    }
+
+    private void enfileirar(Long eventoId) {
+        if (!enfileirados.add(eventoId)) return;
+        // com a fila cheia a requisicao nao espera, o evento continua gravado e a varredura o recupera
+        if (!fila.offer(eventoId)) enfileirados.remove(eventoId);
+    }
+
+    private void processar() {
+        while (ativo) {
+            try {
+                Long primeiro = fila.poll(1, TimeUnit.SECONDS);
+                if (primeiro == null) continue;
+
+                List<Long> lote = new ArrayList<>(tamanhoLote);
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> entregar(lote));
+                } finally {
+                    lote.forEach(enfileirados::remove);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao entregar lote de eventos", e);
+            }
+        }
+    }
+
+    private void entregar(List<Long> lote) {
+        List<EventoPendente> eventos = eventoPendenteRepository.findAllById(lote).stream()
+                .filter(evento -> evento.getEntregueEm() == null)
+                .toList();
+        if (eventos.isEmpty()) return;
+
+        // carrega os envolvidos do lote inteiro de uma vez em vez de um por evento
+        Map<Long, Cliente> clientes = porId(clienteRepository.findAllById(ids(eventos, evento -> evento.getTipo() != TipoEvento.PEDIDO_ENTREGUE ? evento.getDestinatarioId() : null)), Cliente::getId);
+        Map<Long, Estabelecimento> estabelecimentos = porId(estabelecimentoRepository.findAllById(ids(eventos, evento -> evento.getTipo() == TipoEvento.PEDIDO_ENTREGUE ? evento.getDestinatarioId() : null)), Estabelecimento::getId);
+        Map<Long, Pedido> pedidos = porId(pedidoRepository.findAllById(ids(eventos, EventoPendente::getPedidoId)), Pedido::getId);
+        Map<Long, Sabor> sabores = porId(saborRepository.findAllById(ids(eventos, EventoPendente::getSaborId)), Sabor::getId);
+        Map<Long, Entregador> entregadores = porId(entregadorRepository.findAllById(ids(eventos, EventoPendente::getEntregadorId)), Entregador::getId);
+
+        LocalDateTime agora = LocalDateTime.now();
+        for (EventoPendente evento : eventos) {
+            try {
+                Cliente cliente = clientes.get(evento.getDestinatarioId());
+                Pedido pedido = pedidos.get(evento.getPedidoId());
+                boolean entregue = switch (evento.getTipo()) {
+                    case PEDIDO_EM_ROTA -> {
+                        Entregador entregador = entregadores.get(evento.getEntregadorId());
+                        if (cliente == null || pedido == null || entregador == null) yield false;
+                        cliente.notificaPedidoEmRota(new PedidoEmRotaEvent(pedido, entregador));
+                        yield true;
+                    }
+                    case ENTREGADOR_INDISPONIVEL -> {
+                        if (cliente == null || pedido == null) yield false;
+                        cliente.notificaEntregadorIndisponivel(new EntregadorIndisponivelEvent(pedido));
+                        yield true;
+                    }
+                    case PEDIDO_ENTREGUE -> {
+                        Estabelecimento estabelecimento = estabelecimentos.get(evento.getDestinatarioId());
+                        if (estabelecimento == null || pedido == null) yield false;
+                        estabelecimento.notificaPedidoEntregue(new PedidoEntregueEvent(pedido));
+                        yield true;
+                    }
+                    case SABOR_DISPONIVEL -> {
+                        Sabor sabor = sabores.get(evento.getSaborId());
+                        if (cliente == null || sabor == null) yield false;
+                        cliente.notificaSaborDisponivel(new SaborDisponivelEvent(sabor));
+                        yield true;
+                    }
+                    case SABOR_DISPONIVEL_INTERESSADOS -> {
+                        distribuicaoInteresses.distribuir(evento);
+                        yield true;
+                    }
+                };
+                if (!entregue) logger.warn("Evento {} descartado, destinatario ou dados do evento nao existem mais", evento.getId());
+                evento.setEntregueEm(agora);
+            } catch (RuntimeException e) {
+                evento.setTentativas(evento.getTentativas() + 1);
+                if (evento.getTentativas() >= MAXIMO_TENTATIVAS) {
+                    logger.warn("Evento {} descartado apos {} tentativas", evento.getId(), evento.getTentativas(), e);
+                    evento.setEntregueEm(agora);
+                }
+            }
+        }
+        eventoPendenteRepository.saveAll(eventos);
+    }
+
+    private Set<Long> ids(List<EventoPendente> eventos, Function<EventoPendente, Long> id) {
+        return eventos.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private <T> Map<Long, T> porId(List<T> entidades, Function<T, Long> id) {
+        return entidades.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.ufcg.psoft.pitsa.service.notificacao;
+
+import com.ufcg.psoft.pitsa.event.EntregadorIndisponivelEvent;
+import com.ufcg.psoft.pitsa.event.PedidoEmRotaEvent;
+import com.ufcg.psoft.pitsa.event.PedidoEntregueEvent;
+import com.ufcg.psoft.pitsa.event.SaborDisponivelEvent;
+import com.ufcg.psoft.pitsa.model.EventoPendente;
+import com.ufcg.psoft.pitsa.model.enums.TipoEvento;
+import com.ufcg.psoft.pitsa.repository.EventoPendenteRepository;
+import com.ufcg.psoft.pitsa.repository.InteresseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// roda na thread e na transacao de quem publicou, entao o evento so existe se a operacao for confirmada
+@Component
+public class RegistroEventos {
+
+    @Autowired
+    EventoPendenteRepository eventoPendenteRepository;
+
+    @Autowired
+    InteresseRepository interesseRepository;
+
+    @Autowired
+    EntregaEventos entregaEventos;
+
+    @EventListener
+    public void registrar(PedidoEmRotaEvent event) {
+        salvar(List.of(EventoPendente.builder()
+                .tipo(TipoEvento.PEDIDO_EM_ROTA)
+                .destinatarioId(event.getPedido().getClienteId())
+                .pedidoId(event.getPedido().getId())
+                .entregadorId(event.getEntregador().getId())
+                .build()));
+    }
+
+    @EventListener
+    public void registrar(EntregadorIndisponivelEvent event) {
+        salvar(List.of(EventoPendente.builder()
+                .tipo(TipoEvento.ENTREGADOR_INDISPONIVEL)
+                .destinatarioId(event.getPedido().getClienteId())
+                .pedidoId(event.getPedido().getId())
+                .build()));
+    }
+
+    @EventListener
+    public void registrar(PedidoEntregueEvent event) {
+        salvar(List.of(EventoPendente.builder()
+                .tipo(TipoEvento.PEDIDO_ENTREGUE)
+                .destinatarioId(event.getPedido().getEstabelecimentoId())
+                .pedidoId(event.getPedido().getId())
+                .build()));
+    }
+
+    @EventListener
+    public void registrar(SaborDisponivelEvent event) {
+        // um unico evento marca ate onde vao os interesses atuais, a distribuicao por cliente acontece em lotes depois do commit
+        Long ultimoInteresseId = interesseRepository.findUltimoIdBySaborId(event.getSabor().getId());
+        if (ultimoInteresseId == null) return;
+        salvar(List.of(EventoPendente.builder()
+                .tipo(TipoEvento.SABOR_DISPONIVEL_INTERESSADOS)
+                .saborId(event.getSabor().getId())
+                .ultimoInteresseId(ultimoInteresseId)
+                .build()));
+    }
+
+    private void salvar(List<EventoPendente> eventos) {
+        if (eventos.isEmpty()) return;
+        eventoPendenteRepository.saveAll(eventos);
+        entregaEventos.agendarAposCommit(eventos.stream().map(EventoPendente::getId).toList());
+    }
+}
@@ -0,0 +1,93 @@
+package com.ufcg.psoft.pitsa.service.pedido;
+
+import com.ufcg.psoft.pitsa.cache.EntregadorDisponivelIndice;
+import com.ufcg.psoft.pitsa.cache.FilaPedidosProntos;
+import com.ufcg.psoft.pitsa.cache.FilaPedidosProntos.PedidoPronto;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.repository.PedidoRepository;
+import jakarta.transaction.Transactional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class DespachoPedidos {
+
+    private static final Logger logger = LogManager.getLogger(DespachoPedidos.class);
+
+    @Autowired
+    FilaPedidosProntos filaPedidosProntos;
+
+    @Autowired
+    EntregadorDisponivelIndice entregadorDisponivelIndice;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    PedidoService<PedidoRequestDTO, PedidoResponseDTO> pedidoService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    // tenta periodicamente esvaziar as filas, cada estabelecimento na sua propria transacao
+    @Scheduled(fixedDelayString = "${pitsa.despacho.intervalo:5000}", initialDelayString = "${pitsa.despacho.intervalo:5000}")
+    public void despacharPendentes() {
+        for (Long estabelecimentoId : filaPedidosProntos.estabelecimentosComPedidos()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> despachar(estabelecimentoId));
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao despachar pedidos do estabelecimento " + estabelecimentoId, e);
+            }
+        }
+    }
+
+    // casa os pedidos prontos mais antigos com os entregadores livres ate acabar um dos dois
+    @Transactional
+    public int despachar(Long estabelecimentoId) {
+        List<PedidoPronto> retirados = new ArrayList<>();
+        int despachados = 0;
+        PedidoPronto pronto;
+        while ((pronto = filaPedidosProntos.retirar(estabelecimentoId)) != null) {
+            retirados.add(pronto);
+            Optional<Pedido> pedido = pedidoRepository.findById(pronto.pedidoId());
+            // pedido cancelado ou ja enviado por outro caminho, so sai da fila
+            if (pedido.isEmpty() || pedido.get().getStatusPedido() != StatusPedido.PEDIDO_PRONTO) continue;
+
+            Long associacaoId = entregadorDisponivelIndice.reservar(estabelecimentoId);
+            if (associacaoId == null) {
+                retirados.remove(pronto);
+                filaPedidosProntos.devolver(estabelecimentoId, pronto);
+                break;
+            }
+            pedidoService.enviarParaEntrega(pedido.get(), associacaoId);
+            despachados++;
+        }
+        devolverSeDesfeita(estabelecimentoId, retirados);
+        return despachados;
+    }
+
+    private void devolverSeDesfeita(Long estabelecimentoId, List<PedidoPronto> retirados) {
+        if (retirados.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    retirados.forEach(pronto -> filaPedidosProntos.devolver(estabelecimentoId, pronto));
+                }
+            }
+        });
+    }
+}
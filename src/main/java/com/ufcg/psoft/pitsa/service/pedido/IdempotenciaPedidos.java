@@ -0,0 +1,184 @@
+package com.ufcg.psoft.pitsa.service.pedido;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.pitsa.cache.RespostasIdempotentes;
+import com.ufcg.psoft.pitsa.cache.RespostasIdempotentes.RespostaGuardada;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.exception.ChaveIdempotenciaInvalidaException;
+import com.ufcg.psoft.pitsa.exception.ChaveIdempotenciaReutilizadaException;
+import com.ufcg.psoft.pitsa.model.RespostaIdempotente;
+import com.ufcg.psoft.pitsa.model.enums.OperacaoIdempotente;
+import com.ufcg.psoft.pitsa.repository.RespostaIdempotenteRepository;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.validator.CodigoAcessoValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotenciaPedidos {
+
+    public static final String CABECALHO = "Idempotency-Key";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    // requisicoes com a mesma chave em execucao nesta instancia
+    private final Map<String, CountDownLatch> emAndamento = new ConcurrentHashMap<>();
+
+    @Value("${pitsa.idempotencia.validade:PT24H}")
+    Duration validade;
+
+    @Value("${pitsa.idempotencia.espera:PT10S}")
+    Duration espera;
+
+    @Autowired
+    RespostasIdempotentes respostasIdempotentes;
+
+    @Autowired
+    RespostaIdempotenteRepository respostaIdempotenteRepository;
+
+    @Autowired
+    CodigoAcessoValidator codigoAcessoValidator;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    // sem chave a operacao roda normalmente; com chave, uma repeticao devolve a resposta da primeira execucao
+    public PedidoResponseDTO executar(OperacaoIdempotente operacao, String chave, Long clienteId, String codigoAcessoCliente, Sessao sessao,
+                                      Object requisicao, Function<Sessao, PedidoResponseDTO> operacaoCliente) {
+        if (chave == null) return operacaoCliente.apply(sessao);
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) throw new ChaveIdempotenciaInvalidaException();
+        // a resposta guardada so e devolvida ao proprio cliente, e a operacao recebe a sessao ja validada
+        Sessao sessaoCliente = codigoAcessoValidator.validarCliente(sessao, clienteId, codigoAcessoCliente);
+        Supplier<PedidoResponseDTO> execucao = () -> operacaoCliente.apply(sessaoCliente);
+
+        String impressao = impressao(requisicao);
+        String identificador = operacao + ":" + clienteId + ":" + chave;
+        while (true) {
+            PedidoResponseDTO anterior = anterior(identificador, operacao, clienteId, chave, impressao);
+            if (anterior != null) return anterior;
+
+            CountDownLatch execucaoAtual = new CountDownLatch(1);
+            CountDownLatch outraExecucao = emAndamento.putIfAbsent(identificador, execucaoAtual);
+            if (outraExecucao == null) {
+                try {
+                    return executarEGuardar(identificador, operacao, clienteId, chave, impressao, execucao);
+                } finally {
+                    emAndamento.remove(identificador, execucaoAtual);
+                    execucaoAtual.countDown();
+                }
+            }
+            // a primeira requisicao ainda esta em curso: espera e devolve o que ela gravou, ou executa se ela falhou
+            if (!aguardar(outraExecucao)) {
+                // demorou alem da espera; executa tambem e a chave unica no banco decide qual das duas vale
+                return executarEGuardar(identificador, operacao, clienteId, chave, impressao, execucao);
+            }
+        }
+    }
+
+    // a operacao e o registro da chave sao confirmados juntos, entao uma chave gravada sempre tem a operacao feita
+    private PedidoResponseDTO executarEGuardar(String identificador, OperacaoIdempotente operacao, Long clienteId, String chave,
+                                               String impressao, Supplier<PedidoResponseDTO> execucao) {
+        LocalDateTime expiraEm = LocalDateTime.now().plus(validade);
+        PedidoResponseDTO resposta;
+        try {
+            resposta = transactionTemplate.execute(status -> {
+                PedidoResponseDTO executada = execucao.get();
+                respostaIdempotenteRepository.saveAndFlush(RespostaIdempotente.builder()
+                        .clienteId(clienteId)
+                        .operacao(operacao)
+                        .chave(chave)
+                        .impressao(impressao)
+                        .resposta(escrever(executada))
+                        .expiraEm(expiraEm)
+                        .build());
+                return executada;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // outra instancia gravou a mesma chave antes; a execucao desta foi desfeita junto com a transacao
+            PedidoResponseDTO anterior = anterior(identificador, operacao, clienteId, chave, impressao);
+            if (anterior == null) throw e;
+            return anterior;
+        }
+        respostasIdempotentes.guardar(identificador, new RespostaGuardada(impressao, resposta, expiraEm));
+        return resposta;
+    }
+
+    private PedidoResponseDTO anterior(String identificador, OperacaoIdempotente operacao, Long clienteId, String chave, String impressao) {
+        RespostaGuardada guardada = respostasIdempotentes.recuperar(identificador);
+        if (guardada == null) {
+            RespostaIdempotente registrada = respostaIdempotenteRepository.findByClienteIdAndOperacaoAndChave(clienteId, operacao, chave).orElse(null);
+            if (registrada == null) return null;
+            if (registrada.getExpiraEm().isBefore(LocalDateTime.now())) {
+                // expirada, libera a chave para uma nova execucao
+                respostaIdempotenteRepository.delete(registrada);
+                return null;
+            }
+            guardada = new RespostaGuardada(registrada.getImpressao(), ler(registrada.getResposta()), registrada.getExpiraEm());
+            respostasIdempotentes.guardar(identificador, guardada);
+        }
+        if (!guardada.impressao().equals(impressao)) throw new ChaveIdempotenciaReutilizadaException();
+        return guardada.resposta();
+    }
+
+    @Scheduled(fixedDelayString = "${pitsa.idempotencia.limpeza:3600000}", initialDelayString = "${pitsa.idempotencia.limpeza:3600000}")
+    public void removerExpiradas() {
+        transactionTemplate.executeWithoutResult(status -> respostaIdempotenteRepository.removerExpiradas(LocalDateTime.now()));
+    }
+
+    private boolean aguardar(CountDownLatch execucao) {
+        try {
+            return execucao.await(espera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String impressao(Object requisicao) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(objectMapper.writeValueAsBytes(requisicao)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String escrever(PedidoResponseDTO resposta) {
+        try {
+            return objectMapper.writeValueAsString(resposta);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PedidoResponseDTO ler(String resposta) {
+        try {
+            return objectMapper.readValue(resposta, PedidoResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,38 +1,58 @@
 package com.ufcg.psoft.pitsa.service.pedido;
 
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.CotacaoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResumoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.sla.SlaEtapaResponseDTO;
 import com.ufcg.psoft.pitsa.model.Pedido;
 import com.ufcg.psoft.pitsa.model.enums.MetodoPagamento;
 import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface PedidoService<I, O> {
 
-    O criar(I pedidoRequestDTO, String codigoAcesso, Long clienteId, Long estabelecimentoId);
+    O criar(I pedidoRequestDTO, String codigoAcesso, Sessao sessao, Long clienteId, Long estabelecimentoId);
 
-    O atualizar(Long id, String codigoAcesso, I pedidoRequestDTO);
+    CotacaoResponseDTO cotar(I pedidoRequestDTO, String codigoAcesso, Sessao sessao, Long clienteId, Long estabelecimentoId);
 
-    void removerCliente(Long pedidoId, Long clienteId, String codigoAcessoCliente);
+    O atualizar(Long id, String codigoAcesso, Sessao sessao, I pedidoRequestDTO);
 
-    void removerEstabelecimento(Long pedidoId, Long estabelecimentoId, String codigoAcessoEstabelecimento);
+    void removerCliente(Long pedidoId, Long clienteId, String codigoAcessoCliente, Sessao sessao);
 
-    O recuperarPedidoCliente(Long pedidoId, Long clienteId, String codigoAcessoCliente);
+    void removerEstabelecimento(Long pedidoId, Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao);
 
-    O recuperarPedidoEstabelecimento(Long pedidoId, Long estabelecimentoId, String codigoAcessoEstabelecimento);
+    O recuperarPedidoCliente(Long pedidoId, Long clienteId, String codigoAcessoCliente, Sessao sessao);
 
-    List<O> listarPedidos(Long clienteId, String codigoAcessoCliente);
+    boolean entregueAoCliente(Long pedidoId, Long clienteId, String codigoAcessoCliente, Sessao sessao);
 
-    List<O> listarPedidosEstabelecimento(Long estabelecimentoId, String codigoAcessoEstabelecimento);
+    O recuperarPedidoEstabelecimento(Long pedidoId, Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao);
 
-    List<O> listarPedidosByStatus(Long id, String codAcesso, StatusPedido statusPedido);
+    PaginaResponseDTO<O> listarPedidos(Long clienteId, String codigoAcessoCliente, Sessao sessao, String cursor, Integer tamanho);
 
-    O confirmarPagamento(Long pedidoId, Long clienteId, String codigoAcessoCliente, MetodoPagamento metodoPagamento);
+    PaginaResponseDTO<O> listarPedidosEstabelecimento(Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao, String cursor, Integer tamanho);
 
-    O finalizarPreparoPedido(Long pedidoId, Long estabelecimentoId, String codigoAcessoEstabelecimento);
+    PaginaResponseDTO<PedidoResumoResponseDTO> listarResumoPedidos(Long clienteId, String codigoAcessoCliente, Sessao sessao, StatusPedido statusPedido, String cursor, Integer tamanho);
+
+    PaginaResponseDTO<O> listarPedidosByStatus(Long id, String codAcesso, Sessao sessao, StatusPedido statusPedido, String cursor, Integer tamanho);
+
+    StreamingResponseBody exportarPedidosEstabelecimento(Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao, StatusPedido statusPedido, LocalDate de, LocalDate ate);
+
+    List<SlaEtapaResponseDTO> slaEstabelecimento(Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao, LocalDateTime de, LocalDateTime ate);
+
+    O confirmarPagamento(Long pedidoId, Long clienteId, String codigoAcessoCliente, Sessao sessao, MetodoPagamento metodoPagamento);
+
+    O finalizarPreparoPedido(Long pedidoId, Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao);
 
     void associarEntregador(Pedido pedido);
 
-    O confirmarRecebimento(Long pedidoId, Long clienteId, String codigoAcessoCliente);
+    void enviarParaEntrega(Pedido pedido, Long associacaoId);
+
+    O confirmarRecebimento(Long pedidoId, Long clienteId, String codigoAcessoCliente, Sessao sessao);
 
-    void cancelarPedidoCliente(Long id, String codigoAcesso, Long idPedido);
+    void cancelarPedidoCliente(Long id, String codigoAcesso, Sessao sessao, Long idPedido);
 }
@@ -1,37 +1,67 @@
 package com.ufcg.psoft.pitsa.service.pedido;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.pitsa.cache.CardapioCache;
+import com.ufcg.psoft.pitsa.cache.EntregadorDisponivelIndice;
+import com.ufcg.psoft.pitsa.cache.FilaPedidosProntos;
+import com.ufcg.psoft.pitsa.cache.TabelaPrecos;
+import com.ufcg.psoft.pitsa.concorrencia.RepetirEmConflito;
+import com.ufcg.psoft.pitsa.dto.pagina.Cursor;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.CotacaoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResumoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pizza.PizzaCotacaoDTO;
 import com.ufcg.psoft.pitsa.dto.pizza.PizzaRequestDTO;
+import com.ufcg.psoft.pitsa.dto.sla.SlaEtapaResponseDTO;
 import com.ufcg.psoft.pitsa.event.EntregadorIndisponivelEvent;
 import com.ufcg.psoft.pitsa.event.PedidoEmRotaEvent;
 import com.ufcg.psoft.pitsa.event.PedidoEntregueEvent;
+import com.ufcg.psoft.pitsa.exception.CursorInvalidoException;
 import com.ufcg.psoft.pitsa.exception.EntidadeNaoExisteException;
 import com.ufcg.psoft.pitsa.exception.OperacaoInvalidaException;
+import com.ufcg.psoft.pitsa.mapper.PedidoMapper;
 import com.ufcg.psoft.pitsa.model.*;
 import com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador;
 import com.ufcg.psoft.pitsa.model.enums.MetodoPagamento;
 import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
 import com.ufcg.psoft.pitsa.repository.*;
+import com.ufcg.psoft.pitsa.security.Sessao;
 import com.ufcg.psoft.pitsa.service.pedido.pagamento.PagamentoCredito;
 import com.ufcg.psoft.pitsa.service.pedido.pagamento.PagamentoDebito;
 import com.ufcg.psoft.pitsa.service.pedido.pagamento.PagamentoPix;
 import com.ufcg.psoft.pitsa.service.pedido.pagamento.PagamentoStrategy;
+import com.ufcg.psoft.pitsa.service.pedido.status.MaquinaEstadosPedido;
 import com.ufcg.psoft.pitsa.service.pizza.PizzaService;
 import com.ufcg.psoft.pitsa.validator.AssociacaoValidator;
 import com.ufcg.psoft.pitsa.validator.CodigoAcessoValidator;
 import com.ufcg.psoft.pitsa.validator.PedidoValidator;
-import com.ufcg.psoft.pitsa.validator.SaborExistenteValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Service
@@ -43,9 +73,7 @@ public class PedidoServiceImpl implements PedidoService<PedidoRequestDTO, Pedido
             MetodoPagamento.PIX, new PagamentoPix()
     );
     @Autowired
-    ModelMapper modelMapper;
-    @Autowired
-    SaborExistenteValidator saborExistenteValidator;
+    PedidoMapper pedidoMapper;
     @Autowired
     PedidoValidator pedidoValidator;
     @Autowired
@@ -65,39 +93,95 @@ public class PedidoServiceImpl implements PedidoService<PedidoRequestDTO, Pedido
     @Autowired
     AssociacaoRepository associacaoRepository;
     @Autowired
-    private PizzaService<PizzaRequestDTO, Pizza> pizzaService;
+    EntregadorDisponivelIndice entregadorDisponivelIndice;
+    @Autowired
+    FilaPedidosProntos filaPedidosProntos;
+    @Autowired
+    CardapioCache cardapioCache;
+    @Autowired
+    MaquinaEstadosPedido maquinaEstadosPedido;
+    @Autowired
+    SlaEtapaRepository slaEtapaRepository;
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    EntityManager entityManager;
+    @Autowired
+    PizzaService<PizzaRequestDTO, Pizza> pizzaService;
+    @Autowired
+    ResumoPedidos resumoPedidos;
+    @Autowired
+    PedidoResumoRepository pedidoResumoRepository;
 
     @Override
     @Transactional
-    public PedidoResponseDTO criar(PedidoRequestDTO pedidoRequestDTO, String codigoAcessoCliente, Long clienteId, Long estabelecimentoId) {
+    public PedidoResponseDTO criar(PedidoRequestDTO pedidoRequestDTO, String codigoAcessoCliente, Sessao sessao, Long clienteId, Long estabelecimentoId) {
         //valida estabelecimento e cliente
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
         Cliente cliente = clienteRepository.findById(clienteId).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(cliente.getCodigoAcesso(), codigoAcessoCliente);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.CLIENTE, clienteId, cliente.getCodigoAcesso(), codigoAcessoCliente);
 
         //valida e cria pizzas
         List<Pizza> pizzas = pizzaService.validarEConverterPizzas(pedidoRequestDTO.getPizzas(), estabelecimento);
 
         //cria pedido
         pedidoValidator.validaEndereco(pedidoRequestDTO, cliente);
-        Pedido novoPedido = modelMapper.map(pedidoRequestDTO, Pedido.class);
+        Pedido novoPedido = pedidoMapper.paraEntidade(pedidoRequestDTO);
         setNovoPedido(novoPedido, clienteId, estabelecimentoId, pizzas);
         novoPedido.setDefaultValues();
 
         //salva pedido
         pedidoRepository.save(novoPedido);
+        resumoPedidos.registrar(novoPedido);
+
+        return pedidoMapper.paraResposta(novoPedido);
+    }
+
+    @Override
+    public CotacaoResponseDTO cotar(PedidoRequestDTO pedidoRequestDTO, String codigoAcessoCliente, Sessao sessao, Long clienteId, Long estabelecimentoId) {
+        codigoAcessoValidator.validarCliente(sessao, clienteId, codigoAcessoCliente);
+        // os precos vem da tabela do cardapio em memoria, a cotacao nao le nem grava pedidos
+        TabelaPrecos tabelaPrecos = cardapioCache.recuperar(estabelecimentoId).getTabelaPrecos();
+
+        List<PizzaCotacaoDTO> pizzas = new ArrayList<>(pedidoRequestDTO.getPizzas().size());
+        long centavos = 0;
+        for (PizzaRequestDTO pizzaRequestDTO : pedidoRequestDTO.getPizzas()) {
+            Dinheiro valor = pizzaService.cotar(pizzaRequestDTO, tabelaPrecos);
+            centavos = Math.addExact(centavos, valor.centavos());
+            pizzas.add(PizzaCotacaoDTO.builder()
+                    .tamanho(pizzaRequestDTO.getTamanho())
+                    .sabor1(pizzaRequestDTO.getSabor1())
+                    .sabor2(pizzaRequestDTO.getSabor2())
+                    .valor(valor)
+                    .build());
+        }
+        Dinheiro total = Dinheiro.deCentavos(centavos);
 
-        return modelMapper.map(novoPedido, PedidoResponseDTO.class);
+        Map<MetodoPagamento, Dinheiro> valorPorMetodoPagamento = new EnumMap<>(MetodoPagamento.class);
+        for (MetodoPagamento metodoPagamento : MetodoPagamento.values()) {
+            valorPorMetodoPagamento.put(metodoPagamento, pagamentoMap.get(metodoPagamento).aplicarDesconto(total));
+        }
+
+        return CotacaoResponseDTO.builder()
+                .estabelecimentoId(estabelecimentoId)
+                .pizzas(pizzas)
+                .valor(total)
+                .valorPorMetodoPagamento(valorPorMetodoPagamento)
+                .build();
     }
 
     @Override
     @Transactional
-    public PedidoResponseDTO atualizar(Long id, String codigoAcessoCliente, PedidoRequestDTO pedidoRequestDTO) {
+    @RepetirEmConflito
+    public PedidoResponseDTO atualizar(Long id, String codigoAcessoCliente, Sessao sessao, PedidoRequestDTO pedidoRequestDTO) {
         //valida pedido, estabelecimento e cliente
         Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("pedido"));
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(pedido.getEstabelecimentoId()).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        Cliente cliente = clienteRepository.findById(pedido.getClienteId()).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(codigoAcessoCliente, cliente.getCodigoAcesso());
+        codigoAcessoValidator.validarCliente(sessao, pedido.getClienteId(), codigoAcessoCliente);
 
         //valida e cria pizzas
         List<Pizza> pizzas = pizzaService.validarEConverterPizzas(pedidoRequestDTO.getPizzas(), estabelecimento);
@@ -107,97 +191,196 @@ public class PedidoServiceImpl implements PedidoService<PedidoRequestDTO, Pedido
         pedido.getPizzas().addAll(pizzas);
         pedido.setEnderecoEntrega(pedidoRequestDTO.getEnderecoEntrega());
         pedidoRepository.save(pedido);
+        resumoPedidos.atualizar(pedido);
 
-        return modelMapper.map(pedido, PedidoResponseDTO.class);
+        return pedidoMapper.paraResposta(pedido);
     }
 
     @Override
     @Transactional
-    public void removerCliente(Long id, Long clienteId, String codigoAcessoCliente) {
+    public void removerCliente(Long id, Long clienteId, String codigoAcessoCliente, Sessao sessao) {
         //valida cliente e pedido
         Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("pedido"));
         pedidoValidator.validaIdentificador(pedido.getClienteId(), clienteId, "cliente");
-        Cliente cliente = clienteRepository.findById(clienteId).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(codigoAcessoCliente, cliente.getCodigoAcesso());
+        codigoAcessoValidator.validarCliente(sessao, clienteId, codigoAcessoCliente);
 
         //remove
         pedidoRepository.deleteById(pedido.getId());
+        resumoPedidos.remover(pedido.getId());
     }
 
     @Override
     @Transactional
-    public void removerEstabelecimento(Long id, Long estabelecimentoId, String codigoAcessoEstabelecimento) {
+    public void removerEstabelecimento(Long id, Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao) {
         //valida estabelecimento e pedido
         Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("pedido"));
         pedidoValidator.validaIdentificador(pedido.getEstabelecimentoId(), estabelecimentoId, "estabelecimento");
-        Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(codigoAcessoEstabelecimento, estabelecimento.getCodigoAcesso());
+        codigoAcessoValidator.validarEstabelecimento(sessao, estabelecimentoId, codigoAcessoEstabelecimento);
 
         //remove
         pedidoRepository.deleteById(pedido.getId());
+        resumoPedidos.remover(pedido.getId());
     }
 
     @Override
-    public PedidoResponseDTO recuperarPedidoCliente(Long id, Long clienteId, String codigoAcessoCliente) {
+    @Transactional
+    public PedidoResponseDTO recuperarPedidoCliente(Long id, Long clienteId, String codigoAcessoCliente, Sessao sessao) {
         //valida cliente e pedido
         Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("pedido"));
         pedidoValidator.validaIdentificador(pedido.getClienteId(), clienteId, "cliente");
-        Cliente cliente = clienteRepository.findById(clienteId).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(codigoAcessoCliente, cliente.getCodigoAcesso());
+        codigoAcessoValidator.validarCliente(sessao, clienteId, codigoAcessoCliente);
+
+        return pedidoMapper.paraResposta(pedido);
+    }
 
-        return new PedidoResponseDTO(pedido);
+    @Override
+    @Transactional
+    public boolean entregueAoCliente(Long pedidoId, Long clienteId, String codigoAcessoCliente, Sessao sessao) {
+        // uma consulta pela chave primaria traz so o codigo do cliente: o pedido com pizzas e sabores nao e carregado
+        Optional<String> codigoEsperado = pedidoRepository.findCodigoAcessoClienteByIdAndClienteIdAndStatusPedido(pedidoId, clienteId, StatusPedido.PEDIDO_ENTREGUE);
+        if (codigoEsperado.isEmpty()) {
+            return false;
+        }
+        codigoAcessoValidator.validar(sessao, TipoUsuario.CLIENTE, clienteId, codigoEsperado.get(), codigoAcessoCliente);
+        return true;
     }
 
     @Override
-    public PedidoResponseDTO recuperarPedidoEstabelecimento(Long id, Long estabelecimentoId, String codigoAcessoEstabelecimento) {
+    @Transactional
+    public PedidoResponseDTO recuperarPedidoEstabelecimento(Long id, Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao) {
         //valida estabelecimento e pedido
         Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("pedido"));
         pedidoValidator.validaIdentificador(pedido.getEstabelecimentoId(), estabelecimentoId, "estabelecimento");
-        Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(codigoAcessoEstabelecimento, estabelecimento.getCodigoAcesso());
+        codigoAcessoValidator.validarEstabelecimento(sessao, estabelecimentoId, codigoAcessoEstabelecimento);
 
-        return new PedidoResponseDTO(pedido);
+        return pedidoMapper.paraResposta(pedido);
     }
 
     @Override
-    public List<PedidoResponseDTO> listarPedidos(Long clienteId, String codigoAcessoCliente) {
+    @Transactional
+    public PaginaResponseDTO<PedidoResponseDTO> listarPedidos(Long clienteId, String codigoAcessoCliente, Sessao sessao, String cursor, Integer tamanho) {
         //valida cliente
-        Cliente cliente = clienteRepository.findById(clienteId).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(codigoAcessoCliente, cliente.getCodigoAcesso());
+        codigoAcessoValidator.validarCliente(sessao, clienteId, codigoAcessoCliente);
+
+        // ordenado pela ordem do status e depois pelo id, lendo um status por vez pelo indice (clienteId, statusPedido, id)
+        Cursor inicio = Cursor.ler(cursor);
+        StatusPedido statusInicial = statusDoCursor(inicio);
+        int limite = Cursor.tamanho(tamanho);
+        List<Pedido> pedidos = new ArrayList<>(limite);
+        String proximo = null;
+        StatusPedido[] status = StatusPedido.values();
+        for (int i = statusInicial.ordinal(); i < status.length && pedidos.size() < limite; i++) {
+            Long aPartirDe = status[i] == statusInicial ? inicio.getId() : 0L;
+            Slice<Pedido> slice = pedidoRepository.findByClienteIdAndStatusPedidoAndIdGreaterThanOrderByIdAsc(clienteId, status[i], aPartirDe, PageRequest.of(0, limite - pedidos.size()));
+            pedidos.addAll(slice.getContent());
+            // pagina cheia antes do ultimo status: a seguinte pode vir vazia, mas nada fica de fora
+            if (pedidos.size() == limite && (slice.hasNext() || i < status.length - 1)) {
+                Pedido ultimo = pedidos.get(pedidos.size() - 1);
+                proximo = new Cursor(ultimo.getStatusPedido().name(), ultimo.getId()).escrever();
+            }
+        }
+        return new PaginaResponseDTO<>(pedidos.stream().map(pedidoMapper::paraResposta).toList(), proximo);
+    }
 
-        return pedidoRepository.findAllByClienteId(clienteId).stream()
-                .sorted(Comparator.comparing(Pedido::getStatusPedido))
-                .map(PedidoResponseDTO::new)
-                .toList();
+    @Override
+    @Transactional
+    public PaginaResponseDTO<PedidoResumoResponseDTO> listarResumoPedidos(Long clienteId, String codigoAcessoCliente, Sessao sessao, StatusPedido statusPedido, String cursor, Integer tamanho) {
+        //valida cliente
+        codigoAcessoValidator.validarCliente(sessao, clienteId, codigoAcessoCliente);
+
+        // so a tabela de resumo, pelos indices (cliente_id, id) e (cliente_id, status_pedido, id)
+        Long aPartirDe = Cursor.ler(cursor).getId();
+        PageRequest pagina = PageRequest.of(0, Cursor.tamanho(tamanho));
+        Slice<PedidoResumo> resumos = statusPedido == null
+                ? pedidoResumoRepository.findByClienteIdAndIdGreaterThanOrderByIdAsc(clienteId, aPartirDe, pagina)
+                : pedidoResumoRepository.findByClienteIdAndStatusPedidoAndIdGreaterThanOrderByIdAsc(clienteId, statusPedido, aPartirDe, pagina);
+        return PaginaResponseDTO.de(resumos, pedidoMapper::paraResumo, PedidoResumo::getId);
     }
 
     @Override
-    public List<PedidoResponseDTO> listarPedidosByStatus(Long clienteId, String codigoAcessoCliente, StatusPedido statusPedido) {
+    @Transactional
+    public PaginaResponseDTO<PedidoResponseDTO> listarPedidosByStatus(Long clienteId, String codigoAcessoCliente, Sessao sessao, StatusPedido statusPedido, String cursor, Integer tamanho) {
         //valida cliente
-        Cliente cliente = clienteRepository.findById(clienteId).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(codigoAcessoCliente, cliente.getCodigoAcesso());
+        codigoAcessoValidator.validarCliente(sessao, clienteId, codigoAcessoCliente);
 
-        List<Pedido> pedidos = pedidoRepository.findAllByClienteIdAndStatusPedido(clienteId, statusPedido);
-        return mapeiaPedidos(pedidos);
+        // com o status fixo o keyset e so o id, pelo mesmo indice (clienteId, statusPedido, id) de listarPedidos
+        Slice<Pedido> pedidos = pedidoRepository.findByClienteIdAndStatusPedidoAndIdGreaterThanOrderByIdAsc(clienteId, statusPedido, Cursor.ler(cursor).getId(), PageRequest.of(0, Cursor.tamanho(tamanho)));
+        return PaginaResponseDTO.de(pedidos, pedidoMapper::paraResposta, Pedido::getId);
     }
 
     @Override
-    public List<PedidoResponseDTO> listarPedidosEstabelecimento(Long estabelecimentoId, String codigoAcessoEstabelecimento) {
+    @Transactional
+    public PaginaResponseDTO<PedidoResponseDTO> listarPedidosEstabelecimento(Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao, String cursor, Integer tamanho) {
         //valida estabelecimento
-        Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(codigoAcessoEstabelecimento, estabelecimento.getCodigoAcesso());
+        codigoAcessoValidator.validarEstabelecimento(sessao, estabelecimentoId, codigoAcessoEstabelecimento);
+
+        Slice<Pedido> pedidos = pedidoRepository.findByEstabelecimentoIdAndIdGreaterThanOrderByIdAsc(estabelecimentoId, Cursor.ler(cursor).getId(), PageRequest.of(0, Cursor.tamanho(tamanho)));
+        return PaginaResponseDTO.de(pedidos, pedidoMapper::paraResposta, Pedido::getId);
+    }
+
+    @Override
+    public StreamingResponseBody exportarPedidosEstabelecimento(Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao, StatusPedido statusPedido, LocalDate de, LocalDate ate) {
+        //valida estabelecimento antes de comecar a escrever a resposta
+        codigoAcessoValidator.validarEstabelecimento(sessao, estabelecimentoId, codigoAcessoEstabelecimento);
+        LocalDateTime inicio = de == null ? null : de.atStartOfDay();
+        LocalDateTime fim = ate == null ? null : ate.plusDays(1).atStartOfDay();
+
+        // escrito fora da thread da requisicao, entao abre a propria transacao para manter o cursor do banco aberto
+        return saida -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Pedido> pedidos = pedidoRepository.streamByEstabelecimentoId(estabelecimentoId, statusPedido, inicio, fim)) {
+                pedidos.forEach(pedido -> {
+                    escreverLinha(saida, pedidoMapper.paraExportacao(pedido));
+                    // o pedido ja escrito sai do contexto de persistencia, que nao cresce com o tamanho da exportacao
+                    entityManager.detach(pedido);
+                });
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<SlaEtapaResponseDTO> slaEstabelecimento(Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao, LocalDateTime de, LocalDateTime ate) {
+        codigoAcessoValidator.validarEstabelecimento(sessao, estabelecimentoId, codigoAcessoEstabelecimento);
+        // o agregado e por hora, a janela e alargada para horas inteiras
+        LocalDateTime fim = (ate == null ? LocalDateTime.now() : ate).truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime inicio = (de == null ? fim.minusDays(1) : de).truncatedTo(ChronoUnit.HOURS);
+
+        Map<StatusPedido, List<SlaEtapaRepository.FaixaSla>> faixasPorEtapa = new EnumMap<>(StatusPedido.class);
+        slaEtapaRepository.somarFaixas(estabelecimentoId, inicio, fim)
+                .forEach(faixa -> faixasPorEtapa.computeIfAbsent(faixa.getEtapa(), etapa -> new ArrayList<>()).add(faixa));
+
+        List<SlaEtapaResponseDTO> sla = new ArrayList<>();
+        faixasPorEtapa.forEach((etapa, faixas) -> {
+            long quantidade = faixas.stream().mapToLong(SlaEtapaRepository.FaixaSla::getQuantidade).sum();
+            long somaMs = faixas.stream().mapToLong(SlaEtapaRepository.FaixaSla::getSomaMs).sum();
+            sla.add(SlaEtapaResponseDTO.builder()
+                    .etapa(etapa)
+                    .quantidade(quantidade)
+                    .mediaMs((double) somaMs / quantidade)
+                    .medianaMs(percentil(faixas, quantidade, 0.5))
+                    .p90Ms(percentil(faixas, quantidade, 0.9))
+                    .build());
+        });
+        return sla;
+    }
 
-        List<Pedido> pedidos = pedidoRepository.findAllByEstabelecimentoId(estabelecimentoId);
-        return mapeiaPedidos(pedidos);
+    // faixas em ordem crescente; devolve o limite da primeira faixa que alcanca a fracao pedida
+    private long percentil(List<SlaEtapaRepository.FaixaSla> faixas, long quantidade, double fracao) {
+        long alvo = (long) Math.ceil(quantidade * fracao);
+        long acumulado = 0;
+        for (SlaEtapaRepository.FaixaSla faixa : faixas) {
+            acumulado += faixa.getQuantidade();
+            if (acumulado >= alvo) return SlaEtapa.limiteMs(faixa.getFaixa());
+        }
+        return SlaEtapa.limiteMs(SlaEtapa.ULTIMA_FAIXA);
     }
 
     @Override
     @Transactional
-    public PedidoResponseDTO confirmarPagamento(Long id, Long clienteId, String codigoAcessoCliente, MetodoPagamento metodoPagamento) {
+    public PedidoResponseDTO confirmarPagamento(Long id, Long clienteId, String codigoAcessoCliente, Sessao sessao, MetodoPagamento metodoPagamento) {
         //valida pedido e cliente
         Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("pedido"));
-        Cliente cliente = clienteRepository.findById(clienteId).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(cliente.getCodigoAcesso(), codigoAcessoCliente);
+        codigoAcessoValidator.validarCliente(sessao, clienteId, codigoAcessoCliente);
         pedidoValidator.validaPagamento(pedido);
 
         //efetua pagamento
@@ -210,71 +393,82 @@ public class PedidoServiceImpl implements PedidoService<PedidoRequestDTO, Pedido
     @Transactional
     protected PedidoResponseDTO prepararPedido(Long id) {
         Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("pedido"));
-        pedido.getStatusPedidoState().preparar();
+        maquinaEstadosPedido.preparar(pedido);
         pedidoRepository.save(pedido);
 
-        return modelMapper.map(pedido, PedidoResponseDTO.class);
+        return pedidoMapper.paraResposta(pedido);
     }
 
     @Override
     @Transactional
-    public PedidoResponseDTO finalizarPreparoPedido(Long id, Long estabelecimentoId, String codigoAcessoEstabelecimento) {
+    public PedidoResponseDTO finalizarPreparoPedido(Long id, Long estabelecimentoId, String codigoAcessoEstabelecimento, Sessao sessao) {
         //valida estabelecimento e pedido
         Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("pedido"));
         pedidoValidator.validaIdentificador(pedido.getEstabelecimentoId(), estabelecimentoId, "estabelecimento");
-        Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(codigoAcessoEstabelecimento, estabelecimento.getCodigoAcesso());
+        codigoAcessoValidator.validarEstabelecimento(sessao, estabelecimentoId, codigoAcessoEstabelecimento);
 
-        pedido.getStatusPedidoState().finalizarPreparo();
+        maquinaEstadosPedido.finalizarPreparo(pedido);
         associarEntregador(pedido);
 
-        return modelMapper.map(pedido, PedidoResponseDTO.class);
+        return pedidoMapper.paraResposta(pedido);
     }
 
     @Override
     @Transactional
     public void associarEntregador(Pedido pedido) {
-        Associacao associacao = associacaoRepository.findFirstByDisponibilidadeEntregadorAndEstabelecimentoIdOrderByUltimaEntregaAsc(DisponibilidadeEntregador.ATIVO, pedido.getEstabelecimentoId());
-        Cliente cliente = clienteRepository.findById(pedido.getClienteId()).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
+        Long associacaoId = entregadorDisponivelIndice.reservar(pedido.getEstabelecimentoId());
 
-        if (associacao == null) {
-            cliente.notificaEntregadorIndisponivel(new EntregadorIndisponivelEvent(pedido));
+        if (associacaoId == null) {
+            eventPublisher.publishEvent(new EntregadorIndisponivelEvent(pedido));
+            pedidoRepository.save(pedido);
+            // o pedido aguarda na fila ate o despacho encontrar um entregador livre
+            filaPedidosProntos.adicionar(pedido);
         } else {
-            associacao.setDisponibilidadeEntregador(DisponibilidadeEntregador.ENTREGANDO);
-            associacaoRepository.save(associacao);
-            pedido.getStatusPedidoState().enviarParaEntrega();
-            pedido.setEntregadorId(associacao.getEntregador().getId());
+            enviarParaEntrega(pedido, associacaoId);
+        }
+    }
 
-            cliente.notificaPedidoEmRota(new PedidoEmRotaEvent(pedido, associacao.getEntregador()));
+    @Override
+    @Transactional
+    public void enviarParaEntrega(Pedido pedido, Long associacaoId) {
+        // o banco ja foi atualizado pela reserva; se a associacao foi lida antes dela, a entidade gerenciada
+        // ainda tem a disponibilidade e a versao antigas e gravaria um conflito consigo mesma
+        Associacao associacao = associacaoRepository.findById(associacaoId).orElseThrow(() -> new EntidadeNaoExisteException("associacao"));
+        if (associacao.getDisponibilidadeEntregador() != DisponibilidadeEntregador.ENTREGANDO) {
+            entityManager.refresh(associacao);
         }
+        maquinaEstadosPedido.enviarParaEntrega(pedido);
+        pedido.setEntregadorId(associacao.getEntregador().getId());
 
+        eventPublisher.publishEvent(new PedidoEmRotaEvent(pedido, associacao.getEntregador()));
         pedidoRepository.save(pedido);
     }
 
     @Override
-    public PedidoResponseDTO confirmarRecebimento(Long id, Long clienteId, String codigoAcessoCliente) {
+    @Transactional
+    public PedidoResponseDTO confirmarRecebimento(Long id, Long clienteId, String codigoAcessoCliente, Sessao sessao) {
         //valida cliente e pedido
         Pedido pedido = pedidoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("pedido"));
-        Cliente cliente = clienteRepository.findById(clienteId).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
-        codigoAcessoValidator.validar(codigoAcessoCliente, cliente.getCodigoAcesso());
+        codigoAcessoValidator.validarCliente(sessao, clienteId, codigoAcessoCliente);
         pedidoValidator.validaIdentificador(pedido.getClienteId(), clienteId, "cliente");
 
-        pedido.getStatusPedidoState().confirmarEntrega();
+        maquinaEstadosPedido.confirmarEntrega(pedido);
 
-        Estabelecimento estabelecimento = estabelecimentoRepository.findById(pedido.getEstabelecimentoId()).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        estabelecimento.notificaPedidoEntregue(new PedidoEntregueEvent(pedido));
+        eventPublisher.publishEvent(new PedidoEntregueEvent(pedido));
         pedidoRepository.save(pedido);
 
         Associacao associacao = associacaoRepository.findByEntregadorIdAndEstabelecimentoId(pedido.getEntregadorId(), pedido.getEstabelecimentoId());
         associacao.setUltimaEntrega(LocalDateTime.now());
         associacao.setDisponibilidadeEntregador(DisponibilidadeEntregador.ATIVO);
         associacaoRepository.save(associacao);
+        entregadorDisponivelIndice.atualizar(associacao);
 
-        return modelMapper.map(pedido, PedidoResponseDTO.class);
+        return pedidoMapper.paraResposta(pedido);
     }
 
     @Override
-    public void cancelarPedidoCliente(Long id, String codigoAcesso, Long idPedido) {
+    @Transactional
+    public void cancelarPedidoCliente(Long id, String codigoAcesso, Sessao sessao, Long idPedido) {
         Pedido pedido = pedidoRepository.findById(idPedido).orElseThrow(() -> new EntidadeNaoExisteException("pedido"));
         pedidoValidator.validaIdentificador(pedido.getClienteId(), id, "cliente");
 
@@ -283,27 +477,40 @@ public class PedidoServiceImpl implements PedidoService<PedidoRequestDTO, Pedido
             throw new OperacaoInvalidaException("O pedido nao pode mais ser cancelado", false);
         }
         pedidoRepository.deleteById(pedido.getId());
+        resumoPedidos.remover(pedido.getId());
     }
 
-    private double calculaValorPedido(Pedido pedido) {
-        double total = 0.0;
+    // visivel no pacote para o benchmark do total do pedido
+    Dinheiro calculaValorPedido(Pedido pedido) {
+        long centavos = 0;
         for (Pizza pizza : pedido.getPizzas())
-            total += pizzaService.calcularPreco(pizza);
-        return total;
+            centavos = Math.addExact(centavos, pizzaService.calcularPreco(pizza).centavos());
+        return Dinheiro.deCentavos(centavos);
     }
 
     private void setNovoPedido(Pedido pedido, Long clienteId, Long estabelecimentoId, List<Pizza> pizzas) {
         pedido.setPizzas(pizzas);
-        double valorTotal = calculaValorPedido(pedido);
-        pedido.setValorPedido(valorTotal);
+        pedido.setValorPedido(calculaValorPedido(pedido));
         pedido.setClienteId(clienteId);
         pedido.setEstabelecimentoId(estabelecimentoId);
         pedido.setStatusPagamento(false);
     }
 
-    private List<PedidoResponseDTO> mapeiaPedidos(List<Pedido> pedidos) {
-        return pedidos.stream()
-                .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
-                .toList();
+    private void escreverLinha(OutputStream saida, Object linha) {
+        try {
+            saida.write(objectMapper.writeValueAsBytes(linha));
+            saida.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private StatusPedido statusDoCursor(Cursor cursor) {
+        if (cursor.getChave() == null) return StatusPedido.values()[0];
+        try {
+            return StatusPedido.valueOf(cursor.getChave());
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException();
+        }
     }
 }
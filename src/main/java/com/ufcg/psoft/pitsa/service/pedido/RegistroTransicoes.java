@@ -0,0 +1,88 @@
+package com.ufcg.psoft.pitsa.service.pedido;
+
+import com.ufcg.psoft.pitsa.event.PedidoTransicaoEvent;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.PedidoTransicao;
+import com.ufcg.psoft.pitsa.model.SlaEtapa;
+import com.ufcg.psoft.pitsa.repository.PedidoTransicaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// recebe as transicoes publicadas no save do pedido, na mesma transacao que mudou o status
+@Component
+public class RegistroTransicoes {
+
+    // incrementa a faixa da hora numa unica instrucao, criando a linha na primeira transicao que cair nela
+    private static final String ACUMULAR = "merge into sla_etapa s " +
+            "using (select cast(? as bigint) as estabelecimento_id, cast(? as varchar(255)) as etapa, " +
+            "cast(? as timestamp) as hora, cast(? as integer) as faixa) v " +
+            "on s.estabelecimento_id = v.estabelecimento_id and s.etapa = v.etapa and s.hora = v.hora and s.faixa = v.faixa " +
+            "when matched then update set quantidade = s.quantidade + 1, soma_ms = s.soma_ms + ? " +
+            "when not matched then insert (estabelecimento_id, etapa, hora, faixa, quantidade, soma_ms) " +
+            "values (v.estabelecimento_id, v.etapa, v.hora, v.faixa, 1, ?)";
+
+    // classe sqlstate de violacao de integridade, inclui a chave unica duplicada
+    private static final String VIOLACAO_DE_INTEGRIDADE = "23";
+
+    @Autowired
+    PedidoTransicaoRepository pedidoTransicaoRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    public void registrar(PedidoTransicaoEvent event) {
+        Pedido pedido = event.getPedido();
+        long duracaoMs = event.getDuracao().toMillis();
+
+        pedidoTransicaoRepository.save(PedidoTransicao.builder()
+                .pedidoId(pedido.getId())
+                .estabelecimentoId(pedido.getEstabelecimentoId())
+                .de(event.getDe())
+                .para(event.getPara())
+                .data(event.getData())
+                .duracaoMs(duracaoMs)
+                .build());
+
+        if (event.getDe() != null) {
+            acumular(pedido.getEstabelecimentoId(), event.getDe().name(), event.getData().truncatedTo(ChronoUnit.HOURS), SlaEtapa.faixa(duracaoMs), duracaoMs);
+        }
+    }
+
+    // duas transacoes podem tentar criar a mesma linha; a que perde volta ao savepoint e repete, agora como update
+    private void acumular(Long estabelecimentoId, String etapa, LocalDateTime hora, int faixa, long duracaoMs) {
+        jdbcTemplate.execute((ConnectionCallback<Integer>) conexao -> {
+            Savepoint savepoint = conexao.setSavepoint();
+            try {
+                return executarAcumulo(conexao, estabelecimentoId, etapa, hora, faixa, duracaoMs);
+            } catch (SQLException e) {
+                if (e.getSQLState() == null || !e.getSQLState().startsWith(VIOLACAO_DE_INTEGRIDADE)) throw e;
+                conexao.rollback(savepoint);
+                return executarAcumulo(conexao, estabelecimentoId, etapa, hora, faixa, duracaoMs);
+            }
+        });
+    }
+
+    private int executarAcumulo(Connection conexao, Long estabelecimentoId, String etapa, LocalDateTime hora, int faixa, long duracaoMs) throws SQLException {
+        try (PreparedStatement comando = conexao.prepareStatement(ACUMULAR)) {
+            comando.setLong(1, estabelecimentoId);
+            comando.setString(2, etapa);
+            comando.setTimestamp(3, Timestamp.valueOf(hora));
+            comando.setInt(4, faixa);
+            comando.setLong(5, duracaoMs);
+            comando.setLong(6, duracaoMs);
+            return comando.executeUpdate();
+        }
+    }
+}
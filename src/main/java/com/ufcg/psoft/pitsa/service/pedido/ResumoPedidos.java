@@ -0,0 +1,63 @@
+package com.ufcg.psoft.pitsa.service.pedido;
+
+import com.ufcg.psoft.pitsa.event.PedidoTransicaoEvent;
+import com.ufcg.psoft.pitsa.model.Entregador;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.PedidoResumo;
+import com.ufcg.psoft.pitsa.repository.EntregadorRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// mantem o pedido_resumo na mesma transacao que grava o pedido: na criacao, na troca das pizzas, a cada transicao e na remocao
+@Component
+public class ResumoPedidos {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    EntregadorRepository entregadorRepository;
+
+    public void registrar(Pedido pedido) {
+        PedidoResumo resumo = PedidoResumo.builder().id(pedido.getId()).build();
+        copiar(pedido, resumo);
+        resumo.setQuantidadePizzas(pedido.getPizzas().size());
+        entityManager.persist(resumo);
+    }
+
+    // so a criacao insere: os pedidos anteriores ao resumo foram preenchidos pela migracao, e duas edicoes
+    // concorrentes do mesmo pedido nao chegam a disputar o insert da mesma linha
+    public void atualizar(Pedido pedido) {
+        PedidoResumo resumo = entityManager.find(PedidoResumo.class, pedido.getId());
+        if (resumo == null) return;
+        copiar(pedido, resumo);
+        resumo.setQuantidadePizzas(pedido.getPizzas().size());
+    }
+
+    @EventListener
+    public void registrar(PedidoTransicaoEvent event) {
+        PedidoResumo resumo = entityManager.find(PedidoResumo.class, event.getPedido().getId());
+        if (resumo == null) return;
+        copiar(event.getPedido(), resumo);
+    }
+
+    public void remover(Long pedidoId) {
+        PedidoResumo resumo = entityManager.find(PedidoResumo.class, pedidoId);
+        if (resumo != null) {
+            entityManager.remove(resumo);
+        }
+    }
+
+    private void copiar(Pedido pedido, PedidoResumo resumo) {
+        resumo.setClienteId(pedido.getClienteId());
+        resumo.setStatusPedido(pedido.getStatusPedido());
+        resumo.setValorPedido(pedido.getValorPedido());
+        resumo.setDataCriacao(pedido.getDataCriacao());
+        if (pedido.getEntregadorId() != null && resumo.getNomeEntregador() == null) {
+            resumo.setNomeEntregador(entregadorRepository.findById(pedido.getEntregadorId()).map(Entregador::getNome).orElse(null));
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package com.ufcg.psoft.pitsa.service.pedido.pagamento;
 
-import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
 
 public class PagamentoCredito implements PagamentoStrategy {
     @Override
-    public void pagar(Pedido pedido) {
-        pedido.setValorPedido(pedido.getValorPedido());
-        pedido.setStatusPagamento(true);
+    public Dinheiro aplicarDesconto(Dinheiro valor) {
+        return valor;
     }
 
 }
@@ -1,12 +1,14 @@
 package com.ufcg.psoft.pitsa.service.pedido.pagamento;
 
-import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
 
 public class PagamentoPix implements PagamentoStrategy {
+
+    // 5% em pontos base
+    private static final long DESCONTO = 500;
+
     @Override
-    public void pagar(Pedido pedido) {
-        Double valorDesconto = pedido.getValorPedido() * 0.05;
-        pedido.setValorPedido(pedido.getValorPedido() - valorDesconto);
-        pedido.setStatusPagamento(true);
+    public Dinheiro aplicarDesconto(Dinheiro valor) {
+        return valor.descontar(DESCONTO);
     }
 }
@@ -1,7 +1,15 @@
 package com.ufcg.psoft.pitsa.service.pedido.pagamento;
 
+import com.ufcg.psoft.pitsa.model.Dinheiro;
 import com.ufcg.psoft.pitsa.model.Pedido;
 
 public interface PagamentoStrategy {
-    void pagar(Pedido pedido);
+
+    // valor a pagar com o desconto do metodo, usado tanto no pagamento quanto na cotacao
+    Dinheiro aplicarDesconto(Dinheiro valor);
+
+    default void pagar(Pedido pedido) {
+        pedido.setValorPedido(aplicarDesconto(pedido.getValorPedido()));
+        pedido.setStatusPagamento(true);
+    }
 }
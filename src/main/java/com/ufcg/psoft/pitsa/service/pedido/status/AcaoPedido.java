@@ -0,0 +1,8 @@
+package com.ufcg.psoft.pitsa.service.pedido.status;
+
+public enum AcaoPedido {
+    PREPARAR,
+    FINALIZAR_PREPARO,
+    ENVIAR_PARA_ENTREGA,
+    CONFIRMAR_ENTREGA
+}
@@ -0,0 +1,88 @@
+package com.ufcg.psoft.pitsa.service.pedido.status;
+
+import com.ufcg.psoft.pitsa.exception.OperacaoInvalidaException;
+import com.ufcg.psoft.pitsa.model.Pedido;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.ufcg.psoft.pitsa.model.enums.StatusPedido.*;
+import static com.ufcg.psoft.pitsa.service.pedido.status.AcaoPedido.*;
+
+// maquina de estados em tabela: cada status diz para onde cada acao leva e por que as demais sao recusadas,
+// sem objeto de estado por pedido
+@Component
+public class MaquinaEstadosPedido {
+
+    private static final Map<StatusPedido, Linha> TRANSICOES = new EnumMap<>(StatusPedido.class);
+
+    static {
+        linha(PEDIDO_RECEBIDO, "pedido Recebido ainda nao foi pago portanto")
+                .permite(PREPARAR, PEDIDO_EM_PREPARO);
+        linha(PEDIDO_EM_PREPARO, "pedido ainda esta Em Preparo portanto")
+                .permite(FINALIZAR_PREPARO, PEDIDO_PRONTO)
+                .recusa(PREPARAR, "pedido ja esta Em Preparo portanto");
+        linha(PEDIDO_PRONTO, "pedido ja esta Pronto portanto")
+                .permite(ENVIAR_PARA_ENTREGA, PEDIDO_EM_ROTA)
+                .recusa(CONFIRMAR_ENTREGA, "pedido Pronto ainda nao foi atribuido a um entregador portanto");
+        linha(PEDIDO_EM_ROTA, "pedido ja esta Em Rota portanto")
+                .permite(CONFIRMAR_ENTREGA, PEDIDO_ENTREGUE);
+        linha(PEDIDO_ENTREGUE, "pedido ja foi Entregue portanto");
+    }
+
+    public void preparar(Pedido pedido) {
+        executar(pedido, PREPARAR);
+    }
+
+    public void finalizarPreparo(Pedido pedido) {
+        executar(pedido, FINALIZAR_PREPARO);
+    }
+
+    public void enviarParaEntrega(Pedido pedido) {
+        executar(pedido, ENVIAR_PARA_ENTREGA);
+    }
+
+    public void confirmarEntrega(Pedido pedido) {
+        executar(pedido, CONFIRMAR_ENTREGA);
+    }
+
+    public void executar(Pedido pedido, AcaoPedido acao) {
+        Linha linha = TRANSICOES.get(pedido.getStatusPedido());
+        StatusPedido destino = linha.destinos.get(acao);
+        if (destino == null) {
+            throw new OperacaoInvalidaException(linha.motivos.getOrDefault(acao, linha.motivoPadrao));
+        }
+        pedido.transicionar(destino);
+    }
+
+    private static Linha linha(StatusPedido status, String motivoPadrao) {
+        Linha linha = new Linha(motivoPadrao);
+        TRANSICOES.put(status, linha);
+        return linha;
+    }
+
+    private static final class Linha {
+
+        private final Map<AcaoPedido, StatusPedido> destinos = new EnumMap<>(AcaoPedido.class);
+
+        private final Map<AcaoPedido, String> motivos = new EnumMap<>(AcaoPedido.class);
+
+        private final String motivoPadrao;
+
+        private Linha(String motivoPadrao) {
+            this.motivoPadrao = motivoPadrao;
+        }
+
+        private Linha permite(AcaoPedido acao, StatusPedido destino) {
+            destinos.put(acao, destino);
+            return this;
+        }
+
+        private Linha recusa(AcaoPedido acao, String motivo) {
+            motivos.put(acao, motivo);
+            return this;
+        }
+    }
+}
@@ -1,11 +0,0 @@
-package com.ufcg.psoft.pitsa.service.pedido.status;
-
-public interface StatusPedidoState {
-    void preparar();
-
-    void finalizarPreparo();
-
-    void enviarParaEntrega();
-
-    void confirmarEntrega();
-}
\ No newline at end of file
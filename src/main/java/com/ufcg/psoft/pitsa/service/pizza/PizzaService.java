@@ -1,5 +1,7 @@
 package com.ufcg.psoft.pitsa.service.pizza;
 
+import com.ufcg.psoft.pitsa.cache.TabelaPrecos;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
 import com.ufcg.psoft.pitsa.model.Estabelecimento;
 
 import java.util.List;
@@ -7,5 +9,7 @@ import java.util.List;
 public interface PizzaService<I, O> {
     List<O> validarEConverterPizzas(List<I> pizzasRequestDTO, Estabelecimento estabelecimento);
 
-    double calcularPreco(O pizza);
+    Dinheiro calcularPreco(O pizza);
+
+    Dinheiro cotar(I pizzaRequestDTO, TabelaPrecos tabelaPrecos);
 }
\ No newline at end of file
@@ -1,21 +1,23 @@
 package com.ufcg.psoft.pitsa.service.pizza;
 
+import com.ufcg.psoft.pitsa.cache.TabelaPrecos;
 import com.ufcg.psoft.pitsa.dto.pizza.PizzaRequestDTO;
 import com.ufcg.psoft.pitsa.exception.EntidadeNaoExisteException;
+import com.ufcg.psoft.pitsa.exception.PitsAException;
 import com.ufcg.psoft.pitsa.exception.QuantidadeDeSaboresInvalidaException;
+import com.ufcg.psoft.pitsa.exception.RelacionamentoNaoExisteException;
 import com.ufcg.psoft.pitsa.exception.SaborNaoEstaDisponivelException;
+import com.ufcg.psoft.pitsa.mapper.PizzaMapper;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
 import com.ufcg.psoft.pitsa.model.Estabelecimento;
 import com.ufcg.psoft.pitsa.model.Pizza;
 import com.ufcg.psoft.pitsa.model.Sabor;
 import com.ufcg.psoft.pitsa.model.enums.TamanhoPizza;
 import com.ufcg.psoft.pitsa.repository.SaborRepository;
-import com.ufcg.psoft.pitsa.validator.SaborExistenteValidator;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 @Service
 public class PizzaServiceImpl implements PizzaService<PizzaRequestDTO, Pizza> {
@@ -24,17 +26,17 @@ public class PizzaServiceImpl implements PizzaService<PizzaRequestDTO, Pizza> {
     private SaborRepository saborRepository;
 
     @Autowired
-    private SaborExistenteValidator saborExistenteValidator;
-
-    @Autowired
-    private ModelMapper modelMapper;
+    private PizzaMapper pizzaMapper;
 
     @Override
     public List<Pizza> validarEConverterPizzas(List<PizzaRequestDTO> pizzasDTO, Estabelecimento estabelecimento) {
-        List<Pizza> pizzas = new ArrayList<>();
+        // resolve todos os sabores do pedido em uma unica consulta no escopo do estabelecimento
+        Map<String, Sabor> saboresPorNome = buscarSabores(pizzasDTO, estabelecimento);
+
+        List<Pizza> pizzas = new ArrayList<>(pizzasDTO.size());
         for (PizzaRequestDTO pizzaRequestDTO : pizzasDTO) {
             // valida sabor1
-            Sabor sabor1 = validarSabor(pizzaRequestDTO.getSabor1(), estabelecimento);
+            Sabor sabor1 = validarSabor(pizzaRequestDTO.getSabor1(), saboresPorNome);
 
             // valida sabor2
             Sabor sabor2 = null;
@@ -42,7 +44,7 @@ public class PizzaServiceImpl implements PizzaService<PizzaRequestDTO, Pizza> {
                 if (pizzaRequestDTO.getTamanho().equals(TamanhoPizza.MEDIA)) {
                     throw new QuantidadeDeSaboresInvalidaException();
                 }
-                sabor2 = validarSabor(pizzaRequestDTO.getSabor2(), estabelecimento);
+                sabor2 = validarSabor(pizzaRequestDTO.getSabor2(), saboresPorNome);
             }
 
             // cria pizzas a partir do DTO
@@ -53,29 +55,50 @@ public class PizzaServiceImpl implements PizzaService<PizzaRequestDTO, Pizza> {
     }
 
     @Override
-    public double calcularPreco(Pizza pizza) {
-        double precoSabor1;
-        double precoSabor2 = 0;
-
+    public Dinheiro calcularPreco(Pizza pizza) {
         Sabor sabor1 = pizza.getSabor1();
         Sabor sabor2 = pizza.getSabor2();
         TamanhoPizza tamanho = pizza.getTamanho();
 
-        if (tamanho.equals(TamanhoPizza.GRANDE)) {
-            precoSabor1 = sabor1.getPrecoGrande();
-            if (sabor2 != null) {
-                precoSabor2 = sabor2.getPrecoGrande();
+        if (!tamanho.equals(TamanhoPizza.GRANDE)) {
+            return sabor1.getPrecoMedia();
+        }
+        return (sabor2 != null) ? sabor1.getPrecoGrande().media(sabor2.getPrecoGrande()) : sabor1.getPrecoGrande();
+    }
+
+    @Override
+    public Dinheiro cotar(PizzaRequestDTO pizzaRequestDTO, TabelaPrecos tabelaPrecos) {
+        // mesmas validacoes e na mesma ordem da criacao do pedido, mas sobre a tabela em memoria
+        int sabor1 = validarSabor(pizzaRequestDTO.getSabor1(), tabelaPrecos);
+
+        int sabor2 = TabelaPrecos.SEM_SABOR;
+        if (pizzaRequestDTO.getSabor2() != null) {
+            if (pizzaRequestDTO.getTamanho().equals(TamanhoPizza.MEDIA)) {
+                throw new QuantidadeDeSaboresInvalidaException();
+            }
+            sabor2 = validarSabor(pizzaRequestDTO.getSabor2(), tabelaPrecos);
+        }
+
+        return tabelaPrecos.preco(pizzaRequestDTO.getTamanho(), sabor1, sabor2);
+    }
+
+    private Map<String, Sabor> buscarSabores(List<PizzaRequestDTO> pizzasDTO, Estabelecimento estabelecimento) {
+        Set<String> nomes = new HashSet<>();
+        for (PizzaRequestDTO pizzaRequestDTO : pizzasDTO) {
+            nomes.add(pizzaRequestDTO.getSabor1());
+            if (pizzaRequestDTO.getSabor2() != null) {
+                nomes.add(pizzaRequestDTO.getSabor2());
             }
-        } else {
-            precoSabor1 = sabor1.getPrecoMedia();
         }
 
-        return (sabor2 != null) ? (precoSabor1 + precoSabor2) / 2 : precoSabor1;
+        return Sabor.porNome(saborRepository.findAllByEstabelecimentoIdAndNomeIn(estabelecimento.getId(), nomes));
     }
 
-    private Sabor validarSabor(String nomeSabor, Estabelecimento estabelecimento) {
-        Sabor sabor = saborRepository.findByNome(nomeSabor).orElseThrow(() -> new EntidadeNaoExisteException("sabor"));
-        saborExistenteValidator.validar(sabor.getId(), estabelecimento);
+    private Sabor validarSabor(String nomeSabor, Map<String, Sabor> saboresPorNome) {
+        Sabor sabor = saboresPorNome.get(nomeSabor);
+        if (sabor == null) {
+            throw saborNaoEncontrado(nomeSabor);
+        }
 
         if (Boolean.FALSE.equals(sabor.getDisponivel())) {
             throw new SaborNaoEstaDisponivelException();
@@ -84,8 +107,29 @@ public class PizzaServiceImpl implements PizzaService<PizzaRequestDTO, Pizza> {
         return sabor;
     }
 
+    private int validarSabor(String nomeSabor, TabelaPrecos tabelaPrecos) {
+        int indice = tabelaPrecos.indice(nomeSabor);
+        if (indice == TabelaPrecos.SEM_SABOR) {
+            throw saborNaoEncontrado(nomeSabor);
+        }
+
+        if (!tabelaPrecos.disponivel(indice)) {
+            throw new SaborNaoEstaDisponivelException();
+        }
+
+        return indice;
+    }
+
+    // so no caminho de erro: diferencia sabor inexistente de sabor de outro estabelecimento
+    private PitsAException saborNaoEncontrado(String nomeSabor) {
+        if (saborRepository.existsByNome(nomeSabor)) {
+            return new RelacionamentoNaoExisteException("Sabor inexistente no estabelecimento consultado!");
+        }
+        return new EntidadeNaoExisteException("sabor");
+    }
+
     private Pizza criarPizza(PizzaRequestDTO pizzaRequestDTO, Sabor sabor1, Sabor sabor2) {
-        Pizza pizza = modelMapper.map(pizzaRequestDTO, Pizza.class);
+        Pizza pizza = pizzaMapper.paraEntidade(pizzaRequestDTO);
         pizza.setSabor1(sabor1);
         pizza.setSabor2(sabor2);
         return pizza;
@@ -0,0 +1,157 @@
+package com.ufcg.psoft.pitsa.service.sabor;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.pitsa.dto.sabor.SaborRequestDTO;
+import com.ufcg.psoft.pitsa.exception.ArquivoImportacaoInvalidoException;
+import com.ufcg.psoft.pitsa.exception.PitsAException;
+import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// le o arquivo de importacao linha a linha, sem carregar o corpo inteiro em memoria
+@Component
+public class LeitorSabores {
+
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "tipo", "precoMedia", "precoGrande");
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    // a linha chega com o sabor lido ou com o erro que impediu a leitura
+    public record LinhaLida(long numero, SaborRequestDTO sabor, String erro) {
+    }
+
+    public void ler(InputStream corpo, MediaType formato, Consumer<LinhaLida> consumidor) {
+        Charset charset = formato.getCharset() == null ? StandardCharsets.UTF_8 : formato.getCharset();
+        boolean csv = TEXT_CSV.isCompatibleWith(formato);
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, charset))) {
+            Map<String, Integer> colunas = null;
+            long numero = 0;
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                if (linha.isBlank()) continue;
+                if (!csv) {
+                    consumidor.accept(lerJson(numero, linha));
+                } else if (colunas == null) {
+                    colunas = lerCabecalho(linha);
+                } else {
+                    consumidor.accept(lerCsv(numero, linha, colunas));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private LinhaLida lerJson(long numero, String linha) {
+        try {
+            return new LinhaLida(numero, objectMapper.readValue(linha, SaborRequestDTO.class), null);
+        } catch (JsonProcessingException e) {
+            // o tipo invalido e rejeitado pelo proprio enum durante a leitura
+            if (e.getCause() instanceof PitsAException causa) {
+                return new LinhaLida(numero, null, causa.getMessage());
+            }
+            return new LinhaLida(numero, null, "Linha nao e um JSON valido");
+        }
+    }
+
+    private Map<String, Integer> lerCabecalho(String linha) {
+        Map<String, Integer> colunas = new HashMap<>();
+        List<String> nomes = campos(linha);
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.putIfAbsent(nomes.get(i).trim(), i);
+        }
+        for (String obrigatoria : COLUNAS_OBRIGATORIAS) {
+            if (!colunas.containsKey(obrigatoria)) {
+                throw new ArquivoImportacaoInvalidoException("Coluna " + obrigatoria + " ausente no cabecalho do CSV!");
+            }
+        }
+        return colunas;
+    }
+
+    private LinhaLida lerCsv(long numero, String linha, Map<String, Integer> colunas) {
+        List<String> valores = campos(linha);
+        try {
+            SaborRequestDTO sabor = SaborRequestDTO.builder()
+                    .nome(valor(valores, colunas, "nome"))
+                    .tipo(valor(valores, colunas, "tipo") == null ? null : TipoSabor.fromString(valor(valores, colunas, "tipo")))
+                    .precoMedia(preco(valor(valores, colunas, "precoMedia")))
+                    .precoGrande(preco(valor(valores, colunas, "precoGrande")))
+                    .disponivel(disponivel(valor(valores, colunas, "disponivel")))
+                    .build();
+            return new LinhaLida(numero, sabor, null);
+        } catch (PitsAException e) {
+            return new LinhaLida(numero, null, e.getMessage());
+        }
+    }
+
+    private String valor(List<String> valores, Map<String, Integer> colunas, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || indice >= valores.size() || valores.get(indice).isBlank()) return null;
+        return valores.get(indice).trim();
+    }
+
+    private Double preco(String valor) {
+        if (valor == null) return null;
+        try {
+            return Double.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new ArquivoImportacaoInvalidoException("Preco invalido: " + valor);
+        }
+    }
+
+    private Boolean disponivel(String valor) {
+        if (valor == null) return null;
+        if (valor.equalsIgnoreCase("true")) return true;
+        if (valor.equalsIgnoreCase("false")) return false;
+        throw new ArquivoImportacaoInvalidoException("Disponibilidade invalida: " + valor);
+    }
+
+    // separa os campos por virgula, aceitando campos entre aspas com virgulas e aspas duplicadas dentro
+    private List<String> campos(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
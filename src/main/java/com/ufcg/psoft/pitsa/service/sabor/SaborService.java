@@ -1,22 +1,31 @@
 package com.ufcg.psoft.pitsa.service.sabor;
 
+import com.ufcg.psoft.pitsa.dto.cliente.ClienteResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.ImportacaoSaboresResponseDTO;
 import com.ufcg.psoft.pitsa.model.Cliente;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import org.springframework.http.MediaType;
 
-import java.util.List;
+import java.io.InputStream;
 
 public interface SaborService<I, O> {
 
-    O criar(I saborRequestDTO, Long estabelecimentoId, String codAcessoEstabelecimento);
+    O criar(I saborRequestDTO, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao);
 
-    O recuperar(Long id, Long estabelecimentoId, String codAcessoEstabelecimento);
+    O recuperar(Long id, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao);
 
-    List<O> listar(Long estabelecimentoId, String codAcessoEstabelecimento);
+    PaginaResponseDTO<ClienteResponseDTO> listarInteressados(Long id, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao, String cursor, Integer tamanho);
 
-    O atualizar(Long saborId, Long estabelecimentoId, String codAcessoEstabelecimento, I saborRequestDTO);
+    PaginaResponseDTO<O> listar(Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao, String cursor, Integer tamanho);
 
-    void remover(Long id, Long estabelecimentoId, String codAcessoEstabelecimento);
+    O atualizar(Long saborId, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao, I saborRequestDTO);
 
-    O atualizarDisponibilidade(Long id, Long estabelecimentoId, String codAcessoEstabelecimento, Boolean novaDisponibilidade);
+    ImportacaoSaboresResponseDTO importar(InputStream corpo, MediaType formato, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao, boolean sincronizar);
+
+    void remover(Long id, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao);
+
+    O atualizarDisponibilidade(Long id, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao, Boolean novaDisponibilidade);
 
     O demonstrarInteresse(Cliente cliente, Long idSabor);
 
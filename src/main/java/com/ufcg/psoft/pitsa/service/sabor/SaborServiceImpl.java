@@ -1,30 +1,56 @@
 package com.ufcg.psoft.pitsa.service.sabor;
 
+import com.ufcg.psoft.pitsa.cache.CardapioCache;
 import com.ufcg.psoft.pitsa.dto.cliente.ClienteRequestDTO;
 import com.ufcg.psoft.pitsa.dto.cliente.ClienteResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pagina.Cursor;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.ImportacaoSaboresResponseDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.LinhaImportacaoDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborRequestDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborResponseDTO;
 import com.ufcg.psoft.pitsa.event.SaborDisponivelEvent;
 import com.ufcg.psoft.pitsa.exception.EntidadeNaoExisteException;
 import com.ufcg.psoft.pitsa.exception.InteresseBloqueadoException;
+import com.ufcg.psoft.pitsa.mapper.ClienteMapper;
+import com.ufcg.psoft.pitsa.mapper.SaborMapper;
 import com.ufcg.psoft.pitsa.model.Cliente;
 import com.ufcg.psoft.pitsa.model.Estabelecimento;
+import com.ufcg.psoft.pitsa.model.Interesse;
 import com.ufcg.psoft.pitsa.model.Sabor;
+import com.ufcg.psoft.pitsa.model.enums.ResultadoImportacao;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
+import com.ufcg.psoft.pitsa.repository.ClienteRepository;
 import com.ufcg.psoft.pitsa.repository.EstabelecimentoRepository;
+import com.ufcg.psoft.pitsa.repository.InteresseRepository;
 import com.ufcg.psoft.pitsa.repository.SaborRepository;
+import com.ufcg.psoft.pitsa.security.Sessao;
 import com.ufcg.psoft.pitsa.service.cliente.ClienteService;
 import com.ufcg.psoft.pitsa.validator.CodigoAcessoValidator;
 import com.ufcg.psoft.pitsa.validator.SaborExistenteValidator;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class SaborServiceImpl implements SaborService<SaborRequestDTO, SaborResponseDTO> {
@@ -36,7 +62,16 @@ public class SaborServiceImpl implements SaborService<SaborRequestDTO, SaborResp
     EstabelecimentoRepository estabelecimentoRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    InteresseRepository interesseRepository;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    SaborMapper saborMapper;
+
+    @Autowired
+    ClienteMapper clienteMapper;
 
     @Autowired
     CodigoAcessoValidator codigoAcessoValidator;
@@ -44,96 +79,195 @@ public class SaborServiceImpl implements SaborService<SaborRequestDTO, SaborResp
     @Autowired
     SaborExistenteValidator saborExistenteValidator;
 
+    @Autowired
+    CardapioCache cardapioCache;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    LeitorSabores leitorSabores;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     @Autowired
     @Lazy
     ClienteService<ClienteRequestDTO, ClienteResponseDTO> clienteService;
 
     @Override
     @Transactional
-    public SaborResponseDTO criar(SaborRequestDTO saborRequestDTO, Long estabelecimentoId, String codAcessoEstabelecimento) {
+    public SaborResponseDTO criar(SaborRequestDTO saborRequestDTO, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao) {
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ESTABELECIMENTO, estabelecimentoId, estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
 
-        Sabor sabor = modelMapper.map(saborRequestDTO, Sabor.class);
+        Sabor sabor = saborMapper.paraEntidade(saborRequestDTO);
         saborRepository.save(sabor);
 
         estabelecimento.getSabores().add(sabor);
         estabelecimentoRepository.save(estabelecimento);
+        cardapioCache.invalidar(estabelecimentoId);
 
-        return modelMapper.map(sabor, SaborResponseDTO.class);
+        return saborMapper.paraResposta(sabor);
     }
 
     @Override
     @Transactional
-    public SaborResponseDTO recuperar(Long id, Long estabelecimentoId, String codAcessoEstabelecimento) {
+    public SaborResponseDTO recuperar(Long id, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao) {
         Sabor sabor = saborRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("sabor"));
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
 
-        codigoAcessoValidator.validar(estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ESTABELECIMENTO, estabelecimentoId, estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
         saborExistenteValidator.validar(id, estabelecimento);
 
-        return new SaborResponseDTO(sabor);
+        return comInteressados(saborMapper.paraResposta(sabor));
     }
 
     @Override
     @Transactional
-    public List<SaborResponseDTO> listar(Long estabelecimentoId, String codAcessoEstabelecimento) {
+    public PaginaResponseDTO<ClienteResponseDTO> listarInteressados(Long id, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao, String cursor, Integer tamanho) {
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
-        List<Sabor> sabores = estabelecimento.getSabores();
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ESTABELECIMENTO, estabelecimentoId, estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
+        saborRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("sabor"));
+        saborExistenteValidator.validar(id, estabelecimento);
 
-        if (sabores == null) {
-            sabores = new ArrayList<>();
-            estabelecimento.setSabores(sabores);
-        }
+        // o cursor anda pelos interesses, os clientes da pagina vem numa consulta so
+        Slice<Interesse> interesses = interesseRepository.findBySaborIdAndIdGreaterThanOrderByIdAsc(id, Cursor.ler(cursor).getId(), PageRequest.of(0, Cursor.tamanho(tamanho)));
+        Map<Long, Cliente> clientes = clienteRepository.findAllById(interesses.map(Interesse::getClienteId).getContent()).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        return PaginaResponseDTO.de(interesses, interesse -> clienteMapper.paraResposta(clientes.get(interesse.getClienteId())), Interesse::getId);
+    }
 
-        return sabores.stream()
-                .map(SaborResponseDTO::new)
-                .toList();
+    @Override
+    @Transactional
+    public PaginaResponseDTO<SaborResponseDTO> listar(Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao, String cursor, Integer tamanho) {
+        Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ESTABELECIMENTO, estabelecimentoId, estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
+
+        Slice<Sabor> sabores = saborRepository.findAllByEstabelecimentoIdAndIdGreaterThan(estabelecimentoId, Cursor.ler(cursor).getId(), PageRequest.of(0, Cursor.tamanho(tamanho)));
+        return PaginaResponseDTO.de(sabores, saborMapper::paraResposta, Sabor::getId);
     }
 
     @Override
     @Transactional
-    public SaborResponseDTO atualizar(Long saborId, Long estabelecimentoId, String codAcessoEstabelecimento, SaborRequestDTO saborRequestDTO) {
+    public SaborResponseDTO atualizar(Long saborId, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao, SaborRequestDTO saborRequestDTO) {
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ESTABELECIMENTO, estabelecimentoId, estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
 
         Sabor sabor = saborRepository.findById(saborId).orElseThrow(() -> new EntidadeNaoExisteException("sabor"));
         saborExistenteValidator.validar(saborId, estabelecimento);
 
-        modelMapper.map(saborRequestDTO, sabor);
-        return modelMapper.map(saborRepository.save(sabor), SaborResponseDTO.class);
+        saborMapper.atualizar(saborRequestDTO, sabor);
+        cardapioCache.invalidar(estabelecimentoId);
+        return saborMapper.paraResposta(saborRepository.save(sabor));
+    }
+
+    @Override
+    @Transactional
+    public ImportacaoSaboresResponseDTO importar(InputStream corpo, MediaType formato, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao, boolean sincronizar) {
+        Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ESTABELECIMENTO, estabelecimentoId, estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
+
+        // o cardapio e carregado uma vez e as linhas so alteram as entidades em memoria, os inserts e updates saem em lote no commit
+        Map<String, Sabor> existentes = Sabor.porNome(estabelecimento.getSabores());
+        Set<String> importados = new HashSet<>();
+        Set<String> citados = new HashSet<>();
+        List<Sabor> reativados = new ArrayList<>();
+        List<LinhaImportacaoDTO> linhas = new ArrayList<>();
+
+        leitorSabores.ler(corpo, formato, lida -> {
+            SaborRequestDTO saborRequestDTO = lida.sabor();
+            LinhaImportacaoDTO linha = LinhaImportacaoDTO.builder()
+                    .linha(lida.numero())
+                    .nome(saborRequestDTO == null ? null : saborRequestDTO.getNome())
+                    .erros(lida.erro() == null ? errosDeValidacao(saborRequestDTO) : List.of(lida.erro()))
+                    .build();
+            linhas.add(linha);
+
+            // um sabor citado numa linha rejeitada nao e desativado pela sincronizacao
+            if (linha.getNome() != null) citados.add(linha.getNome());
+            if (linha.getErros().isEmpty() && !importados.add(linha.getNome())) {
+                linha.setErros(List.of("Sabor repetido no arquivo"));
+            }
+            if (!linha.getErros().isEmpty()) {
+                linha.setResultado(ResultadoImportacao.REJEITADO);
+                return;
+            }
+
+            Sabor sabor = existentes.get(linha.getNome());
+            if (sabor == null) {
+                sabor = saborMapper.paraEntidade(saborRequestDTO);
+                estabelecimento.getSabores().add(sabor);
+                linha.setResultado(ResultadoImportacao.CRIADO);
+                return;
+            }
+            boolean estavaIndisponivel = Boolean.FALSE.equals(sabor.getDisponivel());
+            saborMapper.importar(saborRequestDTO, sabor);
+            if (estavaIndisponivel && !Boolean.FALSE.equals(sabor.getDisponivel())) {
+                reativados.add(sabor);
+            }
+            linha.setResultado(ResultadoImportacao.ATUALIZADO);
+        });
+
+        List<String> desativados = new ArrayList<>();
+        if (sincronizar) {
+            for (Sabor sabor : estabelecimento.getSabores()) {
+                if (!citados.contains(sabor.getNome()) && !Boolean.FALSE.equals(sabor.getDisponivel())) {
+                    sabor.setDisponivel(false);
+                    desativados.add(sabor.getNome());
+                }
+            }
+        }
+        cardapioCache.invalidar(estabelecimentoId);
+        // como em atualizarDisponibilidade, os interessados sao avisados depois do commit
+        reativados.forEach(sabor -> eventPublisher.publishEvent(new SaborDisponivelEvent(sabor)));
+
+        return ImportacaoSaboresResponseDTO.builder()
+                .criados(contar(linhas, ResultadoImportacao.CRIADO))
+                .atualizados(contar(linhas, ResultadoImportacao.ATUALIZADO))
+                .rejeitados(contar(linhas, ResultadoImportacao.REJEITADO))
+                .desativados(desativados)
+                .linhas(linhas)
+                .build();
     }
 
     @Override
     @Transactional
-    public void remover(Long id, Long estabelecimentoId, String codAcessoEstabelecimento) {
+    public void remover(Long id, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao) {
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ESTABELECIMENTO, estabelecimentoId, estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
         saborRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("sabor"));
         saborExistenteValidator.validar(id, estabelecimento);
 
         estabelecimento.getSabores().removeIf(s -> s.getId().equals(id));
         estabelecimentoRepository.save(estabelecimento);
+        interesseRepository.deleteAllBySaborId(id);
+        cardapioCache.invalidar(estabelecimentoId);
     }
 
     @Override
     @Transactional
-    public SaborResponseDTO atualizarDisponibilidade(Long id, Long estabelecimentoId, String codAcessoEstabelecimento, Boolean disponibilidade) {
+    public SaborResponseDTO atualizarDisponibilidade(Long id, Long estabelecimentoId, String codAcessoEstabelecimento, Sessao sessao, Boolean disponibilidade) {
         Estabelecimento estabelecimento = estabelecimentoRepository.findById(estabelecimentoId).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
-        codigoAcessoValidator.validar(estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
+        codigoAcessoValidator.validar(sessao, TipoUsuario.ESTABELECIMENTO, estabelecimentoId, estabelecimento.getCodigoAcesso(), codAcessoEstabelecimento);
 
         Sabor sabor = saborRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("sabor"));
         saborExistenteValidator.validar(id, estabelecimento);
 
         sabor.setDisponivel(disponibilidade);
+        cardapioCache.invalidar(estabelecimentoId);
+        SaborResponseDTO resposta = saborMapper.paraResposta(saborRepository.save(sabor));
 
-        // lança a notificação de disponibilidade e limpa a lista de clientes interessadosm, ja que o sabor esta disponivel
+        // os interessados sao notificados e removidos em lotes depois do commit, para quem consulta eles ja foram atendidos
         if (Boolean.TRUE.equals(disponibilidade)) {
-            disparaSaborDisponivel(new SaborDisponivelEvent(sabor));
+            eventPublisher.publishEvent(new SaborDisponivelEvent(sabor));
+            resposta.setQuantidadeInteressados(0L);
+            return resposta;
         }
-
-        return modelMapper.map(saborRepository.save(sabor), SaborResponseDTO.class);
+        return comInteressados(resposta);
     }
 
     @Override
@@ -143,24 +277,47 @@ public class SaborServiceImpl implements SaborService<SaborRequestDTO, SaborResp
         if (Boolean.TRUE.equals(sabor.getDisponivel())) {
             throw new InteresseBloqueadoException();
         }
-        sabor.addClienteInteressado(cliente);
-        return modelMapper.map(saborRepository.save(sabor), SaborResponseDTO.class);
+        if (!interesseRepository.existsBySaborIdAndClienteId(idSabor, cliente.getId())) {
+            registrarInteresse(idSabor, cliente.getId());
+        }
+        return comInteressados(saborMapper.paraResposta(sabor));
     }
 
     @Transactional
     @Override
     public SaborResponseDTO removerInteresse(Cliente cliente, Long idSabor) {
         Sabor sabor = saborRepository.findById(idSabor).orElseThrow(() -> new EntidadeNaoExisteException("sabor"));
-        sabor.removeClienteInteressado(cliente);
-        return modelMapper.map(saborRepository.save(sabor), SaborResponseDTO.class);
+        interesseRepository.deleteBySaborIdAndClienteId(idSabor, cliente.getId());
+        return comInteressados(saborMapper.paraResposta(sabor));
     }
 
-    private void disparaSaborDisponivel(SaborDisponivelEvent event) {
-        Sabor sabor = event.getSabor();
-        Set<Cliente> clientesInteressados = sabor.getClientesInteressados();
-        for (Cliente cliente : clientesInteressados) {
-            cliente.notificaSaborDisponivel(event);
+    // grava numa transacao propria: se uma requisicao simultanea do mesmo cliente gravar antes, a chave unica recusa esta sem desfazer a de fora
+    private void registrarInteresse(Long idSabor, Long clienteId) {
+        TransactionTemplate novaTransacao = new TransactionTemplate(transactionManager);
+        novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            novaTransacao.executeWithoutResult(status -> interesseRepository.saveAndFlush(Interesse.builder()
+                    .saborId(idSabor)
+                    .clienteId(clienteId)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            // a outra requisicao ja registrou o mesmo interesse
         }
-        sabor.setClientesInteressados(new HashSet<>());
+    }
+
+    private List<String> errosDeValidacao(SaborRequestDTO saborRequestDTO) {
+        return validator.validate(saborRequestDTO).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+    }
+
+    private int contar(List<LinhaImportacaoDTO> linhas, ResultadoImportacao resultado) {
+        return (int) linhas.stream().filter(linha -> linha.getResultado() == resultado).count();
+    }
+
+    private SaborResponseDTO comInteressados(SaborResponseDTO sabor) {
+        sabor.setQuantidadeInteressados(interesseRepository.countBySaborId(sabor.getId()));
+        return sabor;
     }
 }
@@ -0,0 +1,10 @@
+package com.ufcg.psoft.pitsa.service.sessao;
+
+import com.ufcg.psoft.pitsa.security.Sessao;
+
+public interface SessaoService<I, O> {
+
+    O criar(I sessaoRequestDTO);
+
+    O recuperar(Sessao sessao);
+}
@@ -0,0 +1,40 @@
+package com.ufcg.psoft.pitsa.service.sessao;
+
+import com.ufcg.psoft.pitsa.dto.sessao.SessaoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.sessao.SessaoResponseDTO;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.security.TokenSessao;
+import com.ufcg.psoft.pitsa.validator.CodigoAcessoValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SessaoServiceImpl implements SessaoService<SessaoRequestDTO, SessaoResponseDTO> {
+
+    @Autowired
+    CodigoAcessoValidator codigoAcessoValidator;
+
+    @Autowired
+    TokenSessao tokenSessao;
+
+    @Override
+    public SessaoResponseDTO criar(SessaoRequestDTO sessaoRequestDTO) {
+        Long id = sessaoRequestDTO.getId();
+        String codigoAcesso = sessaoRequestDTO.getCodigoAcesso();
+
+        // o codigo de acesso so eh conferido no banco aqui, na emissao do token
+        switch (sessaoRequestDTO.getTipo()) {
+            case CLIENTE -> codigoAcessoValidator.validarCliente(null, id, codigoAcesso);
+            case ESTABELECIMENTO -> codigoAcessoValidator.validarEstabelecimento(null, id, codigoAcesso);
+            case ENTREGADOR -> codigoAcessoValidator.validarEntregador(null, id, codigoAcesso);
+        }
+
+        Sessao sessao = tokenSessao.criar(sessaoRequestDTO.getTipo(), id);
+        return new SessaoResponseDTO(sessao, tokenSessao.gerar(sessao));
+    }
+
+    @Override
+    public SessaoResponseDTO recuperar(Sessao sessao) {
+        return new SessaoResponseDTO(sessao, null);
+    }
+}
@@ -1,13 +1,71 @@
 package com.ufcg.psoft.pitsa.validator;
 
+import com.ufcg.psoft.pitsa.exception.CodigoDeAcessoAusenteException;
 import com.ufcg.psoft.pitsa.exception.CodigoDeAcessoInvalidoException;
+import com.ufcg.psoft.pitsa.exception.EntidadeNaoExisteException;
+import com.ufcg.psoft.pitsa.model.Cliente;
+import com.ufcg.psoft.pitsa.model.Entregador;
+import com.ufcg.psoft.pitsa.model.Estabelecimento;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
+import com.ufcg.psoft.pitsa.repository.ClienteRepository;
+import com.ufcg.psoft.pitsa.repository.EntregadorRepository;
+import com.ufcg.psoft.pitsa.repository.EstabelecimentoRepository;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 @Component
 public class CodigoAcessoValidator {
 
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    EstabelecimentoRepository estabelecimentoRepository;
+
+    @Autowired
+    EntregadorRepository entregadorRepository;
+
     public void validar(String codigoDeAcesso1, String codigoDeAcesso2) {
-        if (!codigoDeAcesso1.equals(codigoDeAcesso2))
+        if (codigoDeAcesso1 == null || !codigoDeAcesso1.equals(codigoDeAcesso2))
             throw new CodigoDeAcessoInvalidoException();
     }
+
+    // a sessao devolvida cobre o usuario validado e pode ser repassada aos servicos chamados em seguida
+    public Sessao validar(Sessao sessao, TipoUsuario tipo, Long id, String codigoEsperado, String codigoInformado) {
+        if (autenticado(sessao, tipo, id)) return sessao;
+        exigirCodigo(sessao, codigoInformado);
+        validar(codigoEsperado, codigoInformado);
+        return Sessao.porCodigoAcesso(tipo, id);
+    }
+
+    public Sessao validarCliente(Sessao sessao, Long id, String codigoAcesso) {
+        if (autenticado(sessao, TipoUsuario.CLIENTE, id)) return sessao;
+        exigirCodigo(sessao, codigoAcesso);
+        Cliente cliente = clienteRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("cliente"));
+        return validar(sessao, TipoUsuario.CLIENTE, id, cliente.getCodigoAcesso(), codigoAcesso);
+    }
+
+    public Sessao validarEstabelecimento(Sessao sessao, Long id, String codigoAcesso) {
+        if (autenticado(sessao, TipoUsuario.ESTABELECIMENTO, id)) return sessao;
+        exigirCodigo(sessao, codigoAcesso);
+        Estabelecimento estabelecimento = estabelecimentoRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("estabelecimento"));
+        return validar(sessao, TipoUsuario.ESTABELECIMENTO, id, estabelecimento.getCodigoAcesso(), codigoAcesso);
+    }
+
+    public Sessao validarEntregador(Sessao sessao, Long id, String codigoAcesso) {
+        if (autenticado(sessao, TipoUsuario.ENTREGADOR, id)) return sessao;
+        exigirCodigo(sessao, codigoAcesso);
+        Entregador entregador = entregadorRepository.findById(id).orElseThrow(() -> new EntidadeNaoExisteException("entregador"));
+        return validar(sessao, TipoUsuario.ENTREGADOR, id, entregador.getCodigoAcesso(), codigoAcesso);
+    }
+
+    private boolean autenticado(Sessao sessao, TipoUsuario tipo, Long id) {
+        return sessao != null && id != null && sessao.pertenceA(tipo, id);
+    }
+
+    // sem sessao o codigo e obrigatorio; ausente nao se confunde com codigo errado
+    private void exigirCodigo(Sessao sessao, String codigoAcesso) {
+        if (sessao == null && codigoAcesso == null) throw new CodigoDeAcessoAusenteException();
+    }
 }
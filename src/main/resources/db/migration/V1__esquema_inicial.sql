@@ -0,0 +1,161 @@
+-- esquema inicial, equivalente ao que o hibernate gerava com ddl-auto a partir das entidades
+
+create sequence cliente_seq start with 1 increment by 50;
+create sequence entregador_seq start with 1 increment by 50;
+create sequence pedido_seq start with 1 increment by 50;
+create sequence pedido_transicao_seq start with 1 increment by 50;
+create sequence pizza_seq start with 1 increment by 50;
+
+create table estabelecimento (
+    id bigint generated by default as identity,
+    codigo_acesso varchar(6) not null,
+    primary key (id)
+);
+
+create table cliente (
+    id bigint not null,
+    codigo_acesso varchar(6) not null,
+    endereco varchar(255) not null,
+    nome varchar(255) not null,
+    primary key (id)
+);
+
+create table entregador (
+    id bigint not null,
+    codigo_acesso varchar(6) not null,
+    nome varchar(255) not null,
+    cor_veiculo varchar(255) not null,
+    placa_veiculo varchar(255) not null,
+    tipo_veiculo smallint not null,
+    primary key (id)
+);
+
+create table sabor (
+    id bigint generated by default as identity,
+    disponivel boolean,
+    nome varchar(255) not null,
+    preco_grande bigint not null,
+    preco_media bigint not null,
+    tipo smallint not null,
+    estabelecimento_id bigint,
+    primary key (id),
+    constraint fk_sabor_estabelecimento foreign key (estabelecimento_id) references estabelecimento
+);
+
+create table associacao (
+    id bigint generated by default as identity,
+    disponibilidade_entregador smallint,
+    status smallint,
+    ultima_entrega timestamp(6),
+    versao bigint,
+    entregador_id bigint,
+    estabelecimento_id bigint,
+    primary key (id),
+    constraint fk_associacao_entregador foreign key (entregador_id) references entregador,
+    constraint fk_associacao_estabelecimento foreign key (estabelecimento_id) references estabelecimento
+);
+
+create table pedido (
+    id bigint not null,
+    cliente_id bigint,
+    data_criacao timestamp(6),
+    data_status timestamp(6),
+    endereco_entrega varchar(255),
+    entregador_id bigint,
+    estabelecimento_id bigint,
+    status_pagamento boolean,
+    status_pedido varchar(255),
+    valor_pedido bigint,
+    versao bigint,
+    primary key (id)
+);
+
+create table pizza (
+    id bigint not null,
+    tamanho varchar(255),
+    sabor1_id bigint,
+    sabor2_id bigint,
+    pedido_id bigint,
+    primary key (id),
+    constraint fk_pizza_sabor1 foreign key (sabor1_id) references sabor,
+    constraint fk_pizza_sabor2 foreign key (sabor2_id) references sabor,
+    constraint fk_pizza_pedido foreign key (pedido_id) references pedido
+);
+
+create table pedido_transicao (
+    id bigint not null,
+    data timestamp(6) not null,
+    de varchar(255),
+    duracao_ms bigint not null,
+    estabelecimento_id bigint not null,
+    para varchar(255) not null,
+    pedido_id bigint not null,
+    primary key (id)
+);
+
+create table sla_etapa (
+    id bigint generated by default as identity,
+    estabelecimento_id bigint not null,
+    etapa varchar(255) not null,
+    faixa integer not null,
+    hora timestamp(6) not null,
+    quantidade bigint not null,
+    soma_ms bigint not null,
+    primary key (id),
+    constraint uk_sla_etapa unique (estabelecimento_id, etapa, hora, faixa)
+);
+
+create table interesse (
+    id bigint generated by default as identity,
+    cliente_id bigint not null,
+    criado_em timestamp(6) not null,
+    sabor_id bigint not null,
+    primary key (id),
+    constraint uk_interesse_sabor_cliente unique (sabor_id, cliente_id)
+);
+
+create table evento_pendente (
+    id bigint generated by default as identity,
+    criado_em timestamp(6) not null,
+    destinatario_id bigint,
+    entregador_id bigint,
+    entregue_em timestamp(6),
+    pedido_id bigint,
+    sabor_id bigint,
+    tentativas integer not null,
+    tipo varchar(255) not null,
+    ultimo_interesse_id bigint,
+    primary key (id)
+);
+
+create table resposta_idempotente (
+    id bigint generated by default as identity,
+    chave varchar(255) not null,
+    cliente_id bigint not null,
+    expira_em timestamp(6) not null,
+    impressao varchar(255) not null,
+    operacao varchar(255) not null,
+    resposta varchar(65535) not null,
+    primary key (id),
+    constraint uk_resposta_idempotente unique (cliente_id, operacao, chave)
+);
+
+-- indices das consultas quentes, os mesmos declarados nas entidades
+
+-- pedidos do cliente por status e pedidos do estabelecimento por status e data
+create index idx_pedido_cliente_status on pedido (cliente_id, status_pedido, id);
+create index idx_pedido_estabelecimento_status on pedido (estabelecimento_id, status_pedido, data_criacao);
+create index idx_pedido_estabelecimento on pedido (estabelecimento_id, id);
+
+-- escolha do entregador ativo que esta ha mais tempo sem entregar
+create index idx_associacao_estabelecimento_disponibilidade on associacao (estabelecimento_id, disponibilidade_entregador, ultima_entrega);
+
+-- sabores do pedido resolvidos por nome dentro do estabelecimento
+create index idx_sabor_estabelecimento_nome on sabor (estabelecimento_id, nome);
+
+create index idx_pedido_transicao_pedido on pedido_transicao (pedido_id, id);
+create index idx_pedido_transicao_estabelecimento on pedido_transicao (estabelecimento_id, de, data);
+create index idx_interesse_sabor on interesse (sabor_id, id);
+create index idx_interesse_cliente on interesse (cliente_id);
+create index idx_evento_pendente_entrega on evento_pendente (entregue_em, criado_em);
+create index idx_resposta_idempotente_expiracao on resposta_idempotente (expira_em);
@@ -0,0 +1,28 @@
+-- as tabelas que usavam identity (menos sla_etapa, gravada por merge direto no banco) passam a ter ids reservados em blocos de 50 por sequence (pooled-lo),
+-- o que permite ao hibernate agrupar os inserts em lote. cada sequence recomeca depois do maior id existente.
+-- as sequences que ja existiam continuam validas: com pooled-lo o proximo bloco comeca no proximo valor da sequence,
+-- sempre acima dos ids ja entregues pelo otimizador anterior
+
+alter table estabelecimento alter column id drop identity;
+create sequence estabelecimento_seq start with 1 increment by 50;
+alter sequence estabelecimento_seq restart with (select coalesce(max(id), 0) + 1 from estabelecimento);
+
+alter table sabor alter column id drop identity;
+create sequence sabor_seq start with 1 increment by 50;
+alter sequence sabor_seq restart with (select coalesce(max(id), 0) + 1 from sabor);
+
+alter table associacao alter column id drop identity;
+create sequence associacao_seq start with 1 increment by 50;
+alter sequence associacao_seq restart with (select coalesce(max(id), 0) + 1 from associacao);
+
+alter table interesse alter column id drop identity;
+create sequence interesse_seq start with 1 increment by 50;
+alter sequence interesse_seq restart with (select coalesce(max(id), 0) + 1 from interesse);
+
+alter table evento_pendente alter column id drop identity;
+create sequence evento_pendente_seq start with 1 increment by 50;
+alter sequence evento_pendente_seq restart with (select coalesce(max(id), 0) + 1 from evento_pendente);
+
+alter table resposta_idempotente alter column id drop identity;
+create sequence resposta_idempotente_seq start with 1 increment by 50;
+alter sequence resposta_idempotente_seq restart with (select coalesce(max(id), 0) + 1 from resposta_idempotente);
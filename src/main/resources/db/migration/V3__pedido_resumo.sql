@@ -0,0 +1,24 @@
+-- historico do cliente lido de uma tabela propria, sem juntar pedido, pizza e sabor.
+-- a aplicacao mantem as linhas a cada gravacao do pedido; aqui so preenchemos a partir dos pedidos que ja existem
+
+create table pedido_resumo (
+    id bigint not null,
+    cliente_id bigint not null,
+    data_criacao timestamp(6),
+    nome_entregador varchar(255),
+    quantidade_pizzas integer,
+    status_pedido varchar(255),
+    valor_pedido bigint,
+    primary key (id)
+);
+
+create index idx_pedido_resumo_cliente on pedido_resumo (cliente_id, id);
+create index idx_pedido_resumo_cliente_status on pedido_resumo (cliente_id, status_pedido, id);
+
+insert into pedido_resumo (id, cliente_id, data_criacao, nome_entregador, quantidade_pizzas, status_pedido, valor_pedido)
+select p.id, p.cliente_id, p.data_criacao,
+       (select e.nome from entregador e where e.id = p.entregador_id),
+       (select count(*) from pizza z where z.pedido_id = p.id),
+       p.status_pedido, p.valor_pedido
+from pedido p
+where p.cliente_id is not null;
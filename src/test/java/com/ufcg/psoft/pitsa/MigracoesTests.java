@@ -0,0 +1,62 @@
+package com.ufcg.psoft.pitsa;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// sobe o perfil prod num banco em memoria: o flyway migra do zero e o hibernate valida as entidades contra o resultado
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:migracoes;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("prod")
+@DisplayName("Testes das migracoes do perfil prod")
+class MigracoesTests {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private List<String> colunasDoIndice(String indice) {
+        return jdbcTemplate.queryForList(
+                "select c.column_name from information_schema.index_columns c " +
+                        "where c.index_name = ? order by c.ordinal_position",
+                String.class, indice.toUpperCase());
+    }
+
+    @Test
+    @DisplayName("Quando a aplicacao sobe no perfil prod, todas as migracoes sao aplicadas")
+    void quandoPerfilProdAplicaMigracoes() {
+        // Arrange
+
+        // Act
+        Integer falhas = jdbcTemplate.queryForObject("select count(*) from \"flyway_schema_history\" where \"success\" = false", Integer.class);
+        String versao = jdbcTemplate.queryForObject("select max(\"version\") from \"flyway_schema_history\"", String.class);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(0, falhas),
+                () -> assertNotNull(versao)
+        );
+    }
+
+    @Test
+    @DisplayName("Quando o esquema e migrado, as consultas quentes tem indice composto")
+    void quandoEsquemaMigradoTemIndicesCompostos() {
+        // Arrange
+
+        // Act
+
+        // Assert
+        assertAll(
+                () -> assertEquals(List.of("CLIENTE_ID", "STATUS_PEDIDO", "ID"), colunasDoIndice("idx_pedido_cliente_status")),
+                () -> assertEquals(List.of("ESTABELECIMENTO_ID", "STATUS_PEDIDO", "DATA_CRIACAO"), colunasDoIndice("idx_pedido_estabelecimento_status")),
+                () -> assertEquals(List.of("ESTABELECIMENTO_ID", "DISPONIBILIDADE_ENTREGADOR", "ULTIMA_ENTREGA"), colunasDoIndice("idx_associacao_estabelecimento_disponibilidade")),
+                () -> assertEquals(List.of("ESTABELECIMENTO_ID", "NOME"), colunasDoIndice("idx_sabor_estabelecimento_nome")),
+                () -> assertEquals(List.of("CLIENTE_ID", "STATUS_PEDIDO", "ID"), colunasDoIndice("idx_pedido_resumo_cliente_status"))
+        );
+    }
+}
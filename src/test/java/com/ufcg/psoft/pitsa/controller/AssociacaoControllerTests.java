@@ -690,8 +690,8 @@ public class AssociacaoControllerTests {
             sabor1 = saborRepository.save(Sabor.builder()
                     .nome("Sabor Um")
                     .tipo(TipoSabor.SALGADO)
-                    .precoMedia(10.0)
-                    .precoGrande(20.0)
+                    .precoMedia(Dinheiro.deReais(10.0))
+                    .precoGrande(Dinheiro.deReais(20.0))
                     .disponivel(true)
                     .build()
             );
@@ -699,8 +699,8 @@ public class AssociacaoControllerTests {
             sabor2 = saborRepository.save(Sabor.builder()
                     .nome("Sabor Dois")
                     .tipo(TipoSabor.DOCE)
-                    .precoMedia(15.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(15.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .disponivel(true)
                     .build()
             );
@@ -716,7 +716,7 @@ public class AssociacaoControllerTests {
                     .clienteId(cliente.getId())
                     .enderecoEntrega("Esperança")
                     .pizzas(List.of(pizzaG1))
-                    .valorPedido(100.0)
+                    .valorPedido(Dinheiro.deReais(100.0))
                     .statusPagamento(true)
                     .build()
             );
@@ -5,26 +5,39 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.ufcg.psoft.pitsa.dto.cliente.ClienteRequestDTO;
 import com.ufcg.psoft.pitsa.dto.cliente.ClienteResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pagina.Cursor;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResumoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.pizza.PizzaRequestDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborResponseDTO;
 import com.ufcg.psoft.pitsa.exception.CustomErrorType;
+import com.ufcg.psoft.pitsa.mapper.PedidoMapper;
 import com.ufcg.psoft.pitsa.model.*;
+import com.ufcg.psoft.pitsa.model.enums.DisponibilidadeEntregador;
+import com.ufcg.psoft.pitsa.model.enums.MetodoPagamento;
+import com.ufcg.psoft.pitsa.model.enums.StatusAssociacao;
 import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
 import com.ufcg.psoft.pitsa.model.enums.TamanhoPizza;
+import com.ufcg.psoft.pitsa.model.enums.TipoEvento;
 import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
 import com.ufcg.psoft.pitsa.model.enums.TipoVeiculo;
 import com.ufcg.psoft.pitsa.repository.*;
+import com.ufcg.psoft.pitsa.service.notificacao.EntregaEventos;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.*;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -500,6 +513,109 @@ public class ClienteControllerTests {
 
         }
 
+        @Test
+        @DisplayName("Quando listamos os clientes salvos em paginas")
+        void testListarClientesPaginados() throws Exception {
+            // Arrange
+            Cliente cliente1 = Cliente.builder()
+                    .nome("Cliente Dois Almeida")
+                    .endereco("Av. da Pits A, 100")
+                    .codigoAcesso("246810")
+                    .build();
+            clienteRepository.save(cliente1);
+
+            // Act
+            MvcResult primeiraPagina = driver.perform(get(URI_CLIENTES)
+                            .param("tamanho", "1"))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn();
+            String cursor = primeiraPagina.getResponse().getHeader(PaginaResponseDTO.CABECALHO_CURSOR);
+
+            MvcResult segundaPagina = driver.perform(get(URI_CLIENTES)
+                            .param("tamanho", "1")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn();
+
+            List<Cliente> resultado1 = objectMapper.readValue(primeiraPagina.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            List<Cliente> resultado2 = objectMapper.readValue(segundaPagina.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+
+            // Assert
+            assertAll(
+                    () -> assertNotNull(cursor),
+                    () -> assertEquals(1, resultado1.size()),
+                    () -> assertEquals(cliente.getId(), resultado1.get(0).getId()),
+                    () -> assertEquals(1, resultado2.size()),
+                    () -> assertEquals(cliente1.getId(), resultado2.get(0).getId()),
+                    () -> assertNull(segundaPagina.getResponse().getHeader(PaginaResponseDTO.CABECALHO_CURSOR))
+            );
+        }
+
+        @Test
+        @DisplayName("Quando listamos os clientes sem cursor nem tamanho e ha mais clientes que uma pagina")
+        void testListarClientesPaginaPadrao() throws Exception {
+            // Arrange
+            List<Cliente> clientes = new ArrayList<>();
+            for (int i = 0; i < Cursor.TAMANHO_PADRAO; i++) {
+                clientes.add(Cliente.builder()
+                        .nome("Cliente " + i)
+                        .endereco("Rua dos Testes, " + i)
+                        .codigoAcesso("123456")
+                        .build());
+            }
+            clienteRepository.saveAll(clientes);
+
+            // Act
+            MvcResult primeiraPagina = driver.perform(get(URI_CLIENTES))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn();
+            String cursor = primeiraPagina.getResponse().getHeader(PaginaResponseDTO.CABECALHO_CURSOR);
+
+            MvcResult segundaPagina = driver.perform(get(URI_CLIENTES)
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn();
+
+            List<Cliente> resultado1 = objectMapper.readValue(primeiraPagina.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            List<Cliente> resultado2 = objectMapper.readValue(segundaPagina.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+
+            // Assert
+            assertAll(
+                    () -> assertNotNull(cursor),
+                    () -> assertEquals(Cursor.TAMANHO_PADRAO, resultado1.size()),
+                    () -> assertEquals(1, resultado2.size()),
+                    () -> assertEquals(clientes.get(clientes.size() - 1).getId(), resultado2.get(0).getId()),
+                    () -> assertNull(segundaPagina.getResponse().getHeader(PaginaResponseDTO.CABECALHO_CURSOR))
+            );
+        }
+
+        @Test
+        @DisplayName("Quando listamos os clientes com um cursor invalido")
+        void testListarClientesCursorInvalido() throws Exception {
+            // Arrange
+            // nenhuma necessidade além do setup()
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_CLIENTES)
+                            .param("cursor", "nao-e-um-cursor"))
+                    .andExpect(status().isBadRequest())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            // Assert
+            assertEquals("Cursor de paginacao invalido!", resultado.getMessage());
+        }
+
         @Test
         @DisplayName("Quando recuperamos um cliente salvo pelo id")
         void testRecuperarClienteSalvo() throws Exception {
@@ -694,20 +810,32 @@ public class ClienteControllerTests {
         @Autowired
         SaborRepository saborRepository;
 
+        @Autowired
+        InteresseRepository interesseRepository;
+
+        @Autowired
+        EventoPendenteRepository eventoPendenteRepository;
+
+        @Autowired
+        EntregaEventos entregaEventos;
+
+        @Value("${pitsa.interesses.lote}")
+        int tamanhoLote;
+
         @BeforeEach
         void setup() {
             s1 = Sabor.builder()
                     .nome("Portuguesa")
-                    .precoMedia(20.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(20.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .tipo(TipoSabor.SALGADO)
                     .disponivel(false)
                     .build();
 
             s2 = Sabor.builder()
                     .nome("Marguerita")
-                    .precoMedia(22.0)
-                    .precoGrande(32.0)
+                    .precoMedia(Dinheiro.deReais(22.0))
+                    .precoGrande(Dinheiro.deReais(32.0))
                     .tipo(TipoSabor.SALGADO)
                     .build();
 
@@ -722,6 +850,7 @@ public class ClienteControllerTests {
 
         @AfterEach
         void tearDown() {
+            interesseRepository.deleteAll();
             estabelecimentoRepository.deleteAll();
             saborRepository.deleteAll();
         }
@@ -743,16 +872,11 @@ public class ClienteControllerTests {
                     .andReturn().getResponse().getContentAsString();
 
             SaborResponseDTO resultado = objectMapper.readValue(responseJsonString, SaborResponseDTO.SaborResponseDTOBuilder.class).build();
-            ArrayList<Long> idsResultado = new ArrayList<>();
-            for (Cliente c : resultado.getClientesInteressados()) {
-                idsResultado.add(c.getId());
-            }
-
             //Assert
             assertAll(
                     () -> assertFalse(resultado.getDisponivel()),
-                    () -> assertEquals(1, resultado.getClientesInteressados().size()),
-                    () -> assertTrue(idsResultado.contains(cliente.getId()))
+                    () -> assertEquals(1, resultado.getQuantidadeInteressados()),
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId()))
             );
 
         }
@@ -772,15 +896,10 @@ public class ClienteControllerTests {
 
             SaborResponseDTO resultado = objectMapper.readValue(responseJsonString, SaborResponseDTO.SaborResponseDTOBuilder.class).build();
 
-            ArrayList<Long> idsResultado = new ArrayList<>();
-            for (Cliente c : resultado.getClientesInteressados()) {
-                idsResultado.add(c.getId());
-            }
-
             assertAll(
                     () -> assertFalse(resultado.getDisponivel()),
-                    () -> assertEquals(1, resultado.getClientesInteressados().size()),
-                    () -> assertTrue(idsResultado.contains(cliente.getId()))
+                    () -> assertEquals(1, resultado.getQuantidadeInteressados()),
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId()))
             );
 
             //Act
@@ -798,8 +917,8 @@ public class ClienteControllerTests {
             //Assert
             assertAll(
                     () -> assertFalse(resultado2.getDisponivel()),
-                    () -> assertEquals(1, resultado2.getClientesInteressados().size()),
-                    () -> assertTrue(idsResultado.contains(cliente.getId()))
+                    () -> assertEquals(1, resultado2.getQuantidadeInteressados()),
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId()))
             );
 
         }
@@ -818,15 +937,10 @@ public class ClienteControllerTests {
                     .andReturn().getResponse().getContentAsString();
 
             SaborResponseDTO resultado = objectMapper.readValue(responseJsonString, SaborResponseDTO.SaborResponseDTOBuilder.class).build();
-            ArrayList<Long> idsResultado = new ArrayList<>();
-            for (Cliente c : resultado.getClientesInteressados()) {
-                idsResultado.add(c.getId());
-            }
-
             assertAll(
                     () -> assertFalse(resultado.getDisponivel()),
-                    () -> assertEquals(1, resultado.getClientesInteressados().size()),
-                    () -> assertTrue(idsResultado.contains(cliente.getId()))
+                    () -> assertEquals(1, resultado.getQuantidadeInteressados()),
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId()))
             );
 
             //Act
@@ -844,7 +958,7 @@ public class ClienteControllerTests {
             // Assert
             assertAll(
                     () -> assertFalse(resultado2.getDisponivel()),
-                    () -> assertEquals(0, resultado2.getClientesInteressados().size())
+                    () -> assertEquals(0, resultado2.getQuantidadeInteressados())
 
             );
         }
@@ -871,7 +985,7 @@ public class ClienteControllerTests {
             // não lança erro
             assertAll(
                     () -> assertFalse(resultado2.getDisponivel()),
-                    () -> assertEquals(0, resultado2.getClientesInteressados().size())
+                    () -> assertEquals(0, resultado2.getQuantidadeInteressados())
             );
         }
 
@@ -889,16 +1003,11 @@ public class ClienteControllerTests {
                     .andReturn().getResponse().getContentAsString();
 
             SaborResponseDTO resultado = objectMapper.readValue(responseJsonString, SaborResponseDTO.SaborResponseDTOBuilder.class).build();
-            ArrayList<Long> idsResultado = new ArrayList<>();
-            for (Cliente c : resultado.getClientesInteressados()) {
-                idsResultado.add(c.getId());
-            }
-
 
             assertAll(
                     () -> assertFalse(resultado.getDisponivel()),
-                    () -> assertEquals(1, resultado.getClientesInteressados().size()),
-                    () -> assertTrue(idsResultado.contains(cliente.getId()))
+                    () -> assertEquals(1, resultado.getQuantidadeInteressados()),
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId()))
             );
 
             //Act
@@ -933,15 +1042,10 @@ public class ClienteControllerTests {
                     .andReturn().getResponse().getContentAsString();
 
             SaborResponseDTO resultado = objectMapper.readValue(responseJsonString, SaborResponseDTO.SaborResponseDTOBuilder.class).build();
-            ArrayList<Long> idsResultado = new ArrayList<>();
-            for (Cliente c : resultado.getClientesInteressados()) {
-                idsResultado.add(c.getId());
-            }
-
             assertAll(
                     () -> assertFalse(resultado.getDisponivel()),
-                    () -> assertEquals(1, resultado.getClientesInteressados().size()),
-                    () -> assertTrue(idsResultado.contains(cliente.getId()))
+                    () -> assertEquals(1, resultado.getQuantidadeInteressados()),
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId()))
             );
 
             //Act
@@ -976,15 +1080,10 @@ public class ClienteControllerTests {
                     .andReturn().getResponse().getContentAsString();
 
             SaborResponseDTO resultado = objectMapper.readValue(responseJsonString, SaborResponseDTO.SaborResponseDTOBuilder.class).build();
-            ArrayList<Long> idsResultado = new ArrayList<>();
-            for (Cliente c : resultado.getClientesInteressados()) {
-                idsResultado.add(c.getId());
-            }
-
             assertAll(
                     () -> assertFalse(resultado.getDisponivel()),
-                    () -> assertEquals(1, resultado.getClientesInteressados().size()),
-                    () -> assertTrue(idsResultado.contains(cliente.getId()))
+                    () -> assertEquals(1, resultado.getQuantidadeInteressados()),
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId()))
             );
 
             //Act
@@ -1050,15 +1149,10 @@ public class ClienteControllerTests {
                     .andReturn().getResponse().getContentAsString();
 
             SaborResponseDTO resultado1 = objectMapper.readValue(responseJsonString, SaborResponseDTO.SaborResponseDTOBuilder.class).build();
-            ArrayList<Long> idsResultado = new ArrayList<>();
-            for (Cliente c : resultado1.getClientesInteressados()) {
-                idsResultado.add(c.getId());
-            }
-
             assertAll(
                     () -> assertFalse(resultado1.getDisponivel()),
-                    () -> assertEquals(1, resultado1.getClientesInteressados().size()),
-                    () -> assertTrue(idsResultado.contains(cliente.getId()))
+                    () -> assertEquals(1, resultado1.getQuantidadeInteressados()),
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId()))
             );
 
             // Act (segundo cliente)
@@ -1072,16 +1166,161 @@ public class ClienteControllerTests {
                     .andReturn().getResponse().getContentAsString();
 
             SaborResponseDTO resultado2 = objectMapper.readValue(responseJsonString, SaborResponseDTO.SaborResponseDTOBuilder.class).build();
-            ArrayList<Long> idsResultado2 = new ArrayList<>();
-            for (Cliente c : resultado2.getClientesInteressados()) {
-                idsResultado2.add(c.getId());
+            //Assert
+            assertAll(
+                    () -> assertFalse(resultado2.getDisponivel()),
+                    () -> assertEquals(2, resultado2.getQuantidadeInteressados()),
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), c2.getId()))
+            );
+        }
+
+        @Test
+        @DisplayName("Quando um cliente demonstra interesse em dois sabores")
+        void testDemonstrarInteresseDoisSabores() throws Exception {
+            //Arrange
+            s2.setDisponivel(false);
+            saborRepository.save(s2);
+
+            //Act
+            for (Sabor sabor : List.of(s1, s2)) {
+                String responseJsonString = driver.perform(put(URI_CLIENTES + "/" + cliente.getId() + "/interesse-sabor")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .param("codigoAcesso", cliente.getCodigoAcesso())
+                                .param("idSabor", sabor.getId().toString())
+                                .content(objectMapper.writeValueAsString(clienteRequestDTO)))
+                        .andExpect(status().isOk()) // Codigo 200
+                        .andDo(print())
+                        .andReturn().getResponse().getContentAsString();
+
+                SaborResponseDTO resultado = objectMapper.readValue(responseJsonString, SaborResponseDTO.SaborResponseDTOBuilder.class).build();
+                assertEquals(1, resultado.getQuantidadeInteressados());
             }
 
             //Assert
             assertAll(
-                    () -> assertFalse(resultado2.getDisponivel()),
-                    () -> assertEquals(2, resultado2.getClientesInteressados().size()),
-                    () -> assertTrue(idsResultado2.contains(c2.getId()))
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId())),
+                    () -> assertTrue(interesseRepository.existsBySaborIdAndClienteId(s2.getId(), cliente.getId()))
+            );
+        }
+
+        @Test
+        @DisplayName("Quando o sabor de interesse volta a ficar disponivel")
+        void testNotificarInteressadosSaborDisponivel() throws Exception {
+            //Arrange
+            ByteArrayOutputStream logOutputStream = new ByteArrayOutputStream();
+            PrintStream originalOut = System.out;
+            driver.perform(put(URI_CLIENTES + "/" + cliente.getId() + "/interesse-sabor")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .param("codigoAcesso", cliente.getCodigoAcesso())
+                            .param("idSabor", s1.getId().toString())
+                            .content(objectMapper.writeValueAsString(clienteRequestDTO)))
+                    .andExpect(status().isOk());
+
+            //Act
+            String logContent;
+            try {
+                System.setOut(new PrintStream(logOutputStream));
+                driver.perform(put("/sabor/" + s1.getId() + "/disponibilidade")
+                                .param("estabelecimentoId", estabelecimento1.getId().toString())
+                                .param("codAcessoEstabelecimento", estabelecimento1.getCodigoAcesso())
+                                .param("disponibilidade", String.valueOf(Boolean.TRUE))
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+
+                // os interessados sao notificados em lotes depois do commit
+                for (int i = 0; i < 50 && interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId()); i++) {
+                    Thread.sleep(100);
+                }
+                for (int i = 0; i < 50 && eventoPendenteRepository.countByEntregueEmIsNull() > 0; i++) {
+                    Thread.sleep(100);
+                }
+                logContent = logOutputStream.toString();
+            } finally {
+                System.setOut(originalOut);
+            }
+
+            //Assert
+            assertAll(
+                    () -> assertFalse(interesseRepository.existsBySaborIdAndClienteId(s1.getId(), cliente.getId())),
+                    () -> assertTrue(logContent.contains("Cliente " + cliente.getNome() + ", o sabor " + s1.getNome() + " de seu interesse está disponível!"))
+            );
+        }
+
+        @Test
+        @DisplayName("Quando o sabor volta a ficar disponivel com mais interessados que um lote")
+        void testNotificarInteressadosSaborDisponivelEmVariosLotes() throws Exception {
+            //Arrange
+            List<Cliente> clientes = new ArrayList<>();
+            for (int i = 0; i <= tamanhoLote; i++) {
+                clientes.add(Cliente.builder()
+                        .nome("Cliente Interessado " + i)
+                        .endereco("Rua dos Testes, " + i)
+                        .codigoAcesso("123456")
+                        .build());
+            }
+            interesseRepository.saveAll(clienteRepository.saveAll(clientes).stream()
+                    .map(c -> Interesse.builder().saborId(s1.getId()).clienteId(c.getId()).build())
+                    .toList());
+
+            //Act
+            ByteArrayOutputStream logOutputStream = new ByteArrayOutputStream();
+            PrintStream originalOut = System.out;
+            try {
+                System.setOut(new PrintStream(logOutputStream));
+                driver.perform(put("/sabor/" + s1.getId() + "/disponibilidade")
+                                .param("estabelecimentoId", estabelecimento1.getId().toString())
+                                .param("codAcessoEstabelecimento", estabelecimento1.getCodigoAcesso())
+                                .param("disponibilidade", String.valueOf(Boolean.TRUE))
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+
+                for (int i = 0; i < 100 && interesseRepository.countBySaborId(s1.getId()) > 0; i++) {
+                    Thread.sleep(100);
+                }
+                for (int i = 0; i < 100 && eventoPendenteRepository.countByEntregueEmIsNull() > 0; i++) {
+                    Thread.sleep(100);
+                }
+            } finally {
+                System.setOut(originalOut);
+            }
+            List<EventoPendente> eventos = eventoPendenteRepository.findAll().stream()
+                    .filter(e -> s1.getId().equals(e.getSaborId()))
+                    .toList();
+
+            //Assert
+            // o lote que sobra vira um segundo evento na fila em vez de rodar no mesmo
+            assertAll(
+                    () -> assertEquals(0, interesseRepository.countBySaborId(s1.getId())),
+                    () -> assertEquals(2, eventos.stream().filter(e -> e.getTipo() == TipoEvento.SABOR_DISPONIVEL_INTERESSADOS).count()),
+                    () -> assertEquals(tamanhoLote + 1, eventos.stream().filter(e -> e.getTipo() == TipoEvento.SABOR_DISPONIVEL).count()),
+                    () -> assertTrue(eventos.stream().allMatch(e -> e.getEntregueEm() != null))
+            );
+        }
+
+        @Test
+        @DisplayName("Quando a limpeza do outbox remove os eventos entregues fora da retencao")
+        void testRemoverEventosEntregues() {
+            //Arrange
+            EventoPendente antigo = eventoPendenteRepository.save(EventoPendente.builder()
+                    .tipo(TipoEvento.SABOR_DISPONIVEL)
+                    .destinatarioId(cliente.getId())
+                    .saborId(s1.getId())
+                    .entregueEm(LocalDateTime.now().minusDays(2))
+                    .build());
+            EventoPendente recente = eventoPendenteRepository.save(EventoPendente.builder()
+                    .tipo(TipoEvento.SABOR_DISPONIVEL)
+                    .destinatarioId(cliente.getId())
+                    .saborId(s1.getId())
+                    .entregueEm(LocalDateTime.now())
+                    .build());
+
+            //Act
+            entregaEventos.removerEntregues();
+
+            //Assert
+            assertAll(
+                    () -> assertFalse(eventoPendenteRepository.existsById(antigo.getId())),
+                    () -> assertTrue(eventoPendenteRepository.existsById(recente.getId()))
             );
         }
 
@@ -1203,7 +1442,7 @@ public class ClienteControllerTests {
         PedidoRequestDTO pedidoRequestDTO;
         PedidoRequestDTO pedidoRequestDTO2;
         @Autowired
-        ModelMapper modelMapper;
+        PedidoMapper pedidoMapper;
 
 
         @BeforeEach
@@ -1213,16 +1452,16 @@ public class ClienteControllerTests {
             sabor1 = Sabor.builder()
                     .nome("Sabor Um")
                     .tipo(TipoSabor.SALGADO)
-                    .precoMedia(10.0)
-                    .precoGrande(20.0)
+                    .precoMedia(Dinheiro.deReais(10.0))
+                    .precoGrande(Dinheiro.deReais(20.0))
                     .disponivel(true)
                     .build();
 
             sabor2 = Sabor.builder()
                     .nome("Sabor Dois")
                     .tipo(TipoSabor.DOCE)
-                    .precoMedia(15.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(15.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .disponivel(true)
                     .build();
 
@@ -1277,7 +1516,7 @@ public class ClienteControllerTests {
             List<Pizza> pizzas2 = List.of(pizzaM2, pizzaG2);
 
             pedido_cliente1_recebido = Pedido.builder()
-                    .valorPedido(35.0)
+                    .valorPedido(Dinheiro.deReais(35.0))
                     .clienteId(cliente1.getId())
                     .estabelecimentoId(estabelecimento.getId())
                     .entregadorId(entregador.getId())
@@ -1290,7 +1529,7 @@ public class ClienteControllerTests {
 
 
             pedido_cliente1_preparando = Pedido.builder()
-                    .valorPedido(35.0)
+                    .valorPedido(Dinheiro.deReais(35.0))
                     .clienteId(cliente1.getId())
                     .estabelecimentoId(estabelecimento.getId())
                     .entregadorId(entregador.getId())
@@ -1303,7 +1542,7 @@ public class ClienteControllerTests {
 
 
             pedido_cliente1_pronto = Pedido.builder()
-                    .valorPedido(35.0)
+                    .valorPedido(Dinheiro.deReais(35.0))
                     .clienteId(cliente1.getId())
                     .estabelecimentoId(estabelecimento.getId())
                     .entregadorId(entregador.getId())
@@ -1316,7 +1555,7 @@ public class ClienteControllerTests {
 
 
             pedido_cliente1_emrota = Pedido.builder()
-                    .valorPedido(35.0)
+                    .valorPedido(Dinheiro.deReais(35.0))
                     .clienteId(cliente1.getId())
                     .estabelecimentoId(estabelecimento.getId())
                     .entregadorId(entregador.getId())
@@ -1329,7 +1568,7 @@ public class ClienteControllerTests {
 
 
             pedido_cliente1_entregue = Pedido.builder()
-                    .valorPedido(35.0)
+                    .valorPedido(Dinheiro.deReais(35.0))
                     .clienteId(cliente1.getId())
                     .estabelecimentoId(estabelecimento.getId())
                     .entregadorId(entregador.getId())
@@ -1342,7 +1581,7 @@ public class ClienteControllerTests {
 
 
             pedido_cliente2 = Pedido.builder()
-                    .valorPedido(100.0)
+                    .valorPedido(Dinheiro.deReais(100.0))
                     .clienteId(cliente2.getId())
                     .estabelecimentoId(estabelecimento.getId())
                     .entregadorId(entregador.getId())
@@ -1418,7 +1657,7 @@ public class ClienteControllerTests {
             });
 
             List<PedidoResponseDTO> resultadoEsperado = List.of(pedido_cliente1_recebido, pedido_cliente1_preparando, pedido_cliente1_pronto, pedido_cliente1_emrota, pedido_cliente1_entregue).stream()
-                    .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
+                    .map(pedidoMapper::paraResposta)
                     .toList();
 
             assertAll(
@@ -1437,7 +1676,7 @@ public class ClienteControllerTests {
             // Assert
 
             List<PedidoResponseDTO> resultadoEsperado2 = List.of(pedido_cliente2).stream()
-                    .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
+                    .map(pedidoMapper::paraResposta)
                     .toList();
 
             List<PedidoResponseDTO> resultado2 = objectMapper.readValue(responseJsonString2, new TypeReference<>() {
@@ -1543,7 +1782,7 @@ public class ClienteControllerTests {
             });
 
             assertAll(
-                    () -> assertEquals(new PedidoResponseDTO(pedido_cliente1_entregue), resultado)
+                    () -> assertEquals(pedidoMapper.paraResposta(pedido_cliente1_entregue), resultado)
             );
         }
 
@@ -1691,7 +1930,7 @@ public class ClienteControllerTests {
             });
 
             List<PedidoResponseDTO> resultadoEsperado = List.of(pedido_cliente1_recebido).stream()
-                    .map(pedido -> modelMapper.map(pedido, PedidoResponseDTO.class))
+                    .map(pedidoMapper::paraResposta)
                     .toList();
 
             assertAll(
@@ -1701,6 +1940,56 @@ public class ClienteControllerTests {
 
         }
 
+        @Test
+        @DisplayName("Quando consultamos o historico de pedidos filtrando por tipo em paginas")
+        @Transactional
+        void testConsultarHistoricoFiltrandoPorTipoPaginado() throws Exception {
+            // Arrange
+            Pedido pedido_cliente1_recebido2 = pedidoRepository.save(Pedido.builder()
+                    .valorPedido(Dinheiro.deReais(35.0))
+                    .clienteId(cliente1.getId())
+                    .estabelecimentoId(estabelecimento.getId())
+                    .enderecoEntrega("Rua Jonas, 99")
+                    .pizzas(new ArrayList<>())
+                    .statusPedido(StatusPedido.PEDIDO_RECEBIDO)
+                    .statusPagamento(true)
+                    .dataCriacao(LocalDateTime.now())
+                    .build());
+            String uri = URI_CLIENTES + "/" + cliente1.getId().toString() + "/meus-pedidos/status/" + StatusPedido.PEDIDO_RECEBIDO;
+
+            // Act
+            MvcResult primeiraPagina = driver.perform(get(uri)
+                            .param("codigoAcesso", cliente1.getCodigoAcesso())
+                            .param("tamanho", "1"))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn();
+            String cursor = primeiraPagina.getResponse().getHeader(PaginaResponseDTO.CABECALHO_CURSOR);
+
+            MvcResult segundaPagina = driver.perform(get(uri)
+                            .param("codigoAcesso", cliente1.getCodigoAcesso())
+                            .param("tamanho", "1")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn();
+
+            List<PedidoResponseDTO> resultado1 = objectMapper.readValue(primeiraPagina.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+            List<PedidoResponseDTO> resultado2 = objectMapper.readValue(segundaPagina.getResponse().getContentAsString(), new TypeReference<>() {
+            });
+
+            // Assert
+            assertAll(
+                    () -> assertNotNull(cursor),
+                    () -> assertEquals(1, resultado1.size()),
+                    () -> assertEquals(pedido_cliente1_recebido.getId(), resultado1.get(0).getId()),
+                    () -> assertEquals(1, resultado2.size()),
+                    () -> assertEquals(pedido_cliente1_recebido2.getId(), resultado2.get(0).getId()),
+                    () -> assertNull(segundaPagina.getResponse().getHeader(PaginaResponseDTO.CABECALHO_CURSOR))
+            );
+        }
+
         @Test
         @DisplayName("Quando consultamos o historico de pedidos filtrando por tipo, mas nao temos pedidos do tipo")
         @Transactional
@@ -1858,16 +2147,16 @@ public class ClienteControllerTests {
             sabor1 = Sabor.builder()
                     .nome("Sabor Um")
                     .tipo(TipoSabor.SALGADO)
-                    .precoMedia(10.0)
-                    .precoGrande(20.0)
+                    .precoMedia(Dinheiro.deReais(10.0))
+                    .precoGrande(Dinheiro.deReais(20.0))
                     .disponivel(true)
                     .build();
 
             sabor2 = Sabor.builder()
                     .nome("Sabor Dois")
                     .tipo(TipoSabor.DOCE)
-                    .precoMedia(15.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(15.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .disponivel(true)
                     .build();
 
@@ -1896,7 +2185,7 @@ public class ClienteControllerTests {
                     .build();
 
             pedido_cliente = Pedido.builder()
-                    .valorPedido(35.0)
+                    .valorPedido(Dinheiro.deReais(35.0))
                     .clienteId(cliente.getId())
                     .estabelecimentoId(estabelecimento.getId())
                     .entregadorId(entregador.getId())
@@ -2126,4 +2415,178 @@ public class ClienteControllerTests {
         }
     }
 
+    @Nested
+    @DisplayName("Conjunto de casos de verificação do resumo do historico de pedidos")
+    class ClienteVerificacaoResumoPedidos {
+
+        @Autowired
+        EstabelecimentoRepository estabelecimentoRepository;
+
+        @Autowired
+        EntregadorRepository entregadorRepository;
+
+        @Autowired
+        AssociacaoRepository associacaoRepository;
+
+        @Autowired
+        PedidoResumoRepository pedidoResumoRepository;
+
+        Estabelecimento estabelecimento;
+
+        @BeforeEach
+        void setUp() {
+            estabelecimento = estabelecimentoRepository.save(Estabelecimento.builder()
+                    .sabores(new ArrayList<>(List.of(Sabor.builder()
+                            .nome("Calabresa")
+                            .tipo(TipoSabor.SALGADO)
+                            .precoMedia(Dinheiro.deReais(10.0))
+                            .precoGrande(Dinheiro.deReais(20.0))
+                            .disponivel(true)
+                            .build())))
+                    .codigoAcesso("111111")
+                    .build());
+        }
+
+        private PedidoResponseDTO criarPedido(int quantidadePizzas) throws Exception {
+            List<PizzaRequestDTO> pizzas = new ArrayList<>();
+            for (int i = 0; i < quantidadePizzas; i++) {
+                pizzas.add(PizzaRequestDTO.builder().tamanho(TamanhoPizza.MEDIA).sabor1("Calabresa").build());
+            }
+            String responseJsonString = driver.perform(post("/pedido")
+                            .param("clienteId", cliente.getId().toString())
+                            .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(PedidoRequestDTO.builder()
+                                    .enderecoEntrega("Rua dos Testes, 123")
+                                    .pizzas(pizzas)
+                                    .build())))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            return objectMapper.readValue(responseJsonString, PedidoResponseDTO.class);
+        }
+
+        private List<PedidoResumoResponseDTO> consultarResumo(StatusPedido statusPedido) throws Exception {
+            String responseJsonString = driver.perform(get(URI_CLIENTES + "/" + cliente.getId() + "/meus-pedidos/resumo")
+                            .param("codigoAcesso", cliente.getCodigoAcesso())
+                            .param("statusPedido", statusPedido == null ? null : statusPedido.name())
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            return objectMapper.readValue(responseJsonString, new TypeReference<>() {
+            });
+        }
+
+        @Test
+        @Transactional
+        @DisplayName("Quando consultamos o resumo, os pedidos criados e pagos aparecem com status, total e pizzas")
+        void testConsultarResumoAcompanhaPedidos() throws Exception {
+            // Arrange
+            PedidoResponseDTO pedido1 = criarPedido(3);
+            PedidoResponseDTO pedido2 = criarPedido(1);
+            driver.perform(put("/pedido/" + pedido1.getId() + "/confirmar-pagamento")
+                            .param("clienteId", cliente.getId().toString())
+                            .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                            .param("metodoPagamento", MetodoPagamento.CREDITO.name()))
+                    .andExpect(status().isOk());
+
+            // Act
+            List<PedidoResumoResponseDTO> resultado = consultarResumo(null);
+            List<PedidoResumoResponseDTO> emPreparo = consultarResumo(StatusPedido.PEDIDO_EM_PREPARO);
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(List.of(pedido1.getId(), pedido2.getId()), resultado.stream().map(PedidoResumoResponseDTO::getId).toList()),
+                    () -> assertEquals(StatusPedido.PEDIDO_EM_PREPARO, resultado.get(0).getStatusPedido()),
+                    () -> assertEquals(3, resultado.get(0).getQuantidadePizzas()),
+                    () -> assertEquals(Dinheiro.deReais(30.0), resultado.get(0).getValorPedido()),
+                    () -> assertEquals(StatusPedido.PEDIDO_RECEBIDO, resultado.get(1).getStatusPedido()),
+                    () -> assertEquals(1, resultado.get(1).getQuantidadePizzas()),
+                    () -> assertNull(resultado.get(1).getNomeEntregador()),
+                    () -> assertEquals(List.of(pedido1.getId()), emPreparo.stream().map(PedidoResumoResponseDTO::getId).toList())
+            );
+        }
+
+        @Test
+        @Transactional
+        @DisplayName("Quando o pedido sai para entrega, o resumo traz o nome do entregador")
+        void testConsultarResumoComEntregador() throws Exception {
+            // Arrange
+            Entregador entregador = entregadorRepository.save(Entregador.builder()
+                    .nome("Joãozinho")
+                    .veiculo(new Veiculo("SLD-1B54", TipoVeiculo.MOTO, "Azul"))
+                    .codigoAcesso("101010")
+                    .build());
+            associacaoRepository.save(Associacao.builder()
+                    .entregador(entregador)
+                    .estabelecimento(estabelecimento)
+                    .status(StatusAssociacao.APROVADO)
+                    .disponibilidadeEntregador(DisponibilidadeEntregador.ATIVO)
+                    .ultimaEntrega(LocalDateTime.now())
+                    .build());
+            PedidoResponseDTO pedido = criarPedido(1);
+            driver.perform(put("/pedido/" + pedido.getId() + "/confirmar-pagamento")
+                            .param("clienteId", cliente.getId().toString())
+                            .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                            .param("metodoPagamento", MetodoPagamento.PIX.name()))
+                    .andExpect(status().isOk());
+            driver.perform(put("/pedido/" + pedido.getId() + "/finalizar-preparo-pedido")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso()))
+                    .andExpect(status().isOk());
+
+            // Act
+            List<PedidoResumoResponseDTO> resultado = consultarResumo(null);
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(1, resultado.size()),
+                    () -> assertEquals(StatusPedido.PEDIDO_EM_ROTA, resultado.get(0).getStatusPedido()),
+                    () -> assertEquals("Joãozinho", resultado.get(0).getNomeEntregador()),
+                    () -> assertEquals(Dinheiro.deReais(9.5), resultado.get(0).getValorPedido())
+            );
+        }
+
+        @Test
+        @Transactional
+        @DisplayName("Quando o pedido e cancelado, ele sai do resumo")
+        void testConsultarResumoSemPedidoCancelado() throws Exception {
+            // Arrange
+            PedidoResponseDTO pedido = criarPedido(2);
+            driver.perform(delete(URI_CLIENTES + "/" + cliente.getId() + "/cancelar/" + pedido.getId())
+                            .param("codigoAcesso", cliente.getCodigoAcesso()))
+                    .andExpect(status().isNoContent());
+
+            // Act
+            List<PedidoResumoResponseDTO> resultado = consultarResumo(null);
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(0, resultado.size()),
+                    () -> assertFalse(pedidoResumoRepository.existsById(pedido.getId()))
+            );
+        }
+
+        @Test
+        @Transactional
+        @DisplayName("Quando consultamos o resumo passando um codigo de acesso invalido")
+        void testConsultarResumoCodigoAcessoInvalido() throws Exception {
+            // Arrange
+            // nenhuma necessidade além do setup()
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_CLIENTES + "/" + cliente.getId() + "/meus-pedidos/resumo")
+                            .param("codigoAcesso", "999999"))
+                    .andExpect(status().isUnauthorized())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            // Assert
+            assertEquals("Codigo de acesso invalido!", resultado.getMessage());
+        }
+    }
+
 }
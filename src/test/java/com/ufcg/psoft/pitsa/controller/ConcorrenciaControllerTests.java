@@ -0,0 +1,294 @@
+package com.ufcg.psoft.pitsa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.pizza.PizzaRequestDTO;
+import com.ufcg.psoft.pitsa.model.*;
+import com.ufcg.psoft.pitsa.model.enums.*;
+import com.ufcg.psoft.pitsa.repository.*;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Testes de requisicoes concorrentes sobre a mesma entidade")
+public class ConcorrenciaControllerTests {
+
+    static final int THREADS = 8;
+
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    EstabelecimentoRepository estabelecimentoRepository;
+
+    @Autowired
+    EntregadorRepository entregadorRepository;
+
+    @Autowired
+    AssociacaoRepository associacaoRepository;
+
+    @Autowired
+    EventoPendenteRepository eventoPendenteRepository;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    ExecutorService executor;
+
+    Estabelecimento estabelecimento;
+    Cliente cliente;
+    Entregador entregador;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        estabelecimento = estabelecimentoRepository.save(Estabelecimento.builder()
+                .sabores(new ArrayList<>(List.of(Sabor.builder()
+                        .nome("Calabresa")
+                        .tipo(TipoSabor.SALGADO)
+                        .precoMedia(Dinheiro.deReais(10.0))
+                        .precoGrande(Dinheiro.deReais(20.0))
+                        .disponivel(true)
+                        .build())))
+                .codigoAcesso("111111")
+                .build());
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Concorrente")
+                .endereco("Rua da Concorrencia, 1")
+                .codigoAcesso("222222")
+                .build());
+        entregador = entregadorRepository.save(Entregador.builder()
+                .nome("Entregador Concorrente")
+                .veiculo(new Veiculo("CON-1234", TipoVeiculo.MOTO, "Preto"))
+                .codigoAcesso("333333")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        pedidoRepository.deleteAll();
+        eventoPendenteRepository.deleteAll();
+        associacaoRepository.deleteAll();
+        entregadorRepository.deleteAll();
+        clienteRepository.deleteAll();
+        estabelecimentoRepository.deleteAll();
+    }
+
+    // dispara todas as requisicoes juntas e devolve o status http de cada uma
+    private List<Integer> disparar(List<RequestBuilder> requisicoes) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> respostas = new ArrayList<>();
+        for (RequestBuilder requisicao : requisicoes) {
+            respostas.add(executor.submit(() -> {
+                largada.await();
+                return driver.perform(requisicao).andReturn().getResponse().getStatus();
+            }));
+        }
+        largada.countDown();
+        List<Integer> status = new ArrayList<>();
+        for (Future<Integer> resposta : respostas) {
+            status.add(resposta.get(30, TimeUnit.SECONDS));
+        }
+        return status;
+    }
+
+    @Nested
+    @DisplayName("Quando o mesmo pedido e pago varias vezes ao mesmo tempo")
+    class PagamentoConcorrente {
+
+        @Test
+        @DisplayName("Quando os pagamentos chegam juntos, so um e aceito e o desconto do pix e aplicado uma vez")
+        void quandoPagamentosConcorrentesAplicaDescontoUmaVez() throws Exception {
+            for (int rodada = 0; rodada < 10; rodada++) {
+                // Arrange
+                Pedido pedido = pedidoRepository.save(Pedido.builder()
+                        .clienteId(cliente.getId())
+                        .estabelecimentoId(estabelecimento.getId())
+                        .enderecoEntrega(cliente.getEndereco())
+                        .pizzas(new ArrayList<>())
+                        .valorPedido(Dinheiro.deReais(100.0))
+                        .statusPagamento(false)
+                        .build());
+                List<RequestBuilder> pagamentos = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    pagamentos.add(put("/pedido/" + pedido.getId() + "/confirmar-pagamento")
+                            .param("clienteId", cliente.getId().toString())
+                            .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                            .param("metodoPagamento", MetodoPagamento.PIX.name()));
+                }
+
+                // Act
+                List<Integer> status = disparar(pagamentos);
+
+                // Assert
+                Pedido pago = pedidoRepository.findById(pedido.getId()).get();
+                assertAll(
+                        () -> assertEquals(1, status.stream().filter(s -> s == 200).count(), status.toString()),
+                        // quem perdeu a corrida recebe conflito ou, se leu depois do commit, pedido ja pago
+                        () -> assertTrue(status.stream().allMatch(s -> s == 200 || s == 409 || s == 400), status.toString()),
+                        () -> assertEquals(Dinheiro.deReais(95.0), pago.getValorPedido()),
+                        () -> assertEquals(StatusPedido.PEDIDO_EM_PREPARO, pago.getStatusPedido())
+                );
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Quando o mesmo pedido e editado varias vezes ao mesmo tempo")
+    class EdicaoConcorrente {
+
+        @Test
+        @DisplayName("Quando as edicoes chegam juntas, cada edicao aceita fica registrada na versao do pedido")
+        void quandoEdicoesConcorrentesNenhumaSePerde() throws Exception {
+            // Arrange
+            Pedido pedido = pedidoRepository.save(Pedido.builder()
+                    .clienteId(cliente.getId())
+                    .estabelecimentoId(estabelecimento.getId())
+                    .enderecoEntrega(cliente.getEndereco())
+                    .pizzas(new ArrayList<>())
+                    .valorPedido(Dinheiro.deReais(0.0))
+                    .statusPagamento(false)
+                    .build());
+            long versaoInicial = pedido.getVersao();
+            List<RequestBuilder> edicoes = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                // enderecos diferentes para que toda edicao aceita seja uma gravacao de fato
+                PedidoRequestDTO edicao = PedidoRequestDTO.builder()
+                        .enderecoEntrega("Rua da Concorrencia, " + (i + 2))
+                        .pizzas(List.of(PizzaRequestDTO.builder().tamanho(TamanhoPizza.MEDIA).sabor1("Calabresa").build()))
+                        .build();
+                edicoes.add(put("/pedido/" + pedido.getId())
+                        .param("codigoAcesso", cliente.getCodigoAcesso())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(edicao)));
+            }
+
+            // Act
+            List<Integer> status = disparar(edicoes);
+
+            // Assert
+            long aceitas = status.stream().filter(s -> s == 200).count();
+            Pedido editado = pedidoRepository.findById(pedido.getId()).get();
+            assertAll(
+                    // conflitos sao repetidos automaticamente, so sobra 409 se todas as tentativas colidirem
+                    () -> assertTrue(status.stream().allMatch(s -> s == 200 || s == 409), status.toString()),
+                    () -> assertTrue(aceitas > 0),
+                    // sem atualizacao perdida: cada resposta de sucesso corresponde a exatamente uma gravacao
+                    () -> assertEquals(versaoInicial + aceitas, editado.getVersao())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Quando a disponibilidade do entregador muda durante o despacho")
+    class DisponibilidadeDuranteDespacho {
+
+        @Test
+        @DisplayName("Quando o entregador e reservado, quem leu a associacao antes nao sobrescreve a disponibilidade")
+        void quandoEntregadorReservadoLeituraAntigaEmConflito() throws Exception {
+            // Arrange
+            Associacao associacao = associacaoRepository.save(Associacao.builder()
+                    .entregador(entregador)
+                    .estabelecimento(estabelecimento)
+                    .status(StatusAssociacao.APROVADO)
+                    .disponibilidadeEntregador(DisponibilidadeEntregador.ATIVO)
+                    .build());
+            Pedido pedido = pedidoRepository.save(Pedido.builder()
+                    .clienteId(cliente.getId())
+                    .estabelecimentoId(estabelecimento.getId())
+                    .enderecoEntrega(cliente.getEndereco())
+                    .pizzas(new ArrayList<>())
+                    .valorPedido(Dinheiro.deReais(100.0))
+                    .statusPagamento(true)
+                    .statusPedido(StatusPedido.PEDIDO_EM_PREPARO)
+                    .build());
+            Associacao lidaAntes = associacaoRepository.findById(associacao.getId()).get();
+
+            // Act
+            driver.perform(put("/pedido/" + pedido.getId() + "/finalizar-preparo-pedido")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso()))
+                    .andExpect(status().isOk());
+            lidaAntes.setDisponibilidadeEntregador(DisponibilidadeEntregador.EM_DESCANSO);
+
+            // Assert
+            assertAll(
+                    () -> assertThrows(ObjectOptimisticLockingFailureException.class, () -> associacaoRepository.save(lidaAntes)),
+                    () -> assertEquals(DisponibilidadeEntregador.ENTREGANDO, associacaoRepository.findById(associacao.getId()).get().getDisponibilidadeEntregador()),
+                    () -> assertEquals(StatusPedido.PEDIDO_EM_ROTA, pedidoRepository.findById(pedido.getId()).get().getStatusPedido())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Quando o mesmo cliente demonstra interesse varias vezes ao mesmo tempo")
+    class InteresseConcorrente {
+
+        @Autowired
+        SaborRepository saborRepository;
+
+        @Autowired
+        InteresseRepository interesseRepository;
+
+        List<Sabor> sabores = new ArrayList<>();
+
+        @AfterEach
+        void tearDown() {
+            interesseRepository.deleteAll();
+            saborRepository.deleteAll(sabores);
+        }
+
+        @Test
+        @DisplayName("Quando os pedidos de interesse chegam juntos, todos sao aceitos e o interesse e gravado uma vez")
+        void quandoInteressesConcorrentesGravaUmaVez() throws Exception {
+            for (int rodada = 0; rodada < 10; rodada++) {
+                // Arrange
+                Sabor sabor = saborRepository.save(Sabor.builder()
+                        .nome("Esgotado " + rodada)
+                        .tipo(TipoSabor.SALGADO)
+                        .precoMedia(Dinheiro.deReais(10.0))
+                        .precoGrande(Dinheiro.deReais(20.0))
+                        .disponivel(false)
+                        .build());
+                sabores.add(sabor);
+                List<RequestBuilder> interesses = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    interesses.add(put("/cliente/" + cliente.getId() + "/interesse-sabor")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .param("codigoAcesso", cliente.getCodigoAcesso())
+                            .param("idSabor", sabor.getId().toString()));
+                }
+
+                // Act
+                List<Integer> status = disparar(interesses);
+
+                // Assert
+                assertAll(
+                        () -> assertTrue(status.stream().allMatch(s -> s == 200), status.toString()),
+                        () -> assertEquals(1, interesseRepository.countBySaborId(sabor.getId()))
+                );
+            }
+        }
+    }
+}
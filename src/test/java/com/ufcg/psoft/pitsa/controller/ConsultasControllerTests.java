@@ -0,0 +1,443 @@
+package com.ufcg.psoft.pitsa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.pizza.PizzaRequestDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.SaborRequestDTO;
+import com.ufcg.psoft.pitsa.model.*;
+import com.ufcg.psoft.pitsa.model.enums.StatusPedido;
+import com.ufcg.psoft.pitsa.model.enums.TamanhoPizza;
+import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
+import com.ufcg.psoft.pitsa.repository.*;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// banco proprio para que o contexto com o contador nao derrube as tabelas do contexto compartilhado pelos outros testes
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ufcg.psoft.pitsa.controller.ContadorConsultas",
+        "spring.datasource.url=jdbc:h2:mem:consultas"
+})
+@AutoConfigureMockMvc
+@DisplayName("Testes do orcamento de consultas dos controladores")
+public class ConsultasControllerTests {
+
+    // quantidade suficiente para que um N+1 estoure qualquer orcamento
+    static final int QUANTIDADE_PEDIDOS = 12;
+
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    EstabelecimentoRepository estabelecimentoRepository;
+
+    @Autowired
+    SaborRepository saborRepository;
+
+    @Autowired
+    InteresseRepository interesseRepository;
+
+    @Autowired
+    EventoPendenteRepository eventoPendenteRepository;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    Estabelecimento estabelecimento;
+    Cliente cliente;
+    Sabor calabresa;
+    Sabor chocolate;
+    Sabor esgotado;
+    Pedido pedido;
+
+    @BeforeEach
+    void setUp() {
+        calabresa = Sabor.builder()
+                .nome("Calabresa")
+                .tipo(TipoSabor.SALGADO)
+                .precoMedia(Dinheiro.deReais(10.0))
+                .precoGrande(Dinheiro.deReais(20.0))
+                .disponivel(true)
+                .build();
+        chocolate = Sabor.builder()
+                .nome("Chocolate")
+                .tipo(TipoSabor.DOCE)
+                .precoMedia(Dinheiro.deReais(15.0))
+                .precoGrande(Dinheiro.deReais(30.0))
+                .disponivel(true)
+                .build();
+        esgotado = Sabor.builder()
+                .nome("Esgotado")
+                .tipo(TipoSabor.SALGADO)
+                .precoMedia(Dinheiro.deReais(12.0))
+                .precoGrande(Dinheiro.deReais(24.0))
+                .disponivel(false)
+                .build();
+
+        estabelecimento = estabelecimentoRepository.save(Estabelecimento.builder()
+                .sabores(new ArrayList<>(List.of(calabresa, chocolate, esgotado)))
+                .codigoAcesso("111111")
+                .build());
+
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Consultas")
+                .endereco("Rua das Consultas, 1")
+                .codigoAcesso("222222")
+                .build());
+
+        for (int i = 0; i < QUANTIDADE_PEDIDOS; i++) {
+            pedido = pedidoRepository.save(Pedido.builder()
+                    .valorPedido(Dinheiro.deReais(45.0))
+                    .clienteId(cliente.getId())
+                    .estabelecimentoId(estabelecimento.getId())
+                    .enderecoEntrega("Rua das Consultas, 1")
+                    .pizzas(new ArrayList<>(List.of(
+                            Pizza.builder().tamanho(TamanhoPizza.MEDIA).sabor1(calabresa).build(),
+                            Pizza.builder().tamanho(TamanhoPizza.GRANDE).sabor1(calabresa).sabor2(chocolate).build())))
+                    .statusPedido(i % 2 == 0 ? StatusPedido.PEDIDO_RECEBIDO : StatusPedido.PEDIDO_EM_PREPARO)
+                    .statusPagamento(false)
+                    .dataCriacao(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        interesseRepository.deleteAll();
+        eventoPendenteRepository.deleteAll();
+        clienteRepository.deleteAll();
+        estabelecimentoRepository.deleteAll();
+    }
+
+    private int consultas(RequestBuilder requisicao) throws Exception {
+        ContadorConsultas.zerar();
+        driver.perform(requisicao).andExpect(status().is2xxSuccessful());
+        return ContadorConsultas.total();
+    }
+
+    private void assertOrcamento(int orcamento, RequestBuilder requisicao) throws Exception {
+        assertOrcamento(orcamento, consultas(requisicao));
+    }
+
+    // repete a requisicao com a etag da primeira resposta e conta so as consultas da que volta 304
+    private void assertOrcamentoNaoModificado(int orcamento, MockHttpServletRequestBuilder requisicao) throws Exception {
+        String etag = driver.perform(requisicao).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        ContadorConsultas.zerar();
+        driver.perform(requisicao.header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+        assertOrcamento(orcamento, ContadorConsultas.total());
+    }
+
+    private void assertOrcamento(int orcamento, int executadas) {
+        assertTrue(executadas <= orcamento,
+                "Orcamento de " + orcamento + " consultas excedido: " + executadas + " executadas");
+    }
+
+    @Nested
+    @DisplayName("Quando consultamos o controlador de pedidos")
+    class PedidoControllerConsultas {
+
+        @Test
+        @DisplayName("Quando recuperamos um pedido pelo cliente")
+        void testRecuperarPedidoCliente() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamento(2, get("/pedido/" + pedido.getId() + "/cliente/" + cliente.getId())
+                    .param("codigoAcessoCliente", cliente.getCodigoAcesso()));
+        }
+
+        @Test
+        @DisplayName("Quando recuperamos um pedido entregue que o cliente ja tem")
+        void testRecuperarPedidoEntregueNaoModificado() throws Exception {
+            // Arrange
+            pedido.setStatusPedido(StatusPedido.PEDIDO_ENTREGUE);
+            pedidoRepository.save(pedido);
+
+            // Act
+            // Assert
+            assertOrcamentoNaoModificado(1, get("/pedido/" + pedido.getId() + "/cliente/" + cliente.getId())
+                    .param("codigoAcessoCliente", cliente.getCodigoAcesso()));
+        }
+
+        @Test
+        @DisplayName("Quando recuperamos um pedido pelo estabelecimento")
+        void testRecuperarPedidoEstabelecimento() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamento(2, get("/pedido/" + pedido.getId() + "/estabelecimento/" + estabelecimento.getId())
+                    .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso()));
+        }
+
+        @Test
+        @DisplayName("Quando listamos os pedidos do cliente")
+        void testListarPedidosCliente() throws Exception {
+            // Arrange
+            // um status por consulta, mais cliente, pizzas e sabores em lote
+            int orcamento = StatusPedido.values().length + 3;
+
+            // Act
+            // Assert
+            assertOrcamento(orcamento, get("/pedido/cliente/" + cliente.getId() + "/all")
+                    .param("codigoAcessoCliente", cliente.getCodigoAcesso()));
+        }
+
+        @Test
+        @DisplayName("Quando listamos os pedidos do estabelecimento")
+        void testListarPedidosEstabelecimento() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamento(4, get("/pedido/estabelecimento/" + estabelecimento.getId() + "/all")
+                    .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso()));
+        }
+
+        @Test
+        @DisplayName("Quando o orcamento nao depende da quantidade de pedidos")
+        void testListarPedidosEstabelecimentoIndependeDaQuantidade() throws Exception {
+            // Arrange
+            int poucos = consultas(get("/pedido/estabelecimento/" + estabelecimento.getId() + "/all")
+                    .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                    .param("tamanho", "1"));
+
+            // Act
+            int muitos = consultas(get("/pedido/estabelecimento/" + estabelecimento.getId() + "/all")
+                    .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                    .param("tamanho", String.valueOf(QUANTIDADE_PEDIDOS)));
+
+            // Assert
+            assertEquals(poucos, muitos);
+        }
+
+        @Test
+        @DisplayName("Quando criamos um pedido")
+        void testCriarPedido() throws Exception {
+            // Arrange
+            PedidoRequestDTO pedidoRequestDTO = PedidoRequestDTO.builder()
+                    .enderecoEntrega("Rua das Consultas, 1")
+                    .pizzas(List.of(
+                            PizzaRequestDTO.builder().tamanho(TamanhoPizza.MEDIA).sabor1("Calabresa").build(),
+                            PizzaRequestDTO.builder().tamanho(TamanhoPizza.GRANDE).sabor1("Calabresa").sabor2("Chocolate").build()))
+                    .build();
+
+            // Act
+            // Assert
+            assertOrcamento(8, post("/pedido")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .param("clienteId", cliente.getId().toString())
+                    .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                    .param("estabelecimentoId", estabelecimento.getId().toString())
+                    .content(objectMapper.writeValueAsString(pedidoRequestDTO)));
+        }
+
+        @Test
+        @DisplayName("Quando os comandos da criacao do pedido nao dependem da quantidade de pizzas")
+        void testCriarPedidoIndependeDaQuantidadeDePizzas() throws Exception {
+            // Arrange
+            int umaPizza = criarPedidoComPizzas(1);
+
+            // Act
+            int oitoPizzas = criarPedidoComPizzas(8);
+
+            // Assert
+            assertEquals(umaPizza, oitoPizzas);
+        }
+
+        // menor contagem em tres criacoes: a cada bloco de ids a sequence e consultada uma vez, e isso nao depende das pizzas
+        private int criarPedidoComPizzas(int quantidade) throws Exception {
+            List<PizzaRequestDTO> pizzas = new ArrayList<>();
+            for (int i = 0; i < quantidade; i++) {
+                pizzas.add(PizzaRequestDTO.builder().tamanho(TamanhoPizza.GRANDE).sabor1("Calabresa").sabor2("Chocolate").build());
+            }
+            PedidoRequestDTO pedidoRequestDTO = PedidoRequestDTO.builder()
+                    .enderecoEntrega("Rua das Consultas, 1")
+                    .pizzas(pizzas)
+                    .build();
+
+            int menor = Integer.MAX_VALUE;
+            for (int tentativa = 0; tentativa < 3; tentativa++) {
+                menor = Math.min(menor, consultas(post("/pedido")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("clienteId", cliente.getId().toString())
+                        .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                        .param("estabelecimentoId", estabelecimento.getId().toString())
+                        .content(objectMapper.writeValueAsString(pedidoRequestDTO))));
+            }
+            return menor;
+        }
+    }
+
+    @Nested
+    @DisplayName("Quando consultamos o controlador de clientes")
+    class ClienteControllerConsultas {
+
+        @Test
+        @DisplayName("Quando recuperamos um cliente")
+        void testRecuperarCliente() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamento(1, get("/cliente/" + cliente.getId()));
+        }
+
+        @Test
+        @DisplayName("Quando listamos os clientes")
+        void testListarClientes() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamento(1, get("/cliente"));
+        }
+
+        @Test
+        @DisplayName("Quando listamos os pedidos do cliente")
+        void testListarMeusPedidos() throws Exception {
+            // Arrange
+            int orcamento = StatusPedido.values().length + 3;
+
+            // Act
+            // Assert
+            assertOrcamento(orcamento, get("/cliente/" + cliente.getId() + "/meus-pedidos")
+                    .param("codigoAcesso", cliente.getCodigoAcesso()));
+        }
+
+        @Test
+        @DisplayName("Quando filtramos os pedidos do cliente por status")
+        void testListarMeusPedidosPorStatus() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamento(4, get("/cliente/" + cliente.getId() + "/meus-pedidos/status/" + StatusPedido.PEDIDO_RECEBIDO)
+                    .param("codigoAcesso", cliente.getCodigoAcesso()));
+        }
+
+        @Test
+        @DisplayName("Quando listamos o resumo dos pedidos do cliente")
+        void testListarResumoMeusPedidos() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            // uma consulta para validar o cliente e uma na tabela de resumo, sem pizzas nem sabores
+            assertOrcamento(2, get("/cliente/" + cliente.getId() + "/meus-pedidos/resumo")
+                    .param("codigoAcesso", cliente.getCodigoAcesso())
+                    .param("statusPedido", StatusPedido.PEDIDO_RECEBIDO.name()));
+        }
+
+        @Test
+        @DisplayName("Quando recuperamos um pedido do cliente")
+        void testRecuperarMeuPedido() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamento(2, get("/cliente/" + cliente.getId() + "/meus-pedidos/" + pedido.getId())
+                    .param("codigoAcesso", cliente.getCodigoAcesso()));
+        }
+
+        @Test
+        @DisplayName("Quando demonstramos interesse em um sabor")
+        void testDemonstrarInteresse() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            // inclui a reserva do bloco de ids do interesse, feita uma vez a cada 50 inserts
+            assertOrcamento(6, put("/cliente/" + cliente.getId() + "/interesse-sabor")
+                    .param("codigoAcesso", cliente.getCodigoAcesso())
+                    .param("idSabor", esgotado.getId().toString()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Quando consultamos o controlador de estabelecimentos")
+    class EstabelecimentoControllerConsultas {
+
+        @Test
+        @DisplayName("Quando recuperamos um cardapio que o cliente ja tem")
+        void testRecuperarCardapioNaoModificado() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamentoNaoModificado(0, get("/estabelecimento/" + estabelecimento.getId() + "/cardapio"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Quando consultamos o controlador de sabores")
+    class SaborControllerConsultas {
+
+        @Test
+        @DisplayName("Quando recuperamos um sabor")
+        void testRecuperarSabor() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamento(4, get("/sabor/" + calabresa.getId())
+                    .param("estabelecimentoId", estabelecimento.getId().toString())
+                    .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso()));
+        }
+
+        @Test
+        @DisplayName("Quando listamos os sabores")
+        void testListarSabores() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamento(2, get("/sabor")
+                    .param("estabelecimentoId", estabelecimento.getId().toString())
+                    .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso()));
+        }
+
+        @Test
+        @DisplayName("Quando atualizamos um sabor")
+        void testAtualizarSabor() throws Exception {
+            // Arrange
+            SaborRequestDTO saborRequestDTO = SaborRequestDTO.builder()
+                    .nome("Calabresa Especial")
+                    .tipo(TipoSabor.SALGADO)
+                    .precoMedia(11.0)
+                    .precoGrande(22.0)
+                    .disponivel(true)
+                    .build();
+
+            // Act
+            // Assert
+            assertOrcamento(4, put("/sabor/" + calabresa.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .param("estabelecimentoId", estabelecimento.getId().toString())
+                    .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                    .content(objectMapper.writeValueAsString(saborRequestDTO)));
+        }
+
+        @Test
+        @DisplayName("Quando alteramos a disponibilidade de um sabor")
+        void testAtualizarDisponibilidade() throws Exception {
+            // Arrange
+            // Act
+            // Assert
+            assertOrcamento(5, put("/sabor/" + calabresa.getId() + "/disponibilidade")
+                    .param("estabelecimentoId", estabelecimento.getId().toString())
+                    .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                    .param("disponibilidade", "false"));
+        }
+    }
+}
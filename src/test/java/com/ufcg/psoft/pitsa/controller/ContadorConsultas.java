@@ -0,0 +1,23 @@
+package com.ufcg.psoft.pitsa.controller;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class ContadorConsultas implements StatementInspector {
+
+    // o MockMvc atende a requisicao na thread do teste, entao o que os workers em segundo plano executam fica de fora
+    private static final ThreadLocal<int[]> CONSULTAS = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        CONSULTAS.get()[0]++;
+        return sql;
+    }
+
+    public static void zerar() {
+        CONSULTAS.get()[0] = 0;
+    }
+
+    public static int total() {
+        return CONSULTAS.get()[0];
+    }
+}
@@ -6,7 +6,10 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.ufcg.psoft.pitsa.dto.estabelecimento.EstabelecimentoRequestDTO;
 import com.ufcg.psoft.pitsa.dto.estabelecimento.EstabelecimentoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborCardapioDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.SaborRequestDTO;
 import com.ufcg.psoft.pitsa.exception.CustomErrorType;
+import com.ufcg.psoft.pitsa.mapper.SaborMapper;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
 import com.ufcg.psoft.pitsa.model.Estabelecimento;
 import com.ufcg.psoft.pitsa.model.Sabor;
 import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
@@ -17,7 +20,9 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
@@ -45,6 +50,9 @@ public class EstabelecimentoControllerTests {
     @Autowired
     SaborRepository saborRepository;
 
+    @Autowired
+    SaborMapper saborMapper;
+
     ObjectMapper objectMapper = new ObjectMapper();
 
     Estabelecimento estabelecimento;
@@ -343,27 +351,27 @@ public class EstabelecimentoControllerTests {
             // Arrange
             Sabor s1 = Sabor.builder()
                     .nome("Portuguesa")
-                    .precoMedia(20.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(20.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .tipo(TipoSabor.SALGADO)
                     .build();
             Sabor s2 = Sabor.builder()
                     .nome("Marguerita")
-                    .precoMedia(22.0)
-                    .precoGrande(32.0)
+                    .precoMedia(Dinheiro.deReais(22.0))
+                    .precoGrande(Dinheiro.deReais(32.0))
                     .tipo(TipoSabor.SALGADO)
                     .build();
             Sabor s3 = Sabor.builder()
                     .nome("Banana Nevada")
-                    .precoMedia(40.0)
-                    .precoGrande(50.0)
+                    .precoMedia(Dinheiro.deReais(40.0))
+                    .precoGrande(Dinheiro.deReais(50.0))
                     .tipo(TipoSabor.DOCE)
                     .disponivel(false)
                     .build();
             Sabor s4 = Sabor.builder()
                     .nome("Doce de Leite")
-                    .precoMedia(20.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(20.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .tipo(TipoSabor.DOCE)
                     .build();
 
@@ -389,7 +397,7 @@ public class EstabelecimentoControllerTests {
                     () -> assertEquals(
                             sabores.stream()
                                     .sorted(Comparator.comparing(Sabor::getDisponivel, Comparator.reverseOrder()))
-                                    .map(SaborCardapioDTO::new)
+                                    .map(saborMapper::paraCardapio)
                                     .toList(), resultado)
             );
         }
@@ -402,15 +410,15 @@ public class EstabelecimentoControllerTests {
             // Criando um outro estabelecimento que tem sabores
             Sabor s1 = Sabor.builder()
                     .nome("Portuguesa")
-                    .precoMedia(20.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(20.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .tipo(TipoSabor.SALGADO)
                     .build();
 
             Sabor s2 = Sabor.builder()
                     .nome("Doce de Leite")
-                    .precoMedia(20.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(20.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .tipo(TipoSabor.DOCE)
                     .build();
 
@@ -465,21 +473,21 @@ public class EstabelecimentoControllerTests {
             // Arrange
             Sabor s1 = saborRepository.save(Sabor.builder()
                     .nome("Portuguesa")
-                    .precoMedia(20.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(20.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .tipo(TipoSabor.SALGADO)
                     .build());
 
             Sabor s2 = saborRepository.save(Sabor.builder()
                     .nome("Marguerita")
-                    .precoMedia(22.0)
-                    .precoGrande(32.0)
+                    .precoMedia(Dinheiro.deReais(22.0))
+                    .precoGrande(Dinheiro.deReais(32.0))
                     .tipo(TipoSabor.SALGADO)
                     .build());
             saborRepository.save(Sabor.builder()
                     .nome("Banana Nevada")
-                    .precoMedia(40.0)
-                    .precoGrande(50.0)
+                    .precoMedia(Dinheiro.deReais(40.0))
+                    .precoGrande(Dinheiro.deReais(50.0))
                     .tipo(TipoSabor.DOCE)
                     .disponivel(false)
                     .build());
@@ -505,7 +513,7 @@ public class EstabelecimentoControllerTests {
                     () -> assertEquals(2, resultado.size()),
                     () -> assertEquals(
                             expected.stream()
-                                    .map(SaborCardapioDTO::new)
+                                    .map(saborMapper::paraCardapio)
                                     .toList(), resultado)
             );
         }
@@ -517,15 +525,15 @@ public class EstabelecimentoControllerTests {
             // Arrange
             Sabor s1 = Sabor.builder()
                     .nome("Portuguesa")
-                    .precoMedia(20.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(20.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .tipo(TipoSabor.SALGADO)
                     .build();
 
             Sabor s2 = Sabor.builder()
                     .nome("Marguerita")
-                    .precoMedia(22.0)
-                    .precoGrande(32.0)
+                    .precoMedia(Dinheiro.deReais(22.0))
+                    .precoGrande(Dinheiro.deReais(32.0))
                     .tipo(TipoSabor.SALGADO)
                     .build();
 
@@ -624,5 +632,176 @@ public class EstabelecimentoControllerTests {
                     () -> assertEquals("estabelecimento inexistente!", resultado.getMessage())
             );
         }
+
+        @Test
+        @DisplayName("Quando recuperamos um cardapio depois de alterar os sabores do estabelecimento")
+        void testRecuperarCardapioAposAlterarSabores() throws Exception {
+            // Arrange
+            // cardapio consultado antes da alteracao
+            driver.perform(get(URI_ESTABELECIMENTO + "/" + estabelecimento.getId() + "/cardapio"))
+                    .andExpect(status().isOk());
+
+            SaborRequestDTO saborRequestDTO = SaborRequestDTO.builder()
+                    .nome("Calabresa")
+                    .precoMedia(25.0)
+                    .precoGrande(35.0)
+                    .tipo(TipoSabor.SALGADO)
+                    .build();
+
+            String saborJsonString = driver.perform(post("/sabor")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .content(objectMapper.writeValueAsString(saborRequestDTO)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            Long saborId = objectMapper.readTree(saborJsonString).get("id").asLong();
+
+            driver.perform(put("/sabor/" + saborId + "/disponibilidade")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .param("disponibilidade", "false"))
+                    .andExpect(status().isOk());
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_ESTABELECIMENTO + "/" + estabelecimento.getId() + "/cardapio/" + TipoSabor.SALGADO))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+            List<SaborCardapioDTO> resultado = objectMapper.readValue(responseJsonString, new TypeReference<>() {
+            });
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(1, resultado.size()),
+                    () -> assertEquals("Calabresa", resultado.get(0).getNome()),
+                    () -> assertFalse(resultado.get(0).getDisponivel())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos de verificação da etag do cardapio")
+    class EstabelecimentoVerificacaoEtagCardapio {
+
+        @Test
+        @DisplayName("Quando recuperamos um cardapio ele vem com etag")
+        void testRecuperarCardapioComEtag() throws Exception {
+            // Arrange
+            // nenhuma necessidade além do setup()
+
+            // Act
+            MockHttpServletResponse resposta = driver.perform(get(URI_ESTABELECIMENTO + "/" + estabelecimento.getId() + "/cardapio"))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse();
+
+            // Assert
+            assertAll(
+                    () -> assertNotNull(resposta.getHeader(HttpHeaders.ETAG)),
+                    () -> assertEquals("no-cache", resposta.getHeader(HttpHeaders.CACHE_CONTROL))
+            );
+        }
+
+        @Test
+        @DisplayName("Quando recuperamos um cardapio com a etag atual")
+        void testRecuperarCardapioComEtagAtual() throws Exception {
+            // Arrange
+            String etag = driver.perform(get(URI_ESTABELECIMENTO + "/" + estabelecimento.getId() + "/cardapio"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            // Act
+            MockHttpServletResponse resposta = driver.perform(get(URI_ESTABELECIMENTO + "/" + estabelecimento.getId() + "/cardapio")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andDo(print())
+                    .andReturn().getResponse();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(etag, resposta.getHeader(HttpHeaders.ETAG)),
+                    () -> assertEquals("", resposta.getContentAsString())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando recuperamos um cardapio por tipo com a etag atual")
+        void testRecuperarCardapioPorTipoComEtagAtual() throws Exception {
+            // Arrange
+            String etag = driver.perform(get(URI_ESTABELECIMENTO + "/" + estabelecimento.getId() + "/cardapio"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            // Act
+            MockHttpServletResponse resposta = driver.perform(get(URI_ESTABELECIMENTO + "/" + estabelecimento.getId() + "/cardapio/" + TipoSabor.SALGADO)
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andDo(print())
+                    .andReturn().getResponse();
+
+            // Assert
+            assertEquals("", resposta.getContentAsString());
+        }
+
+        @Test
+        @DisplayName("Quando enviamos a etag de um cardapio para um estabelecimento inexistente")
+        void testRecuperarCardapioInexistenteComEtagForjada() throws Exception {
+            // Arrange
+            String etag = driver.perform(get(URI_ESTABELECIMENTO + "/" + estabelecimento.getId() + "/cardapio"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            String etagForjada = etag.replace("cardapio-" + estabelecimento.getId() + "-", "cardapio-999999-");
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_ESTABELECIMENTO + "/999999/cardapio")
+                            .header(HttpHeaders.IF_NONE_MATCH, etagForjada))
+                    .andExpect(status().isNotFound())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            // Assert
+            assertEquals("estabelecimento inexistente!", resultado.getMessage());
+        }
+
+        @Test
+        @DisplayName("Quando recuperamos um cardapio com etag antiga depois de alterar os sabores")
+        void testRecuperarCardapioComEtagAntiga() throws Exception {
+            // Arrange
+            String etagAntiga = driver.perform(get(URI_ESTABELECIMENTO + "/" + estabelecimento.getId() + "/cardapio"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            SaborRequestDTO saborRequestDTO = SaborRequestDTO.builder()
+                    .nome("Calabresa")
+                    .precoMedia(25.0)
+                    .precoGrande(35.0)
+                    .tipo(TipoSabor.SALGADO)
+                    .build();
+            driver.perform(post("/sabor")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .content(objectMapper.writeValueAsString(saborRequestDTO)))
+                    .andExpect(status().isCreated());
+
+            // Act
+            MockHttpServletResponse resposta = driver.perform(get(URI_ESTABELECIMENTO + "/" + estabelecimento.getId() + "/cardapio")
+                            .header(HttpHeaders.IF_NONE_MATCH, etagAntiga))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse();
+            List<SaborCardapioDTO> resultado = objectMapper.readValue(resposta.getContentAsString(), new TypeReference<>() {
+            });
+
+            // Assert
+            assertAll(
+                    () -> assertNotEquals(etagAntiga, resposta.getHeader(HttpHeaders.ETAG)),
+                    () -> assertEquals(1, resultado.size()),
+                    () -> assertEquals("Calabresa", resultado.get(0).getNome())
+            );
+        }
     }
 }
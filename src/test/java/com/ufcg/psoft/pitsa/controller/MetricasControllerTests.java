@@ -0,0 +1,232 @@
+package com.ufcg.psoft.pitsa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.pizza.PizzaRequestDTO;
+import com.ufcg.psoft.pitsa.metricas.MetricasEntregadores;
+import com.ufcg.psoft.pitsa.model.*;
+import com.ufcg.psoft.pitsa.model.enums.*;
+import com.ufcg.psoft.pitsa.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// banco proprio porque a exportacao de metricas exige um contexto diferente do compartilhado pelos outros testes
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricas")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Testes das metricas expostas pela aplicacao")
+public class MetricasControllerTests {
+
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    MetricasEntregadores metricasEntregadores;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    EstabelecimentoRepository estabelecimentoRepository;
+
+    @Autowired
+    EntregadorRepository entregadorRepository;
+
+    @Autowired
+    AssociacaoRepository associacaoRepository;
+
+    @Autowired
+    EventoPendenteRepository eventoPendenteRepository;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    Estabelecimento estabelecimento;
+    Cliente cliente;
+    Entregador entregador;
+
+    @BeforeEach
+    void setUp() {
+        estabelecimento = estabelecimentoRepository.save(Estabelecimento.builder()
+                .sabores(new ArrayList<>(List.of(Sabor.builder()
+                        .nome("Calabresa")
+                        .tipo(TipoSabor.SALGADO)
+                        .precoMedia(Dinheiro.deReais(10.0))
+                        .precoGrande(Dinheiro.deReais(20.0))
+                        .disponivel(true)
+                        .build())))
+                .codigoAcesso("111111")
+                .build());
+
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Metricas")
+                .endereco("Rua das Metricas, 1")
+                .codigoAcesso("222222")
+                .build());
+
+        entregador = entregadorRepository.save(Entregador.builder()
+                .nome("Entregador Metricas")
+                .veiculo(new Veiculo("MET-1234", TipoVeiculo.MOTO, "Azul"))
+                .codigoAcesso("333333")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        eventoPendenteRepository.deleteAll();
+        associacaoRepository.deleteAll();
+        entregadorRepository.deleteAll();
+        clienteRepository.deleteAll();
+        estabelecimentoRepository.deleteAll();
+    }
+
+    private void associarEntregador(DisponibilidadeEntregador disponibilidade) {
+        associacaoRepository.save(Associacao.builder()
+                .entregador(entregador)
+                .estabelecimento(estabelecimento)
+                .status(StatusAssociacao.APROVADO)
+                .disponibilidadeEntregador(disponibilidade)
+                .build());
+    }
+
+    private Long criarPedidoPronto() throws Exception {
+        PedidoRequestDTO pedidoRequestDTO = PedidoRequestDTO.builder()
+                .enderecoEntrega("Rua das Metricas, 1")
+                .pizzas(List.of(PizzaRequestDTO.builder().tamanho(TamanhoPizza.MEDIA).sabor1("Calabresa").build()))
+                .build();
+
+        String resposta = driver.perform(post("/pedido")
+                        .param("clienteId", cliente.getId().toString())
+                        .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                        .param("estabelecimentoId", estabelecimento.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pedidoRequestDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long pedidoId = objectMapper.readTree(resposta).get("id").asLong();
+
+        driver.perform(put("/pedido/" + pedidoId + "/confirmar-pagamento")
+                        .param("clienteId", cliente.getId().toString())
+                        .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                        .param("metodoPagamento", "PIX"))
+                .andExpect(status().isOk());
+
+        driver.perform(put("/pedido/" + pedidoId + "/finalizar-preparo-pedido")
+                        .param("estabelecimentoId", estabelecimento.getId().toString())
+                        .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso()))
+                .andExpect(status().isOk());
+        return pedidoId;
+    }
+
+    private long etapas(StatusPedido status) {
+        return meterRegistry.get("pitsa.pedido.etapa").tag("status", status.name()).timer().count();
+    }
+
+    private String scrape() throws Exception {
+        return driver.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Nested
+    @DisplayName("Quando o pedido percorre o ciclo de vida")
+    class CicloPedido {
+
+        @Test
+        @DisplayName("Quando o pedido e entregue, cada etapa e o ciclo completo sao cronometrados")
+        void quandoPedidoEntregueCronometraEtapas() throws Exception {
+            // Arrange
+            associarEntregador(DisponibilidadeEntregador.ATIVO);
+            long recebidos = etapas(StatusPedido.PEDIDO_RECEBIDO);
+            long emRota = etapas(StatusPedido.PEDIDO_EM_ROTA);
+            long ciclos = meterRegistry.get("pitsa.pedido.ciclo").timer().count();
+            long despachos = meterRegistry.get("pitsa.despacho.espera").timer().count();
+
+            // Act
+            Long pedidoId = criarPedidoPronto();
+            driver.perform(put("/pedido/" + pedidoId + "/confirmar-entrega")
+                            .param("clienteId", cliente.getId().toString())
+                            .param("codigoAcessoCliente", cliente.getCodigoAcesso()))
+                    .andExpect(status().isOk());
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(recebidos + 1, etapas(StatusPedido.PEDIDO_RECEBIDO)),
+                    () -> assertEquals(emRota + 1, etapas(StatusPedido.PEDIDO_EM_ROTA)),
+                    () -> assertEquals(ciclos + 1, meterRegistry.get("pitsa.pedido.ciclo").timer().count()),
+                    () -> assertEquals(despachos + 1, meterRegistry.get("pitsa.despacho.espera").timer().count())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando nao ha entregador livre, o pedido pronto conta como entregador indisponivel")
+        void quandoSemEntregadorContaIndisponivel() throws Exception {
+            // Arrange
+            double indisponiveis = meterRegistry.get("pitsa.entregador.indisponivel").counter().count();
+            long despachos = meterRegistry.get("pitsa.despacho.espera").timer().count();
+
+            // Act
+            criarPedidoPronto();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(indisponiveis + 1, meterRegistry.get("pitsa.entregador.indisponivel").counter().count()),
+                    () -> assertEquals(despachos, meterRegistry.get("pitsa.despacho.espera").timer().count())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Quando o endpoint do Prometheus e consultado")
+    class ScrapePrometheus {
+
+        @Test
+        @DisplayName("Quando ha entregadores aprovados, exporta a quantidade por estabelecimento e disponibilidade")
+        void quandoEntregadoresAprovadosExportaDisponibilidade() throws Exception {
+            // Arrange
+            associarEntregador(DisponibilidadeEntregador.EM_DESCANSO);
+            metricasEntregadores.atualizar();
+
+            // Act
+            String metricas = scrape();
+
+            // Assert
+            assertTrue(metricas.contains("pitsa_entregadores{disponibilidade=\"EM_DESCANSO\",estabelecimento=\"" + estabelecimento.getId() + "\",} 1.0"), metricas);
+        }
+
+        @Test
+        @DisplayName("Quando um controlador e chamado, a latencia e exportada com o nome do controlador")
+        void quandoControladorChamadoExportaLatencia() throws Exception {
+            // Arrange
+            driver.perform(get("/estabelecimento/" + estabelecimento.getId() + "/cardapio")).andExpect(status().isOk());
+
+            // Act
+            String metricas = scrape();
+
+            // Assert
+            assertAll(
+                    () -> assertTrue(metricas.contains("http_server_requests_seconds_count{controller=\"EstabelecimentoController\""), metricas),
+                    () -> assertTrue(metricas.contains("pitsa_pedido_etapa_seconds_count{status=\"PEDIDO_RECEBIDO\",}"), metricas)
+            );
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.ufcg.psoft.pitsa.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.CotacaoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoRequestDTO;
 import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
 import com.ufcg.psoft.pitsa.dto.pizza.PizzaRequestDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.SaborRequestDTO;
 import com.ufcg.psoft.pitsa.exception.CustomErrorType;
 import com.ufcg.psoft.pitsa.model.*;
 import com.ufcg.psoft.pitsa.model.enums.*;
@@ -14,18 +18,27 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -59,6 +72,9 @@ public class PedidoControllerTests {
     @Autowired
     AssociacaoRepository associacaoRepository;
 
+    @Autowired
+    EventoPendenteRepository eventoPendenteRepository;
+
     ObjectMapper objectMapper = new ObjectMapper();
 
     Cliente cliente;
@@ -84,16 +100,16 @@ public class PedidoControllerTests {
         sabor1 = Sabor.builder()
                 .nome("Sabor Um")
                 .tipo(TipoSabor.SALGADO)
-                .precoMedia(10.0)
-                .precoGrande(20.0)
+                .precoMedia(Dinheiro.deReais(10.0))
+                .precoGrande(Dinheiro.deReais(20.0))
                 .disponivel(true)
                 .build();
 
         sabor2 = Sabor.builder()
                 .nome("Sabor Dois")
                 .tipo(TipoSabor.DOCE)
-                .precoMedia(15.0)
-                .precoGrande(30.0)
+                .precoMedia(Dinheiro.deReais(15.0))
+                .precoGrande(Dinheiro.deReais(30.0))
                 .disponivel(true)
                 .build();
 
@@ -142,7 +158,7 @@ public class PedidoControllerTests {
         List<Pizza> pizzas2 = List.of(pizzaM2, pizzaG2);
 
         pedido = Pedido.builder()
-                .valorPedido(35.0)
+                .valorPedido(Dinheiro.deReais(35.0))
                 .clienteId(cliente.getId())
                 .estabelecimentoId(estabelecimento.getId())
                 .entregadorId(entregador.getId())
@@ -154,7 +170,7 @@ public class PedidoControllerTests {
                 .build();
 
         pedido2 = Pedido.builder()
-                .valorPedido(100.0)
+                .valorPedido(Dinheiro.deReais(100.0))
                 .clienteId(cliente.getId())
                 .estabelecimentoId(estabelecimento.getId())
                 .entregadorId(entregador.getId())
@@ -323,6 +339,52 @@ public class PedidoControllerTests {
 
         }
 
+        @Test
+        @DisplayName("Quando criamos um pedido com sabor de mesmo nome em outro estabelecimento")
+        void testCriarPedidoComSaborDeMesmoNomeEmOutroEstabelecimento() throws Exception {
+            //Arrange
+            //outro estabelecimento com sabores homonimos e precos diferentes
+            Sabor outroSabor1 = Sabor.builder()
+                    .nome(sabor1.getNome())
+                    .tipo(TipoSabor.SALGADO)
+                    .precoMedia(Dinheiro.deReais(50.0))
+                    .precoGrande(Dinheiro.deReais(60.0))
+                    .disponivel(true)
+                    .build();
+            Sabor outroSabor2 = Sabor.builder()
+                    .nome(sabor2.getNome())
+                    .tipo(TipoSabor.DOCE)
+                    .precoMedia(Dinheiro.deReais(50.0))
+                    .precoGrande(Dinheiro.deReais(60.0))
+                    .disponivel(true)
+                    .build();
+            estabelecimentoRepository.save(Estabelecimento.builder()
+                    .sabores(List.of(outroSabor1, outroSabor2))
+                    .codigoAcesso("222222")
+                    .build());
+
+            // Act
+            String responseJsonString = driver.perform(MockMvcRequestBuilders.post(URI_PEDIDOS)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .param("clienteId", cliente.getId().toString())
+                            .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .content(objectMapper.writeValueAsString(pedidoRequestDTO)))
+                    .andExpect(status().isCreated())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            PedidoResponseDTO resultado = objectMapper.readValue(responseJsonString, PedidoResponseDTO.PedidoResponseDTOBuilder.class).build();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(sabor1.getId(), resultado.getPizzas().get(0).getSabor1().getId()),
+                    () -> assertEquals(sabor2.getId(), resultado.getPizzas().get(1).getSabor2().getId()),
+                    () -> assertEquals(pedido.getValorPedido(), resultado.getValorPedido())
+            );
+
+        }
+
         @Test
         @DisplayName("Quando criamos um pedido inserindo uma pizza M com 2 sabores")
         void testCriarPedidoPizzaMComDoisSabores() throws Exception {
@@ -534,6 +596,40 @@ public class PedidoControllerTests {
             assertEquals(2, resultado.size());
         }
 
+        @Test
+        @DisplayName("Quando listamos os pedidos do cliente em paginas")
+        void testListarPedidosPaginados() throws Exception {
+            // Arrange
+            pedido.setStatusPedido(StatusPedido.PEDIDO_EM_PREPARO);
+            pedidoRepository.save(pedido);
+            pedido2.setStatusPedido(StatusPedido.PEDIDO_RECEBIDO);
+            pedidoRepository.save(pedido2);
+
+            // Act
+            List<Long> ids = new ArrayList<>();
+            String cursor = null;
+            int paginas = 0;
+            do {
+                MockHttpServletResponse response = driver.perform(get(URI_PEDIDOS + "/cliente/" + cliente.getId() + "/all")
+                                .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                                .param("tamanho", "1")
+                                .param("cursor", cursor))
+                        .andExpect(status().isOk())
+                        .andDo(print())
+                        .andReturn().getResponse();
+
+                List<PedidoResponseDTO> resultado = objectMapper.readValue(response.getContentAsString(), new TypeReference<>() {
+                });
+                resultado.forEach(p -> ids.add(p.getId()));
+                cursor = response.getHeader(PaginaResponseDTO.CABECALHO_CURSOR);
+                paginas++;
+            } while (cursor != null && paginas < 10);
+
+            // Assert
+            // a ordem segue o status do pedido, mesmo quebrada em paginas
+            assertEquals(List.of(pedido2.getId(), pedido.getId()), ids);
+        }
+
         @Test
         @DisplayName("Quando listamos todos os pedidos do estabelecimento")
         void testListarPedidosEstabelecimento() throws Exception {
@@ -557,6 +653,83 @@ public class PedidoControllerTests {
             assertEquals(2, resultado.size());
         }
 
+        @Test
+        @DisplayName("Quando exportamos os pedidos do estabelecimento filtrando por status")
+        void testExportarPedidosEstabelecimentoPorStatus() throws Exception {
+            // Arrange
+            pedidoRepository.save(pedido);
+            pedido2.setStatusPedido(StatusPedido.PEDIDO_PRONTO);
+            pedidoRepository.save(pedido2);
+
+            // Act
+            MvcResult exportacao = driver.perform(get(URI_PEDIDOS + "/estabelecimento/" + estabelecimento.getId() + "/exportar")
+                            .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .param("statusPedido", StatusPedido.PEDIDO_EM_PREPARO.name()))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String responseString = driver.perform(asyncDispatch(exportacao))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            List<JsonNode> linhas = responseString.lines().map(linha -> {
+                try {
+                    return objectMapper.readTree(linha);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).toList();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(1, linhas.size()),
+                    () -> assertEquals(pedido.getId(), linhas.get(0).get("id").asLong()),
+                    () -> assertEquals(2, linhas.get(0).get("pizzas").size()),
+                    () -> assertTrue(linhas.get(0).hasNonNull("dataCriacao"))
+            );
+        }
+
+        @Test
+        @DisplayName("Quando exportamos os pedidos do estabelecimento em um periodo sem pedidos")
+        void testExportarPedidosEstabelecimentoPeriodoVazio() throws Exception {
+            // Arrange
+            pedidoRepository.save(pedido);
+            pedidoRepository.save(pedido2);
+
+            // Act
+            MvcResult exportacao = driver.perform(get(URI_PEDIDOS + "/estabelecimento/" + estabelecimento.getId() + "/exportar")
+                            .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .param("de", "2020-01-01")
+                            .param("ate", "2020-12-31"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String responseString = driver.perform(asyncDispatch(exportacao))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            assertTrue(responseString.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Quando exportamos os pedidos do estabelecimento com codigo de acesso invalido")
+        void testExportarPedidosEstabelecimentoCodigoInvalido() throws Exception {
+            // Arrange
+            pedidoRepository.save(pedido);
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_PEDIDOS + "/estabelecimento/" + estabelecimento.getId() + "/exportar")
+                            .param("codigoAcessoEstabelecimento", "000000"))
+                    .andExpect(status().isUnauthorized())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            // Assert
+            assertEquals("Codigo de acesso invalido!", resultado.getMessage());
+        }
+
         @Test
         @DisplayName("Quando um cliente tenta recuperar um pedido inexistente")
         void testRecuperaPedidoInexistenteCliente() throws Exception {
@@ -636,16 +809,16 @@ public class PedidoControllerTests {
             Sabor saborTest1 = Sabor.builder()
                     .nome("Sabor Um")
                     .tipo(TipoSabor.SALGADO)
-                    .precoMedia(10.0)
-                    .precoGrande(20.0)
+                    .precoMedia(Dinheiro.deReais(10.0))
+                    .precoGrande(Dinheiro.deReais(20.0))
                     .disponivel(true)
                     .build();
 
             Sabor saborTest2 = Sabor.builder()
                     .nome("Sabor Dois")
                     .tipo(TipoSabor.DOCE)
-                    .precoMedia(15.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(15.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .disponivel(true)
                     .build();
 
@@ -781,16 +954,16 @@ public class PedidoControllerTests {
             Sabor saborTest1 = Sabor.builder()
                     .nome("Sabor Um")
                     .tipo(TipoSabor.SALGADO)
-                    .precoMedia(10.0)
-                    .precoGrande(20.0)
+                    .precoMedia(Dinheiro.deReais(10.0))
+                    .precoGrande(Dinheiro.deReais(20.0))
                     .disponivel(true)
                     .build();
 
             Sabor saborTest2 = Sabor.builder()
                     .nome("Sabor Dois")
                     .tipo(TipoSabor.DOCE)
-                    .precoMedia(15.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(15.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .disponivel(true)
                     .build();
 
@@ -828,7 +1001,7 @@ public class PedidoControllerTests {
                     .clienteId(cliente.getId())
                     .enderecoEntrega("Esperança")
                     .pizzas(List.of(pizzaG1))
-                    .valorPedido(100.0)
+                    .valorPedido(Dinheiro.deReais(100.0))
                     .statusPagamento(false)
                     .build()
             );
@@ -854,7 +1027,7 @@ public class PedidoControllerTests {
             PedidoResponseDTO resultado = objectMapper.readValue(responseJsonString, PedidoResponseDTO.class);
 
             assertAll(
-                    () -> assertEquals(100.0, resultado.getValorPedido()),
+                    () -> assertEquals(Dinheiro.deReais(100.0), resultado.getValorPedido()),
                     () -> assertTrue(resultado.isStatusPagamento())
             );
 
@@ -880,7 +1053,7 @@ public class PedidoControllerTests {
             PedidoResponseDTO resultado = objectMapper.readValue(responseJsonString, PedidoResponseDTO.class);
 
             assertAll(
-                    () -> assertEquals(97.5, resultado.getValorPedido()),
+                    () -> assertEquals(Dinheiro.deReais(97.5), resultado.getValorPedido()),
                     () -> assertTrue(resultado.isStatusPagamento())
             );
 
@@ -906,11 +1079,37 @@ public class PedidoControllerTests {
             PedidoResponseDTO resultado = objectMapper.readValue(responseJsonString, PedidoResponseDTO.class);
 
             assertAll(
-                    () -> assertEquals(95.0, resultado.getValorPedido()),
+                    () -> assertEquals(Dinheiro.deReais(95.0), resultado.getValorPedido()),
                     () -> assertTrue(resultado.isStatusPagamento())
             );
         }
 
+        @Test
+        @DisplayName("Quando o desconto cai em fracao de centavo, o valor e arredondado no centavo")
+        void testConfirmarPagamentoDebitoArredondaCentavo() throws Exception {
+            // Arrange
+            // 2,5% de 10,10 = 0,2525: o desconto vira 0,25 e o total fica em 9,85 (em double sairia 9,8475)
+            pedido1.setValorPedido(Dinheiro.deReais(10.10));
+            pedidoRepository.save(pedido1);
+
+            // Act
+            String responseJsonString = driver.perform(put(URI_PEDIDOS + "/" + pedido1.getId() + "/confirmar-pagamento")
+                            .param("clienteId", cliente.getId().toString())
+                            .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                            .param("metodoPagamento", MetodoPagamento.DEBITO.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.valor").value(9.85))
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            PedidoResponseDTO resultado = objectMapper.readValue(responseJsonString, PedidoResponseDTO.class);
+
+            assertAll(
+                    () -> assertEquals(Dinheiro.deCentavos(985), resultado.getValorPedido()),
+                    () -> assertEquals(Dinheiro.deCentavos(985), pedidoRepository.findById(pedido1.getId()).get().getValorPedido())
+            );
+        }
+
         @Test
         @DisplayName("Quando confirmamos o pagamento com metodo invalido")
         void testConfirmarPagamentoMetodoInvalido() throws Exception {
@@ -1030,7 +1229,7 @@ public class PedidoControllerTests {
                     .clienteId(cliente.getId())
                     .enderecoEntrega("Esperança")
                     .pizzas(List.of(pizzaG1))
-                    .valorPedido(100.0)
+                    .valorPedido(Dinheiro.deReais(100.0))
                     .statusPagamento(false)
                     .build()
             );
@@ -1080,6 +1279,14 @@ public class PedidoControllerTests {
             pedidoRepository.deleteAll();
         }
 
+        // as notificacoes sao entregues de forma assincrona, depois do commit
+        private String aguardarNotificacoes() throws InterruptedException {
+            for (int i = 0; i < 50 && eventoPendenteRepository.countByEntregueEmIsNull() > 0; i++) {
+                Thread.sleep(100);
+            }
+            return logOutputStream.toString();
+        }
+
         // --------------------------- PEDIDO_RECEBIDO ---------------------------
 
         @Test
@@ -1211,7 +1418,7 @@ public class PedidoControllerTests {
 
             // Assert
             PedidoResponseDTO resultado = objectMapper.readValue(responseJsonString, PedidoResponseDTO.class);
-            String logContent = logOutputStream.toString();
+            String logContent = aguardarNotificacoes();
 
             assertAll(
                     // pedido em rota
@@ -1257,7 +1464,7 @@ public class PedidoControllerTests {
 
             // Assert
             PedidoResponseDTO resultado = objectMapper.readValue(responseJsonString, PedidoResponseDTO.class);
-            String logContent = logOutputStream.toString();
+            String logContent = aguardarNotificacoes();
 
             assertAll(
                     // pedido pronto
@@ -1268,6 +1475,122 @@ public class PedidoControllerTests {
 
         }
 
+        @Test
+        @DisplayName("Quando finalizamos dois pedidos ao mesmo tempo e so tem um entregador disponivel")
+        void testFinalizarPedidosConcorrentesComUmEntregadorDisponivel() throws Exception {
+            // Arrange
+            pedido1.setStatusPedido(StatusPedido.PEDIDO_EM_PREPARO);
+            pedidoRepository.save(pedido1);
+            Pedido outroPedido = pedidoRepository.save(Pedido.builder()
+                    .estabelecimentoId(estabelecimento.getId())
+                    .clienteId(cliente.getId())
+                    .enderecoEntrega("Esperança")
+                    .pizzas(List.of(pizzaM2))
+                    .valorPedido(Dinheiro.deReais(50.0))
+                    .statusPagamento(true)
+                    .statusPedido(StatusPedido.PEDIDO_EM_PREPARO)
+                    .build()
+            );
+
+            associacaoe1.setStatus(StatusAssociacao.APROVADO);
+            associacaoe1.setDisponibilidadeEntregador(DisponibilidadeEntregador.ATIVO);
+            associacaoRepository.save(associacaoe1);
+
+            // Act
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<PedidoResponseDTO>> resultados = new ArrayList<>();
+            for (Pedido p : List.of(pedido1, outroPedido)) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    String responseJsonString = driver.perform(put(URI_PEDIDOS + "/" + p.getId() + "/finalizar-preparo-pedido")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .param("estabelecimentoId", estabelecimento.getId().toString())
+                                    .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso()))
+                            .andExpect(status().isOk())
+                            .andReturn().getResponse().getContentAsString();
+                    return objectMapper.readValue(responseJsonString, PedidoResponseDTO.class);
+                }));
+            }
+            largada.countDown();
+            List<StatusPedido> status = new ArrayList<>();
+            for (Future<PedidoResponseDTO> resultado : resultados) {
+                status.add(resultado.get(30, TimeUnit.SECONDS).getStatusPedido());
+            }
+            executor.shutdown();
+
+            // Assert
+            assertAll(
+                    // apenas um pedido saiu com o unico entregador
+                    () -> assertEquals(1, status.stream().filter(StatusPedido.PEDIDO_EM_ROTA::equals).count()),
+                    () -> assertEquals(1, status.stream().filter(StatusPedido.PEDIDO_PRONTO::equals).count()),
+                    () -> assertEquals(DisponibilidadeEntregador.ENTREGANDO, associacaoRepository.findById(associacaoe1.getId()).get().getDisponibilidadeEntregador())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando entregadores ficam ativos os pedidos prontos sao despachados por ordem de criacao")
+        void testDespacharPedidosProntosPorOrdemDeCriacao() throws Exception {
+            // Arrange
+            pedido1.setStatusPedido(StatusPedido.PEDIDO_EM_PREPARO);
+            pedidoRepository.save(pedido1);
+            Pedido outroPedido = pedidoRepository.save(Pedido.builder()
+                    .estabelecimentoId(estabelecimento.getId())
+                    .clienteId(cliente.getId())
+                    .enderecoEntrega("Esperança")
+                    .pizzas(List.of(pizzaM2))
+                    .valorPedido(Dinheiro.deReais(50.0))
+                    .statusPagamento(true)
+                    .statusPedido(StatusPedido.PEDIDO_EM_PREPARO)
+                    .build()
+            );
+            associacaoe1.setStatus(StatusAssociacao.APROVADO);
+            associacaoe2.setStatus(StatusAssociacao.APROVADO);
+            associacaoRepository.save(associacaoe1);
+            associacaoRepository.save(associacaoe2);
+
+            // sem entregadores ativos os dois pedidos ficam aguardando na fila
+            for (Pedido p : List.of(outroPedido, pedido1)) {
+                driver.perform(put(URI_PEDIDOS + "/" + p.getId() + "/finalizar-preparo-pedido")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .param("estabelecimentoId", estabelecimento.getId().toString())
+                                .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso()))
+                        .andExpect(status().isOk());
+            }
+
+            // Act
+            driver.perform(put("/associacao/atualizar-disponibilidade-entregador")
+                            .param("entregadorId", e1.getId().toString())
+                            .param("associacaoId", associacaoe1.getId().toString())
+                            .param("codigoAcessoEntregador", e1.getCodigoAcesso())
+                            .param("disponibilidadeEntregador", DisponibilidadeEntregador.ATIVO.toString()))
+                    .andExpect(status().isOk())
+                    .andDo(print());
+
+            Pedido primeiroDespachado = pedidoRepository.findById(pedido1.getId()).get();
+            Pedido aindaNaFila = pedidoRepository.findById(outroPedido.getId()).get();
+
+            driver.perform(put("/associacao/atualizar-disponibilidade-entregador")
+                            .param("entregadorId", e2.getId().toString())
+                            .param("associacaoId", associacaoe2.getId().toString())
+                            .param("codigoAcessoEntregador", e2.getCodigoAcesso())
+                            .param("disponibilidadeEntregador", DisponibilidadeEntregador.ATIVO.toString()))
+                    .andExpect(status().isOk())
+                    .andDo(print());
+
+            Pedido segundoDespachado = pedidoRepository.findById(outroPedido.getId()).get();
+
+            // Assert
+            assertAll(
+                    // o pedido criado primeiro sai com o primeiro entregador, mesmo tendo ficado pronto depois
+                    () -> assertEquals(StatusPedido.PEDIDO_EM_ROTA, primeiroDespachado.getStatusPedido()),
+                    () -> assertEquals(e1.getId(), primeiroDespachado.getEntregadorId()),
+                    () -> assertEquals(StatusPedido.PEDIDO_PRONTO, aindaNaFila.getStatusPedido()),
+                    () -> assertEquals(StatusPedido.PEDIDO_EM_ROTA, segundoDespachado.getStatusPedido()),
+                    () -> assertEquals(e2.getId(), segundoDespachado.getEntregadorId())
+            );
+        }
+
         @Test
         @DisplayName("Quando mudamos o status do pedido de PEDIDO_EM_PREPARO para PEDIDO_EM_PREPARO")
         void testMudarStatusEmPreparoParaEmPreparo() throws Exception {
@@ -1411,7 +1734,7 @@ public class PedidoControllerTests {
                     .andReturn().getResponse().getContentAsString();
 
 
-            String logContent = logOutputStream.toString();
+            String logContent = aguardarNotificacoes();
             PedidoResponseDTO resultado = objectMapper.readValue(responseJsonString, PedidoResponseDTO.class);
 
             //Assert
@@ -1545,4 +1868,603 @@ public class PedidoControllerTests {
             assertEquals("O pedido ja foi Entregue portanto nao pode ser alterado!", resultado.getMessage());
         }
     }
+
+    @Nested
+    @DisplayName("Conjunto de casos de verificação do historico de transicoes e do SLA")
+    class PedidoVerificacaoTransicoes {
+
+        @Autowired
+        PedidoTransicaoRepository pedidoTransicaoRepository;
+
+        @Autowired
+        SlaEtapaRepository slaEtapaRepository;
+
+        Pedido pedido1;
+
+        @BeforeEach
+        void setUp() {
+            pedido1 = pedidoRepository.save(Pedido.builder()
+                    .estabelecimentoId(estabelecimento.getId())
+                    .clienteId(cliente.getId())
+                    .enderecoEntrega("Esperança")
+                    .pizzas(List.of(pizzaG1))
+                    .valorPedido(Dinheiro.deReais(100.0))
+                    .statusPagamento(false)
+                    .build()
+            );
+        }
+
+        @AfterEach
+        void tearDown() {
+            pedidoTransicaoRepository.deleteAll();
+            slaEtapaRepository.deleteAll();
+        }
+
+        private void pagarEFinalizarPreparo() throws Exception {
+            driver.perform(put(URI_PEDIDOS + "/" + pedido1.getId() + "/confirmar-pagamento")
+                            .param("clienteId", cliente.getId().toString())
+                            .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                            .param("metodoPagamento", MetodoPagamento.PIX.toString()))
+                    .andExpect(status().isOk());
+            driver.perform(put(URI_PEDIDOS + "/" + pedido1.getId() + "/finalizar-preparo-pedido")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso()))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("Quando o pedido muda de status, cada transicao e registrada em ordem")
+        void quandoPedidoMudaStatusRegistraTransicoes() throws Exception {
+            // Arrange
+            // nenhum entregador ativo, o pedido para em PEDIDO_PRONTO
+
+            // Act
+            pagarEFinalizarPreparo();
+
+            // Assert
+            List<PedidoTransicao> transicoes = pedidoTransicaoRepository.findAllByPedidoIdOrderByIdAsc(pedido1.getId());
+            assertAll(
+                    () -> assertEquals(2, transicoes.size()),
+                    () -> assertEquals(StatusPedido.PEDIDO_RECEBIDO, transicoes.get(0).getDe()),
+                    () -> assertEquals(StatusPedido.PEDIDO_EM_PREPARO, transicoes.get(0).getPara()),
+                    () -> assertEquals(StatusPedido.PEDIDO_EM_PREPARO, transicoes.get(1).getDe()),
+                    () -> assertEquals(StatusPedido.PEDIDO_PRONTO, transicoes.get(1).getPara()),
+                    () -> assertEquals(estabelecimento.getId(), transicoes.get(1).getEstabelecimentoId()),
+                    () -> assertEquals(StatusPedido.PEDIDO_PRONTO, pedidoRepository.findById(pedido1.getId()).get().getStatusPedido())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando a transicao e invalida, nada e registrado")
+        void quandoTransicaoInvalidaNaoRegistra() throws Exception {
+            // Arrange
+            // pedido ainda nao foi pago
+
+            // Act
+            driver.perform(put(URI_PEDIDOS + "/" + pedido1.getId() + "/finalizar-preparo-pedido")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso()))
+                    .andExpect(status().isBadRequest());
+
+            // Assert
+            assertTrue(pedidoTransicaoRepository.findAllByPedidoIdOrderByIdAsc(pedido1.getId()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Quando consultamos o SLA do estabelecimento, cada etapa concluida aparece com sua quantidade")
+        void quandoConsultamosSlaEstabelecimento() throws Exception {
+            // Arrange
+            pagarEFinalizarPreparo();
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_PEDIDOS + "/estabelecimento/" + estabelecimento.getId() + "/sla")
+                            .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .param("de", LocalDateTime.now().minusHours(1).toString()))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            JsonNode sla = objectMapper.readTree(responseJsonString);
+            assertAll(
+                    () -> assertEquals(2, sla.size()),
+                    () -> assertEquals("PEDIDO_RECEBIDO", sla.get(0).get("etapa").asText()),
+                    () -> assertEquals(1, sla.get(0).get("quantidade").asLong()),
+                    () -> assertEquals("PEDIDO_EM_PREPARO", sla.get(1).get("etapa").asText()),
+                    () -> assertEquals(1, sla.get(1).get("quantidade").asLong()),
+                    () -> assertTrue(sla.get(1).get("medianaMs").asLong() >= sla.get(1).get("mediaMs").asDouble())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando consultamos o SLA fora da janela das transicoes, nada e retornado")
+        void quandoConsultamosSlaForaDaJanela() throws Exception {
+            // Arrange
+            pagarEFinalizarPreparo();
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_PEDIDOS + "/estabelecimento/" + estabelecimento.getId() + "/sla")
+                            .param("codigoAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .param("de", LocalDateTime.now().minusDays(3).toString())
+                            .param("ate", LocalDateTime.now().minusDays(2).toString()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            assertEquals(0, objectMapper.readTree(responseJsonString).size());
+        }
+
+        @Test
+        @DisplayName("Quando consultamos o SLA com codigo de acesso invalido")
+        void quandoConsultamosSlaCodigoInvalido() throws Exception {
+            // Arrange
+            // nenhuma necessidade alem do setup()
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_PEDIDOS + "/estabelecimento/" + estabelecimento.getId() + "/sla")
+                            .param("codigoAcessoEstabelecimento", "999999"))
+                    .andExpect(status().isUnauthorized())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+            assertEquals("Codigo de acesso invalido!", resultado.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos de verificação das requisicoes repetidas com Idempotency-Key")
+    class PedidoVerificacaoIdempotencia {
+
+        @Autowired
+        RespostaIdempotenteRepository respostaIdempotenteRepository;
+
+        @AfterEach
+        void tearDown() {
+            respostaIdempotenteRepository.deleteAll();
+        }
+
+        private MockHttpServletRequestBuilder criarPedido(String chave, PedidoRequestDTO requisicao) throws Exception {
+            return post(URI_PEDIDOS)
+                    .header("Idempotency-Key", chave)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .param("clienteId", cliente.getId().toString())
+                    .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                    .param("estabelecimentoId", estabelecimento.getId().toString())
+                    .content(objectMapper.writeValueAsString(requisicao));
+        }
+
+        private MockHttpServletRequestBuilder pagar(String chave, Long pedidoId) {
+            return put(URI_PEDIDOS + "/" + pedidoId + "/confirmar-pagamento")
+                    .header("Idempotency-Key", chave)
+                    .param("clienteId", cliente.getId().toString())
+                    .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                    .param("metodoPagamento", MetodoPagamento.PIX.toString());
+        }
+
+        @Test
+        @DisplayName("Quando a criacao do pedido e repetida com a mesma chave, devolve o mesmo pedido sem criar outro")
+        void quandoCriacaoRepetidaDevolveMesmoPedido() throws Exception {
+            // Arrange
+            String primeira = driver.perform(criarPedido("criacao-1", pedidoRequestDTO))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Act
+            String repetida = driver.perform(criarPedido("criacao-1", pedidoRequestDTO))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(objectMapper.readTree(primeira), objectMapper.readTree(repetida)),
+                    () -> assertEquals(1, pedidoRepository.findAllByClienteIdAndStatusPedido(cliente.getId(), StatusPedido.PEDIDO_RECEBIDO).size())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando o pagamento e repetido com a mesma chave, o desconto e aplicado uma unica vez")
+        void quandoPagamentoRepetidoDescontaUmaVez() throws Exception {
+            // Arrange
+            Pedido recebido = pedidoRepository.save(Pedido.builder()
+                    .estabelecimentoId(estabelecimento.getId())
+                    .clienteId(cliente.getId())
+                    .enderecoEntrega("Esperança")
+                    .pizzas(List.of(pizzaG1))
+                    .valorPedido(Dinheiro.deReais(100.0))
+                    .statusPagamento(false)
+                    .build()
+            );
+            String primeira = driver.perform(pagar("pagamento-1", recebido.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Act
+            String repetida = driver.perform(pagar("pagamento-1", recebido.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(objectMapper.readTree(primeira), objectMapper.readTree(repetida)),
+                    () -> assertEquals(Dinheiro.deReais(95.0), pedidoRepository.findById(recebido.getId()).get().getValorPedido())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando a mesma chave e usada com outro conteudo, a requisicao e recusada")
+        void quandoChaveReutilizadaComOutroConteudo() throws Exception {
+            // Arrange
+            driver.perform(criarPedido("criacao-2", pedidoRequestDTO))
+                    .andExpect(status().isCreated());
+
+            // Act
+            String responseJsonString = driver.perform(criarPedido("criacao-2", pedidoRequestDTO2))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+            assertAll(
+                    () -> assertEquals("A chave de idempotencia ja foi usada em outra requisicao!", resultado.getMessage()),
+                    () -> assertEquals(1, pedidoRepository.findAllByClienteIdAndStatusPedido(cliente.getId(), StatusPedido.PEDIDO_RECEBIDO).size())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando a chave esta gravada so no banco, como depois de reiniciar, devolve a resposta gravada")
+        void quandoChaveSoNoBancoDevolveRespostaGravada() throws Exception {
+            // Arrange
+            String primeira = driver.perform(criarPedido("criacao-3", pedidoRequestDTO))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            // simula o reinicio: a chave criacao-4 so existe no banco, nunca passou pela memoria
+            RespostaIdempotente gravada = respostaIdempotenteRepository.findByClienteIdAndOperacaoAndChave(cliente.getId(), OperacaoIdempotente.CRIAR_PEDIDO, "criacao-3").get();
+            respostaIdempotenteRepository.delete(gravada);
+            gravada.setId(null);
+            gravada.setChave("criacao-4");
+            respostaIdempotenteRepository.save(gravada);
+
+            // Act
+            String repetida = driver.perform(criarPedido("criacao-4", pedidoRequestDTO))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(objectMapper.readTree(primeira), objectMapper.readTree(repetida)),
+                    () -> assertEquals(1, pedidoRepository.findAllByClienteIdAndStatusPedido(cliente.getId(), StatusPedido.PEDIDO_RECEBIDO).size())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando a mesma criacao chega varias vezes ao mesmo tempo, so um pedido e criado")
+        void quandoCriacoesConcorrentesCriaUmPedido() throws Exception {
+            // Arrange
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            CountDownLatch largada = new CountDownLatch(1);
+            List<Future<String>> respostas = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                respostas.add(executor.submit(() -> {
+                    largada.await();
+                    return driver.perform(criarPedido("criacao-5", pedidoRequestDTO))
+                            .andExpect(status().isCreated())
+                            .andReturn().getResponse().getContentAsString();
+                }));
+            }
+
+            // Act
+            largada.countDown();
+            List<Long> ids = new ArrayList<>();
+            for (Future<String> resposta : respostas) {
+                ids.add(objectMapper.readTree(resposta.get(30, TimeUnit.SECONDS)).get("id").asLong());
+            }
+            executor.shutdown();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(1, ids.stream().distinct().count()),
+                    () -> assertEquals(1, pedidoRepository.findAllByClienteIdAndStatusPedido(cliente.getId(), StatusPedido.PEDIDO_RECEBIDO).size())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos de verificação da cotacao de pedidos")
+    class PedidoVerificacaoCotacao {
+
+        private MockHttpServletRequestBuilder cotar(PedidoRequestDTO requisicao, String codigoAcesso) throws Exception {
+            return post(URI_PEDIDOS + "/cotacao")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .param("clienteId", cliente.getId().toString())
+                    .param("codigoAcessoCliente", codigoAcesso)
+                    .param("estabelecimentoId", estabelecimento.getId().toString())
+                    .content(objectMapper.writeValueAsString(requisicao));
+        }
+
+        @Test
+        @DisplayName("Quando cotamos um pedido, devolve o preco de cada pizza e o total em cada metodo de pagamento sem criar pedido")
+        void quandoCotamosPedidoDevolvePrecosSemGravar() throws Exception {
+            // Arrange
+            // media de Sabor Um (10,00) e grande meia-meia de Sabor Um e Sabor Dois ((20,00 + 30,00) / 2)
+
+            // Act
+            String responseJsonString = driver.perform(cotar(pedidoRequestDTO, cliente.getCodigoAcesso()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.valor").value(35.0))
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            CotacaoResponseDTO resultado = objectMapper.readValue(responseJsonString, CotacaoResponseDTO.class);
+
+            assertAll(
+                    () -> assertEquals(Dinheiro.deReais(10.0), resultado.getPizzas().get(0).getValor()),
+                    () -> assertEquals(Dinheiro.deReais(25.0), resultado.getPizzas().get(1).getValor()),
+                    () -> assertEquals(Dinheiro.deReais(35.0), resultado.getValor()),
+                    () -> assertEquals(Dinheiro.deReais(35.0), resultado.getValorPorMetodoPagamento().get(MetodoPagamento.CREDITO)),
+                    // 2,5% de 35,00 = 0,875, arredondado para 0,88
+                    () -> assertEquals(Dinheiro.deReais(34.12), resultado.getValorPorMetodoPagamento().get(MetodoPagamento.DEBITO)),
+                    () -> assertEquals(Dinheiro.deReais(33.25), resultado.getValorPorMetodoPagamento().get(MetodoPagamento.PIX)),
+                    () -> assertEquals(0, pedidoRepository.count())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando o preco de um sabor e editado, a proxima cotacao ja usa o preco novo")
+        void quandoSaborEditadoCotacaoUsaPrecoNovo() throws Exception {
+            // Arrange
+            driver.perform(cotar(pedidoRequestDTO, cliente.getCodigoAcesso()))
+                    .andExpect(jsonPath("$.valor").value(35.0));
+            SaborRequestDTO edicao = SaborRequestDTO.builder()
+                    .nome(sabor1.getNome())
+                    .tipo(sabor1.getTipo())
+                    .precoMedia(12.5)
+                    .precoGrande(21.0)
+                    .disponivel(true)
+                    .build();
+            driver.perform(put("/sabor/" + sabor1.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .content(objectMapper.writeValueAsString(edicao)))
+                    .andExpect(status().isOk());
+
+            // Act
+            String responseJsonString = driver.perform(cotar(pedidoRequestDTO, cliente.getCodigoAcesso()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            CotacaoResponseDTO resultado = objectMapper.readValue(responseJsonString, CotacaoResponseDTO.class);
+
+            assertAll(
+                    () -> assertEquals(Dinheiro.deReais(12.5), resultado.getPizzas().get(0).getValor()),
+                    // (21,00 + 30,00) / 2 = 25,50
+                    () -> assertEquals(Dinheiro.deReais(25.5), resultado.getPizzas().get(1).getValor()),
+                    () -> assertEquals(Dinheiro.deReais(38.0), resultado.getValor())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando um sabor da cotacao fica indisponivel, a cotacao e recusada como na criacao do pedido")
+        void quandoSaborIndisponivelCotacaoRecusada() throws Exception {
+            // Arrange
+            driver.perform(cotar(pedidoRequestDTO, cliente.getCodigoAcesso()))
+                    .andExpect(status().isOk());
+            driver.perform(put("/sabor/" + sabor2.getId() + "/disponibilidade")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .param("disponibilidade", "false"))
+                    .andExpect(status().isOk());
+
+            // Act
+            String responseJsonString = driver.perform(cotar(pedidoRequestDTO, cliente.getCodigoAcesso()))
+                    .andExpect(status().isBadRequest())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            assertEquals("O sabor consultado nao esta disponivel no momento!", resultado.getMessage());
+        }
+
+        @Test
+        @DisplayName("Quando cotamos uma pizza media com dois sabores")
+        void quandoMediaComDoisSaboresCotacaoRecusada() throws Exception {
+            // Arrange
+            PedidoRequestDTO requisicao = PedidoRequestDTO.builder()
+                    .pizzas(List.of(PizzaRequestDTO.builder()
+                            .tamanho(TamanhoPizza.MEDIA)
+                            .sabor1(sabor1.getNome())
+                            .sabor2(sabor2.getNome())
+                            .build()))
+                    .build();
+
+            // Act
+            String responseJsonString = driver.perform(cotar(requisicao, cliente.getCodigoAcesso()))
+                    .andExpect(status().isNotAcceptable())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            assertEquals("A quantidade de sabores solicitada excede o valor maximo!", resultado.getMessage());
+        }
+
+        @Test
+        @DisplayName("Quando cotamos com codigo de acesso invalido")
+        void quandoCodigoAcessoInvalidoCotacaoRecusada() throws Exception {
+            // Arrange
+
+            // Act
+            driver.perform(cotar(pedidoRequestDTO, "999999"))
+                    .andExpect(status().isUnauthorized());
+
+            // Assert
+            assertEquals(0, pedidoRepository.count());
+        }
+
+        @Test
+        @DisplayName("Quando cotamos com codigo de acesso invalido para um estabelecimento inexistente")
+        void quandoCodigoAcessoInvalidoEstabelecimentoInexistenteCotacaoRecusada() throws Exception {
+            // Arrange
+            // o cliente e validado antes de qualquer leitura do cardapio
+
+            // Act
+            driver.perform(post(URI_PEDIDOS + "/cotacao")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .param("clienteId", cliente.getId().toString())
+                            .param("codigoAcessoCliente", "999999")
+                            .param("estabelecimentoId", "999999")
+                            .content(objectMapper.writeValueAsString(pedidoRequestDTO)))
+                    .andExpect(status().isUnauthorized());
+
+            // Assert
+            assertEquals(0, pedidoRepository.count());
+        }
+
+        @Test
+        @DisplayName("Quando o estabelecimento tem dois sabores com o mesmo nome, a cotacao escolhe o mesmo sabor que a criacao do pedido")
+        void quandoSaborComNomeRepetidoCotacaoIgualCriacao() throws Exception {
+            // Arrange
+            // o sabor mais antigo fica indisponivel e o repetido, mais barato e disponivel, vem primeiro no cardapio
+            driver.perform(put("/sabor/" + sabor1.getId() + "/disponibilidade")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .param("disponibilidade", "false"))
+                    .andExpect(status().isOk());
+            SaborRequestDTO repetido = SaborRequestDTO.builder()
+                    .nome(sabor1.getNome())
+                    .tipo(sabor1.getTipo())
+                    .precoMedia(5.0)
+                    .precoGrande(8.0)
+                    .disponivel(true)
+                    .build();
+            driver.perform(post("/sabor")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .content(objectMapper.writeValueAsString(repetido)))
+                    .andExpect(status().isCreated());
+
+            // Act
+            String cotacao = driver.perform(cotar(pedidoRequestDTO, cliente.getCodigoAcesso()))
+                    .andExpect(status().isBadRequest())
+                    .andReturn().getResponse().getContentAsString();
+            String criacao = driver.perform(post(URI_PEDIDOS)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .param("clienteId", cliente.getId().toString())
+                            .param("codigoAcessoCliente", cliente.getCodigoAcesso())
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .content(objectMapper.writeValueAsString(pedidoRequestDTO)))
+                    .andExpect(status().isBadRequest())
+                    .andReturn().getResponse().getContentAsString();
+
+            // Assert
+            CustomErrorType resultadoCotacao = objectMapper.readValue(cotacao, CustomErrorType.class);
+            CustomErrorType resultadoCriacao = objectMapper.readValue(criacao, CustomErrorType.class);
+
+            assertAll(
+                    () -> assertEquals("O sabor consultado nao esta disponivel no momento!", resultadoCotacao.getMessage()),
+                    () -> assertEquals(resultadoCotacao.getMessage(), resultadoCriacao.getMessage()),
+                    () -> assertEquals(0, pedidoRepository.count())
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos de verificação da etag do pedido entregue")
+    class PedidoVerificacaoEtagPedidoEntregue {
+
+        private MockHttpServletRequestBuilder recuperar(String codigoAcesso) {
+            return get(URI_PEDIDOS + "/" + pedido.getId() + "/cliente/" + cliente.getId())
+                    .param("codigoAcessoCliente", codigoAcesso);
+        }
+
+        @Test
+        @DisplayName("Quando recuperamos um pedido entregue ele vem com etag e cache imutavel")
+        void quandoRecuperamosPedidoEntregueVemComEtag() throws Exception {
+            // Arrange
+            pedido.setStatusPedido(StatusPedido.PEDIDO_ENTREGUE);
+            pedidoRepository.save(pedido);
+
+            // Act
+            MockHttpServletResponse resposta = driver.perform(recuperar(cliente.getCodigoAcesso()))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals("\"pedido-" + pedido.getId() + "-entregue\"", resposta.getHeader(HttpHeaders.ETAG)),
+                    () -> assertEquals("max-age=31536000, private, immutable", resposta.getHeader(HttpHeaders.CACHE_CONTROL))
+            );
+        }
+
+        @Test
+        @DisplayName("Quando recuperamos um pedido entregue com a etag dele o 304 mantem o cache imutavel")
+        void quandoRecuperamosPedidoEntregueComEtag() throws Exception {
+            // Arrange
+            pedido.setStatusPedido(StatusPedido.PEDIDO_ENTREGUE);
+            pedidoRepository.save(pedido);
+            String etag = driver.perform(recuperar(cliente.getCodigoAcesso()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            // Act
+            MockHttpServletResponse resposta = driver.perform(recuperar(cliente.getCodigoAcesso())
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andDo(print())
+                    .andReturn().getResponse();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(etag, resposta.getHeader(HttpHeaders.ETAG)),
+                    () -> assertEquals("max-age=31536000, private, immutable", resposta.getHeader(HttpHeaders.CACHE_CONTROL)),
+                    () -> assertEquals("", resposta.getContentAsString())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando recuperamos um pedido ainda nao entregue ele vem sem etag")
+        void quandoRecuperamosPedidoNaoEntregueVemSemEtag() throws Exception {
+            // Arrange
+            pedidoRepository.save(pedido);
+
+            // Act
+            MockHttpServletResponse resposta = driver.perform(recuperar(cliente.getCodigoAcesso())
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"pedido-" + pedido.getId() + "-entregue\""))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse();
+
+            // Assert
+            assertAll(
+                    () -> assertNull(resposta.getHeader(HttpHeaders.ETAG)),
+                    () -> assertNull(resposta.getHeader(HttpHeaders.CACHE_CONTROL)),
+                    () -> assertEquals(StatusPedido.PEDIDO_EM_PREPARO.toString(), objectMapper.readTree(resposta.getContentAsString()).get("statusPedido").asText())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando recuperamos um pedido entregue com a etag dele e codigo de acesso invalido")
+        void quandoRecuperamosPedidoEntregueComEtagECodigoInvalido() throws Exception {
+            // Arrange
+            pedido.setStatusPedido(StatusPedido.PEDIDO_ENTREGUE);
+            pedidoRepository.save(pedido);
+
+            // Act
+            String responseJsonString = driver.perform(recuperar("999999")
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"pedido-" + pedido.getId() + "-entregue\""))
+                    .andExpect(status().isUnauthorized())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            // Assert
+            assertEquals("Codigo de acesso invalido!", resultado.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -3,15 +3,25 @@ package com.ufcg.psoft.pitsa.controller;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ufcg.psoft.pitsa.dto.cliente.ClienteResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.dto.sabor.ImportacaoSaboresResponseDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborRequestDTO;
 import com.ufcg.psoft.pitsa.dto.sabor.SaborResponseDTO;
 import com.ufcg.psoft.pitsa.exception.CustomErrorType;
 import com.ufcg.psoft.pitsa.model.Cliente;
+import com.ufcg.psoft.pitsa.model.Dinheiro;
+import com.ufcg.psoft.pitsa.model.EventoPendente;
+import com.ufcg.psoft.pitsa.model.Interesse;
+import com.ufcg.psoft.pitsa.model.enums.ResultadoImportacao;
+import com.ufcg.psoft.pitsa.model.enums.TipoEvento;
 import com.ufcg.psoft.pitsa.model.Estabelecimento;
 import com.ufcg.psoft.pitsa.model.Sabor;
 import com.ufcg.psoft.pitsa.model.enums.TipoSabor;
 import com.ufcg.psoft.pitsa.repository.ClienteRepository;
 import com.ufcg.psoft.pitsa.repository.EstabelecimentoRepository;
+import com.ufcg.psoft.pitsa.repository.EventoPendenteRepository;
+import com.ufcg.psoft.pitsa.repository.InteresseRepository;
 import com.ufcg.psoft.pitsa.repository.SaborRepository;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.*;
@@ -20,9 +30,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -61,8 +73,8 @@ class SaborControllerTest {
         saborSalgado = saborRepository.save(Sabor.builder()
                 .nome("Portuguesa")
                 .tipo(TipoSabor.SALGADO)
-                .precoGrande(20.)
-                .precoMedia(10.)
+                .precoGrande(Dinheiro.deReais(20.))
+                .precoMedia(Dinheiro.deReais(10.))
                 .build()
         );
         saborRequestDTO = SaborRequestDTO.builder()
@@ -99,8 +111,8 @@ class SaborControllerTest {
             saborRequestDTO = SaborRequestDTO.builder()
                     .nome("")
                     .tipo(saborSalgado.getTipo())
-                    .precoGrande(saborSalgado.getPrecoGrande())
-                    .precoMedia(saborSalgado.getPrecoMedia())
+                    .precoGrande(saborSalgado.getPrecoGrande().emReais())
+                    .precoMedia(saborSalgado.getPrecoMedia().emReais())
                     .disponivel(Boolean.TRUE)
                     .build();
 
@@ -132,8 +144,8 @@ class SaborControllerTest {
             saborRequestDTO = SaborRequestDTO.builder()
                     .nome(null)
                     .tipo(saborSalgado.getTipo())
-                    .precoGrande(saborSalgado.getPrecoGrande())
-                    .precoMedia(saborSalgado.getPrecoMedia())
+                    .precoGrande(saborSalgado.getPrecoGrande().emReais())
+                    .precoMedia(saborSalgado.getPrecoMedia().emReais())
                     .disponivel(Boolean.TRUE)
                     .build();
 
@@ -279,7 +291,7 @@ class SaborControllerTest {
                     .nome("Alterado")
                     .tipo(saborSalgado.getTipo())
                     .precoGrande(-10.)
-                    .precoMedia(saborSalgado.getPrecoMedia())
+                    .precoMedia(saborSalgado.getPrecoMedia().emReais())
                     .disponivel(Boolean.TRUE)
                     .build();
 
@@ -311,7 +323,7 @@ class SaborControllerTest {
             saborRequestDTO = SaborRequestDTO.builder()
                     .nome("Alterado")
                     .tipo(saborSalgado.getTipo())
-                    .precoGrande(saborSalgado.getPrecoGrande())
+                    .precoGrande(saborSalgado.getPrecoGrande().emReais())
                     .precoMedia(-10.)
                     .disponivel(Boolean.TRUE)
                     .build();
@@ -410,8 +422,8 @@ class SaborControllerTest {
             saborRequestDTO = SaborRequestDTO.builder()
                     .nome("Alterado")
                     .tipo(null)
-                    .precoGrande(saborSalgado.getPrecoGrande())
-                    .precoMedia(saborSalgado.getPrecoMedia())
+                    .precoGrande(saborSalgado.getPrecoGrande().emReais())
+                    .precoMedia(saborSalgado.getPrecoMedia().emReais())
                     .disponivel(Boolean.TRUE)
                     .build();
 
@@ -551,8 +563,8 @@ class SaborControllerTest {
             saborRequestDTO = SaborRequestDTO.builder()
                     .nome("Alterado")
                     .tipo(saborSalgado.getTipo())
-                    .precoGrande(saborSalgado.getPrecoGrande())
-                    .precoMedia(saborSalgado.getPrecoMedia())
+                    .precoGrande(saborSalgado.getPrecoGrande().emReais())
+                    .precoMedia(saborSalgado.getPrecoMedia().emReais())
                     .disponivel(Boolean.TRUE)
                     .build();
 
@@ -590,16 +602,16 @@ class SaborControllerTest {
             Sabor s1 = saborRepository.save(Sabor.builder()
                     .nome("Bacon")
                     .tipo(TipoSabor.SALGADO)
-                    .precoGrande(20.)
-                    .precoMedia(10.)
+                    .precoGrande(Dinheiro.deReais(20.))
+                    .precoMedia(Dinheiro.deReais(10.))
                     .build()
             );
 
             saborRepository.save(Sabor.builder()
                     .nome("Chocolate")
                     .tipo(TipoSabor.DOCE)
-                    .precoGrande(20.)
-                    .precoMedia(10.)
+                    .precoGrande(Dinheiro.deReais(20.))
+                    .precoMedia(Dinheiro.deReais(10.))
                     .build()
             );
 
@@ -703,8 +715,8 @@ class SaborControllerTest {
             assertAll(
                     () -> assertEquals(saborRequestDTO.getNome(), resultado.getNome()),
                     () -> assertEquals(saborRequestDTO.getTipo(), resultado.getTipo()),
-                    () -> assertEquals(saborRequestDTO.getPrecoMedia(), resultado.getPrecoMedia()),
-                    () -> assertEquals(saborRequestDTO.getPrecoGrande(), resultado.getPrecoGrande()),
+                    () -> assertEquals(Dinheiro.deReais(saborRequestDTO.getPrecoMedia()), resultado.getPrecoMedia()),
+                    () -> assertEquals(Dinheiro.deReais(saborRequestDTO.getPrecoGrande()), resultado.getPrecoGrande()),
                     () -> assertEquals(saborRequestDTO.getDisponivel(), resultado.getDisponivel())
             );
 
@@ -943,8 +955,8 @@ class SaborControllerTest {
             saborRequestDTO = SaborRequestDTO.builder()
                     .nome("Alterado")
                     .tipo(saborSalgado.getTipo())
-                    .precoGrande(saborSalgado.getPrecoGrande())
-                    .precoMedia(saborSalgado.getPrecoMedia())
+                    .precoGrande(saborSalgado.getPrecoGrande().emReais())
+                    .precoMedia(saborSalgado.getPrecoMedia().emReais())
                     .disponivel(Boolean.TRUE)
                     .build();
 
@@ -966,8 +978,8 @@ class SaborControllerTest {
                     () -> assertEquals(resultado.getId().longValue(), id),
                     () -> assertEquals(saborRequestDTO.getNome(), resultado.getNome()),
                     () -> assertEquals(saborRequestDTO.getTipo(), resultado.getTipo()),
-                    () -> assertEquals(saborRequestDTO.getPrecoMedia(), resultado.getPrecoMedia()),
-                    () -> assertEquals(saborRequestDTO.getPrecoGrande(), resultado.getPrecoGrande()),
+                    () -> assertEquals(Dinheiro.deReais(saborRequestDTO.getPrecoMedia()), resultado.getPrecoMedia()),
+                    () -> assertEquals(Dinheiro.deReais(saborRequestDTO.getPrecoGrande()), resultado.getPrecoGrande()),
                     () -> assertEquals(saborRequestDTO.getDisponivel(), resultado.getDisponivel())
             );
         }
@@ -980,8 +992,8 @@ class SaborControllerTest {
             saborRequestDTO = SaborRequestDTO.builder()
                     .nome("Alterado")
                     .tipo(saborSalgado.getTipo())
-                    .precoGrande(saborSalgado.getPrecoGrande())
-                    .precoMedia(saborSalgado.getPrecoMedia())
+                    .precoGrande(saborSalgado.getPrecoGrande().emReais())
+                    .precoMedia(saborSalgado.getPrecoMedia().emReais())
                     .disponivel(Boolean.TRUE)
                     .build();
 
@@ -1011,8 +1023,8 @@ class SaborControllerTest {
             saborRequestDTO = SaborRequestDTO.builder()
                     .nome("Alterado")
                     .tipo(saborSalgado.getTipo())
-                    .precoGrande(saborSalgado.getPrecoGrande())
-                    .precoMedia(saborSalgado.getPrecoMedia())
+                    .precoGrande(saborSalgado.getPrecoGrande().emReais())
+                    .precoMedia(saborSalgado.getPrecoMedia().emReais())
                     .disponivel(Boolean.TRUE)
                     .build();
 
@@ -1048,8 +1060,8 @@ class SaborControllerTest {
             saborRequestDTO = SaborRequestDTO.builder()
                     .nome("Alterado")
                     .tipo(saborSalgado.getTipo())
-                    .precoGrande(saborSalgado.getPrecoGrande())
-                    .precoMedia(saborSalgado.getPrecoMedia())
+                    .precoGrande(saborSalgado.getPrecoGrande().emReais())
+                    .precoMedia(saborSalgado.getPrecoMedia().emReais())
                     .disponivel(Boolean.TRUE)
                     .build();
 
@@ -1082,6 +1094,10 @@ class SaborControllerTest {
         Cliente cliente2;
         @Autowired
         ClienteRepository clienteRepository;
+        @Autowired
+        InteresseRepository interesseRepository;
+        @Autowired
+        EventoPendenteRepository eventoPendenteRepository;
         private ByteArrayOutputStream logOutputStream;
         private PrintStream originalOut;
 
@@ -1093,16 +1109,16 @@ class SaborControllerTest {
 
             s1 = Sabor.builder()
                     .nome("Portuguesa")
-                    .precoMedia(20.0)
-                    .precoGrande(30.0)
+                    .precoMedia(Dinheiro.deReais(20.0))
+                    .precoGrande(Dinheiro.deReais(30.0))
                     .tipo(TipoSabor.SALGADO)
                     .disponivel(false)
                     .build();
 
             s2 = Sabor.builder()
                     .nome("Marguerita")
-                    .precoMedia(22.0)
-                    .precoGrande(32.0)
+                    .precoMedia(Dinheiro.deReais(22.0))
+                    .precoGrande(Dinheiro.deReais(32.0))
                     .tipo(TipoSabor.SALGADO)
                     .build();
 
@@ -1128,6 +1144,7 @@ class SaborControllerTest {
         @AfterEach
         void tearDown() {
             System.setOut(originalOut);
+            interesseRepository.deleteAll();
             clienteRepository.deleteAll();
             saborRepository.deleteAll();
             estabelecimentoRepository.deleteAll();
@@ -1303,9 +1320,8 @@ class SaborControllerTest {
         @DisplayName("Quando tentamos atualizar disponibilidade de um sabor para true com clientes interessados")
         void testAtualizarDisponibilidadeSaborTrueComInteresses() throws Exception {
             // Arrange
-            s1.addClienteInteressado(cliente1);
-            s1.addClienteInteressado(cliente2);
-            saborRepository.save(s1);
+            interesseRepository.save(Interesse.builder().saborId(s1.getId()).clienteId(cliente1.getId()).build());
+            interesseRepository.save(Interesse.builder().saborId(s1.getId()).clienteId(cliente2.getId()).build());
 
             // Act
             String responseJsonString = driver.perform(put(URI_SABOR + "/" + s1.getId() + "/disponibilidade")
@@ -1320,20 +1336,323 @@ class SaborControllerTest {
 
             SaborResponseDTO resultado = objectMapper.readValue(responseJsonString, new TypeReference<>() {
             });
-            String logContent = logOutputStream.toString();
+            // a distribuicao para os interessados so comeca depois do commit, entao verificamos o evento registrado
+            List<EventoPendente> eventos = eventoPendenteRepository.findAll().stream()
+                    .filter(e -> e.getTipo() == TipoEvento.SABOR_DISPONIVEL_INTERESSADOS && s1.getId().equals(e.getSaborId()))
+                    .toList();
+            Long ultimoInteresseId = interesseRepository.findUltimoIdBySaborId(s1.getId());
 
             //Assert de corretude de valores
             assertAll(
                     () -> assertEquals(s1.getId().longValue(), resultado.getId().longValue()),
                     () -> assertEquals(Boolean.TRUE, resultado.getDisponivel()),
-                    () -> assertEquals(0, resultado.getClientesInteressados().size())
+                    () -> assertEquals(0, resultado.getQuantidadeInteressados())
             );
             //Assert de notificação de disponibilidade para os clientes interessados
             assertAll(
-                    () -> assertTrue(logContent.contains("Cliente " + cliente1.getNome() + ", o sabor " + s1.getNome() + " de seu interesse está disponível!")),
-                    () -> assertTrue(logContent.contains("Cliente " + cliente2.getNome() + ", o sabor " + s1.getNome() + " de seu interesse está disponível!"))
+                    () -> assertEquals(1, eventos.size()),
+                    () -> assertEquals(ultimoInteresseId, eventos.get(0).getUltimoInteresseId()),
+                    () -> assertNull(eventos.get(0).getEntregueEm())
+            );
+        }
+    
+
+        @Test
+        @Transactional
+        @DisplayName("Quando listamos os interessados em um sabor pagina por pagina")
+        void testListarInteressadosPaginado() throws Exception {
+            // Arrange
+            interesseRepository.save(Interesse.builder().saborId(s1.getId()).clienteId(cliente1.getId()).build());
+            interesseRepository.save(Interesse.builder().saborId(s1.getId()).clienteId(cliente2.getId()).build());
+
+            // Act
+            MvcResult primeiraPagina = driver.perform(get(URI_SABOR + "/" + s1.getId() + "/interessados")
+                            .param("estabelecimentoId", estabelecimento1.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento1.getCodigoAcesso())
+                            .param("tamanho", "1"))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn();
+            String cursor = primeiraPagina.getResponse().getHeader(PaginaResponseDTO.CABECALHO_CURSOR);
+
+            MvcResult segundaPagina = driver.perform(get(URI_SABOR + "/" + s1.getId() + "/interessados")
+                            .param("estabelecimentoId", estabelecimento1.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento1.getCodigoAcesso())
+                            .param("tamanho", "1")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn();
+
+            String recuperado = driver.perform(get(URI_SABOR + "/" + s1.getId())
+                            .param("estabelecimentoId", estabelecimento1.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento1.getCodigoAcesso()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            List<ClienteResponseDTO> resultado1 = objectMapper.readValue(primeiraPagina.getResponse().getContentAsString(StandardCharsets.UTF_8), new TypeReference<>() {
+            });
+            List<ClienteResponseDTO> resultado2 = objectMapper.readValue(segundaPagina.getResponse().getContentAsString(StandardCharsets.UTF_8), new TypeReference<>() {
+            });
+            SaborResponseDTO sabor = objectMapper.readValue(recuperado, SaborResponseDTO.class);
+
+            // Assert
+            assertAll(
+                    () -> assertNotNull(cursor),
+                    () -> assertEquals(1, resultado1.size()),
+                    () -> assertEquals(cliente1.getId(), resultado1.get(0).getId()),
+                    () -> assertEquals(1, resultado2.size()),
+                    () -> assertEquals(cliente2.getId(), resultado2.get(0).getId()),
+                    () -> assertNull(segundaPagina.getResponse().getHeader(PaginaResponseDTO.CABECALHO_CURSOR)),
+                    () -> assertEquals(2, sabor.getQuantidadeInteressados())
+            );
+        }
+}
+
+    @Nested
+    @DisplayName("Conjunto de casos de verificação da importação de sabores em lote")
+    class SaborVerificacaoImportacaoLote {
+
+        final String URI_LOTE = URI_SABOR + "/lote";
+        @Autowired
+        ClienteRepository clienteRepository;
+        @Autowired
+        InteresseRepository interesseRepository;
+        @Autowired
+        EventoPendenteRepository eventoPendenteRepository;
+
+        @Test
+        @Transactional
+        @DisplayName("Quando importamos um csv que cria, atualiza e rejeita sabores")
+        void testImportarCsvCriaAtualizaRejeita() throws Exception {
+            // Arrange
+            String csv = """
+                    nome,tipo,precoMedia,precoGrande,disponivel
+                    Portuguesa,SALGADO,12.5,25,true
+                    "Frango, catupiry",salgado,14,28,
+                    Chocolate,DOCE,-1,20,true
+                    Mussarela,AZEDO,10,20,true
+                    """;
+
+            // Act
+            String responseJsonString = driver.perform(post(URI_LOTE)
+                            .contentType("text/csv")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .content(csv))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            ImportacaoSaboresResponseDTO resultado = objectMapper.readValue(responseJsonString, ImportacaoSaboresResponseDTO.class);
+            Sabor portuguesa = saborRepository.findById(saborSalgado.getId()).get();
+            List<Sabor> frango = saborRepository.findAllByEstabelecimentoIdAndNomeIn(estabelecimento.getId(), List.of("Frango, catupiry"));
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(1, resultado.getCriados()),
+                    () -> assertEquals(1, resultado.getAtualizados()),
+                    () -> assertEquals(2, resultado.getRejeitados()),
+                    () -> assertEquals(ResultadoImportacao.REJEITADO, resultado.getLinhas().get(2).getResultado()),
+                    () -> assertEquals(4L, resultado.getLinhas().get(2).getLinha()),
+                    () -> assertEquals(List.of("Preco deve ser maior que zero"), resultado.getLinhas().get(2).getErros()),
+                    () -> assertEquals(List.of("Valor invalido para enum de tipoSabor"), resultado.getLinhas().get(3).getErros()),
+                    () -> assertEquals(Dinheiro.deReais(12.5), portuguesa.getPrecoMedia()),
+                    () -> assertEquals(1, frango.size()),
+                    () -> assertEquals(Dinheiro.deReais(28.), frango.get(0).getPrecoGrande()),
+                    () -> assertTrue(frango.get(0).getDisponivel())
+            );
+        }
+
+        @Test
+        @Transactional
+        @DisplayName("Quando sincronizamos o cardapio com um ndjson, os sabores ausentes ficam indisponiveis")
+        void testSincronizarNdjsonDesativaAusentes() throws Exception {
+            // Arrange
+            Sabor calabresa = saborRepository.save(Sabor.builder()
+                    .nome("Calabresa")
+                    .tipo(TipoSabor.SALGADO)
+                    .precoGrande(Dinheiro.deReais(20.))
+                    .precoMedia(Dinheiro.deReais(10.))
+                    .build());
+            estabelecimento.getSabores().add(calabresa);
+            estabelecimentoRepository.save(estabelecimento);
+            String ndjson = objectMapper.writeValueAsString(saborRequestDTO) + "\n"
+                    + "{\"nome\": \"Calabresa\", \"tipo\": \"SALGADO\", \"precoMedia\": 0}\n"
+                    + "{\"nome\": \"p2\"\n";
+
+            // Act
+            String responseJsonString = driver.perform(post(URI_LOTE)
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .param("sincronizar", "true")
+                            .content(ndjson))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            ImportacaoSaboresResponseDTO resultado = objectMapper.readValue(responseJsonString, ImportacaoSaboresResponseDTO.class);
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(1, resultado.getCriados()),
+                    () -> assertEquals(2, resultado.getRejeitados()),
+                    () -> assertEquals(List.of("Preco da pizza grande é obrigatorio", "Preco deve ser maior que zero"), resultado.getLinhas().get(1).getErros()),
+                    () -> assertEquals(List.of("Linha nao e um JSON valido"), resultado.getLinhas().get(2).getErros()),
+                    // a calabresa veio numa linha rejeitada, entao continua como estava
+                    () -> assertEquals(List.of("Portuguesa"), resultado.getDesativados()),
+                    () -> assertFalse(saborRepository.findById(saborSalgado.getId()).get().getDisponivel()),
+                    () -> assertTrue(saborRepository.findById(calabresa.getId()).get().getDisponivel())
+            );
+        }
+
+        @Test
+        @Transactional
+        @DisplayName("Quando importamos um sabor existente numa linha sem disponivel")
+        void testImportarSaborExistenteSemDisponivel() throws Exception {
+            // Arrange
+            saborSalgado.setDisponivel(false);
+            saborRepository.save(saborSalgado);
+            String csv = """
+                    nome,tipo,precoMedia,precoGrande
+                    Portuguesa,SALGADO,12,24
+                    """;
+
+            // Act
+            String responseJsonString = driver.perform(post(URI_LOTE)
+                            .contentType("text/csv")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .content(csv))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            ImportacaoSaboresResponseDTO resultado = objectMapper.readValue(responseJsonString, ImportacaoSaboresResponseDTO.class);
+            Sabor portuguesa = saborRepository.findById(saborSalgado.getId()).get();
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(1, resultado.getAtualizados()),
+                    () -> assertEquals(Dinheiro.deReais(12.), portuguesa.getPrecoMedia()),
+                    () -> assertEquals(Dinheiro.deReais(24.), portuguesa.getPrecoGrande()),
+                    () -> assertEquals(Boolean.FALSE, portuguesa.getDisponivel())
             );
         }
+
+        @Test
+        @Transactional
+        @DisplayName("Quando importamos um sabor repetido no mesmo arquivo")
+        void testImportarSaborRepetido() throws Exception {
+            // Arrange
+            String csv = """
+                    tipo,nome,precoGrande,precoMedia
+                    DOCE,Banana,30,15
+                    DOCE,Banana,40,20
+                    """;
+
+            // Act
+            String responseJsonString = driver.perform(post(URI_LOTE)
+                            .contentType("text/csv")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .content(csv))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            ImportacaoSaboresResponseDTO resultado = objectMapper.readValue(responseJsonString, ImportacaoSaboresResponseDTO.class);
+            List<Sabor> banana = saborRepository.findAllByEstabelecimentoIdAndNomeIn(estabelecimento.getId(), List.of("Banana"));
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(1, resultado.getCriados()),
+                    () -> assertEquals(List.of("Sabor repetido no arquivo"), resultado.getLinhas().get(1).getErros()),
+                    () -> assertEquals(1, banana.size()),
+                    () -> assertEquals(Dinheiro.deReais(30.), banana.get(0).getPrecoGrande())
+            );
+        }
+
+        @Test
+        @Transactional
+        @DisplayName("Quando reativamos pela importacao um sabor com clientes interessados")
+        void testImportarReativaSaborComInteresses() throws Exception {
+            // Arrange
+            saborSalgado.setDisponivel(false);
+            saborRepository.save(saborSalgado);
+            Cliente cliente = clienteRepository.save(Cliente.builder()
+                    .nome("Cliente")
+                    .endereco("Rua")
+                    .codigoAcesso("123456")
+                    .build());
+            interesseRepository.save(Interesse.builder().saborId(saborSalgado.getId()).clienteId(cliente.getId()).build());
+
+            // Act
+            driver.perform(post(URI_LOTE)
+                            .contentType("text/csv")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .content("nome,tipo,precoMedia,precoGrande,disponivel\nPortuguesa,SALGADO,10,20,true\n"))
+                    .andExpect(status().isOk())
+                    .andDo(print());
+
+            List<EventoPendente> eventos = eventoPendenteRepository.findAll().stream()
+                    .filter(e -> e.getTipo() == TipoEvento.SABOR_DISPONIVEL_INTERESSADOS && saborSalgado.getId().equals(e.getSaborId()))
+                    .toList();
+
+            // Assert
+            assertAll(
+                    () -> assertTrue(saborRepository.findById(saborSalgado.getId()).get().getDisponivel()),
+                    () -> assertEquals(1, eventos.size())
+            );
+        }
+
+        @Test
+        @Transactional
+        @DisplayName("Quando tentamos importar um csv sem uma coluna obrigatoria")
+        void testImportarCsvSemColunaObrigatoria() throws Exception {
+            // Arrange
+            String csv = "nome,tipo,precoGrande\nBanana,DOCE,30\n";
+
+            // Act
+            String responseJsonString = driver.perform(post(URI_LOTE)
+                            .contentType("text/csv")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", estabelecimento.getCodigoAcesso())
+                            .content(csv))
+                    .andExpect(status().isBadRequest())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            // Assert
+            assertAll(
+                    () -> assertEquals("Coluna precoMedia ausente no cabecalho do CSV!", resultado.getMessage()),
+                    () -> assertEquals(1, saborRepository.findAll().size())
+            );
+        }
+
+        @Test
+        @Transactional
+        @DisplayName("Quando tentamos importar sabores passando um codigo de acesso invalido")
+        void testImportarCodigoAcessoInvalido() throws Exception {
+            // Arrange
+            String csv = "nome,tipo,precoMedia,precoGrande\nBanana,DOCE,15,30\n";
+
+            // Act
+            driver.perform(post(URI_LOTE)
+                            .contentType("text/csv")
+                            .param("estabelecimentoId", estabelecimento.getId().toString())
+                            .param("codAcessoEstabelecimento", "000000")
+                            .content(csv))
+                    .andExpect(status().isUnauthorized())
+                    .andDo(print());
+
+            // Assert
+            assertEquals(1, saborRepository.findAll().size());
+        }
     }
 
 }
\ No newline at end of file
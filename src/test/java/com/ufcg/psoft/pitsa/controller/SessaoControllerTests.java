@@ -0,0 +1,236 @@
+package com.ufcg.psoft.pitsa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ufcg.psoft.pitsa.dto.cliente.ClienteRequestDTO;
+import com.ufcg.psoft.pitsa.dto.cliente.ClienteResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pagina.PaginaResponseDTO;
+import com.ufcg.psoft.pitsa.dto.pedido.PedidoResponseDTO;
+import com.ufcg.psoft.pitsa.dto.sessao.SessaoRequestDTO;
+import com.ufcg.psoft.pitsa.dto.sessao.SessaoResponseDTO;
+import com.ufcg.psoft.pitsa.exception.CustomErrorType;
+import com.ufcg.psoft.pitsa.model.Cliente;
+import com.ufcg.psoft.pitsa.model.enums.TipoUsuario;
+import com.ufcg.psoft.pitsa.repository.ClienteRepository;
+import com.ufcg.psoft.pitsa.security.Sessao;
+import com.ufcg.psoft.pitsa.service.cliente.ClienteService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Testes do controlador de Sessoes")
+public class SessaoControllerTests {
+
+    final String URI_SESSAO = "/sessao";
+
+    final String URI_CLIENTES = "/cliente";
+
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    ClienteRepository clienteRepository;
+
+    @Autowired
+    ClienteService<ClienteRequestDTO, ClienteResponseDTO> clienteService;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    Cliente cliente;
+
+    @BeforeEach
+    void setup() {
+        objectMapper.registerModule(new JavaTimeModule());
+        cliente = clienteRepository.save(Cliente.builder()
+                .nome("Cliente Um da Silva")
+                .endereco("Rua dos Testes, 123")
+                .codigoAcesso("123456")
+                .build()
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        clienteRepository.deleteAll();
+    }
+
+    private String criarToken(String codigoAcesso) throws Exception {
+        SessaoRequestDTO sessaoRequestDTO = SessaoRequestDTO.builder()
+                .tipo(TipoUsuario.CLIENTE)
+                .id(cliente.getId())
+                .codigoAcesso(codigoAcesso)
+                .build();
+
+        String responseJsonString = driver.perform(post(URI_SESSAO)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sessaoRequestDTO)))
+                .andExpect(status().isCreated())
+                .andDo(print())
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readValue(responseJsonString, SessaoResponseDTO.class).getToken();
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos de criacao de sessao")
+    class SessaoVerificacaoCriacao {
+
+        @Test
+        @DisplayName("Quando criamos uma sessao com codigo de acesso valido")
+        void testCriarSessaoValida() throws Exception {
+            // Arrange
+            String token = criarToken(cliente.getCodigoAcesso());
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_SESSAO)
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            SessaoResponseDTO resultado = objectMapper.readValue(responseJsonString, SessaoResponseDTO.class);
+
+            // Assert
+            assertAll(
+                    () -> assertEquals(TipoUsuario.CLIENTE, resultado.getTipo()),
+                    () -> assertEquals(cliente.getId(), resultado.getId()),
+                    () -> assertNotNull(resultado.getExpiraEm())
+            );
+        }
+
+        @Test
+        @DisplayName("Quando tentamos criar uma sessao com codigo de acesso invalido")
+        void testCriarSessaoCodigoInvalido() throws Exception {
+            // Arrange
+            SessaoRequestDTO sessaoRequestDTO = SessaoRequestDTO.builder()
+                    .tipo(TipoUsuario.CLIENTE)
+                    .id(cliente.getId())
+                    .codigoAcesso("654321")
+                    .build();
+
+            // Act
+            String responseJsonString = driver.perform(post(URI_SESSAO)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(sessaoRequestDTO)))
+                    .andExpect(status().isUnauthorized())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            // Assert
+            assertEquals("Codigo de acesso invalido!", resultado.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos de uso do token de sessao")
+    class SessaoVerificacaoToken {
+
+        @Test
+        @DisplayName("Quando acessamos um recurso com token valido e sem codigo de acesso")
+        void testAcessarRecursoComToken() throws Exception {
+            // Arrange
+            String token = criarToken(cliente.getCodigoAcesso());
+
+            // Act
+            driver.perform(get(URI_CLIENTES + "/" + cliente.getId() + "/meus-pedidos")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andDo(print());
+        }
+
+        @Test
+        @DisplayName("Quando tentamos acessar recurso de outro cliente com token valido")
+        void testAcessarRecursoDeOutroClienteComToken() throws Exception {
+            // Arrange
+            String token = criarToken(cliente.getCodigoAcesso());
+            Cliente outroCliente = clienteRepository.save(Cliente.builder()
+                    .nome("Cliente Dois")
+                    .endereco("Rua dos Testes, 456")
+                    .codigoAcesso("654321")
+                    .build()
+            );
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_CLIENTES + "/" + outroCliente.getId() + "/meus-pedidos")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isUnauthorized())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            // Assert
+            assertEquals("Codigo de acesso invalido!", resultado.getMessage());
+        }
+
+        @Test
+        @DisplayName("Quando tentamos acessar um recurso com token adulterado")
+        void testAcessarRecursoComTokenAdulterado() throws Exception {
+            // Arrange
+            String token = criarToken(cliente.getCodigoAcesso());
+            String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+            // Act
+            String responseJsonString = driver.perform(get(URI_CLIENTES + "/" + cliente.getId() + "/meus-pedidos")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + adulterado))
+                    .andExpect(status().isUnauthorized())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            // Assert
+            assertEquals("Sessao invalida ou expirada!", resultado.getMessage());
+        }
+
+        @Test
+        @DisplayName("Quando acessamos um recurso sem token e sem codigo de acesso")
+        void testAcessarRecursoSemTokenESemCodigo() throws Exception {
+            // Act
+            String responseJsonString = driver.perform(get(URI_CLIENTES + "/" + cliente.getId() + "/meus-pedidos"))
+                    .andExpect(status().isBadRequest())
+                    .andDo(print())
+                    .andReturn().getResponse().getContentAsString();
+
+            CustomErrorType resultado = objectMapper.readValue(responseJsonString, CustomErrorType.class);
+
+            // Assert
+            assertEquals("Codigo de acesso ausente!", resultado.getMessage());
+        }
+
+        @Test
+        @DisplayName("Quando chamamos o servico fora de uma requisicao com a sessao do cliente")
+        void testServicoForaDaRequisicaoComSessao() {
+            // Arrange
+            Sessao sessao = Sessao.porCodigoAcesso(TipoUsuario.CLIENTE, cliente.getId());
+
+            // Act
+            PaginaResponseDTO<PedidoResponseDTO> pagina = clienteService.listarPedidos(cliente.getId(), null, sessao, null, null);
+
+            // Assert
+            assertTrue(pagina.getItens().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Quando tentamos recuperar a sessao sem token")
+        void testRecuperarSessaoSemToken() throws Exception {
+            // Act
+            driver.perform(get(URI_SESSAO))
+                    .andExpect(status().isUnauthorized())
+                    .andDo(print());
+        }
+    }
+}